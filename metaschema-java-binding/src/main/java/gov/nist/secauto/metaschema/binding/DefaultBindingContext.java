@@ -28,9 +28,11 @@ package gov.nist.secauto.metaschema.binding;
 
 import gov.nist.secauto.metaschema.binding.io.BindingException;
 import gov.nist.secauto.metaschema.binding.io.DefaultBoundLoader;
+import gov.nist.secauto.metaschema.binding.io.DefaultFactoryRegistry;
 import gov.nist.secauto.metaschema.binding.io.Format;
 import gov.nist.secauto.metaschema.binding.io.IBoundLoader;
 import gov.nist.secauto.metaschema.binding.io.IDeserializer;
+import gov.nist.secauto.metaschema.binding.io.IFactoryRegistry;
 import gov.nist.secauto.metaschema.binding.io.ISerializer;
 import gov.nist.secauto.metaschema.binding.io.json.DefaultJsonDeserializer;
 import gov.nist.secauto.metaschema.binding.io.json.DefaultJsonSerializer;
@@ -44,6 +46,7 @@ import gov.nist.secauto.metaschema.binding.model.AbstractBoundMetaschema;
 import gov.nist.secauto.metaschema.binding.model.DefaultAssemblyClassBinding;
 import gov.nist.secauto.metaschema.binding.model.DefaultFieldClassBinding;
 import gov.nist.secauto.metaschema.binding.model.IAssemblyClassBinding;
+import gov.nist.secauto.metaschema.binding.model.IBindingCompanion;
 import gov.nist.secauto.metaschema.binding.model.IClassBinding;
 import gov.nist.secauto.metaschema.binding.model.annotations.MetaschemaAssembly;
 import gov.nist.secauto.metaschema.binding.model.annotations.MetaschemaField;
@@ -54,6 +57,7 @@ import gov.nist.secauto.metaschema.model.common.util.CollectionUtil;
 import gov.nist.secauto.metaschema.model.common.validation.IValidationResult;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -77,6 +81,7 @@ import javax.xml.namespace.QName;
  * <p>
  * Serializers and deserializers provided by this class using the
  * {@link #newSerializer(Format, Class)} and {@link #newDeserializer(Format, Class)} methods will
+ * share the parser and generator factories provided by {@link #getFactoryRegistry()}.
  * <p>
  * This class is synchronized and is thread-safe.
  */
@@ -88,10 +93,15 @@ public class DefaultBindingContext implements IBindingContext {
   @NotNull
   private final Map<Class<?>, IClassBinding> classBindingsByClass = new HashMap<>(); // NOPMD - intentional
   @NotNull
+  private final Map<Class<?>, IBindingCompanion<?>> bindingCompanionsByClass // NOPMD - intentional
+      = new HashMap<>();
+  @NotNull
   private final Map<Class<? extends IJavaTypeAdapter<?>>, IJavaTypeAdapter<?>> javaTypeAdapterMap // NOPMD - intentional
       = new HashMap<>();
   @NotNull
   private final List<@NotNull IBindingMatcher> bindingMatchers = new LinkedList<>();
+  @NotNull
+  private final IFactoryRegistry factoryRegistry = new DefaultFactoryRegistry();
 
   public static DefaultBindingContext instance() {
     synchronized (DefaultBindingContext.class) {
@@ -144,6 +154,63 @@ public class DefaultBindingContext implements IBindingContext {
     return retval;
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The companion is discovered by loading the class named by
+   * {@link IBindingCompanion#getCompanionClassName(Class)} using the bound class's class loader. The
+   * result of this lookup is cached, including when no companion is found.
+   */
+  @Override
+  public <CLASS> IBindingCompanion<CLASS> getBindingCompanion(@NotNull Class<CLASS> clazz) {
+    IBindingCompanion<?> companion;
+    synchronized (this) {
+      if (bindingCompanionsByClass.containsKey(clazz)) {
+        companion = bindingCompanionsByClass.get(clazz);
+      } else {
+        companion = loadBindingCompanion(clazz);
+        bindingCompanionsByClass.put(clazz, companion);
+      }
+    }
+    @SuppressWarnings("unchecked")
+    IBindingCompanion<CLASS> retval = (IBindingCompanion<CLASS>) companion;
+    return retval;
+  }
+
+  @Nullable
+  private static IBindingCompanion<?> loadBindingCompanion(@NotNull Class<?> clazz) {
+    String companionClassName = IBindingCompanion.getCompanionClassName(clazz);
+
+    Class<?> companionClass;
+    try {
+      companionClass = Class.forName(companionClassName, true, clazz.getClassLoader());
+    } catch (ClassNotFoundException ex) {
+      // no companion was generated for this class
+      return null;
+    }
+
+    if (!IBindingCompanion.class.isAssignableFrom(companionClass)) {
+      throw new IllegalArgumentException(
+          String.format("The binding companion '%s' for class '%s' does not implement '%s'.", companionClassName,
+              clazz.getName(), IBindingCompanion.class.getName()));
+    }
+
+    IBindingCompanion<?> retval;
+    try {
+      retval = (IBindingCompanion<?>) companionClass.getDeclaredConstructor().newInstance();
+    } catch (NoSuchMethodException | InstantiationException | IllegalAccessException
+        | InvocationTargetException ex) {
+      throw new IllegalArgumentException(ex);
+    }
+
+    if (!clazz.equals(retval.getBoundClass())) {
+      throw new IllegalArgumentException(
+          String.format("The binding companion '%s' is bound to class '%s', not '%s'.", companionClassName,
+              retval.getBoundClass().getName(), clazz.getName()));
+    }
+    return retval;
+  }
+
   @Override
   public <TYPE extends IJavaTypeAdapter<?>> TYPE
       getJavaTypeAdapterInstance(@NotNull Class<TYPE> clazz) {
@@ -171,6 +238,11 @@ public class DefaultBindingContext implements IBindingContext {
     return retval;
   }
 
+  @Override
+  public IFactoryRegistry getFactoryRegistry() {
+    return factoryRegistry;
+  }
+
   /**
    * {@inheritDoc}
    * <p>
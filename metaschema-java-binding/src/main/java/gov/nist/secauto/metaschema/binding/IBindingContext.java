@@ -30,8 +30,10 @@ import gov.nist.secauto.metaschema.binding.io.BindingException;
 import gov.nist.secauto.metaschema.binding.io.Format;
 import gov.nist.secauto.metaschema.binding.io.IBoundLoader;
 import gov.nist.secauto.metaschema.binding.io.IDeserializer;
+import gov.nist.secauto.metaschema.binding.io.IFactoryRegistry;
 import gov.nist.secauto.metaschema.binding.io.ISerializer;
 import gov.nist.secauto.metaschema.binding.model.AbstractBoundMetaschema;
+import gov.nist.secauto.metaschema.binding.model.IBindingCompanion;
 import gov.nist.secauto.metaschema.binding.model.IClassBinding;
 import gov.nist.secauto.metaschema.binding.model.annotations.MetaschemaAssembly;
 import gov.nist.secauto.metaschema.binding.model.annotations.MetaschemaField;
@@ -42,6 +44,7 @@ import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
 import gov.nist.secauto.metaschema.model.common.validation.IValidationResult;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.math.BigInteger;
 import java.net.URI;
@@ -129,6 +132,30 @@ public interface IBindingContext {
    */
   IClassBinding getClassBinding(@NotNull Class<?> clazz);
 
+  /**
+   * Get the {@link IBindingCompanion} for the provided bound class, if one is available. A companion
+   * provides direct access to the class's constructor and properties, which a class binding uses in
+   * place of reflection.
+   * 
+   * @param <CLASS>
+   *          the Java type of the bound class
+   * @param clazz
+   *          the bound class
+   * @return the companion or {@code null} if the class does not have a companion
+   * @see IBindingCompanion#getCompanionClassName(Class)
+   */
+  @Nullable
+  <CLASS> IBindingCompanion<CLASS> getBindingCompanion(@NotNull Class<CLASS> clazz);
+
+  /**
+   * Get the registry of parser and generator factories shared by the serializers, deserializers, and
+   * loaders created from this binding context.
+   * 
+   * @return the factory registry
+   */
+  @NotNull
+  IFactoryRegistry getFactoryRegistry();
+
   /**
    * Gets a data {@link ISerializer} which can be used to write Java instance data for the provided
    * class to the requested format. The provided class must be a bound Java class with a
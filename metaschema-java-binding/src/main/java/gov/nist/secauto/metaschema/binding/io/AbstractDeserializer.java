@@ -36,6 +36,7 @@ import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.net.URI;
 
@@ -48,6 +49,7 @@ import java.net.URI;
 public abstract class AbstractDeserializer<CLASS>
     extends AbstractSerializationBase
     implements IDeserializer<CLASS> {
+  private IItemReadHandler itemReadHandler;
 
   /**
    * Construct a new deserializer.
@@ -62,15 +64,44 @@ public abstract class AbstractDeserializer<CLASS>
   }
 
   @Override
-  public INodeItem deserializeToNodeItem(Reader reader, URI documentUri) throws IOException {
+  public IItemReadHandler getItemReadHandler() {
+    synchronized (this) {
+      return itemReadHandler;
+    }
+  }
+
+  @Override
+  public void setItemReadHandler(IItemReadHandler handler) {
+    synchronized (this) {
+      this.itemReadHandler = handler;
+    }
+  }
+
+  @Override
+  public INodeItem deserializeToNodeItem(InputStream is, URI documentUri) throws IOException {
+    INodeItem nodeItem;
+    try {
+      nodeItem = deserializeToNodeItemInternal(is, documentUri);
+    } catch (Exception ex) { // NOPMD - this is intentional
+      throw new IOException(ex);
+    }
+    validate(nodeItem);
+    return nodeItem;
+  }
 
+  @Override
+  public INodeItem deserializeToNodeItem(Reader reader, URI documentUri) throws IOException {
     INodeItem nodeItem;
     try {
       nodeItem = deserializeToNodeItemInternal(reader, documentUri);
     } catch (Exception ex) { // NOPMD - this is intentional
       throw new IOException(ex);
     }
+    validate(nodeItem);
+    return nodeItem;
+  }
 
+  private void validate(@NotNull INodeItem nodeItem) {
     if (isValidating()) {
       StaticContext staticContext = new StaticContext();
       DynamicContext dynamicContext = staticContext.newDynamicContext();
@@ -79,7 +110,6 @@ public abstract class AbstractDeserializer<CLASS>
       nodeItem.validate(validator);
       validator.finalizeValidation();
     }
-    return nodeItem;
   }
 
   /**
@@ -96,4 +126,20 @@ public abstract class AbstractDeserializer<CLASS>
   @NotNull
   protected abstract INodeItem deserializeToNodeItemInternal(@NotNull Reader reader, @NotNull URI documentUri)
       throws IOException;
+
+  /**
+   * This abstract method delegates parsing of raw bytes to the concrete implementation. The
+   * implementation is expected to detect the character encoding of the content.
+   * 
+   * @param is
+   *          the input stream to read data from
+   * @param documentUri
+   *          the URI of the document that is being read
+   * @return a new node item containing the read contents
+   * @throws IOException
+   *           if an error occurred while reading data from the stream
+   */
+  @NotNull
+  protected abstract INodeItem deserializeToNodeItemInternal(@NotNull InputStream is, @NotNull URI documentUri)
+      throws IOException;
 }
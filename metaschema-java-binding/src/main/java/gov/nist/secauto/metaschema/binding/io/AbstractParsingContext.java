@@ -32,6 +32,7 @@ public class AbstractParsingContext<READER, PROBLEM_HANDLER extends IProblemHand
     implements IParsingContext<READER, PROBLEM_HANDLER> {
   private final READER parser;
   private final PROBLEM_HANDLER problemHandler;
+  private IItemReadHandler itemReadHandler;
 
   public AbstractParsingContext(READER parser, PROBLEM_HANDLER problemHandler) {
     Objects.requireNonNull(parser, "parser");
@@ -49,4 +50,19 @@ public class AbstractParsingContext<READER, PROBLEM_HANDLER extends IProblemHand
   public PROBLEM_HANDLER getProblemHandler() {
     return problemHandler;
   }
+
+  @Override
+  public IItemReadHandler getItemReadHandler() {
+    return itemReadHandler;
+  }
+
+  /**
+   * Set the handler to notify as each item of a multi-valued model instance is read.
+   * 
+   * @param itemReadHandler
+   *          the handler, or {@code null} to clear the handler
+   */
+  public void setItemReadHandler(IItemReadHandler itemReadHandler) {
+    this.itemReadHandler = itemReadHandler;
+  }
 }
@@ -0,0 +1,123 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+
+/**
+ * The outcome of loading a single document as part of a batch, which is either the loaded node item
+ * or the failure that prevented the document from being loaded.
+ * 
+ * @see IBoundLoader#loadAsNodeItems(Iterable, java.util.concurrent.Executor, int)
+ */
+public final class BatchLoadResult {
+  @NotNull
+  private final URI source;
+  @Nullable
+  private final IDocumentNodeItem nodeItem;
+  @Nullable
+  private final Throwable failure;
+
+  /**
+   * Construct a result for a document that was loaded.
+   * 
+   * @param source
+   *          the loaded document
+   * @param nodeItem
+   *          the loaded node item
+   * @return the result
+   */
+  @NotNull
+  public static BatchLoadResult success(@NotNull URI source, @NotNull IDocumentNodeItem nodeItem) {
+    return new BatchLoadResult(source, ObjectUtils.requireNonNull(nodeItem, "nodeItem"), null);
+  }
+
+  /**
+   * Construct a result for a document that could not be loaded.
+   * 
+   * @param source
+   *          the document that could not be loaded
+   * @param failure
+   *          the cause of the failure
+   * @return the result
+   */
+  @NotNull
+  public static BatchLoadResult failure(@NotNull URI source, @NotNull Throwable failure) {
+    return new BatchLoadResult(source, null, ObjectUtils.requireNonNull(failure, "failure"));
+  }
+
+  private BatchLoadResult(@NotNull URI source, @Nullable IDocumentNodeItem nodeItem, @Nullable Throwable failure) {
+    this.source = ObjectUtils.requireNonNull(source, "source");
+    this.nodeItem = nodeItem;
+    this.failure = failure;
+  }
+
+  /**
+   * Get the document this result is for.
+   * 
+   * @return the document's URI
+   */
+  @NotNull
+  public URI getSource() {
+    return source;
+  }
+
+  /**
+   * Determine if the document was loaded.
+   * 
+   * @return {@code true} if the document was loaded, or {@code false} if loading failed
+   */
+  public boolean isSuccess() {
+    return failure == null;
+  }
+
+  /**
+   * Get the loaded node item.
+   * 
+   * @return the node item, or {@code null} if loading failed
+   */
+  @Nullable
+  public IDocumentNodeItem getNodeItem() {
+    return nodeItem;
+  }
+
+  /**
+   * Get the cause of the loading failure.
+   * 
+   * @return the cause, or {@code null} if the document was loaded
+   */
+  @Nullable
+  public Throwable getFailure() {
+    return failure;
+  }
+}
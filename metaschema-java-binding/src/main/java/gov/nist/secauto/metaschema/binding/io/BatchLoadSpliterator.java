@@ -0,0 +1,127 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Loads a sequence of documents concurrently, providing the results in completion order.
+ * <p>
+ * Documents are submitted for loading only as results are consumed, and no more than a fixed number
+ * of documents are loading or waiting to be consumed at any time.
+ */
+class BatchLoadSpliterator
+    extends Spliterators.AbstractSpliterator<@NotNull BatchLoadResult> {
+  @NotNull
+  private final IBoundLoader loader;
+  @NotNull
+  private final Iterator<@NotNull URI> sources;
+  @NotNull
+  private final Executor executor;
+  private final int maxInFlight;
+  @NotNull
+  private final BlockingQueue<@NotNull BatchLoadResult> completed = new LinkedBlockingQueue<>();
+  private int inFlight;
+
+  public BatchLoadSpliterator(@NotNull IBoundLoader loader, @NotNull Iterator<@NotNull URI> sources,
+      @NotNull Executor executor, int maxInFlight) {
+    super(Long.MAX_VALUE, Spliterator.NONNULL);
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException(
+          String.format("The maximum number of in-flight documents '%d' must be positive", maxInFlight));
+    }
+    this.loader = ObjectUtils.requireNonNull(loader, "loader");
+    this.sources = ObjectUtils.requireNonNull(sources, "sources");
+    this.executor = ObjectUtils.requireNonNull(executor, "executor");
+    this.maxInFlight = maxInFlight;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super @NotNull BatchLoadResult> action) {
+    while (inFlight < maxInFlight && sources.hasNext()) {
+      submit(ObjectUtils.requireNonNull(sources.next(), "source"));
+    }
+
+    if (inFlight == 0) {
+      return false; // NOPMD - readability
+    }
+
+    BatchLoadResult result;
+    try {
+      result = completed.take();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for a document to load"));
+    }
+    inFlight--;
+    action.accept(result);
+    return true;
+  }
+
+  private void submit(@NotNull URI source) {
+    executor.execute(() -> {
+      try {
+        completed.add(load(source));
+      } catch (Error ex) { // NOPMD - the failure must be reported before propagating
+        completed.add(BatchLoadResult.failure(source, ex));
+        throw ex;
+      }
+    });
+    inFlight++;
+  }
+
+  @NotNull
+  private BatchLoadResult load(@NotNull URI source) {
+    BatchLoadResult retval;
+    try {
+      if ("file".equals(source.getScheme())) {
+        // allows the file extension to be used as a format hint
+        retval = BatchLoadResult.success(source, loader.loadAsNodeItem(ObjectUtils.notNull(Path.of(source))));
+      } else {
+        retval = BatchLoadResult.success(source, loader.loadAsNodeItem(ObjectUtils.notNull(source.toURL())));
+      }
+    } catch (IOException | RuntimeException ex) {
+      retval = BatchLoadResult.failure(source, ex);
+    }
+    return retval;
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.InvalidMarkException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An {@link InputStream} that reads the remaining bytes of a {@link ByteBuffer}.
+ * <p>
+ * This is used to provide the contents of a memory-mapped file to a parser as raw bytes, allowing the
+ * parser to detect the character encoding of the content.
+ */
+public class ByteBufferInputStream
+    extends InputStream {
+  @NotNull
+  private final ByteBuffer buffer;
+
+  /**
+   * The default minimum size, in bytes, of a file that will be memory-mapped by
+   * {@link #newInputStream(Path)}. Mapping a file has a fixed setup and teardown cost that outweighs
+   * the savings for small files.
+   */
+  public static final long DEFAULT_MAPPING_THRESHOLD = 1024 * 1024;
+
+  /**
+   * Open the provided file for reading as raw bytes.
+   * <p>
+   * Files of at least {@link #DEFAULT_MAPPING_THRESHOLD} bytes are memory-mapped.
+   * 
+   * @param path
+   *          the file to open
+   * @return a stream providing the bytes of the file
+   * @throws IOException
+   *           if an error occurred while opening or mapping the file
+   * @see #newInputStream(Path, long)
+   */
+  @NotNull
+  public static InputStream newInputStream(@NotNull Path path) throws IOException {
+    return newInputStream(path, DEFAULT_MAPPING_THRESHOLD);
+  }
+
+  /**
+   * Open the provided file for reading as raw bytes.
+   * <p>
+   * Files that are at least {@code mappingThreshold} bytes in size and that can be addressed by a
+   * single {@link ByteBuffer} are memory-mapped. Other files are read using a regular file stream.
+   * 
+   * @param path
+   *          the file to open
+   * @param mappingThreshold
+   *          the minimum size, in bytes, of a file that will be memory-mapped
+   * @return a stream providing the bytes of the file
+   * @throws IOException
+   *           if an error occurred while opening or mapping the file
+   */
+  @NotNull
+  public static InputStream newInputStream(@NotNull Path path, long mappingThreshold) throws IOException {
+    InputStream retval;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < mappingThreshold || size > Integer.MAX_VALUE) {
+        retval = Files.newInputStream(path);
+      } else {
+        // the mapping remains valid after the channel is closed
+        retval = new ByteBufferInputStream(ObjectUtils.notNull(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)));
+      }
+    }
+    return ObjectUtils.notNull(retval);
+  }
+
+  /**
+   * Construct a new stream that reads the bytes between the current position and limit of the
+   * provided buffer. Reading from this stream advances the position of the buffer.
+   * 
+   * @param buffer
+   *          the buffer to read from
+   */
+  public ByteBufferInputStream(@NotNull ByteBuffer buffer) {
+    this.buffer = ObjectUtils.requireNonNull(buffer, "buffer");
+  }
+
+  @Override
+  public int read() {
+    return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) {
+    ObjectUtils.requireNonNull(bytes, "bytes");
+    if (offset < 0 || length < 0 || length > bytes.length - offset) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    int retval;
+    if (length == 0) {
+      retval = 0;
+    } else if (buffer.hasRemaining()) {
+      retval = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, retval);
+    } else {
+      retval = -1;
+    }
+    return retval;
+  }
+
+  @Override
+  public long skip(long count) {
+    long retval = 0;
+    if (count > 0) {
+      retval = Math.min(count, buffer.remaining());
+      buffer.position(buffer.position() + (int) retval);
+    }
+    return retval;
+  }
+
+  @Override
+  public int available() {
+    return buffer.remaining();
+  }
+
+  @Override
+  public boolean markSupported() {
+    return true;
+  }
+
+  @Override
+  public void mark(int readLimit) {
+    // the whole buffer remains available, so the read limit does not apply
+    buffer.mark();
+  }
+
+  @Override
+  public void reset() throws IOException {
+    try {
+      buffer.reset();
+    } catch (InvalidMarkException ex) {
+      throw new IOException("The stream has not been marked", ex);
+    }
+  }
+}
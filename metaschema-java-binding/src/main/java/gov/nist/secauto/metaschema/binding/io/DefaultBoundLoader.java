@@ -26,32 +26,26 @@
 
 package gov.nist.secauto.metaschema.binding.io;
 
-import com.ctc.wstx.stax.WstxInputFactory;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.core.format.DataFormatDetector;
-import com.fasterxml.jackson.core.format.DataFormatMatcher;
-import com.fasterxml.jackson.core.format.MatchStrength;
-import com.fasterxml.jackson.dataformat.xml.XmlFactory;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
 import gov.nist.secauto.metaschema.binding.IBindingContext;
 import gov.nist.secauto.metaschema.binding.io.json.JsonUtil;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.codehaus.stax2.XMLEventReader2;
 import org.codehaus.stax2.XMLInputFactory2;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.SequenceInputStream;
 import java.net.URI;
-import java.nio.charset.Charset;
 import java.util.Map;
 
 import javax.xml.namespace.QName;
@@ -63,17 +57,12 @@ import javax.xml.stream.events.StartElement;
  */
 public class DefaultBoundLoader implements IBoundLoader {
   public static final int LOOK_AHEAD_BYTES = 32_768;
-  @NotNull
-  private static final JsonFactory JSON_FACTORY = new JsonFactory();
-  @NotNull
-  private static final XmlFactory XML_FACTORY = new XmlFactory();
-  @NotNull
-  private static final YAMLFactory YAML_FACTORY = new YAMLFactory();
 
   @NotNull
   private final IBindingContext bindingContext;
   @NotNull
   private final IMutableConfiguration configuration;
+  private IItemReadHandler itemReadHandler;
 
   /**
    * Construct a new OSCAL loader instance, using the provided {@link IBindingContext}.
@@ -112,6 +101,28 @@ public class DefaultBoundLoader implements IBoundLoader {
     return configuration;
   }
 
+  /**
+   * Get the handler that is provided to each deserializer used by this loader.
+   * 
+   * @return the handler, or {@code null} if no handler is configured
+   * @see IDeserializer#setItemReadHandler(IItemReadHandler)
+   */
+  @Nullable
+  public IItemReadHandler getItemReadHandler() {
+    return itemReadHandler;
+  }
+
+  /**
+   * Set the handler that is provided to each deserializer used by this loader.
+   * 
+   * @param itemReadHandler
+   *          the handler, or {@code null} to clear the handler
+   * @see IDeserializer#setItemReadHandler(IItemReadHandler)
+   */
+  public void setItemReadHandler(@Nullable IItemReadHandler itemReadHandler) {
+    this.itemReadHandler = itemReadHandler;
+  }
+
   /**
    * Get the configured Metaschema binding context to use to load Java types.
    * 
@@ -123,43 +134,25 @@ public class DefaultBoundLoader implements IBoundLoader {
 
   @Override
   public Format detectFormat(InputStream is) throws IOException {
-    DataFormatMatcher matcher = matchFormat(is);
-    return formatFromMatcher(matcher);
+    return detect(LookAhead.read(is), null).getFormat();
   }
 
-  // TODO: consolidate this with the similar load class
   @Override
   public IDocumentNodeItem loadAsNodeItem(InputStream is, URI documentUri) throws IOException {
-    BufferedInputStream bis = new BufferedInputStream(is, LOOK_AHEAD_BYTES);
-    bis.mark(LOOK_AHEAD_BYTES);
-
-    DataFormatMatcher matcher = matchFormat(bis, LOOK_AHEAD_BYTES - 1);
-    Format format = formatFromMatcher(matcher);
-
-    IDeserializer<?> deserializer;
-    switch (format) {
-    case JSON:
-      deserializer = detectModelJson(matcher.createParserWithMatch(), Format.JSON);
-      break;
-    case XML:
-      deserializer = detectModelXml(matcher.getDataStream());
-      break;
-    case YAML:
-      // uses a JSON-based parser
-      deserializer = detectModelJson(matcher.createParserWithMatch(), Format.YAML);
-      break;
-    default:
-      throw new UnsupportedOperationException(
-          String.format("The detected format '%s' is not supported", matcher.getMatchedFormatName()));
-    }
+    return loadAsNodeItemInternal(null, is, documentUri);
+  }
 
-    try {
-      bis.reset();
-    } catch (IOException ex) {
-      throw new IOException("Unable to reset input stream before parsing", ex);
-    }
+  @Override
+  public IDocumentNodeItem loadAsNodeItem(Format format, InputStream is, URI documentUri) throws IOException {
+    return loadAsNodeItemInternal(format, is, documentUri);
+  }
 
-    return loadAsNodeItem(deserializer, bis, documentUri);
+  @NotNull
+  private IDocumentNodeItem loadAsNodeItemInternal(@Nullable Format formatHint, @NotNull InputStream is,
+      @NotNull URI documentUri) throws IOException {
+    LookAhead lookAhead = LookAhead.read(is);
+    IDeserializer<?> deserializer = detectModel(lookAhead, formatHint);
+    return loadAsNodeItem(deserializer, lookAhead.newInputStream(is), documentUri);
   }
 
   @NotNull
@@ -172,21 +165,16 @@ public class DefaultBoundLoader implements IBoundLoader {
 
   @Override
   public <CLASS> CLASS load(Class<CLASS> clazz, InputStream is, URI documentUri) throws IOException {
-    // we cannot close this stream, since it will cause the underlying stream to be closed
-    BufferedInputStream bis = new BufferedInputStream(is, LOOK_AHEAD_BYTES);
-
-    DataFormatMatcher matcher;
-    try {
-      bis.mark(LOOK_AHEAD_BYTES);
-      matcher = matchFormat(bis);
-      bis.reset();
-    } catch (IOException ex) {
-      throw new IOException("Unable to reset input stream before parsing", ex);
-    }
+    LookAhead lookAhead = LookAhead.read(is);
+    Format format = detect(lookAhead, null).getFormat();
+    IDeserializer<CLASS> deserializer = getDeserializer(clazz, format, getConfiguration());
+    return loadAsObject(deserializer, lookAhead.newInputStream(is), documentUri);
+  }
 
-    Format format = formatFromMatcher(matcher);
+  @Override
+  public <CLASS> CLASS load(Class<CLASS> clazz, Format format, InputStream is, URI documentUri) throws IOException {
     IDeserializer<CLASS> deserializer = getDeserializer(clazz, format, getConfiguration());
-    return loadAsObject(deserializer, bis, documentUri);
+    return loadAsObject(deserializer, is, documentUri);
   }
 
   @NotNull
@@ -198,56 +186,62 @@ public class DefaultBoundLoader implements IBoundLoader {
   }
 
   @NotNull
-  protected Format formatFromMatcher(@NotNull DataFormatMatcher matcher) {
-    Format retval;
-    String formatName = matcher.getMatchedFormatName();
-    if (YAMLFactory.FORMAT_NAME_YAML.equals(formatName)) {
-      retval = Format.YAML;
-    } else if (JsonFactory.FORMAT_NAME_JSON.equals(formatName)) {
-      retval = Format.JSON;
-    } else if (XmlFactory.FORMAT_NAME_XML.equals(formatName)) {
-      retval = Format.XML;
-    } else {
-      throw new UnsupportedOperationException(String.format("The detected format '%s' is not supported", formatName));
+  private static ModelDetector.Result detect(@NotNull LookAhead lookAhead, @Nullable Format formatHint) {
+    ModelDetector.Result retval = ModelDetector.detect(lookAhead.getBytes(), lookAhead.getLength(), formatHint);
+    if (retval == null) {
+      throw new UnsupportedOperationException("Unable to identify format");
     }
     return retval;
   }
 
+  /**
+   * Determine the format and bound model of the content using a single scan of the look-ahead bytes.
+   * If the scan is unable to determine the bound model, a parser is used over the look-ahead bytes
+   * instead.
+   * 
+   * @param lookAhead
+   *          the leading bytes of the content
+   * @param formatHint
+   *          the format of the content, if known
+   * @return a deserializer for the detected format and bound model
+   * @throws IOException
+   *           if an error occurred while parsing the look-ahead bytes
+   */
   @NotNull
-  protected DataFormatMatcher matchFormat(@NotNull InputStream is) throws IOException {
-    return matchFormat(is, LOOK_AHEAD_BYTES);
-  }
+  protected IDeserializer<?> detectModel(@NotNull LookAhead lookAhead, @Nullable Format formatHint)
+      throws IOException {
+    ModelDetector.Result result = detect(lookAhead, formatHint);
+    Format format = result.getFormat();
 
-  @NotNull
-  protected DataFormatMatcher matchFormat(@NotNull InputStream is, int lookAheadBytes) throws IOException {
-
-    DataFormatDetector det = new DataFormatDetector(new JsonFactory[] { YAML_FACTORY, JSON_FACTORY, XML_FACTORY });
-    det = det.withMinimalMatch(MatchStrength.INCONCLUSIVE).withOptimalMatch(MatchStrength.SOLID_MATCH)
-        .withMaxInputLookahead(lookAheadBytes);
-
-    DataFormatMatcher matcher = det.findFormat(is);
-    switch (matcher.getMatchStrength()) {
-    case FULL_MATCH:
-    case SOLID_MATCH:
-    case WEAK_MATCH:
-    case INCONCLUSIVE:
-      return matcher;
-    case NO_MATCH:
+    Class<?> clazz;
+    switch (format) {
+    case XML: {
+      QName rootName = result.getXmlRootName();
+      clazz = rootName == null ? null : getBoundClassForXmlQName(rootName);
+      if (clazz == null) {
+        clazz = detectModelXmlClass(lookAhead.newInputStream());
+      }
+      break;
+    }
+    case JSON:
+    case YAML: {
+      String rootName = result.getJsonRootName();
+      clazz = rootName == null ? null : getBoundClassForJsonName(rootName);
+      if (clazz == null) {
+        IFactoryRegistry registry = getBindingContext().getFactoryRegistry();
+        JsonFactory factory = Format.YAML.equals(format) ? registry.getYamlFactory() : registry.getJsonFactory();
+        try (JsonParser parser = factory.createParser(lookAhead.getBytes(), 0, lookAhead.getLength())) {
+          clazz = detectModelJsonClass(ObjectUtils.notNull(parser));
+        }
+      }
+      if (clazz == null) {
+        throw new UnsupportedOperationException("Unable to detect a bound root property");
+      }
+      break;
+    }
     default:
-      throw new UnsupportedOperationException("Unable to identify format");
+      throw new UnsupportedOperationException(String.format("The detected format '%s' is not supported", format));
     }
-  }
-
-  @NotNull
-  protected IDeserializer<?> detectModelXml(@NotNull InputStream is) throws IOException {
-    Class<?> clazz = detectModelXmlClass(is);
-
-    return getDeserializer(clazz, Format.XML, getConfiguration());
-  }
-
-  @NotNull
-  protected IDeserializer<?> detectModelJson(@NotNull JsonParser parser, @NotNull Format format) throws IOException {
-    Class<?> clazz = detectModelJsonClass(parser);
     return getDeserializer(clazz, format, getConfiguration());
   }
 
@@ -256,12 +250,10 @@ public class DefaultBoundLoader implements IBoundLoader {
 
     QName startElementQName;
     try {
-      XMLInputFactory2 xmlInputFactory = (XMLInputFactory2) WstxInputFactory.newInstance();
-      xmlInputFactory.configureForXmlConformance();
-      xmlInputFactory.setProperty(XMLInputFactory2.IS_COALESCING, false);
+      XMLInputFactory2 xmlInputFactory = getBindingContext().getFactoryRegistry().getXmlInputFactory();
 
-      Reader reader = new InputStreamReader(is, Charset.forName("UTF8"));
-      XMLEventReader2 eventReader = (XMLEventReader2) xmlInputFactory.createXMLEventReader(reader);
+      // the encoding is detected from the byte order mark or XML declaration
+      XMLEventReader2 eventReader = (XMLEventReader2) xmlInputFactory.createXMLEventReader(is);
       if (eventReader.peek().isStartDocument()) {
         while (eventReader.hasNext() && !eventReader.peek().isStartElement()) {
           eventReader.nextEvent();
@@ -317,6 +309,7 @@ public class DefaultBoundLoader implements IBoundLoader {
   protected <CLASS> IDeserializer<CLASS> getDeserializer(@NotNull Class<CLASS> clazz, @NotNull Format format,
       @NotNull IConfiguration config) {
     IDeserializer<CLASS> retval = getBindingContext().newDeserializer(format, clazz);
+    retval.setItemReadHandler(getItemReadHandler());
     for (Map.Entry<Feature, Boolean> entry : config.getFeatureSettings().entrySet()) {
       if (Boolean.TRUE.equals(entry.getValue())) {
         retval.enableFeature(entry.getKey());
@@ -326,4 +319,71 @@ public class DefaultBoundLoader implements IBoundLoader {
     }
     return retval;
   }
+
+  /**
+   * The leading bytes of some content, which are read once for detection and then replayed ahead of
+   * the remaining content.
+   */
+  protected static final class LookAhead {
+    @NotNull
+    private final byte[] bytes;
+    private final int length;
+
+    @NotNull
+    private static LookAhead read(@NotNull InputStream is) throws IOException {
+      byte[] bytes = new byte[LOOK_AHEAD_BYTES];
+      int length = 0;
+      int count;
+      while (length < bytes.length && (count = is.read(bytes, length, bytes.length - length)) >= 0) {
+        length += count;
+      }
+      return new LookAhead(bytes, length);
+    }
+
+    private LookAhead(@NotNull byte[] bytes, int length) {
+      this.bytes = bytes;
+      this.length = length;
+    }
+
+    /**
+     * Get the buffer containing the leading bytes.
+     * 
+     * @return the buffer
+     */
+    @NotNull
+    public byte[] getBytes() {
+      return bytes;
+    }
+
+    /**
+     * Get the number of leading bytes in the buffer.
+     * 
+     * @return the number of bytes
+     */
+    public int getLength() {
+      return length;
+    }
+
+    /**
+     * Get a stream over only the leading bytes.
+     * 
+     * @return the stream
+     */
+    @NotNull
+    public InputStream newInputStream() {
+      return new ByteArrayInputStream(bytes, 0, length);
+    }
+
+    /**
+     * Get a stream over the leading bytes followed by the remaining content of the provided stream.
+     * 
+     * @param remaining
+     *          the stream the leading bytes were read from
+     * @return the stream
+     */
+    @NotNull
+    public InputStream newInputStream(@NotNull InputStream remaining) {
+      return new SequenceInputStream(newInputStream(), remaining);
+    }
+  }
 }
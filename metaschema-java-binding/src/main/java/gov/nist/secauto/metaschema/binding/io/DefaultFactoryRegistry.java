@@ -0,0 +1,109 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import gov.nist.secauto.metaschema.binding.io.json.JsonFactoryFactory;
+import gov.nist.secauto.metaschema.binding.io.xml.XmlFactoryFactory;
+import gov.nist.secauto.metaschema.binding.io.yaml.YamlFactoryFactory;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.codehaus.stax2.XMLInputFactory2;
+import org.codehaus.stax2.XMLOutputFactory2;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A factory registry that eagerly creates and configures its factories on construction, so that no
+ * factory setup happens while content is being read or written.
+ */
+public class DefaultFactoryRegistry implements IFactoryRegistry {
+  @NotNull
+  private final XMLInputFactory2 xmlInputFactory;
+  @NotNull
+  private final XMLOutputFactory2 xmlOutputFactory;
+  @NotNull
+  private final JsonFactory jsonFactory;
+  @NotNull
+  private final YAMLFactory yamlFactory;
+
+  /**
+   * Construct a new registry using the default factory configurations.
+   */
+  public DefaultFactoryRegistry() {
+    this(
+        XmlFactoryFactory.newXmlInputFactoryInstance(),
+        XmlFactoryFactory.newXmlOutputFactoryInstance(),
+        ObjectUtils.notNull(JsonFactoryFactory.instance()),
+        ObjectUtils.notNull(YamlFactoryFactory.instance()));
+  }
+
+  /**
+   * Construct a new registry using the provided factories. The factories must not be reconfigured
+   * after they are provided.
+   * 
+   * @param xmlInputFactory
+   *          the factory used to create XML readers
+   * @param xmlOutputFactory
+   *          the factory used to create XML writers
+   * @param jsonFactory
+   *          the factory used to create JSON parsers and generators
+   * @param yamlFactory
+   *          the factory used to create YAML parsers and generators
+   */
+  public DefaultFactoryRegistry(
+      @NotNull XMLInputFactory2 xmlInputFactory,
+      @NotNull XMLOutputFactory2 xmlOutputFactory,
+      @NotNull JsonFactory jsonFactory,
+      @NotNull YAMLFactory yamlFactory) {
+    this.xmlInputFactory = ObjectUtils.requireNonNull(xmlInputFactory, "xmlInputFactory");
+    this.xmlOutputFactory = ObjectUtils.requireNonNull(xmlOutputFactory, "xmlOutputFactory");
+    this.jsonFactory = ObjectUtils.requireNonNull(jsonFactory, "jsonFactory");
+    this.yamlFactory = ObjectUtils.requireNonNull(yamlFactory, "yamlFactory");
+  }
+
+  @Override
+  public XMLInputFactory2 getXmlInputFactory() {
+    return xmlInputFactory;
+  }
+
+  @Override
+  public XMLOutputFactory2 getXmlOutputFactory() {
+    return xmlOutputFactory;
+  }
+
+  @Override
+  public JsonFactory getJsonFactory() {
+    return jsonFactory;
+  }
+
+  @Override
+  public YAMLFactory getYamlFactory() {
+    return yamlFactory;
+  }
+}
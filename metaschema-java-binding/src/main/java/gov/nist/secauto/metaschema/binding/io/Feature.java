@@ -42,6 +42,13 @@ public enum Feature {
    * be an object containing the data of the {@link IAssemblyDefinition}.
    */
   DESERIALIZE_JSON_ROOT_PROPERTY,
+  /**
+   * If enabled, skip XML comments in the underlying {@link org.codehaus.stax2.XMLStreamReader2},
+   * instead of filtering the comment events out of the {@link org.codehaus.stax2.XMLEventReader2}
+   * used to parse the content. This avoids creating events for comments and the overhead of the event
+   * filter. Events are still created for all other content.
+   */
+  DESERIALIZE_XML_STREAM_COMMENT_SKIPPING,
   /**
    * If enabled, generate document level constructs in the underlying data format, such as XML
    * declarations.
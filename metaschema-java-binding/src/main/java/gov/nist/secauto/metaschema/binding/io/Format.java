@@ -26,6 +26,14 @@
 
 package gov.nist.secauto.metaschema.binding.io;
 
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Locale;
+
 /**
  * Selections of serialization formats.
  */
@@ -33,13 +41,50 @@ public enum Format {
   /**
    * The <a href="https://www.w3.org/XML/">Extensible Markup Language</a> format.
    */
-  XML,
+  XML(".xml"),
   /**
    * The <a href="https://www.json.org/">JavaScript Object Notation</a> format.
    */
-  JSON,
+  JSON(".json"),
   /**
    * The <a href="https://yaml.org/">YAML Ain't Markup Language</a> format.
    */
-  YAML;
+  YAML(".yaml", ".yml");
+
+  @NotNull
+  private final List<@NotNull String> fileExtensions;
+
+  Format(@NotNull String... fileExtensions) {
+    this.fileExtensions = ObjectUtils.notNull(List.of(fileExtensions));
+  }
+
+  /**
+   * Get the file extensions commonly used for this format, including the leading period.
+   * 
+   * @return the file extensions
+   */
+  @NotNull
+  public List<@NotNull String> getFileExtensions() {
+    return fileExtensions;
+  }
+
+  /**
+   * Determine the format from the extension of the provided file name.
+   * 
+   * @param fileName
+   *          the file name to check
+   * @return the format, or {@code null} if the extension is not associated with a format
+   */
+  @Nullable
+  public static Format lookupByFileName(@NotNull String fileName) {
+    String name = fileName.toLowerCase(Locale.ROOT);
+    for (Format format : values()) {
+      for (String extension : format.getFileExtensions()) {
+        if (name.endsWith(extension)) {
+          return format;
+        }
+      }
+    }
+    return null;
+  }
 }
@@ -29,8 +29,10 @@ package gov.nist.secauto.metaschema.binding.io;
 import gov.nist.secauto.metaschema.binding.DefaultBindingContext;
 import gov.nist.secauto.metaschema.model.common.metapath.IDocumentLoader;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
@@ -40,6 +42,9 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A common interface for loading Metaschema based instance resources.
@@ -55,11 +60,17 @@ public interface IBoundLoader extends IDocumentLoader, IMutableConfiguration {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * If the file extension of the provided path identifies a format, format detection is skipped.
+   */
   @SuppressWarnings("null")
   @Override
   default @NotNull IDocumentNodeItem loadAsNodeItem(@NotNull Path path) throws IOException {
+    Format format = lookupFormat(path);
     try (InputStream is = Files.newInputStream(path)) {
-      return loadAsNodeItem(is, path.toUri());
+      return format == null ? loadAsNodeItem(is, path.toUri()) : loadAsNodeItem(format, is, path.toUri());
     }
   }
 
@@ -73,6 +84,72 @@ public interface IBoundLoader extends IDocumentLoader, IMutableConfiguration {
   @NotNull
   IDocumentNodeItem loadAsNodeItem(@NotNull InputStream is, @NotNull URI documentUri) throws IOException;
 
+  /**
+   * Load data in the provided format from the provided resource into a node item.
+   * <p>
+   * Format detection is skipped, while the bound model to load is still detected.
+   * <p>
+   * This method will not close the provided {@link InputStream}, since it does not own the stream.
+   * 
+   * @param format
+   *          the format of the resource
+   * @param is
+   *          the resource
+   * @param documentUri
+   *          the URI of the resource
+   * @return the loaded node item
+   * @throws IOException
+   *           if an error occurred while reading the resource
+   */
+  @NotNull
+  IDocumentNodeItem loadAsNodeItem(@NotNull Format format, @NotNull InputStream is, @NotNull URI documentUri)
+      throws IOException;
+
+  /**
+   * Load the provided documents concurrently using the provided executor.
+   * <p>
+   * The results are provided by the returned stream in the order loading completes. A failure to load
+   * a document is provided as a result, instead of ending the stream. Documents are only submitted for
+   * loading as results are consumed from the stream, and at most {@code maxInFlight} documents will be
+   * loading or waiting to be consumed at any time, bounding the memory used by the batch. Documents
+   * already submitted continue to load if the stream is not fully consumed.
+   * <p>
+   * Documents identified by a {@code file} URI are loaded as a {@link Path}, allowing their file
+   * extension to be used to identify their format.
+   * <p>
+   * The executor can use platform threads or, on a Java runtime that supports them, virtual threads.
+   * This loader must be safe to use from the executor's threads.
+   * 
+   * @param sources
+   *          the documents to load
+   * @param executor
+   *          the executor used to load the documents
+   * @param maxInFlight
+   *          the maximum number of documents that can be loading or waiting to be consumed at any
+   *          time
+   * @return a stream of the results, in completion order
+   */
+  @NotNull
+  default Stream<@NotNull BatchLoadResult> loadAsNodeItems(@NotNull Iterable<@NotNull URI> sources,
+      @NotNull Executor executor, int maxInFlight) {
+    return ObjectUtils.notNull(
+        StreamSupport.stream(new BatchLoadSpliterator(this, sources.iterator(), executor, maxInFlight), false));
+  }
+
+  /**
+   * Determine the format of the provided file based on its file extension.
+   * 
+   * @param path
+   *          the file
+   * @return the format, or {@code null} if the file extension does not identify a format
+   * @see Format#lookupByFileName(String)
+   */
+  @Nullable
+  static Format lookupFormat(@NotNull Path path) {
+    Path fileName = path.getFileName();
+    return fileName == null ? null : Format.lookupByFileName(ObjectUtils.notNull(fileName.toString()));
+  }
+
   /**
    * Determine the format of the provided resource.
    * 
@@ -179,9 +256,7 @@ public interface IBoundLoader extends IDocumentLoader, IMutableConfiguration {
   @SuppressWarnings("null")
   @NotNull
   default <CLASS> CLASS load(@NotNull Path path) throws IOException {
-    try (InputStream is = Files.newInputStream(path)) {
-      return load(is, path.toUri());
-    }
+    return loadAsNodeItem(path).toBoundObject();
   }
 
   /**
@@ -244,8 +319,9 @@ public interface IBoundLoader extends IDocumentLoader, IMutableConfiguration {
   @SuppressWarnings("null")
   @NotNull
   default <CLASS> CLASS load(@NotNull Class<CLASS> clazz, @NotNull Path path) throws IOException {
+    Format format = lookupFormat(path);
     try (InputStream is = Files.newInputStream(path)) {
-      return load(clazz, is, path.toUri());
+      return format == null ? load(clazz, is, path.toUri()) : load(clazz, format, is, path.toUri());
     }
   }
 
@@ -319,4 +395,30 @@ public interface IBoundLoader extends IDocumentLoader, IMutableConfiguration {
    */
   @NotNull
   <CLASS> CLASS load(@NotNull Class<CLASS> clazz, @NotNull InputStream is, @NotNull URI documentUri) throws IOException;
+
+  /**
+   * Load data in the provided format from the specified resource into a bound object with the type of
+   * the specified Java class.
+   * <p>
+   * No detection is performed, since both the format and the bound model are provided.
+   * <p>
+   * This method will not close the provided {@link InputStream}, since it does not own the stream.
+   * 
+   * @param <CLASS>
+   *          the Java type to load data into
+   * @param clazz
+   *          the class for the java type
+   * @param format
+   *          the format of the resource
+   * @param is
+   *          the resource to load
+   * @param documentUri
+   *          the URI of the resource
+   * @return the loaded instance data
+   * @throws IOException
+   *           if an error occurred while loading the data in the specified file
+   */
+  @NotNull
+  <CLASS> CLASS load(@NotNull Class<CLASS> clazz, @NotNull Format format, @NotNull InputStream is,
+      @NotNull URI documentUri) throws IOException;
 }
@@ -30,6 +30,7 @@ import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
 import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
@@ -40,7 +41,6 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
@@ -61,8 +61,28 @@ public interface IDeserializer<CLASS> extends IMutableConfiguration {
     return isFeatureEnabled(Feature.DESERIALIZE_VALIDATE_CONSTRAINTS);
   }
 
+  /**
+   * Get the handler that is notified as each item of a multi-valued model instance is read.
+   * 
+   * @return the handler, or {@code null} if no handler is configured
+   */
+  @Nullable
+  IItemReadHandler getItemReadHandler();
+
+  /**
+   * Set the handler that is notified as each item of a multi-valued model instance is read. The
+   * handler can discard an item, in which case the item is not added to its parent object.
+   * 
+   * @param handler
+   *          the handler, or {@code null} to clear the handler
+   */
+  void setItemReadHandler(@Nullable IItemReadHandler handler);
+
   /**
    * Read data from the {@link InputStream} into a bound class instance.
+   * <p>
+   * The raw bytes are provided directly to the underlying parser, which detects the character
+   * encoding of the content.
    * 
    * @param is
    *          the input stream to read from
@@ -74,11 +94,15 @@ public interface IDeserializer<CLASS> extends IMutableConfiguration {
    */
   @NotNull
   default CLASS deserialize(@NotNull InputStream is, @NotNull URI documentUri) throws IOException {
-    return deserialize(new InputStreamReader(is), documentUri);
+    INodeItem nodeItem = deserializeToNodeItem(is, documentUri);
+    return nodeItem.toBoundObject();
   }
 
   /**
    * Read data from the {@link Path} into a bound class instance.
+   * <p>
+   * The file is memory-mapped when possible, and its raw bytes are provided directly to the
+   * underlying parser, which detects the character encoding of the content.
    * 
    * @param path
    *          the file to read from
@@ -89,9 +113,8 @@ public interface IDeserializer<CLASS> extends IMutableConfiguration {
    */
   @NotNull
   default CLASS deserialize(@NotNull Path path) throws IOException {
-    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-      return deserialize(ObjectUtils.notNull(reader), ObjectUtils.notNull(path.toUri()));
-    }
+    INodeItem nodeItem = deserializeToNodeItem(path);
+    return nodeItem.toBoundObject();
   }
 
   /**
@@ -147,7 +170,31 @@ public interface IDeserializer<CLASS> extends IMutableConfiguration {
   }
 
   /**
-   * Read data from the {@link Reader} into a node item instance.
+   * Read data from the {@link Path} into a node item instance.
+   * <p>
+   * The file is memory-mapped when possible, and its raw bytes are provided directly to the
+   * underlying parser, which detects the character encoding of the content.
+   * 
+   * @param path
+   *          the file to read from
+   * @return a new node item
+   * @throws IOException
+   *           if an error occurred while reading data from the file
+   */
+  @NotNull
+  default INodeItem deserializeToNodeItem(@NotNull Path path) throws IOException {
+    try (InputStream is = ByteBufferInputStream.newInputStream(path)) {
+      return deserializeToNodeItem(is, ObjectUtils.notNull(path.toUri()));
+    }
+  }
+
+  /**
+   * Read data from the {@link InputStream} into a node item instance.
+   * <p>
+   * The default implementation decodes the stream as UTF-8 and delegates to
+   * {@link #deserializeToNodeItem(Reader, URI)}. Implementations that are able to detect the
+   * character encoding of the raw bytes should override this method to provide the bytes directly
+   * to the underlying parser.
    * 
    * @param is
    *          the input stream to read from
@@ -158,9 +205,8 @@ public interface IDeserializer<CLASS> extends IMutableConfiguration {
    *           if an error occurred while reading data from the stream
    */
   @NotNull
-  default INodeItem deserializeToNodeItem(@NotNull InputStream is, @NotNull URI documentUri)
-      throws IOException {
-    return deserializeToNodeItem(new InputStreamReader(is), documentUri);
+  default INodeItem deserializeToNodeItem(@NotNull InputStream is, @NotNull URI documentUri) throws IOException {
+    return deserializeToNodeItem(new InputStreamReader(is, StandardCharsets.UTF_8), documentUri);
   }
 
   /**
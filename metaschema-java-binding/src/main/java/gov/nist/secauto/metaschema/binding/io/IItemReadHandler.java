@@ -0,0 +1,90 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import gov.nist.secauto.metaschema.binding.model.IBoundNamedModelInstance;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Provides a callback that is notified as each item of a multi-valued model instance is read,
+ * allowing the item to be processed as it is parsed.
+ */
+@FunctionalInterface
+public interface IItemReadHandler {
+  /**
+   * Called after an item has been read, but before it is added to the parent object.
+   * 
+   * @param instance
+   *          the model instance the item was read for
+   * @param parentInstance
+   *          the object the item will be added to
+   * @param item
+   *          the item that was read
+   * @return {@code true} if the item is to be added to the parent object, or {@code false} if the
+   *         item is to be discarded
+   * @throws IOException
+   *           if an error occurred while handling the item
+   */
+  boolean handleItem(@NotNull IBoundNamedModelInstance instance, Object parentInstance, @NotNull Object item)
+      throws IOException;
+
+  /**
+   * Called before the items of a model instance are read.
+   * <p>
+   * Calls to this method and {@link #endInstance(IBoundNamedModelInstance, Object)} are nested in
+   * the same way as the content being read, which allows a handler to track the ancestors of the
+   * items it handles. The default implementation does nothing.
+   * 
+   * @param instance
+   *          the model instance whose items are about to be read
+   * @param parentInstance
+   *          the object the items will be added to
+   * @throws IOException
+   *           if an error occurred while handling the event
+   */
+  default void beginInstance(@NotNull IBoundNamedModelInstance instance, Object parentInstance)
+      throws IOException {
+    // do nothing by default
+  }
+
+  /**
+   * Called after the items of a model instance have been read, or reading them has failed.
+   * <p>
+   * The default implementation does nothing.
+   * 
+   * @param instance
+   *          the model instance whose items were read
+   * @param parentInstance
+   *          the object the items will be added to
+   */
+  default void endInstance(@NotNull IBoundNamedModelInstance instance, Object parentInstance) {
+    // do nothing by default
+  }
+}
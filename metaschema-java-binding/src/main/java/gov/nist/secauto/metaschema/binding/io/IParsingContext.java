@@ -27,6 +27,7 @@
 package gov.nist.secauto.metaschema.binding.io;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Provides objects used for parsing data associated with a specific format.
@@ -52,4 +53,12 @@ public interface IParsingContext<READER, PROBLEM_HANDLER extends IProblemHandler
    */
   @NotNull
   PROBLEM_HANDLER getProblemHandler();
+
+  /**
+   * A handler that is notified as each item of a multi-valued model instance is read.
+   * 
+   * @return the configured handler, or {@code null} if no handler is configured
+   */
+  @Nullable
+  IItemReadHandler getItemReadHandler();
 }
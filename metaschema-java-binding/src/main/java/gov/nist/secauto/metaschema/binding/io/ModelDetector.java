@@ -0,0 +1,368 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+
+/**
+ * Detects the format of a document and the name of its root model element in a single scan over the
+ * leading bytes of the document, without creating a parser.
+ * <p>
+ * The scan recognizes the common document shapes. For content the scan cannot decide on, such as an
+ * XML document type declaration or a YAML flow mapping, the result identifies the format but not the
+ * root name. The caller is expected to fall back to a parser-based detection in that case.
+ */
+public final class ModelDetector {
+  private static final String JSON_SCHEMA_PROPERTY = "$schema";
+
+  @NotNull
+  private final String content;
+  private int pos;
+
+  /**
+   * Scan the provided leading bytes of a document.
+   * 
+   * @param bytes
+   *          the buffer containing the leading bytes of the document
+   * @param length
+   *          the number of bytes in the buffer to scan
+   * @param formatHint
+   *          the format of the document, if already known, in which case format detection is skipped
+   * @return the detection result, or {@code null} if the format could not be detected
+   */
+  @Nullable
+  public static Result detect(@NotNull byte[] bytes, int length, @Nullable Format formatHint) {
+    return new ModelDetector(bytes, length).detect(formatHint);
+  }
+
+  private ModelDetector(@NotNull byte[] bytes, int length) {
+    int offset = 0;
+    Charset charset;
+    if (length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+      charset = StandardCharsets.UTF_8;
+      offset = 3;
+    } else if (length >= 2 && (bytes[0] & 0xFF) == 0xFE && (bytes[1] & 0xFF) == 0xFF) {
+      charset = StandardCharsets.UTF_16BE;
+      offset = 2;
+    } else if (length >= 2 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xFE) {
+      charset = StandardCharsets.UTF_16LE;
+      offset = 2;
+    } else if (length >= 2 && bytes[0] == 0 && bytes[1] != 0) {
+      charset = StandardCharsets.UTF_16BE;
+    } else if (length >= 2 && bytes[0] != 0 && bytes[1] == 0) {
+      charset = StandardCharsets.UTF_16LE;
+    } else {
+      // ASCII-compatible encodings agree on the markup and names of interest
+      charset = StandardCharsets.UTF_8;
+    }
+    this.content = new String(bytes, offset, length - offset, charset);
+  }
+
+  @Nullable
+  private Result detect(@Nullable Format formatHint) {
+    skipWhitespace();
+
+    Format format = formatHint;
+    if (format == null) {
+      if (pos >= content.length()) {
+        return null; // NOPMD - readability
+      }
+
+      char ch = content.charAt(pos);
+      if (ch == '<') {
+        format = Format.XML;
+      } else if (ch == '{' || ch == '[') {
+        format = Format.JSON;
+      } else {
+        format = Format.YAML;
+      }
+    }
+
+    Result retval;
+    switch (format) {
+    case XML:
+      retval = new Result(format, detectXmlRoot(), null);
+      break;
+    case JSON:
+      retval = new Result(format, null, detectJsonRoot());
+      break;
+    case YAML:
+      retval = new Result(format, null, detectYamlRoot());
+      break;
+    default:
+      throw new UnsupportedOperationException(String.format("The format '%s' is not supported", format));
+    }
+    return retval;
+  }
+
+  @Nullable
+  private QName detectXmlRoot() {
+    while (true) {
+      skipWhitespace();
+      if (content.startsWith("<?", pos)) {
+        if (!skipPast("?>")) {
+          return null; // NOPMD - readability
+        }
+      } else if (content.startsWith("<!--", pos)) {
+        if (!skipPast("-->")) {
+          return null; // NOPMD - readability
+        }
+      } else if (content.startsWith("<", pos) && pos + 1 < content.length() && isNameChar(content.charAt(pos + 1))) {
+        break;
+      } else {
+        // a document type declaration or unexpected content
+        return null; // NOPMD - readability
+      }
+    }
+
+    pos++;
+    String name = readXmlName();
+
+    Map<String, String> namespaces = new HashMap<>(); // NOPMD - not concurrent
+    while (true) {
+      skipWhitespace();
+      if (pos >= content.length()) {
+        return null; // NOPMD - readability
+      }
+      char ch = content.charAt(pos);
+      if (ch == '>' || ch == '/') {
+        break;
+      }
+
+      String attribute = readXmlName();
+      skipWhitespace();
+      if (attribute.isEmpty() || !content.startsWith("=", pos)) {
+        return null; // NOPMD - readability
+      }
+      pos++;
+      skipWhitespace();
+      String value = readQuoted();
+      if (value == null || value.indexOf('&') >= 0) {
+        return null; // NOPMD - readability
+      }
+
+      if ("xmlns".equals(attribute)) {
+        namespaces.put("", value);
+      } else if (attribute.startsWith("xmlns:")) {
+        namespaces.put(attribute.substring(6), value);
+      }
+    }
+
+    int colon = name.indexOf(':');
+    String prefix = colon < 0 ? "" : name.substring(0, colon);
+    String namespace = namespaces.get(prefix);
+    if (namespace == null) {
+      if (!prefix.isEmpty()) {
+        return null; // NOPMD - readability
+      }
+      namespace = XMLConstants.NULL_NS_URI;
+    }
+    return new QName(namespace, name.substring(colon + 1));
+  }
+
+  @NotNull
+  private String readXmlName() {
+    int start = pos;
+    while (pos < content.length() && isNameChar(content.charAt(pos))) {
+      pos++;
+    }
+    return ObjectUtils.notNull(content.substring(start, pos));
+  }
+
+  private static boolean isNameChar(char ch) {
+    return Character.isLetterOrDigit(ch) || ch == ':' || ch == '_' || ch == '-' || ch == '.';
+  }
+
+  @Nullable
+  private String detectJsonRoot() {
+    if (!content.startsWith("{", pos)) {
+      return null; // NOPMD - readability
+    }
+    pos++;
+
+    while (true) {
+      skipWhitespace();
+      String name = readQuoted();
+      skipWhitespace();
+      if (name == null || !content.startsWith(":", pos)) {
+        return null; // NOPMD - readability
+      }
+      pos++;
+
+      if (!JSON_SCHEMA_PROPERTY.equals(name)) {
+        return name;
+      }
+
+      // skip the schema value
+      skipWhitespace();
+      if (readQuoted() == null) {
+        return null; // NOPMD - readability
+      }
+      skipWhitespace();
+      if (!content.startsWith(",", pos)) {
+        return null; // NOPMD - readability
+      }
+      pos++;
+    }
+  }
+
+  @Nullable
+  private String detectYamlRoot() {
+    while (pos < content.length()) {
+      int lineEnd = content.indexOf('\n', pos);
+      if (lineEnd < 0) {
+        // the line may be truncated
+        return null; // NOPMD - readability
+      }
+      String line = content.substring(pos, lineEnd).stripTrailing();
+      pos = lineEnd + 1;
+
+      String key = null;
+      if (line.isEmpty() || line.charAt(0) == '#' || line.charAt(0) == '%' || "---".equals(line)
+          || Character.isWhitespace(line.charAt(0))) {
+        // blank, comment, directive, document start, or the continuation of a skipped value
+        continue;
+      } else if (line.charAt(0) == '"' || line.charAt(0) == '\'') {
+        int end = line.indexOf(line.charAt(0), 1);
+        if (end > 0 && line.startsWith(":", end + 1)) {
+          key = line.substring(1, end);
+        }
+      } else if ("{[-?&!*|>@`".indexOf(line.charAt(0)) < 0) {
+        int colon = line.indexOf(':');
+        if (colon > 0 && (colon + 1 == line.length() || line.charAt(colon + 1) == ' ')) {
+          key = line.substring(0, colon);
+        }
+      }
+
+      if (key == null || key.indexOf('\\') >= 0) {
+        return null; // NOPMD - readability
+      }
+
+      if (!JSON_SCHEMA_PROPERTY.equals(key)) {
+        return key;
+      }
+    }
+    return null;
+  }
+
+  @Nullable
+  private String readQuoted() {
+    if (pos >= content.length()) {
+      return null; // NOPMD - readability
+    }
+    char quote = content.charAt(pos);
+    if (quote != '"' && quote != '\'') {
+      return null; // NOPMD - readability
+    }
+    int end = content.indexOf(quote, pos + 1);
+    if (end < 0) {
+      return null; // NOPMD - readability
+    }
+    String retval = content.substring(pos + 1, end);
+    if (retval.indexOf('\\') >= 0) {
+      // escapes are not decoded
+      return null; // NOPMD - readability
+    }
+    pos = end + 1;
+    return retval;
+  }
+
+  private boolean skipPast(@NotNull String marker) {
+    int index = content.indexOf(marker, pos);
+    boolean retval = index >= 0;
+    if (retval) {
+      pos = index + marker.length();
+    }
+    return retval;
+  }
+
+  private void skipWhitespace() {
+    while (pos < content.length() && Character.isWhitespace(content.charAt(pos))) {
+      pos++;
+    }
+  }
+
+  /**
+   * The format and root name detected for a document.
+   */
+  public static final class Result {
+    @NotNull
+    private final Format format;
+    @Nullable
+    private final QName xmlRootName;
+    @Nullable
+    private final String jsonRootName;
+
+    private Result(@NotNull Format format, @Nullable QName xmlRootName, @Nullable String jsonRootName) {
+      this.format = format;
+      this.xmlRootName = xmlRootName;
+      this.jsonRootName = jsonRootName;
+    }
+
+    /**
+     * Get the detected format.
+     * 
+     * @return the format
+     */
+    @NotNull
+    public Format getFormat() {
+      return format;
+    }
+
+    /**
+     * Get the qualified name of the root element of an XML document.
+     * 
+     * @return the name, or {@code null} if the document is not XML or the name was not detected
+     */
+    @Nullable
+    public QName getXmlRootName() {
+      return xmlRootName;
+    }
+
+    /**
+     * Get the name of the root property of a JSON or YAML document.
+     * 
+     * @return the name, or {@code null} if the document is not JSON or YAML or the name was not
+     *         detected
+     */
+    @Nullable
+    public String getJsonRootName() {
+      return jsonRootName;
+    }
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+/**
+ * An unmodifiable list whose items are produced on demand by an iterator, allowing a list-valued
+ * property of a bound object to be serialized incrementally without holding all of its items in
+ * memory.
+ * <p>
+ * The iterator is obtained from the supplier only when the list is first used. When used as a
+ * {@link List}, the list produces only the items needed to answer each call, such as
+ * {@link #isEmpty()} or {@link #get(int)}, and retains them, so that the list can be used any number
+ * of times. Calling {@link #size()} produces all items.
+ * <p>
+ * Serialization uses {@link #streamItems()} instead, which provides the remaining items without
+ * retaining them. After that, the list can no longer be used and throws an
+ * {@link IllegalStateException}.
+ * 
+ * @param <T>
+ *          the Java type of the items
+ */
+public final class StreamedList<T>
+    extends AbstractList<T> {
+  @NotNull
+  private final Supplier<? extends Iterator<? extends T>> supplier;
+  /**
+   * The items produced so far, in order.
+   */
+  @NotNull
+  private final List<T> items = new ArrayList<>(2);
+  private Iterator<? extends T> source;
+  private boolean streamed;
+
+  /**
+   * Construct a new list whose items are produced by the iterator provided by the supplier.
+   * <p>
+   * To back the list with a {@link java.util.stream.Stream}, supply the stream's iterator.
+   * 
+   * @param <T>
+   *          the Java type of the items
+   * @param supplier
+   *          provides the iterator producing the items
+   * @return the new list
+   */
+  @NotNull
+  public static <T> StreamedList<T> of(@NotNull Supplier<? extends Iterator<? extends T>> supplier) {
+    return new StreamedList<>(supplier);
+  }
+
+  private StreamedList(@NotNull Supplier<? extends Iterator<? extends T>> supplier) {
+    this.supplier = ObjectUtils.requireNonNull(supplier, "supplier");
+  }
+
+  @NotNull
+  private Iterator<? extends T> getSource() {
+    if (streamed) {
+      throw new IllegalStateException("The items of this list have already been streamed");
+    }
+    if (source == null) {
+      source = ObjectUtils.requireNonNull(supplier.get(), "iterator");
+    }
+    return ObjectUtils.notNull(source);
+  }
+
+  /**
+   * Produce and retain items until the provided number of items are retained, or there are no more
+   * items.
+   * 
+   * @return {@code true} if the provided number of items are retained, or {@code false} otherwise
+   */
+  private boolean fill(int count) {
+    Iterator<? extends T> iterator = getSource();
+    while (items.size() < count && iterator.hasNext()) {
+      items.add(iterator.next());
+    }
+    return items.size() >= count;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return !fill(1);
+  }
+
+  /**
+   * Determine if this list has more than one item, producing at most two items.
+   * 
+   * @return {@code true} if there are at least two items, or {@code false} otherwise
+   */
+  public boolean hasMultipleItems() {
+    return fill(2);
+  }
+
+  @Override
+  public T get(int index) {
+    if (index < 0 || !fill(index + 1)) {
+      throw new IndexOutOfBoundsException("Index: " + index);
+    }
+    return items.get(index);
+  }
+
+  @Override
+  public int size() {
+    fill(Integer.MAX_VALUE);
+    return items.size();
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    getSource();
+    // produces items as they are iterated, without first producing all of them using size()
+    return new Iterator<T>() {
+      private int index;
+
+      @Override
+      public boolean hasNext() {
+        return fill(index + 1);
+      }
+
+      @Override
+      public T next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return items.get(index++);
+      }
+    };
+  }
+
+  /**
+   * Get a view of the items that produces the remaining items as they are iterated, without retaining
+   * them. Items that are already retained are provided first. The view can be iterated once, after
+   * which this list can no longer be used.
+   * 
+   * @return the single-use view of the items
+   * @throws IllegalStateException
+   *           if the items have already been streamed
+   */
+  @NotNull
+  public Collection<T> streamItems() {
+    getSource();
+    return new AbstractCollection<T>() {
+      @Override
+      public boolean isEmpty() {
+        return StreamedList.this.isEmpty();
+      }
+
+      @Override
+      public int size() {
+        return StreamedList.this.size();
+      }
+
+      @Override
+      public Iterator<T> iterator() {
+        Iterator<? extends T> iterator = getSource();
+        streamed = true;
+        return new Iterator<T>() {
+          private int index;
+
+          @Override
+          public boolean hasNext() {
+            return index < items.size() || iterator.hasNext();
+          }
+
+          @Override
+          public T next() {
+            T retval;
+            if (index < items.size()) {
+              // release the retained item, since the list can no longer be used
+              retval = items.set(index++, null);
+            } else if (iterator.hasNext()) {
+              retval = iterator.next();
+            } else {
+              throw new NoSuchElementException();
+            }
+            return retval;
+          }
+        };
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    // a streamed list has no items to show
+    return streamed ? getClass().getSimpleName() + "[streamed]" : super.toString();
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import gov.nist.secauto.metaschema.binding.model.IBoundNamedModelInstance;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * An item read handler that delivers items of multi-valued model instances to subscribed listeners
+ * as soon as each item is fully parsed.
+ * <p>
+ * Listeners subscribe to items of a given bound class, or to items of the model instances matched by
+ * a predicate. A subscription can discard the items it receives, in which case they are not added to
+ * their parent object. Discarding allows a document with arbitrarily large collections to be
+ * processed in constant memory.
+ * <p>
+ * An item is delivered to every matching subscription, in subscription order, and is discarded if
+ * any matching subscription discards it.
+ */
+public class SubscribingItemReadHandler implements IItemReadHandler {
+  @NotNull
+  private final List<@NotNull Subscription> subscriptions = new LinkedList<>();
+
+  /**
+   * Subscribe to the items that are instances of the provided bound class.
+   * 
+   * @param <T>
+   *          the Java type of the bound class
+   * @param boundClass
+   *          the bound class to subscribe to
+   * @param listener
+   *          the listener to deliver the items to
+   * @param discard
+   *          {@code true} if the items are to be discarded after delivery, or {@code false} if they
+   *          are to be added to their parent object
+   * @return this handler
+   */
+  @NotNull
+  public <T> SubscribingItemReadHandler subscribe(@NotNull Class<T> boundClass,
+      @NotNull IItemListener<? super T> listener, boolean discard) {
+    ObjectUtils.requireNonNull(boundClass, "boundClass");
+    ObjectUtils.requireNonNull(listener, "listener");
+    subscriptions.add(new Subscription(
+        (instance, item) -> boundClass.isInstance(item),
+        (instance, parentInstance, item) -> listener.itemRead(instance, parentInstance, boundClass.cast(item)),
+        discard));
+    return this;
+  }
+
+  /**
+   * Subscribe to the items of the model instances matched by the provided filter.
+   * 
+   * @param filter
+   *          identifies the model instances to subscribe to
+   * @param listener
+   *          the listener to deliver the items to
+   * @param discard
+   *          {@code true} if the items are to be discarded after delivery, or {@code false} if they
+   *          are to be added to their parent object
+   * @return this handler
+   */
+  @NotNull
+  public SubscribingItemReadHandler subscribe(@NotNull Predicate<@NotNull IBoundNamedModelInstance> filter,
+      @NotNull IItemListener<Object> listener, boolean discard) {
+    ObjectUtils.requireNonNull(filter, "filter");
+    ObjectUtils.requireNonNull(listener, "listener");
+    subscriptions.add(new Subscription((instance, item) -> filter.test(instance), listener, discard));
+    return this;
+  }
+
+  /**
+   * Get a filter that matches model instances having the provided effective name, which is the name
+   * used for the instance's items in XML content, or for the instance's property in JSON and YAML
+   * content.
+   * 
+   * @param name
+   *          the effective name to match
+   * @return the filter
+   */
+  @NotNull
+  public static Predicate<@NotNull IBoundNamedModelInstance> instanceNamed(@NotNull String name) {
+    ObjectUtils.requireNonNull(name, "name");
+    return instance -> name.equals(instance.getEffectiveName())
+        || name.equals(instance.getJsonName());
+  }
+
+  @Override
+  public boolean handleItem(IBoundNamedModelInstance instance, Object parentInstance, Object item)
+      throws IOException {
+    boolean retain = true;
+    for (Subscription subscription : subscriptions) {
+      if (subscription.matches(instance, item)) {
+        subscription.getListener().itemRead(instance, parentInstance, item);
+        retain = retain && !subscription.isDiscard();
+      }
+    }
+    return retain;
+  }
+
+  /**
+   * A listener that receives the items delivered by a subscription.
+   * 
+   * @param <T>
+   *          the Java type of the delivered items
+   */
+  @FunctionalInterface
+  public interface IItemListener<T> {
+    /**
+     * Called when a subscribed item has been fully parsed.
+     * 
+     * @param instance
+     *          the model instance the item was read for
+     * @param parentInstance
+     *          the object the item belongs to
+     * @param item
+     *          the item that was read
+     * @throws IOException
+     *           if an error occurred while handling the item
+     */
+    void itemRead(@NotNull IBoundNamedModelInstance instance, Object parentInstance, @NotNull T item)
+        throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface IItemMatcher {
+    boolean matches(@NotNull IBoundNamedModelInstance instance, @NotNull Object item);
+  }
+
+  private static final class Subscription {
+    @NotNull
+    private final IItemMatcher matcher;
+    @NotNull
+    private final IItemListener<Object> listener;
+    private final boolean discard;
+
+    private Subscription(@NotNull IItemMatcher matcher, @NotNull IItemListener<Object> listener, boolean discard) {
+      this.matcher = matcher;
+      this.listener = listener;
+      this.discard = discard;
+    }
+
+    private boolean matches(@NotNull IBoundNamedModelInstance instance, @NotNull Object item) {
+      return matcher.matches(instance, item);
+    }
+
+    @NotNull
+    private IItemListener<Object> getListener() {
+      return listener;
+    }
+
+    private boolean isDiscard() {
+      return discard;
+    }
+  }
+}
@@ -42,6 +42,7 @@ import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.net.URI;
 
@@ -56,7 +57,7 @@ public class DefaultJsonDeserializer<CLASS>
   @SuppressWarnings("null")
   @NotNull
   protected JsonFactory getJsonFactoryInstance() {
-    return JsonFactoryFactory.instance();
+    return getBindingContext().getFactoryRegistry().getJsonFactory();
   }
 
   @SuppressWarnings("null")
@@ -82,37 +83,67 @@ public class DefaultJsonDeserializer<CLASS>
     return getJsonFactory().createParser(reader);
   }
 
+  /**
+   * Create a new parser for the provided raw bytes. The parser detects the character encoding of the
+   * content.
+   * 
+   * @param is
+   *          the content to parse
+   * @return the parser
+   * @throws IOException
+   *           if an error occurred while creating the parser
+   */
+  @SuppressWarnings("null")
+  @NotNull
+  protected JsonParser newJsonParser(@NotNull InputStream is) throws IOException {
+    return getJsonFactory().createParser(is);
+  }
+
+  @Override
+  protected INodeItem deserializeToNodeItemInternal(@NotNull InputStream is, @NotNull URI documentUri)
+      throws IOException {
+    try (JsonParser parser = newJsonParser(is)) {
+      return parseJsonInternal(parser, documentUri);
+    }
+  }
+
   @Override
   protected INodeItem deserializeToNodeItemInternal(@NotNull Reader reader, @NotNull URI documentUri)
       throws IOException {
-    INodeItem retval;
     try (JsonParser parser = newJsonParser(reader)) {
-      DefaultJsonParsingContext parsingContext = new DefaultJsonParsingContext(parser, new DefaultJsonProblemHandler());
-      IAssemblyClassBinding classBinding = getClassBinding();
-      IConfiguration configuration = getConfiguration();
-
-      if (classBinding.isRoot()
-          && configuration.isFeatureEnabled(Feature.DESERIALIZE_JSON_ROOT_PROPERTY)) {
-
-        RootAssemblyDefinition root = new RootAssemblyDefinition(classBinding);
-        // now parse the root property
-        @SuppressWarnings("unchecked")
-        CLASS value = ObjectUtils.requireNonNull((CLASS) root.readRoot(parsingContext));
-
-        // // we should be at the end object
-        // JsonUtil.assertCurrent(parser, JsonToken.END_OBJECT);
-        //
-        // // advance past the end object
-        // JsonToken end = parser.nextToken();
-
-        retval = IXdmFactory.INSTANCE.newDocumentNodeItem(root, value, documentUri);
-      } else {
-        @SuppressWarnings("unchecked")
-        CLASS value = ObjectUtils.requireNonNull((CLASS) classBinding.readObject(parsingContext));
-        retval = IXdmFactory.INSTANCE.newAssemblyNodeItem(classBinding, value, documentUri);
-      }
-      return retval;
+      return parseJsonInternal(parser, documentUri);
+    }
+  }
+
+  @NotNull
+  protected INodeItem parseJsonInternal(@NotNull JsonParser parser, @NotNull URI documentUri) throws IOException {
+    INodeItem retval;
+    DefaultJsonParsingContext parsingContext = new DefaultJsonParsingContext(parser, new DefaultJsonProblemHandler());
+    parsingContext.setItemReadHandler(getItemReadHandler());
+    IAssemblyClassBinding classBinding = getClassBinding();
+    IConfiguration configuration = getConfiguration();
+
+    if (classBinding.isRoot()
+        && configuration.isFeatureEnabled(Feature.DESERIALIZE_JSON_ROOT_PROPERTY)) {
+
+      RootAssemblyDefinition root = new RootAssemblyDefinition(classBinding);
+      // now parse the root property
+      @SuppressWarnings("unchecked")
+      CLASS value = ObjectUtils.requireNonNull((CLASS) root.readRoot(parsingContext));
+
+      // // we should be at the end object
+      // JsonUtil.assertCurrent(parser, JsonToken.END_OBJECT);
+      //
+      // // advance past the end object
+      // JsonToken end = parser.nextToken();
+
+      retval = IXdmFactory.INSTANCE.newDocumentNodeItem(root, value, documentUri);
+    } else {
+      @SuppressWarnings("unchecked")
+      CLASS value = ObjectUtils.requireNonNull((CLASS) classBinding.readObject(parsingContext));
+      retval = IXdmFactory.INSTANCE.newAssemblyNodeItem(classBinding, value, documentUri);
     }
+    return retval;
   }
 
 }
@@ -50,7 +50,7 @@ public class DefaultJsonSerializer<CLASS>
 
   @NotNull
   protected JsonFactory getJsonFactoryInstance() {
-    return JsonFactoryFactory.instance();
+    return getBindingContext().getFactoryRegistry().getJsonFactory();
   }
 
   @NotNull
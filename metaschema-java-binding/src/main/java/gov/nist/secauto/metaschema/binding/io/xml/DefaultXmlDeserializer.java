@@ -26,10 +26,9 @@
 
 package gov.nist.secauto.metaschema.binding.io.xml;
 
-import com.ctc.wstx.stax.WstxInputFactory;
-
 import gov.nist.secauto.metaschema.binding.IBindingContext;
 import gov.nist.secauto.metaschema.binding.io.AbstractDeserializer;
+import gov.nist.secauto.metaschema.binding.io.Feature;
 import gov.nist.secauto.metaschema.binding.metapath.item.IXdmFactory;
 import gov.nist.secauto.metaschema.binding.model.IAssemblyClassBinding;
 import gov.nist.secauto.metaschema.binding.model.RootAssemblyDefinition;
@@ -40,9 +39,11 @@ import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.codehaus.stax2.XMLEventReader2;
 import org.codehaus.stax2.XMLInputFactory2;
+import org.codehaus.stax2.XMLStreamReader2;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.net.URI;
 
@@ -67,10 +68,7 @@ public class DefaultXmlDeserializer<CLASS>
   protected XMLInputFactory2 getXMLInputFactory() {
     synchronized (this) {
       if (xmlInputFactory == null) {
-        xmlInputFactory = (XMLInputFactory2) WstxInputFactory.newInstance();
-        xmlInputFactory.configureForXmlConformance();
-        xmlInputFactory.setProperty(XMLInputFactory2.IS_COALESCING, false);
-        // xmlInputFactory.configureForSpeed();
+        xmlInputFactory = getBindingContext().getFactoryRegistry().getXmlInputFactory();
       }
       return ObjectUtils.notNull(xmlInputFactory);
     }
@@ -82,11 +80,71 @@ public class DefaultXmlDeserializer<CLASS>
     }
   }
 
+  /**
+   * Create a new event reader for the provided XML content, which does not provide comments.
+   * 
+   * @param reader
+   *          the XML content to read
+   * @return the event reader
+   * @throws XMLStreamException
+   *           if an error occurred while creating the event reader
+   */
   @NotNull
   protected XMLEventReader2 newXMLEventReader2(@NotNull Reader reader) throws XMLStreamException {
-    XMLEventReader eventReader = getXMLInputFactory().createXMLEventReader(reader);
-    EventFilter filter = new CommentFilter();
-    return ObjectUtils.notNull((XMLEventReader2) getXMLInputFactory().createFilteredReader(eventReader, filter));
+    return newXMLEventReader2((XMLStreamReader2) getXMLInputFactory().createXMLStreamReader(reader));
+  }
+
+  /**
+   * Create a new event reader for the provided raw XML content, which does not provide comments. The
+   * character encoding is detected from the byte order mark or XML declaration of the content.
+   * 
+   * @param is
+   *          the XML content to read
+   * @return the event reader
+   * @throws XMLStreamException
+   *           if an error occurred while creating the event reader
+   */
+  @NotNull
+  protected XMLEventReader2 newXMLEventReader2(@NotNull InputStream is) throws XMLStreamException {
+    return newXMLEventReader2((XMLStreamReader2) getXMLInputFactory().createXMLStreamReader(is));
+  }
+
+  /**
+   * Create a new event reader for the provided XML stream reader, which does not provide comments.
+   * <p>
+   * If {@link Feature#DESERIALIZE_XML_STREAM_COMMENT_SKIPPING} is enabled, comments are skipped by
+   * wrapping the {@link XMLStreamReader2} in a {@link CommentSkippingXmlStreamReader}, so no events
+   * are created for them. Otherwise, comment events are removed using a {@link CommentFilter}.
+   * 
+   * @param streamReader
+   *          the XML stream reader to read from
+   * @return the event reader
+   * @throws XMLStreamException
+   *           if an error occurred while creating the event reader
+   */
+  @NotNull
+  protected XMLEventReader2 newXMLEventReader2(@NotNull XMLStreamReader2 streamReader) throws XMLStreamException {
+    XMLInputFactory2 factory = getXMLInputFactory();
+
+    XMLEventReader2 retval;
+    if (isFeatureEnabled(Feature.DESERIALIZE_XML_STREAM_COMMENT_SKIPPING)) {
+      retval = (XMLEventReader2) factory.createXMLEventReader(new CommentSkippingXmlStreamReader(streamReader));
+    } else {
+      XMLEventReader eventReader = factory.createXMLEventReader(streamReader);
+      EventFilter filter = new CommentFilter();
+      retval = (XMLEventReader2) factory.createFilteredReader(eventReader, filter);
+    }
+    return ObjectUtils.notNull(retval);
+  }
+
+  @Override
+  protected INodeItem deserializeToNodeItemInternal(InputStream is, URI documentUri) throws IOException {
+    try (AutoCloser<XMLEventReader2, XMLStreamException> closer
+        = new AutoCloser<>(newXMLEventReader2(is), event -> event.close())) {
+      return parseXmlInternal(closer.getObject(), documentUri);
+    } catch (XMLStreamException ex) {
+      throw new IOException("Unable to create a new XMLEventReader2 instance.", ex);
+    }
   }
 
   @Override
@@ -110,6 +168,7 @@ public class DefaultXmlDeserializer<CLASS>
     }
 
     DefaultXmlParsingContext parsingContext = new DefaultXmlParsingContext(reader, new DefaultXmlProblemHandler());
+    parsingContext.setItemReadHandler(getItemReadHandler());
 
     RootAssemblyDefinition root = new RootAssemblyDefinition(classBinding);
 
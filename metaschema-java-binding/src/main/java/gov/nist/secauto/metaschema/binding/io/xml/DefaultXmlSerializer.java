@@ -26,8 +26,6 @@
 
 package gov.nist.secauto.metaschema.binding.io.xml;
 
-import com.ctc.wstx.stax.WstxOutputFactory;
-
 import gov.nist.secauto.metaschema.binding.IBindingContext;
 import gov.nist.secauto.metaschema.binding.io.AbstractSerializer;
 import gov.nist.secauto.metaschema.binding.model.IAssemblyClassBinding;
@@ -40,7 +38,6 @@ import org.jetbrains.annotations.NotNull;
 import java.io.IOException;
 import java.io.Writer;
 
-import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 
 public class DefaultXmlSerializer<CLASS>
@@ -54,9 +51,7 @@ public class DefaultXmlSerializer<CLASS>
   protected XMLOutputFactory2 getXMLOutputFactory() {
     synchronized (this) {
       if (xmlOutputFactory == null) {
-        xmlOutputFactory = (XMLOutputFactory2) WstxOutputFactory.newInstance();
-        xmlOutputFactory.configureForSpeed();
-        xmlOutputFactory.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+        xmlOutputFactory = getBindingContext().getFactoryRegistry().getXmlOutputFactory();
       }
       return xmlOutputFactory;
     }
@@ -0,0 +1,69 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io.xml;
+
+import com.ctc.wstx.stax.WstxInputFactory;
+import com.ctc.wstx.stax.WstxOutputFactory;
+
+import org.codehaus.stax2.XMLInputFactory2;
+import org.codehaus.stax2.XMLOutputFactory2;
+import org.jetbrains.annotations.NotNull;
+
+import javax.xml.stream.XMLOutputFactory;
+
+public final class XmlFactoryFactory {
+  private XmlFactoryFactory() {
+    // disable construction
+  }
+
+  /**
+   * Create a new XML input factory configured for reading bound content.
+   * 
+   * @return the new factory
+   */
+  @NotNull
+  public static XMLInputFactory2 newXmlInputFactoryInstance() {
+    XMLInputFactory2 retval = (XMLInputFactory2) WstxInputFactory.newInstance();
+    retval.configureForXmlConformance();
+    retval.setProperty(XMLInputFactory2.IS_COALESCING, false);
+    // retval.configureForSpeed();
+    return retval;
+  }
+
+  /**
+   * Create a new XML output factory configured for writing bound content.
+   * 
+   * @return the new factory
+   */
+  @NotNull
+  public static XMLOutputFactory2 newXmlOutputFactoryInstance() {
+    XMLOutputFactory2 retval = (XMLOutputFactory2) WstxOutputFactory.newInstance();
+    retval.configureForSpeed();
+    retval.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+    return retval;
+  }
+}
@@ -27,11 +27,21 @@
 package gov.nist.secauto.metaschema.binding.io.yaml;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 
 import gov.nist.secauto.metaschema.binding.IBindingContext;
 import gov.nist.secauto.metaschema.binding.io.json.DefaultJsonDeserializer;
 import gov.nist.secauto.metaschema.binding.model.IAssemblyClassBinding;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
 public class DefaultYamlDeserializer<CLASS>
     extends DefaultJsonDeserializer<CLASS> {
 
@@ -46,7 +56,75 @@ public class DefaultYamlDeserializer<CLASS>
 
   @Override
   protected JsonFactory getJsonFactoryInstance() {
-    return YamlFactoryFactory.instance();
+    return getBindingContext().getFactoryRegistry().getYamlFactory();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The YAML factory only decodes UTF-8 from raw bytes. The character encoding is detected as
+   * described in <a href="https://yaml.org/spec/1.2.2/#52-character-encodings">section 5.2 of the
+   * YAML specification</a>, using a byte order mark if present or the pattern of null bytes in the
+   * first character otherwise, and content in other encodings is decoded before it is parsed.
+   */
+  @SuppressWarnings("null")
+  @Override
+  protected JsonParser newJsonParser(@NotNull InputStream is) throws IOException {
+    InputStream stream = is.markSupported() ? is : new BufferedInputStream(is);
+    stream.mark(4);
+    byte[] prefix = stream.readNBytes(4);
+    stream.reset();
+
+    Charset charset = detectCharset(prefix);
+    int bomLength = byteOrderMarkLength(prefix, charset);
+    if (bomLength > 0) {
+      stream.readNBytes(bomLength);
+    }
+
+    JsonParser retval;
+    if (StandardCharsets.UTF_8.equals(charset)) {
+      retval = super.newJsonParser(stream);
+    } else {
+      retval = newJsonParser(new InputStreamReader(stream, charset));
+    }
+    return retval;
+  }
+
+  @NotNull
+  private static Charset detectCharset(byte[] prefix) {
+    int b0 = prefix.length > 0 ? prefix[0] & 0xFF : -1;
+    int b1 = prefix.length > 1 ? prefix[1] & 0xFF : -1;
+    int b2 = prefix.length > 2 ? prefix[2] & 0xFF : -1;
+    int b3 = prefix.length > 3 ? prefix[3] & 0xFF : -1;
+
+    Charset retval;
+    if (b0 == 0x00 && b1 == 0x00 && (b2 == 0xFE && b3 == 0xFF || b2 == 0x00 && b3 > 0x00)) {
+      retval = Charset.forName("UTF-32BE");
+    } else if (b1 == 0x00 && b2 == 0x00 && b3 == 0x00 && b0 > 0x00
+        || b0 == 0xFF && b1 == 0xFE && b2 == 0x00 && b3 == 0x00) {
+      retval = Charset.forName("UTF-32LE");
+    } else if (b0 == 0xFE && b1 == 0xFF || b0 == 0x00 && b1 > 0x00) {
+      retval = StandardCharsets.UTF_16BE;
+    } else if (b0 == 0xFF && b1 == 0xFE || b0 > 0x00 && b1 == 0x00) {
+      retval = StandardCharsets.UTF_16LE;
+    } else {
+      retval = StandardCharsets.UTF_8;
+    }
+    return retval;
+  }
+
+  private static int byteOrderMarkLength(byte[] prefix, @NotNull Charset charset) {
+    int b0 = prefix.length > 0 ? prefix[0] & 0xFF : -1;
+
+    int retval;
+    if (StandardCharsets.UTF_8.equals(charset)) {
+      retval = b0 == 0xEF && prefix.length > 2 && (prefix[1] & 0xFF) == 0xBB && (prefix[2] & 0xFF) == 0xBF ? 3 : 0;
+    } else if (StandardCharsets.UTF_16BE.equals(charset) || StandardCharsets.UTF_16LE.equals(charset)) {
+      retval = b0 == 0xFE || b0 == 0xFF ? 2 : 0;
+    } else {
+      retval = b0 == 0x00 && prefix[2] != 0x00 || b0 == 0xFF ? 4 : 0;
+    }
+    return retval;
   }
 
 }
@@ -41,7 +41,7 @@ public class DefaultYamlSerializer<CLASS>
 
   @Override
   protected JsonFactory getJsonFactoryInstance() {
-    return YamlFactoryFactory.instance();
+    return getBindingContext().getFactoryRegistry().getYamlFactory();
   }
 
 }
@@ -31,24 +31,41 @@ import gov.nist.secauto.metaschema.binding.model.IBoundAssemblyInstance;
 import gov.nist.secauto.metaschema.binding.model.IBoundFieldInstance;
 import gov.nist.secauto.metaschema.binding.model.IBoundNamedModelInstance;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IAssemblyNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IModelNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
 import gov.nist.secauto.metaschema.model.common.util.CollectionUtil;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 abstract class AbstractBoundXdmAssemblyNodeItem
     extends AbstractBoundXdmModelNodeItem
     implements IAssemblyNodeItem {
+  @NotNull
+  private static final VarHandle MODEL_ITEMS;
 
-  private Map<@NotNull String, List<@NotNull ? extends IModelNodeItem>> modelItems;
+  static {
+    try {
+      MODEL_ITEMS = MethodHandles.lookup().findVarHandle(AbstractBoundXdmAssemblyNodeItem.class, "modelItems",
+          ModelItems.class);
+    } catch (ReflectiveOperationException ex) {
+      throw new ExceptionInInitializerError(ex);
+    }
+  }
+
+  /**
+   * The model node items of this node. This is created on first use and is published using
+   * {@link #MODEL_ITEMS}, so that reads do not need to lock.
+   */
+  @SuppressWarnings("unused")
+  private ModelItems modelItems;
 
   public AbstractBoundXdmAssemblyNodeItem(@NotNull Object value, int position) {
     super(value, position);
@@ -57,50 +74,142 @@ abstract class AbstractBoundXdmAssemblyNodeItem
   @Override
   public abstract IAssemblyClassBinding getDefinition();
 
-  @SuppressWarnings("null")
   @Override
   public Collection<@NotNull List<@NotNull ? extends IModelNodeItem>> getModelItems() {
-    return initModelItems().values();
+    return initModelItems().getItems();
   }
 
-  @SuppressWarnings("null")
   @Override
   public List<@NotNull ? extends IModelNodeItem> getModelItemsByName(String name) {
-    List<@NotNull ? extends IModelNodeItem> result = initModelItems().get(name);
-    return result == null ? CollectionUtil.emptyList() : result;
+    return initModelItems().getItemsByName(name);
+  }
+
+  /**
+   * Get the model node items of this node, creating them on first use.
+   * <p>
+   * Concurrent first uses may each create the model node items, but only one result is published and
+   * returned to all callers.
+   * 
+   * @return the model node items
+   */
+  @NotNull
+  protected ModelItems initModelItems() {
+    ModelItems retval = (ModelItems) MODEL_ITEMS.getAcquire(this);
+    if (retval == null) {
+      retval = newModelItems(null, null);
+
+      ModelItems witness = (ModelItems) MODEL_ITEMS.compareAndExchange(this, null, retval);
+      if (witness != null) {
+        // another thread published first
+        retval = witness;
+      }
+    }
+    return retval;
   }
 
-  protected Map<@NotNull String, List<@NotNull ? extends IModelNodeItem>> initModelItems() {
-    synchronized (this) {
-      if (this.modelItems == null) {
-        Map<@NotNull String, List<@NotNull ? extends IModelNodeItem>> modelItems = new LinkedHashMap<>();
-
-        Object parentValue = getValue();
-        for (IBoundNamedModelInstance instance : getDefinition().getNamedModelInstances()) {
-
-          Object instanceValue = instance.getValue(parentValue);
-          Stream<@NotNull ? extends Object> itemValues = instance.getItemValues(instanceValue).stream();
-          AtomicInteger index = new AtomicInteger();
-          List<@NotNull ? extends IModelNodeItem> items = itemValues.map(itemValue -> {
-            @NotNull
-            IModelNodeItem item;
-            if (instance instanceof IBoundAssemblyInstance) {
-              item = IXdmFactory.INSTANCE.newAssemblyNodeItem((IBoundAssemblyInstance) instance, itemValue,
-                  index.incrementAndGet(), this);
-            } else if (instance instanceof IBoundFieldInstance) {
-              item = IXdmFactory.INSTANCE.newFieldNodeItem((IBoundFieldInstance) instance, itemValue,
-                  index.incrementAndGet(),
-                  this);
-            } else {
-              throw new UnsupportedOperationException("unsupported instance type: " + instance.getClass().getName());
-            }
-            return item;
-          }).collect(Collectors.toList());
-          modelItems.put(instance.getEffectiveName(), items);
+  /**
+   * Set the model node items of this node, while its bound object is still being parsed.
+   * <p>
+   * The items of the model instance being parsed have not yet been set on the bound object, so the
+   * provided child is used as the only item of that instance. This allows the child to be evaluated
+   * with its real ancestors before the parsing of these ancestors is complete. This must be called
+   * before the model node items are first used.
+   * <p>
+   * Since this changes the node tree, the name index of the containing document is invalidated.
+   * 
+   * @param parsingInstance
+   *          the model instance whose items are being parsed
+   * @param parsingItem
+   *          the node item for the item being parsed
+   */
+  void initParsingModelItems(@NotNull IBoundNamedModelInstance parsingInstance,
+      @NotNull IModelNodeItem parsingItem) {
+    MODEL_ITEMS.setRelease(this, newModelItems(parsingInstance, parsingItem));
+
+    INodeItem current = this;
+    INodeItem parent;
+    while ((parent = current.getParentNodeItem()) != null) {
+      current = parent;
+    }
+    if (current instanceof IDocumentNodeItem) {
+      ((IDocumentNodeItem) current).invalidateNameIndex();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @NotNull
+  private ModelItems newModelItems(IBoundNamedModelInstance parsingInstance, IModelNodeItem parsingItem) {
+    Collection<@NotNull ? extends IBoundNamedModelInstance> instances = getDefinition().getNamedModelInstances();
+    String[] names = new String[instances.size()];
+    List<@NotNull ? extends IModelNodeItem>[] items = new List[instances.size()];
+
+    Object parentValue = getValue();
+    int instanceIndex = 0;
+    for (IBoundNamedModelInstance instance : instances) {
+      if (instance.equals(parsingInstance)) {
+        names[instanceIndex] = instance.getEffectiveName();
+        items[instanceIndex] = CollectionUtil.singletonList(parsingItem);
+        instanceIndex++;
+        continue;
+      }
+
+      Object instanceValue = instance.getValue(parentValue);
+      Collection<@NotNull ? extends Object> itemValues = instance.getItemValues(instanceValue);
+
+      // the item values are only iterated, which produces the items of a streamed list as they are needed
+      List<@NotNull IModelNodeItem> instanceItems = new ArrayList<>();
+      int position = 0;
+      for (Object itemValue : itemValues) {
+        @NotNull
+        IModelNodeItem item;
+        if (instance instanceof IBoundAssemblyInstance) {
+          item = IXdmFactory.INSTANCE.newAssemblyNodeItem((IBoundAssemblyInstance) instance, itemValue,
+              ++position, this);
+        } else if (instance instanceof IBoundFieldInstance) {
+          item = IXdmFactory.INSTANCE.newFieldNodeItem((IBoundFieldInstance) instance, itemValue,
+              ++position, this);
+        } else {
+          throw new UnsupportedOperationException("unsupported instance type: " + instance.getClass().getName());
+        }
+        instanceItems.add(item);
+      }
+      names[instanceIndex] = instance.getEffectiveName();
+      items[instanceIndex] = CollectionUtil.unmodifiableList(instanceItems);
+      instanceIndex++;
+    }
+    return new ModelItems(names, items);
+  }
+
+  /**
+   * The model node items of an assembly node, stored by the position of the model instance that
+   * produced them.
+   */
+  protected static final class ModelItems {
+    @NotNull
+    private final String[] names;
+    @NotNull
+    private final List<@NotNull List<@NotNull ? extends IModelNodeItem>> items;
+
+    private ModelItems(@NotNull String[] names, @NotNull List<@NotNull ? extends IModelNodeItem>[] items) {
+      this.names = names;
+      this.items = CollectionUtil.unmodifiableList(Arrays.asList(items));
+    }
+
+    @NotNull
+    public List<@NotNull List<@NotNull ? extends IModelNodeItem>> getItems() {
+      return items;
+    }
+
+    @NotNull
+    public List<@NotNull ? extends IModelNodeItem> getItemsByName(String name) {
+      List<@NotNull ? extends IModelNodeItem> retval = CollectionUtil.emptyList();
+      for (int index = 0; index < names.length; index++) {
+        if (names[index].equals(name)) {
+          retval = items.get(index);
+          break;
         }
-        this.modelItems = CollectionUtil.unmodifiableMap(modelItems);
       }
+      return retval;
     }
-    return this.modelItems;
   }
 }
@@ -34,16 +34,33 @@ import gov.nist.secauto.metaschema.model.common.util.CollectionUtil;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.List;
 
 abstract class AbstractBoundXdmModelNodeItem
     extends AbstractBoundXdmValuedNodeItem
     implements IModelNodeItem {
+  @NotNull
+  private static final VarHandle FLAGS;
+
+  static {
+    try {
+      FLAGS = MethodHandles.lookup().findVarHandle(AbstractBoundXdmModelNodeItem.class, "flags", List.class);
+    } catch (ReflectiveOperationException ex) {
+      throw new ExceptionInInitializerError(ex);
+    }
+  }
 
   private final int position;
-  private Map<String, IFlagNodeItem> flags;
+  /**
+   * The flag node items, in the order of the flag instances. This is created on first use and is
+   * published using {@link #FLAGS}, so that reads do not need to lock.
+   */
+  @SuppressWarnings("unused")
+  private List<@NotNull IFlagNodeItem> flags;
 
   public AbstractBoundXdmModelNodeItem(@NotNull Object value, int position) {
     super(value);
@@ -58,32 +75,54 @@ abstract class AbstractBoundXdmModelNodeItem
     return position;
   }
 
-  @SuppressWarnings("null")
   @Override
   public Collection<@NotNull ? extends IFlagNodeItem> getFlags() {
-    return initFlags().values();
+    return initFlags();
   }
 
   @Override
   public IFlagNodeItem getFlagByName(@NotNull String name) {
-    return initFlags().get(name);
+    IFlagNodeItem retval = null;
+    for (IFlagNodeItem item : initFlags()) {
+      if (name.equals(item.getInstance().getEffectiveName())) {
+        retval = item;
+        break;
+      }
+    }
+    return retval;
   }
 
-  protected Map<String, IFlagNodeItem> initFlags() {
-    synchronized (this) {
-      if (this.flags == null) {
-        Map<String, IFlagNodeItem> flags = new LinkedHashMap<>();
-        Object parentValue = getValue();
-        for (IBoundFlagInstance instance : getDefinition().getFlagInstances()) {
-          Object instanceValue = instance.getValue(parentValue);
-          if (instanceValue != null) {
-            IFlagNodeItem item = IXdmFactory.INSTANCE.newFlagNodeItem(instance, instanceValue, this);
-            flags.put(instance.getEffectiveName(), item);
-          }
+  /**
+   * Get the flag node items of this node, creating them on first use.
+   * <p>
+   * Concurrent first uses may each create the flag node items, but only one result is published and
+   * returned to all callers.
+   * 
+   * @return the flag node items
+   */
+  @SuppressWarnings("unchecked")
+  @NotNull
+  protected List<@NotNull IFlagNodeItem> initFlags() {
+    List<@NotNull IFlagNodeItem> retval = (List<@NotNull IFlagNodeItem>) FLAGS.getAcquire(this);
+    if (retval == null) {
+      Collection<@NotNull ? extends IBoundFlagInstance> instances = getDefinition().getFlagInstances();
+      List<@NotNull IFlagNodeItem> flags = new ArrayList<>(instances.size());
+      Object parentValue = getValue();
+      for (IBoundFlagInstance instance : instances) {
+        Object instanceValue = instance.getValue(parentValue);
+        if (instanceValue != null) {
+          flags.add(IXdmFactory.INSTANCE.newFlagNodeItem(instance, instanceValue, this));
         }
-        this.flags = CollectionUtil.unmodifiableMap(flags);
+      }
+      retval = CollectionUtil.unmodifiableList(flags);
+
+      List<@NotNull IFlagNodeItem> witness
+          = (List<@NotNull IFlagNodeItem>) FLAGS.compareAndExchange(this, null, retval);
+      if (witness != null) {
+        // another thread published first
+        retval = witness;
       }
     }
-    return this.flags;
+    return retval;
   }
 }
@@ -26,6 +26,8 @@
 
 package gov.nist.secauto.metaschema.binding.metapath.item;
 
+import gov.nist.secauto.metaschema.model.common.metapath.format.IPathFormatter;
+import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IValuedNodeItem;
 
 import org.jetbrains.annotations.NotNull;
@@ -35,6 +37,11 @@ abstract class AbstractBoundXdmValuedNodeItem
 
   @NotNull
   private final Object value;
+  /**
+   * Used to cache the Metapath of this node, which is used as the prefix of the paths of its
+   * children.
+   */
+  private volatile String metapath;
 
   public AbstractBoundXdmValuedNodeItem(@NotNull Object value) {
     this.value = value;
@@ -44,4 +51,27 @@ abstract class AbstractBoundXdmValuedNodeItem
   public Object getValue() {
     return value;
   }
+
+  @Override
+  public String getMetapath() {
+    String retval = metapath;
+    if (retval == null) {
+      String segment = format(IPathFormatter.METAPATH_PATH_FORMATER);
+      INodeItem parent = getParentNodeItem();
+      retval = parent == null ? segment : parent.getMetapath() + "/" + segment;
+      metapath = retval;
+    }
+    return retval;
+  }
+
+  @Override
+  public String toPath(@NotNull IPathFormatter formatter) {
+    String retval;
+    if (IPathFormatter.METAPATH_PATH_FORMATER.equals(formatter)) {
+      retval = getMetapath();
+    } else {
+      retval = formatter.format(this);
+    }
+    return retval;
+  }
 }
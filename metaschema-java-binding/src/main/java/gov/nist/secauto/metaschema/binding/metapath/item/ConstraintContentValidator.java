@@ -27,10 +27,13 @@
 package gov.nist.secauto.metaschema.binding.metapath.item;
 
 import gov.nist.secauto.metaschema.binding.IBindingContext;
+import gov.nist.secauto.metaschema.binding.io.DefaultBoundLoader;
+import gov.nist.secauto.metaschema.binding.model.IBoundAssemblyInstance;
 import gov.nist.secauto.metaschema.model.common.constraint.AbstractFindingCollectingConstraintValidationHandler;
 import gov.nist.secauto.metaschema.model.common.constraint.DefaultConstraintValidator;
 import gov.nist.secauto.metaschema.model.common.constraint.IConstraint;
 import gov.nist.secauto.metaschema.model.common.constraint.IConstraint.Level;
+import gov.nist.secauto.metaschema.model.common.constraint.StreamingConstraintValidator;
 import gov.nist.secauto.metaschema.model.common.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.model.common.metapath.StaticContext;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
@@ -49,6 +52,7 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * A content validator that enforces Metaschema model constraints.
@@ -91,6 +95,46 @@ public class ConstraintContentValidator
     return result;
   }
 
+  /**
+   * Validate the provided content without retaining the whole document in memory.
+   * <p>
+   * Items of the model instances matched by the provided filter are validated as they are parsed and
+   * then discarded, using a {@link ValidatingItemReadHandler}. The remaining content is validated once
+   * parsing is complete. Items targeted by a cardinality, {@code index}, or {@code unique} constraint
+   * of an ancestor are retained and validated with the remaining content.
+   * 
+   * @param is
+   *          the content to validate
+   * @param documentUri
+   *          the URI of the document being validated
+   * @param filter
+   *          identifies the model instances whose items are to be validated and discarded as they are
+   *          parsed
+   * @return the validation result
+   * @throws IOException
+   *           if an error occurred while reading the content
+   */
+  @NotNull
+  public IValidationResult validateStreaming(@NotNull InputStream is, @NotNull URI documentUri,
+      @NotNull Predicate<@NotNull IBoundAssemblyInstance> filter) throws IOException {
+    StaticContext staticContext = new StaticContext();
+    DynamicContext dynamicContext = staticContext.newDynamicContext();
+    dynamicContext.setDocumentLoader(getBindingContext().newBoundLoader());
+    StreamingConstraintValidator validator = new StreamingConstraintValidator(dynamicContext);
+
+    BindingConstraintValidationHandler result = new BindingConstraintValidationHandler();
+    validator.setConstraintValidationHandler(result);
+
+    DefaultBoundLoader loader = new DefaultBoundLoader(getBindingContext());
+    loader.setItemReadHandler(new ValidatingItemReadHandler(validator, filter, documentUri));
+
+    IDocumentNodeItem nodeItem = loader.loadAsNodeItem(is, documentUri);
+    validator.validateSubtree(nodeItem);
+    validator.finalizeValidation();
+
+    return result;
+  }
+
   public static class BindingConstraintValidationHandler
       extends AbstractFindingCollectingConstraintValidationHandler
       implements IValidationResult {
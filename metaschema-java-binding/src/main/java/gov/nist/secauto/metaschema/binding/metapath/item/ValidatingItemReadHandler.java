@@ -0,0 +1,207 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.metapath.item;
+
+import gov.nist.secauto.metaschema.binding.io.IItemReadHandler;
+import gov.nist.secauto.metaschema.binding.model.IAssemblyClassBinding;
+import gov.nist.secauto.metaschema.binding.model.IBoundAssemblyInstance;
+import gov.nist.secauto.metaschema.binding.model.IBoundNamedModelInstance;
+import gov.nist.secauto.metaschema.binding.model.RootAssemblyDefinition;
+import gov.nist.secauto.metaschema.model.common.constraint.StreamingConstraintValidator;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IAssemblyNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * An item read handler that validates assembly items as they are parsed, then discards them, so
+ * that the content of a large document does not need to be held in memory for validation.
+ * <p>
+ * Each streamed item is validated as a subtree using a {@link StreamingConstraintValidator}. The
+ * node item for a streamed item is attached to node items for its real ancestors, which are only
+ * populated with the content parsed so far. This provides the item's real path, and allows the
+ * constraints of the ancestors to be applied to the item.
+ * <p>
+ * An item that is targeted by a cardinality, {@code index}, or {@code unique} constraint of an
+ * ancestor is retained instead, since these constraints need all of their targets at once. Items
+ * nested within a streamed item that also match the filter are streamed independently, and are not
+ * visible when their enclosing item is validated.
+ */
+public class ValidatingItemReadHandler implements IItemReadHandler {
+  @NotNull
+  private final StreamingConstraintValidator validator;
+  @NotNull
+  private final Predicate<@NotNull IBoundAssemblyInstance> filter;
+  @NotNull
+  private final URI documentUri;
+  /**
+   * The assembly instances whose items are being read, with the innermost first.
+   */
+  @NotNull
+  private final Deque<@NotNull ParsingFrame> frames = new ArrayDeque<>();
+  private IAssemblyClassBinding rootClassBinding;
+  private RootAssemblyDefinition rootDefinition;
+  private long streamedItemCount;
+
+  /**
+   * Construct a new handler.
+   * 
+   * @param validator
+   *          the validator used to validate each streamed item
+   * @param filter
+   *          identifies the model instances whose items are to be validated and discarded
+   * @param documentUri
+   *          the URI of the document being read
+   */
+  public ValidatingItemReadHandler(
+      @NotNull StreamingConstraintValidator validator,
+      @NotNull Predicate<@NotNull IBoundAssemblyInstance> filter,
+      @NotNull URI documentUri) {
+    this.validator = ObjectUtils.requireNonNull(validator, "validator");
+    this.filter = ObjectUtils.requireNonNull(filter, "filter");
+    this.documentUri = ObjectUtils.requireNonNull(documentUri, "documentUri");
+  }
+
+  /**
+   * Get the number of items that have been validated and discarded by this handler.
+   * 
+   * @return the item count
+   */
+  public long getStreamedItemCount() {
+    return streamedItemCount;
+  }
+
+  @Override
+  public void beginInstance(IBoundNamedModelInstance instance, Object parentInstance) {
+    if (instance instanceof IBoundAssemblyInstance) {
+      frames.push(new ParsingFrame((IBoundAssemblyInstance) instance, parentInstance));
+    }
+  }
+
+  @Override
+  public void endInstance(IBoundNamedModelInstance instance, Object parentInstance) {
+    if (instance instanceof IBoundAssemblyInstance) {
+      frames.pop();
+    }
+  }
+
+  @Override
+  public boolean handleItem(IBoundNamedModelInstance instance, Object parentInstance, Object item) {
+    boolean retain = true;
+    if (instance instanceof IBoundAssemblyInstance && filter.test((IBoundAssemblyInstance) instance)) {
+      IAssemblyNodeItem nodeItem = newParsingNodeItem((IBoundAssemblyInstance) instance, item);
+      if (validator.isStreamable(nodeItem)) {
+        validator.validateSubtree(nodeItem);
+        streamedItemCount++;
+        retain = false;
+      }
+    }
+
+    ParsingFrame frame = frames.peek();
+    if (frame != null && frame.instance.equals(instance)) {
+      // discarded items are counted too, so that later items have their real position
+      frame.itemCount++;
+    }
+    return retain;
+  }
+
+  /**
+   * Create a node item for an item that has just been read, attached to node items for the objects
+   * that are still being read.
+   */
+  @NotNull
+  private IAssemblyNodeItem newParsingNodeItem(@NotNull IBoundAssemblyInstance instance, @NotNull Object item) {
+    ParsingFrame itemFrame = frames.peek();
+    if (itemFrame == null || !itemFrame.instance.equals(instance)
+        || !frames.getLast().instance.getParentClassBinding().isRoot()
+        || frames.stream().anyMatch(frame -> frame.parentInstance == null)) {
+      // the ancestors are not known
+      return IXdmFactory.INSTANCE.newAssemblyNodeItem(instance.getDefinition(), item, documentUri); // NOPMD
+    }
+
+    Iterator<@NotNull ParsingFrame> iterator = frames.descendingIterator();
+    ParsingFrame frame = iterator.next();
+
+    IDocumentNodeItem document = IXdmFactory.INSTANCE.newDocumentNodeItem(
+        getRootDefinition(frame.instance.getParentClassBinding()),
+        ObjectUtils.notNull(frame.parentInstance),
+        documentUri);
+    AbstractBoundXdmAssemblyNodeItem parent = (AbstractBoundXdmAssemblyNodeItem) document.getRootAssemblyNodeItem();
+
+    AbstractBoundXdmAssemblyNodeItem retval = null;
+    while (frame != null) {
+      ParsingFrame next = iterator.hasNext() ? iterator.next() : null;
+      // the object being read for this frame is the parent object of the next frame
+      Object value = next == null ? item : next.parentInstance;
+      retval = (AbstractBoundXdmAssemblyNodeItem) IXdmFactory.INSTANCE.newAssemblyNodeItem(
+          frame.instance,
+          ObjectUtils.notNull(value),
+          frame.itemCount + 1,
+          parent);
+      parent.initParsingModelItems(frame.instance, retval);
+      parent = retval;
+      frame = next;
+    }
+    return ObjectUtils.notNull(retval);
+  }
+
+  @NotNull
+  private RootAssemblyDefinition getRootDefinition(@NotNull IAssemblyClassBinding classBinding) {
+    RootAssemblyDefinition retval = rootDefinition;
+    if (retval == null || !classBinding.equals(rootClassBinding)) {
+      retval = new RootAssemblyDefinition(classBinding);
+      rootDefinition = retval;
+      rootClassBinding = classBinding;
+    }
+    return retval;
+  }
+
+  /**
+   * Tracks the reading of the items of an assembly instance.
+   */
+  private static final class ParsingFrame {
+    @NotNull
+    private final IBoundAssemblyInstance instance;
+    private final Object parentInstance;
+    /**
+     * The number of items read so far, including discarded items.
+     */
+    private int itemCount;
+
+    private ParsingFrame(@NotNull IBoundAssemblyInstance instance, Object parentInstance) {
+      this.instance = instance;
+      this.parentInstance = parentInstance;
+    }
+  }
+}
@@ -27,6 +27,7 @@
 package gov.nist.secauto.metaschema.binding.metapath.item;
 
 import gov.nist.secauto.metaschema.binding.model.RootAssemblyDefinition;
+import gov.nist.secauto.metaschema.model.common.metapath.item.DocumentNameIndex;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IAssemblyNodeItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IRootAssemblyNodeItem;
@@ -47,6 +48,7 @@ class XdmDocumentNodeItemImpl implements IDocumentNodeItem {
   private final URI documentUri;
   @NotNull
   private final Map<@NotNull String, ? extends List<@NotNull ? extends IAssemblyNodeItem>> rootMap;
+  private DocumentNameIndex nameIndex;
 
   public XdmDocumentNodeItemImpl(
       @NotNull RootAssemblyDefinition root,
@@ -68,6 +70,24 @@ class XdmDocumentNodeItemImpl implements IDocumentNodeItem {
     return documentUri;
   }
 
+  @Override
+  public synchronized DocumentNameIndex getNameIndex() {
+    if (nameIndex == null) {
+      nameIndex = new DocumentNameIndex(this);
+    }
+    return nameIndex;
+  }
+
+  @Override
+  public synchronized boolean isNameIndexBuilt() {
+    return nameIndex != null;
+  }
+
+  @Override
+  public synchronized void invalidateNameIndex() {
+    nameIndex = null;
+  }
+
   @Override
   @NotNull
   public IRootAssemblyNodeItem getRootAssemblyNodeItem() {
@@ -44,6 +44,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -71,8 +74,16 @@ abstract class AbstractClassBinding implements IClassBinding {
   private final IBindingContext bindingContext;
   @NotNull
   private final Class<?> clazz;
+  @Nullable
+  private final IBindingCompanion<?> bindingCompanion;
+  @Nullable
+  private final MethodHandle constructor;
   private final Method beforeDeserializeMethod;
+  @Nullable
+  private final MethodHandle beforeDeserializeHandle;
   private final Method afterDeserializeMethod;
+  @Nullable
+  private final MethodHandle afterDeserializeHandle;
   private IMetaschema metaschema;
   private Map<@NotNull String, IBoundFlagInstance> flagInstances;
   private IBoundFlagInstance jsonKeyFlag;
@@ -88,8 +99,43 @@ abstract class AbstractClassBinding implements IClassBinding {
   public AbstractClassBinding(@NotNull Class<?> clazz, @NotNull IBindingContext bindingContext) {
     this.bindingContext = ObjectUtils.requireNonNull(bindingContext, "bindingContext");
     this.clazz = ObjectUtils.requireNonNull(clazz, "clazz");
+    this.bindingCompanion = bindingContext.getBindingCompanion(clazz);
     this.beforeDeserializeMethod = ClassIntrospector.getMatchingMethod(clazz, "beforeDeserialize", Object.class);
     this.afterDeserializeMethod = ClassIntrospector.getMatchingMethod(clazz, "afterDeserialize", Object.class);
+
+    // resolve method handles once, which are reused for each instance of the class
+    MethodHandles.Lookup lookup = ClassIntrospector.getPrivateLookup(clazz);
+    this.constructor = bindingCompanion == null ? toConstructorHandle(lookup, clazz) : null;
+    this.beforeDeserializeHandle = toCallbackHandle(lookup, beforeDeserializeMethod);
+    this.afterDeserializeHandle = toCallbackHandle(lookup, afterDeserializeMethod);
+  }
+
+  @Nullable
+  private static MethodHandle toConstructorHandle(@Nullable MethodHandles.Lookup lookup, @NotNull Class<?> clazz) {
+    MethodHandle retval = null;
+    if (lookup != null) {
+      try {
+        retval = lookup.findConstructor(clazz, MethodType.methodType(void.class))
+            .asType(MethodType.methodType(Object.class));
+      } catch (NoSuchMethodException | IllegalAccessException ex) {
+        // fall back to reflection, which will report the problem when an instance is created
+      }
+    }
+    return retval;
+  }
+
+  @Nullable
+  private static MethodHandle toCallbackHandle(@Nullable MethodHandles.Lookup lookup, @Nullable Method method) {
+    MethodHandle retval = null;
+    if (lookup != null && method != null) {
+      try {
+        retval = lookup.unreflect(method)
+            .asType(MethodType.methodType(void.class, Object.class, Object.class));
+      } catch (IllegalAccessException ex) {
+        // fall back to reflection
+      }
+    }
+    return retval;
   }
 
   @Override
@@ -107,6 +153,11 @@ abstract class AbstractClassBinding implements IClassBinding {
     return bindingContext;
   }
 
+  @Override
+  public IBindingCompanion<?> getBindingCompanion() {
+    return bindingCompanion;
+  }
+
   @Override
   public String getName() {
     // there is not a provided name, but we need to have one. This will always be provided on the
@@ -282,7 +333,9 @@ abstract class AbstractClassBinding implements IClassBinding {
   }
 
   /**
-   * Gets a new instance of the bound class.
+   * Gets a new instance of the bound class. The class's {@link IBindingCompanion} is used if
+   * available, otherwise the class's no-arg constructor is called using a method handle resolved when
+   * this binding was created, falling back to reflection.
    * 
    * @param <CLASS>
    *          the type of the bound class
@@ -292,6 +345,23 @@ abstract class AbstractClassBinding implements IClassBinding {
    */
   @NotNull
   protected <CLASS> CLASS newInstance() throws BindingException {
+    IBindingCompanion<?> companion = getBindingCompanion();
+    if (companion != null) {
+      @SuppressWarnings("unchecked")
+      CLASS retval = (CLASS) companion.newInstance();
+      return retval;
+    }
+
+    if (constructor != null) {
+      try {
+        @SuppressWarnings("unchecked")
+        CLASS retval = (CLASS) constructor.invokeExact();
+        return ObjectUtils.notNull(retval);
+      } catch (Throwable ex) { // NOPMD - required by invokeExact
+        throw new BindingException(ex);
+      }
+    }
+
     Class<?> clazz = getBoundClass();
     try {
       @SuppressWarnings("unchecked")
@@ -319,7 +389,13 @@ abstract class AbstractClassBinding implements IClassBinding {
    *           if an error occurs while calling a deserialization method
    */
   protected void callBeforeDeserialize(Object objectInstance, Object parentInstance) throws BindingException {
-    if (beforeDeserializeMethod != null) {
+    if (beforeDeserializeHandle != null) {
+      try {
+        beforeDeserializeHandle.invokeExact(objectInstance, parentInstance);
+      } catch (Throwable ex) { // NOPMD - required by invokeExact
+        throw new BindingException(ex);
+      }
+    } else if (beforeDeserializeMethod != null) {
       try {
         beforeDeserializeMethod.invoke(objectInstance, parentInstance);
       } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
@@ -341,7 +417,13 @@ abstract class AbstractClassBinding implements IClassBinding {
    *           if an error occurs while calling a deserialization method
    */
   protected void callAfterDeserialize(Object objectInstance, Object parentInstance) throws BindingException {
-    if (afterDeserializeMethod != null) {
+    if (afterDeserializeHandle != null) {
+      try {
+        afterDeserializeHandle.invokeExact(objectInstance, parentInstance);
+      } catch (Throwable ex) { // NOPMD - required by invokeExact
+        throw new BindingException(ex);
+      }
+    } else if (afterDeserializeMethod != null) {
       try {
         afterDeserializeMethod.invoke(objectInstance, parentInstance);
       } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
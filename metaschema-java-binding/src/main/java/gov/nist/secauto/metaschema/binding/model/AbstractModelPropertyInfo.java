@@ -26,10 +26,15 @@
 
 package gov.nist.secauto.metaschema.binding.model;
 
+import gov.nist.secauto.metaschema.binding.io.IItemReadHandler;
+import gov.nist.secauto.metaschema.binding.io.IParsingContext;
 import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.util.List;
+
 abstract class AbstractModelPropertyInfo
     implements IModelPropertyInfo {
 
@@ -44,4 +49,53 @@ abstract class AbstractModelPropertyInfo
   public IBoundNamedModelInstance getProperty() {
     return property;
   }
+
+  /**
+   * Add a newly read item to the collector, unless the parsing context's
+   * {@link IParsingContext#getItemReadHandler()} discards the item.
+   * 
+   * @param collector
+   *          the collector to add the item to
+   * @param parentInstance
+   *          the object the item is being read for
+   * @param item
+   *          the item that was read
+   * @param context
+   *          the current parsing context
+   * @throws IOException
+   *           if an error occurred while handling the item
+   */
+  protected void collectItem(@NotNull IPropertyCollector collector, Object parentInstance, @NotNull Object item,
+      @NotNull IParsingContext<?, ?> context) throws IOException {
+    IItemReadHandler handler = context.getItemReadHandler();
+    if (handler == null || handler.handleItem(getProperty(), parentInstance, item)) {
+      collector.add(item);
+    }
+  }
+
+  /**
+   * Add newly read items to the collector, unless the parsing context's
+   * {@link IParsingContext#getItemReadHandler()} discards an item.
+   * 
+   * @param collector
+   *          the collector to add the items to
+   * @param parentInstance
+   *          the object the items are being read for
+   * @param items
+   *          the items that were read
+   * @param context
+   *          the current parsing context
+   * @throws IOException
+   *           if an error occurred while handling an item
+   */
+  protected void collectItems(@NotNull IPropertyCollector collector, Object parentInstance,
+      @NotNull List<@NotNull Object> items, @NotNull IParsingContext<?, ?> context) throws IOException {
+    if (context.getItemReadHandler() == null) {
+      collector.addAll(items);
+    } else {
+      for (Object item : items) {
+        collectItem(collector, parentInstance, ObjectUtils.notNull(item), context);
+      }
+    }
+  }
 }
\ No newline at end of file
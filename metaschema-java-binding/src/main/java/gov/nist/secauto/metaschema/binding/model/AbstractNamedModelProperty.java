@@ -30,6 +30,7 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 
 import gov.nist.secauto.metaschema.binding.io.BindingException;
+import gov.nist.secauto.metaschema.binding.io.IItemReadHandler;
 import gov.nist.secauto.metaschema.binding.io.json.IJsonParsingContext;
 import gov.nist.secauto.metaschema.binding.io.json.IJsonWritingContext;
 import gov.nist.secauto.metaschema.binding.io.json.JsonUtil;
@@ -176,7 +177,17 @@ abstract class AbstractNamedModelProperty // NOPMD - intentional
     // parse the value
     IPropertyCollector collector = newPropertyCollector();
     IModelPropertyInfo info = getPropertyInfo();
-    info.readValue(collector, parentInstance, context);
+    IItemReadHandler handler = context.getItemReadHandler();
+    if (handler == null) {
+      info.readValue(collector, parentInstance, context);
+    } else {
+      handler.beginInstance(this, parentInstance);
+      try {
+        info.readValue(collector, parentInstance, context);
+      } finally {
+        handler.endInstance(this, parentInstance);
+      }
+    }
 
     JsonUtil.assertCurrent(context.getReader(), JsonToken.FIELD_NAME, JsonToken.END_OBJECT);
 
@@ -201,7 +212,17 @@ abstract class AbstractNamedModelProperty // NOPMD - intentional
 
     IPropertyCollector collector = newPropertyCollector();
     // There are zero or more named values based on cardinality
-    getPropertyInfo().readValue(collector, parentInstance, currentStart, context);
+    IItemReadHandler handler = context.getItemReadHandler();
+    if (handler == null) {
+      getPropertyInfo().readValue(collector, parentInstance, currentStart, context);
+    } else {
+      handler.beginInstance(this, parentInstance);
+      try {
+        getPropertyInfo().readValue(collector, parentInstance, currentStart, context);
+      } finally {
+        handler.endInstance(this, parentInstance);
+      }
+    }
 
     Object value = collector.getValue();
 
@@ -26,6 +26,10 @@
 
 package gov.nist.secauto.metaschema.binding.model;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -67,4 +71,24 @@ final class ClassIntrospector {
 
     return retval;
   }
+
+  /**
+   * Get a lookup that has private access to the members of the provided class. This is used to
+   * resolve method handles for a bound class's constructor, fields, and methods.
+   * 
+   * @param clazz
+   *          the class to get the lookup for
+   * @return the lookup or {@code null} if private access to the class is not permitted, such as when
+   *         the class is in a module that is not open to this library
+   */
+  @Nullable
+  public static MethodHandles.Lookup getPrivateLookup(@NotNull Class<?> clazz) {
+    MethodHandles.Lookup retval;
+    try {
+      retval = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+    } catch (IllegalAccessException ex) {
+      retval = null;
+    }
+    return retval;
+  }
 }
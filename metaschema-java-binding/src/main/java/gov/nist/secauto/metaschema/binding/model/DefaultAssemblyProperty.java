@@ -42,6 +42,8 @@ class DefaultAssemblyProperty
   @NotNull
   private final Field field;
   @NotNull
+  private final IPropertyAccessor propertyAccessor;
+  @NotNull
   private final BoundAssembly assembly;
 
   public static DefaultAssemblyProperty createInstance(@NotNull IAssemblyClassBinding parentClassBinding,
@@ -52,6 +54,7 @@ class DefaultAssemblyProperty
   protected DefaultAssemblyProperty(@NotNull IAssemblyClassBinding parentClassBinding, @NotNull Field field) {
     super(parentClassBinding);
     this.field = ObjectUtils.requireNonNull(field, "field");
+    this.propertyAccessor = FieldPropertyAccessor.newInstance(field, parentClassBinding);
     if (field.isAnnotationPresent(BoundAssembly.class)) {
       this.assembly = ObjectUtils.notNull(field.getAnnotation(BoundAssembly.class));
     } else {
@@ -65,6 +68,11 @@ class DefaultAssemblyProperty
     return field;
   }
 
+  @Override
+  public IPropertyAccessor getPropertyAccessor() {
+    return propertyAccessor;
+  }
+
   protected BoundAssembly getAssemblyAnnotation() {
     return assembly;
   }
@@ -60,6 +60,8 @@ class DefaultFieldProperty
   @NotNull
   private final Field field;
   @NotNull
+  private final IPropertyAccessor propertyAccessor;
+  @NotNull
   private final BoundField fieldAnnotation;
   @NotNull
   private final IJavaTypeAdapter<?> javaTypeAdapter;
@@ -74,6 +76,7 @@ class DefaultFieldProperty
   public DefaultFieldProperty(@NotNull IAssemblyClassBinding parentClassBinding, @NotNull Field field) {
     super(parentClassBinding);
     this.field = ObjectUtils.requireNonNull(field, "field");
+    this.propertyAccessor = FieldPropertyAccessor.newInstance(field, parentClassBinding);
 
     if (field.isAnnotationPresent(BoundField.class)) {
       this.fieldAnnotation = ObjectUtils.notNull(field.getAnnotation(BoundField.class));
@@ -109,6 +112,11 @@ class DefaultFieldProperty
     return field;
   }
 
+  @Override
+  public IPropertyAccessor getPropertyAccessor() {
+    return propertyAccessor;
+  }
+
   @NotNull
   public BoundField getFieldAnnotation() {
     return fieldAnnotation;
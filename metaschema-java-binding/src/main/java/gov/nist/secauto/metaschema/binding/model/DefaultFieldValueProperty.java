@@ -64,6 +64,8 @@ class DefaultFieldValueProperty
   @NotNull
   private final Field field;
   @NotNull
+  private final IPropertyAccessor propertyAccessor;
+  @NotNull
   private final BoundFieldValue fieldValue;
   @NotNull
   private final IJavaTypeAdapter<?> javaTypeAdapter;
@@ -71,6 +73,7 @@ class DefaultFieldValueProperty
   public DefaultFieldValueProperty(@NotNull IFieldClassBinding fieldClassBinding, @NotNull Field field) {
     super(fieldClassBinding);
     this.field = ObjectUtils.requireNonNull(field, "field");
+    this.propertyAccessor = FieldPropertyAccessor.newInstance(field, fieldClassBinding);
     this.fieldValue = ObjectUtils.requireNonNull(field.getAnnotation(BoundFieldValue.class));
 
     Class<? extends IJavaTypeAdapter<?>> adapterClass = ObjectUtils.notNull(fieldValue.typeAdapter());
@@ -87,6 +90,11 @@ class DefaultFieldValueProperty
     return field;
   }
 
+  @Override
+  public IPropertyAccessor getPropertyAccessor() {
+    return propertyAccessor;
+  }
+
   protected BoundFieldValue getFieldValueAnnotation() {
     return fieldValue;
   }
@@ -60,6 +60,8 @@ class DefaultFlagProperty
   @NotNull
   private final Field field;
   @NotNull
+  private final IPropertyAccessor propertyAccessor;
+  @NotNull
   private final BoundFlag flag;
   @NotNull
   private final IJavaTypeAdapter<?> javaTypeAdapter;
@@ -77,6 +79,7 @@ class DefaultFlagProperty
   public DefaultFlagProperty(@NotNull Field field, @NotNull IClassBinding parentClassBinding) {
     super(parentClassBinding);
     this.field = ObjectUtils.requireNonNull(field, "field");
+    this.propertyAccessor = FieldPropertyAccessor.newInstance(field, parentClassBinding);
     this.flag = ObjectUtils.requireNonNull(field.getAnnotation(BoundFlag.class));
 
     Class<? extends IJavaTypeAdapter<?>> adapterClass = ObjectUtils.notNull(this.flag.typeAdapter());
@@ -93,6 +96,11 @@ class DefaultFlagProperty
     return field;
   }
 
+  @Override
+  public IPropertyAccessor getPropertyAccessor() {
+    return propertyAccessor;
+  }
+
   @NotNull
   protected BoundFlag getFlagAnnotation() {
     return flag;
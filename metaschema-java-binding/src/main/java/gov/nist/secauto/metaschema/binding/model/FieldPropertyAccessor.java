@@ -0,0 +1,111 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.model;
+
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+
+/**
+ * Provides access to a bound Java property using reflection on the property's {@link Field}. This
+ * is used when the field cannot be accessed more directly.
+ */
+final class FieldPropertyAccessor implements IPropertyAccessor {
+  @NotNull
+  private final Field field;
+
+  /**
+   * Get an accessor for the provided field. The accessor provided by the containing class's
+   * {@link IBindingCompanion} is used if available. Otherwise, the field is accessed using method
+   * handles if permitted, falling back to reflection.
+   * 
+   * @param field
+   *          the bound Java field
+   * @param parentClassBinding
+   *          the class binding for the field's containing class
+   * @return the accessor
+   */
+  @NotNull
+  public static IPropertyAccessor newInstance(@NotNull Field field, @NotNull IClassBinding parentClassBinding) {
+    IBindingCompanion<?> companion = parentClassBinding.getBindingCompanion();
+
+    IPropertyAccessor retval = null;
+    if (companion != null && companion.getBoundClass().equals(field.getDeclaringClass())) {
+      retval = companion.getPropertyAccessor(ObjectUtils.notNull(field.getName()));
+    }
+
+    if (retval == null) {
+      retval = MethodHandlePropertyAccessor.newInstance(field);
+    }
+
+    if (retval == null) {
+      retval = new FieldPropertyAccessor(field);
+    }
+    return retval;
+  }
+
+  private FieldPropertyAccessor(@NotNull Field field) {
+    this.field = field;
+  }
+
+  @Override
+  public Object getValue(@NotNull Object obj) {
+    boolean accessable = field.canAccess(obj);
+    field.setAccessible(true); // NOPMD - intentional
+    Object retval;
+    try {
+      Object result = field.get(obj);
+      retval = result;
+    } catch (IllegalArgumentException | IllegalAccessException ex) {
+      throw new IllegalArgumentException(
+          String.format("Unable to get the value of field '%s' in class '%s'.", field.getName(),
+              field.getDeclaringClass().getName()),
+          ex);
+    } finally {
+      field.setAccessible(accessable); // NOPMD - intentional
+    }
+    return retval;
+  }
+
+  @Override
+  public void setValue(@NotNull Object obj, Object value) {
+    boolean accessable = field.canAccess(obj);
+    field.setAccessible(true); // NOPMD - intentional
+    try {
+      field.set(obj, value);
+    } catch (IllegalArgumentException | IllegalAccessException ex) {
+      throw new IllegalArgumentException(
+          String.format("Unable to set the value of field '%s' in class '%s'.", field.getName(),
+              field.getDeclaringClass().getName()),
+          ex);
+    } finally {
+      field.setAccessible(accessable); // NOPMD - intentional
+    }
+  }
+}
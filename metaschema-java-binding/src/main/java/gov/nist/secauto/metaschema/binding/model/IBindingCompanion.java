@@ -0,0 +1,96 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.model;
+
+import gov.nist.secauto.metaschema.binding.IBindingContext;
+import gov.nist.secauto.metaschema.binding.model.annotations.MetaschemaAssembly;
+import gov.nist.secauto.metaschema.binding.model.annotations.MetaschemaField;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A companion to a {@link MetaschemaAssembly} or {@link MetaschemaField} bound class, which
+ * provides direct access to the class's constructor and properties. A class binding uses a
+ * companion in place of reflection when one is available.
+ * <p>
+ * Companions are typically generated along with the bound class. A companion is discovered by
+ * {@link IBindingContext#getBindingCompanion(Class)} using the class name provided by
+ * {@link #getCompanionClassName(Class)}, and must have a public no-arg constructor.
+ * 
+ * @param <CLASS>
+ *          the Java type of the bound class
+ */
+public interface IBindingCompanion<CLASS> {
+  /**
+   * The suffix appended to the name of a bound class to form the name of its companion.
+   */
+  @NotNull
+  String COMPANION_CLASS_SUFFIX = "_Binding";
+
+  /**
+   * Get the name of the companion class for the provided bound class. The companion is a top-level
+   * class in the same package as the bound class. For a nested bound class, the binary name is used,
+   * keeping the {@code $} between the enclosing and nested class names. This ensures the companion of
+   * a nested {@code Outer.Inner} does not collide with the companion of a top-level
+   * {@code Outer_Inner}.
+   * 
+   * @param clazz
+   *          the bound class
+   * @return the fully qualified name of the companion class
+   */
+  @NotNull
+  static String getCompanionClassName(@NotNull Class<?> clazz) {
+    return clazz.getName() + COMPANION_CLASS_SUFFIX;
+  }
+
+  /**
+   * Get the class this companion is for.
+   * 
+   * @return the bound class
+   */
+  @NotNull
+  Class<CLASS> getBoundClass();
+
+  /**
+   * Create a new instance of the bound class.
+   * 
+   * @return the new instance
+   */
+  @NotNull
+  CLASS newInstance();
+
+  /**
+   * Get the accessor for the Java property with the provided name.
+   * 
+   * @param javaPropertyName
+   *          the name of the Java field bound to the property
+   * @return the accessor or {@code null} if this companion does not provide access to the property
+   */
+  @Nullable
+  IPropertyAccessor getPropertyAccessor(@NotNull String javaPropertyName);
+}
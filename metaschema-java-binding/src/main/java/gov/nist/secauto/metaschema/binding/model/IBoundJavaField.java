@@ -90,40 +90,21 @@ interface IBoundJavaField extends IBoundNamedInstance {
     return (Class<?>) getType();
   }
 
+  /**
+   * Gets the accessor used to get and set the value of the bound Java field.
+   * 
+   * @return the accessor
+   */
+  @NotNull
+  IPropertyAccessor getPropertyAccessor();
+
   @Override
   default Object getValue(Object obj) {
-    Field field = getField();
-    boolean accessable = field.canAccess(obj);
-    field.setAccessible(true); // NOPMD - intentional
-    Object retval;
-    try {
-      Object result = field.get(obj);
-      retval = result;
-    } catch (IllegalArgumentException | IllegalAccessException ex) {
-      throw new IllegalArgumentException(
-          String.format("Unable to get the value of field '%s' in class '%s'.", field.getName(),
-              field.getDeclaringClass().getName()),
-          ex);
-    } finally {
-      field.setAccessible(accessable); // NOPMD - intentional
-    }
-    return retval;
+    return getPropertyAccessor().getValue(obj);
   }
 
   @Override
   default void setValue(Object obj, Object value) {
-    Field field = getField();
-    boolean accessable = field.canAccess(obj);
-    field.setAccessible(true); // NOPMD - intentional
-    try {
-      field.set(obj, value);
-    } catch (IllegalArgumentException | IllegalAccessException ex) {
-      throw new IllegalArgumentException(
-          String.format("Unable to set the value of field '%s' in class '%s'.", field.getName(),
-              field.getDeclaringClass().getName()),
-          ex);
-    } finally {
-      field.setAccessible(accessable); // NOPMD - intentional
-    }
+    getPropertyAccessor().setValue(obj, value);
   }
 }
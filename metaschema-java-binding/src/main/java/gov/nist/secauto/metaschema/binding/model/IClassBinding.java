@@ -65,6 +65,16 @@ public interface IClassBinding extends IBoundNamedModelDefinition {
   @NotNull
   Class<?> getBoundClass();
 
+  /**
+   * Get the companion of the bound class, which provides direct access to the class's constructor and
+   * properties.
+   * 
+   * @return the companion or {@code null} if the bound class does not have a companion
+   * @see IBindingContext#getBindingCompanion(Class)
+   */
+  @Nullable
+  IBindingCompanion<?> getBindingCompanion();
+
   // Provides a compatible return value
   @Override
   IBoundFlagInstance getJsonKeyFlagInstance();
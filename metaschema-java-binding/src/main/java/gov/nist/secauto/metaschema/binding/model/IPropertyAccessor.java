@@ -0,0 +1,95 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Provides access to the value of a bound Java property on an instance of the property's containing
+ * class.
+ */
+public interface IPropertyAccessor {
+  /**
+   * Create a new accessor that uses the provided functions to get and set the property's value.
+   * <p>
+   * This is intended to be used by generated {@link IBindingCompanion} implementations, which can
+   * provide method references to the bound class's getter and setter methods.
+   * 
+   * @param <CLASS>
+   *          the Java type of the class containing the property
+   * @param <VALUE>
+   *          the Java type of the property's value
+   * @param getter
+   *          the function used to get the property's value
+   * @param setter
+   *          the function used to set the property's value
+   * @return the new accessor
+   */
+  @NotNull
+  static <CLASS, VALUE> IPropertyAccessor of(@NotNull Function<CLASS, VALUE> getter,
+      @NotNull BiConsumer<CLASS, VALUE> setter) {
+    return new IPropertyAccessor() {
+      @SuppressWarnings("unchecked")
+      @Override
+      public Object getValue(@NotNull Object obj) {
+        return getter.apply((CLASS) obj);
+      }
+
+      @SuppressWarnings("unchecked")
+      @Override
+      public void setValue(@NotNull Object obj, Object value) {
+        setter.accept((CLASS) obj, (VALUE) value);
+      }
+    };
+  }
+
+  /**
+   * Get the value of the property on the provided object.
+   * 
+   * @param obj
+   *          the object containing the property
+   * @return the property's value
+   * @throws IllegalArgumentException
+   *           if the value could not be read from the object
+   */
+  Object getValue(@NotNull Object obj);
+
+  /**
+   * Set the value of the property on the provided object.
+   * 
+   * @param obj
+   *          the object containing the property
+   * @param value
+   *          the property's new value
+   * @throws IllegalArgumentException
+   *           if the value could not be set on the object
+   */
+  void setValue(@NotNull Object obj, Object value);
+}
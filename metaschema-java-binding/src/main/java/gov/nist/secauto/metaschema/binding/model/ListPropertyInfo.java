@@ -31,6 +31,7 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 
 import gov.nist.secauto.metaschema.binding.io.BindingException;
+import gov.nist.secauto.metaschema.binding.io.StreamedList;
 import gov.nist.secauto.metaschema.binding.io.json.IJsonParsingContext;
 import gov.nist.secauto.metaschema.binding.io.json.IJsonWritingContext;
 import gov.nist.secauto.metaschema.binding.io.json.JsonUtil;
@@ -46,6 +47,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
+import java.util.Collection;
 import java.util.List;
 
 import javax.xml.namespace.QName;
@@ -84,6 +86,15 @@ class ListPropertyInfo
     return value == null ? CollectionUtil.emptyList() : (List<?>) value;
   }
 
+  /**
+   * Get the provided items to write. The items of a {@link StreamedList} are streamed as they are
+   * written, without retaining them.
+   */
+  @NotNull
+  private static Collection<@NotNull ? extends Object> getItemsToWrite(@NotNull List<@NotNull ? extends Object> items) {
+    return items instanceof StreamedList ? ((StreamedList<@NotNull ? extends Object>) items).streamItems() : items;
+  }
+
   @Override
   public boolean readValue(IPropertyCollector collector, Object parentInstance, StartElement start,
       IXmlParsingContext context) throws IOException, XMLStreamException {
@@ -103,7 +114,7 @@ class ListPropertyInfo
 
       Object value = getProperty().readItem(parentInstance, start, context);
       if (value != null) {
-        collector.add(value);
+        collectItem(collector, parentInstance, value, context);
         handled = true;
       }
 
@@ -131,7 +142,7 @@ class ListPropertyInfo
       // this is a singleton, just parse the value as a single item
       IBoundNamedModelInstance property = getProperty();
       List<@NotNull Object> values = property.readItem(parentInstance, false, context);
-      collector.addAll(values);
+      collectItems(collector, parentInstance, values, context);
 
       // if (isObject) {
       // // read the object's END_OBJECT
@@ -151,7 +162,7 @@ class ListPropertyInfo
         // }
 
         List<@NotNull Object> values = getProperty().readItem(parentInstance, false, context);
-        collector.addAll(values);
+        collectItems(collector, parentInstance, values, context);
 
         // if (isObject) {
         // // read the object's END_OBJECT
@@ -168,8 +179,7 @@ class ListPropertyInfo
   public void writeValue(Object value, QName parentName, IXmlWritingContext context)
       throws XMLStreamException, IOException {
     IBoundNamedModelInstance property = getProperty();
-    List<@NotNull ? extends Object> items = getItemsFromValue(value);
-    for (Object item : items) {
+    for (Object item : getItemsToWrite(getItemsFromValue(value))) {
       property.writeItem(item, parentName, context);
     }
   }
@@ -182,13 +192,14 @@ class ListPropertyInfo
 
     boolean writeArray = false;
     if (JsonGroupAsBehavior.LIST.equals(getProperty().getJsonGroupAsBehavior())
-        || JsonGroupAsBehavior.SINGLETON_OR_LIST.equals(getProperty().getJsonGroupAsBehavior()) && items.size() > 1) {
+        || JsonGroupAsBehavior.SINGLETON_OR_LIST.equals(getProperty().getJsonGroupAsBehavior())
+            && hasMultipleItems(items)) {
       // write array, then items
       writeArray = true;
       writer.writeStartArray();
     } // only other option is a singleton value, write item
 
-    getProperty().getDataTypeHandler().writeItems(items, true, context);
+    getProperty().getDataTypeHandler().writeItems(getItemsToWrite(items), true, context);
 
     if (writeArray) {
       // write the end array
@@ -196,6 +207,10 @@ class ListPropertyInfo
     }
   }
 
+  private static boolean hasMultipleItems(@NotNull List<?> items) {
+    return items instanceof StreamedList ? ((StreamedList<?>) items).hasMultipleItems() : items.size() > 1;
+  }
+
   @Override
   public boolean isValueSet(Object parentInstance) throws IOException {
     List<? extends Object> items = getItemsFromParentInstance(parentInstance);
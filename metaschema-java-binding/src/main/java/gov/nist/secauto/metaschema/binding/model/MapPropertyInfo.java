@@ -110,7 +110,7 @@ class MapPropertyInfo
       JsonUtil.assertCurrent(jsonParser, JsonToken.FIELD_NAME);
 
       List<@NotNull Object> values = property.readItem(parentInstance, true, context);
-      collector.addAll(values);
+      collectItems(collector, parentInstance, values, context);
 
       // the next item will be a FIELD_NAME, or we will encounter an END_OBJECT if all items have been
       // read
@@ -137,7 +137,7 @@ class MapPropertyInfo
       // Consume the start element
       Object value = getProperty().readItem(parentInstance, start, context);
       if (value != null) {
-        collector.add(value);
+        collectItem(collector, parentInstance, value, context);
         handled = true;
       }
 
@@ -0,0 +1,109 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.model;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Provides access to a bound Java property using method handles for the property's {@link Field},
+ * which are resolved once when the accessor is created.
+ */
+final class MethodHandlePropertyAccessor implements IPropertyAccessor {
+  @NotNull
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  @NotNull
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  @NotNull
+  private final Field field;
+  @NotNull
+  private final MethodHandle getter;
+  @NotNull
+  private final MethodHandle setter;
+
+  /**
+   * Create a new accessor for the provided field.
+   * 
+   * @param field
+   *          the bound Java field
+   * @return the accessor or {@code null} if the field cannot be accessed using method handles
+   */
+  @Nullable
+  public static IPropertyAccessor newInstance(@NotNull Field field) {
+    MethodHandles.Lookup lookup = ClassIntrospector.getPrivateLookup(field.getDeclaringClass());
+
+    IPropertyAccessor retval = null;
+    if (lookup != null) {
+      try {
+        // adapt the handles to a generic type, allowing them to be invoked exactly
+        MethodHandle getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        MethodHandle setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        retval = new MethodHandlePropertyAccessor(field, getter, setter);
+      } catch (IllegalAccessException ex) {
+        // the field cannot be accessed, such as a final field which cannot be set
+      }
+    }
+    return retval;
+  }
+
+  private MethodHandlePropertyAccessor(@NotNull Field field, @NotNull MethodHandle getter,
+      @NotNull MethodHandle setter) {
+    this.field = field;
+    this.getter = getter;
+    this.setter = setter;
+  }
+
+  @Override
+  public Object getValue(@NotNull Object obj) {
+    try {
+      return (Object) getter.invokeExact(obj);
+    } catch (Throwable ex) { // NOPMD - required by invokeExact
+      throw new IllegalArgumentException(
+          String.format("Unable to get the value of field '%s' in class '%s'.", field.getName(),
+              field.getDeclaringClass().getName()),
+          ex);
+    }
+  }
+
+  @Override
+  public void setValue(@NotNull Object obj, Object value) {
+    try {
+      setter.invokeExact(obj, value);
+    } catch (Throwable ex) { // NOPMD - required by invokeExact
+      throw new IllegalArgumentException(
+          String.format("Unable to set the value of field '%s' in class '%s'.", field.getName(),
+              field.getDeclaringClass().getName()),
+          ex);
+    }
+  }
+}
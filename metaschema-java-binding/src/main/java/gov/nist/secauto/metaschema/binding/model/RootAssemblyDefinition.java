@@ -109,6 +109,11 @@ public class RootAssemblyDefinition
     return getRootDefinition().getBoundClass();
   }
 
+  @Override
+  public IBindingCompanion<?> getBindingCompanion() {
+    return getRootDefinition().getBindingCompanion();
+  }
+
   @Override
   public IBoundFlagInstance getJsonKeyFlagInstance() {
     // always null, since this is a root
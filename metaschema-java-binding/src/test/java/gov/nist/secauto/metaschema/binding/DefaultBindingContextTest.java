@@ -0,0 +1,127 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import gov.nist.secauto.metaschema.binding.io.DefaultFactoryRegistry;
+import gov.nist.secauto.metaschema.binding.io.Feature;
+import gov.nist.secauto.metaschema.binding.io.Format;
+import gov.nist.secauto.metaschema.binding.io.IDeserializer;
+import gov.nist.secauto.metaschema.binding.io.IFactoryRegistry;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedItemAssembly;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedRootAssembly;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedSectionAssembly;
+
+import org.codehaus.stax2.XMLInputFactory2;
+import org.codehaus.stax2.XMLOutputFactory2;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.util.LinkedList;
+import java.util.List;
+
+class DefaultBindingContextTest {
+
+  @Test
+  void testSerializersAndDeserializersShareRegistryFactories() throws IOException {
+    RecordingFactoryRegistry registry = new RecordingFactoryRegistry();
+    IBindingContext bindingContext = new DefaultBindingContext() {
+      @Override
+      public IFactoryRegistry getFactoryRegistry() {
+        return registry;
+      }
+    };
+
+    ConstrainedRootAssembly root = new ConstrainedRootAssembly();
+    ConstrainedSectionAssembly section = new ConstrainedSectionAssembly();
+    section.getItems().add(new ConstrainedItemAssembly("i1", null, "a"));
+    root.getSections().add(section);
+
+    for (Format format : Format.values()) {
+      StringWriter writer = new StringWriter();
+      bindingContext.newSerializer(format, ConstrainedRootAssembly.class).serialize(root, writer);
+
+      IDeserializer<ConstrainedRootAssembly> deserializer
+          = bindingContext.newDeserializer(format, ConstrainedRootAssembly.class);
+      deserializer.enableFeature(Feature.DESERIALIZE_JSON_ROOT_PROPERTY);
+      ConstrainedRootAssembly result
+          = deserializer.deserialize(new StringReader(writer.toString()), URI.create("https://example.com/root"));
+      assertEquals("i1", result.getSections().get(0).getItems().get(0).getId());
+    }
+
+    // each serializer and deserializer obtained the same factory instance from the registry
+    assertSame(registry.delegate.getXmlOutputFactory(), registry.requested.get(0));
+    assertSame(registry.delegate.getXmlInputFactory(), registry.requested.get(1));
+    assertSame(registry.delegate.getJsonFactory(), registry.requested.get(2));
+    assertSame(registry.delegate.getJsonFactory(), registry.requested.get(3));
+    assertSame(registry.delegate.getYamlFactory(), registry.requested.get(4));
+    assertSame(registry.delegate.getYamlFactory(), registry.requested.get(5));
+    assertEquals(6, registry.requested.size());
+  }
+
+  private static final class RecordingFactoryRegistry implements IFactoryRegistry {
+    @NotNull
+    private final IFactoryRegistry delegate = new DefaultFactoryRegistry();
+    @NotNull
+    private final List<Object> requested = new LinkedList<>();
+
+    @Override
+    public XMLInputFactory2 getXmlInputFactory() {
+      return record(delegate.getXmlInputFactory());
+    }
+
+    @Override
+    public XMLOutputFactory2 getXmlOutputFactory() {
+      return record(delegate.getXmlOutputFactory());
+    }
+
+    @Override
+    public JsonFactory getJsonFactory() {
+      return record(delegate.getJsonFactory());
+    }
+
+    @Override
+    public YAMLFactory getYamlFactory() {
+      return record(delegate.getYamlFactory());
+    }
+
+    @NotNull
+    private <T> T record(@NotNull T factory) {
+      requested.add(factory);
+      return factory;
+    }
+  }
+}
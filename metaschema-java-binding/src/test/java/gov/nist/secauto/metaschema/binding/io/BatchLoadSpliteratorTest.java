@@ -0,0 +1,271 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.binding.IBindingContext;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+
+import org.jmock.Expectations;
+import org.jetbrains.annotations.NotNull;
+import org.jmock.junit5.JUnit5Mockery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class BatchLoadSpliteratorTest {
+  @RegisterExtension
+  JUnit5Mockery context = new JUnit5Mockery();
+
+  private final IBoundLoader loader = context.mock(IBoundLoader.class);
+  private final IDocumentNodeItem nodeItem = context.mock(IDocumentNodeItem.class);
+  private final BlockingQueue<Throwable> uncaught = new LinkedBlockingQueue<>();
+  private final ExecutorService pool = Executors.newFixedThreadPool(4, runnable -> {
+    Thread thread = new Thread(runnable);
+    thread.setDaemon(true);
+    thread.setUncaughtExceptionHandler((t, ex) -> uncaught.add(ex));
+    return thread;
+  });
+
+  @AfterEach
+  void shutdownPool() throws InterruptedException {
+    pool.shutdownNow();
+    assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testBoundedInFlight() throws IOException {
+    URI first = Path.of("first.xml").toAbsolutePath().toUri();
+    URI second = Path.of("second.json").toAbsolutePath().toUri();
+    URI third = Path.of("third.yaml").toAbsolutePath().toUri();
+    IOException failure = new IOException("unable to load");
+
+    context.checking(new Expectations() {
+      { // NOPMD - intentional
+        oneOf(loader).loadAsNodeItem(Path.of(first));
+        will(returnValue(nodeItem));
+        oneOf(loader).loadAsNodeItem(Path.of(second));
+        will(throwException(failure));
+        oneOf(loader).loadAsNodeItem(Path.of(third));
+        will(returnValue(nodeItem));
+      }
+    });
+
+    AtomicInteger submitted = new AtomicInteger();
+    Executor executor = command -> {
+      submitted.incrementAndGet();
+      command.run();
+    };
+
+    Iterator<BatchLoadResult> results = Spliterators.iterator(
+        new BatchLoadSpliterator(loader, List.of(first, second, third).iterator(), executor, 2));
+
+    assertTrue(results.hasNext());
+    assertEquals(2, submitted.get());
+    BatchLoadResult result = results.next();
+    assertEquals(first, result.getSource());
+    assertSame(nodeItem, result.getNodeItem());
+
+    assertTrue(results.hasNext());
+    assertEquals(3, submitted.get());
+    result = results.next();
+    assertEquals(second, result.getSource());
+    assertFalse(result.isSuccess());
+    assertSame(failure, result.getFailure());
+
+    assertTrue(results.hasNext());
+    assertEquals(third, results.next().getSource());
+    assertFalse(results.hasNext());
+  }
+
+  @Test
+  void testCompletionOrderOnThreadPool() {
+    URI slow = newSource(0);
+    URI fast = newSource(1);
+    CountDownLatch releaseSlow = new CountDownLatch(1);
+
+    IBoundLoader loader = new TestLoader(path -> {
+      if (Path.of(slow).equals(path)) {
+        // the slow document completes only after the fast one has been consumed
+        assertTrue(releaseSlow.await(5, TimeUnit.SECONDS));
+      }
+      return nodeItem;
+    });
+
+    Iterator<BatchLoadResult> results = Spliterators.iterator(
+        new BatchLoadSpliterator(loader, List.of(slow, fast).iterator(), pool, 2));
+
+    // the document submitted second is provided first, since it completed first
+    assertEquals(fast, results.next().getSource());
+    releaseSlow.countDown();
+    assertEquals(slow, results.next().getSource());
+    assertFalse(results.hasNext());
+  }
+
+  @Test
+  void testMaxInFlightOnThreadPool() {
+    int maxInFlight = 3;
+    int count = 12;
+
+    List<URI> sources = new LinkedList<>();
+    for (int i = 0; i < count; i++) {
+      sources.add(newSource(i));
+    }
+
+    // the first loads wait for each other, which requires them to run concurrently
+    CountDownLatch concurrentStart = new CountDownLatch(maxInFlight);
+    AtomicInteger loading = new AtomicInteger();
+    AtomicInteger maxLoading = new AtomicInteger();
+    IBoundLoader loader = new TestLoader(path -> {
+      maxLoading.accumulateAndGet(loading.incrementAndGet(), Math::max);
+      try {
+        concurrentStart.countDown();
+        assertTrue(concurrentStart.await(5, TimeUnit.SECONDS));
+        // stagger the completion of the loads
+        Thread.sleep(sources.indexOf(path.toUri()) % maxInFlight * 5L);
+      } finally {
+        loading.decrementAndGet();
+      }
+      return nodeItem;
+    });
+
+    AtomicInteger submitted = new AtomicInteger();
+    AtomicInteger consumed = new AtomicInteger();
+    AtomicInteger maxOutstanding = new AtomicInteger();
+    Executor executor = command -> {
+      maxOutstanding.accumulateAndGet(submitted.incrementAndGet() - consumed.get(), Math::max);
+      pool.execute(command);
+    };
+
+    Set<URI> loaded = new HashSet<>();
+    Spliterators.iterator(new BatchLoadSpliterator(loader, sources.iterator(), executor, maxInFlight))
+        .forEachRemaining(result -> {
+          consumed.incrementAndGet();
+          assertTrue(result.isSuccess());
+          assertTrue(loaded.add(result.getSource()));
+        });
+
+    assertEquals(Set.copyOf(sources), loaded);
+    assertEquals(maxInFlight, maxOutstanding.get());
+    assertEquals(maxInFlight, maxLoading.get());
+    assertTrue(uncaught.isEmpty());
+  }
+
+  @Test
+  void testErrorPropagationOnThreadPool() throws InterruptedException {
+    URI first = newSource(0);
+    URI broken = newSource(1);
+    URI last = newSource(2);
+    LinkageError error = new LinkageError("unable to load");
+
+    IBoundLoader loader = new TestLoader(path -> {
+      if (Path.of(broken).equals(path)) {
+        throw error;
+      }
+      return nodeItem;
+    });
+
+    List<URI> succeeded = new LinkedList<>();
+    List<BatchLoadResult> failed = new LinkedList<>();
+    Spliterators.iterator(new BatchLoadSpliterator(loader, List.of(first, broken, last).iterator(), pool, 2))
+        .forEachRemaining(result -> {
+          if (result.isSuccess()) {
+            succeeded.add(result.getSource());
+          } else {
+            failed.add(result);
+          }
+        });
+
+    // the error is reported as the document's result, without stopping the other loads
+    assertEquals(Set.of(first, last), Set.copyOf(succeeded));
+    assertEquals(1, failed.size());
+    assertEquals(broken, failed.get(0).getSource());
+    assertSame(error, failed.get(0).getFailure());
+
+    // the error is also propagated to the executor's thread
+    assertSame(error, uncaught.poll(5, TimeUnit.SECONDS));
+    assertTrue(uncaught.isEmpty());
+  }
+
+  @NotNull
+  private static URI newSource(int index) {
+    return Path.of("document-" + index + ".xml").toAbsolutePath().toUri();
+  }
+
+  @FunctionalInterface
+  private interface LoadAction {
+    @NotNull
+    IDocumentNodeItem load(@NotNull Path path) throws IOException, InterruptedException;
+  }
+
+  /**
+   * A loader that performs the provided action on the loading thread, in place of reading the file.
+   */
+  private static final class TestLoader
+      extends DefaultBoundLoader {
+    @NotNull
+    private final LoadAction action;
+
+    private TestLoader(@NotNull LoadAction action) {
+      super(IBindingContext.newInstance());
+      this.action = action;
+    }
+
+    @Override
+    public IDocumentNodeItem loadAsNodeItem(Path path) throws IOException {
+      try {
+        return action.load(path);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException(ex.getMessage());
+      }
+    }
+  }
+}
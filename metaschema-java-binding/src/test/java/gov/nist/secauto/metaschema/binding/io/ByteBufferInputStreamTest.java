@@ -0,0 +1,97 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class ByteBufferInputStreamTest {
+  private static final byte[] DATA = "{ \"value\": \"\u00e9t\u00e9\" }".getBytes(StandardCharsets.UTF_16);
+
+  @Test
+  void testReadBuffer() throws IOException {
+    try (InputStream is = new ByteBufferInputStream(ByteBuffer.wrap(DATA))) {
+      assertEquals(DATA.length, is.available());
+      assertEquals(DATA[0] & 0xFF, is.read());
+      assertEquals(2, is.skip(2));
+
+      byte[] remaining = new byte[DATA.length];
+      int count = is.read(remaining, 0, remaining.length);
+      assertEquals(DATA.length - 3, count);
+      assertEquals(-1, is.read());
+      assertEquals(-1, is.read(remaining, 0, 1));
+    }
+  }
+
+  @Test
+  void testMarkReset() throws IOException {
+    try (InputStream is = new ByteBufferInputStream(ByteBuffer.wrap(DATA))) {
+      assertTrue(is.markSupported());
+      assertThrows(IOException.class, () -> is.reset());
+
+      is.mark(4);
+      assertEquals(4, is.readNBytes(4).length);
+      is.reset();
+      assertArrayEquals(DATA, is.readAllBytes());
+    }
+  }
+
+  @Test
+  void testMappedFile(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("data.json");
+    Files.write(file, DATA);
+
+    try (InputStream is = ByteBufferInputStream.newInputStream(file, 0)) {
+      assertTrue(is instanceof ByteBufferInputStream);
+      assertArrayEquals(DATA, is.readAllBytes());
+    }
+  }
+
+  @Test
+  void testSmallFileNotMapped(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("data.json");
+    Files.write(file, DATA);
+
+    try (InputStream is = ByteBufferInputStream.newInputStream(file)) {
+      assertFalse(is instanceof ByteBufferInputStream);
+      assertArrayEquals(DATA, is.readAllBytes());
+    }
+  }
+}
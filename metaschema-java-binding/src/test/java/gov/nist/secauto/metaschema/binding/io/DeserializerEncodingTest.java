@@ -0,0 +1,133 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.binding.IBindingContext;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedItemAssembly;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedRootAssembly;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedSectionAssembly;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+class DeserializerEncodingTest {
+  private static final String ID = "été";
+  private static final byte[] NO_BOM = {};
+  private static final byte[] UTF_8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+  private static final byte[] UTF_16BE_BOM = { (byte) 0xFE, (byte) 0xFF };
+  private static final byte[] UTF_16LE_BOM = { (byte) 0xFF, (byte) 0xFE };
+
+  private static Stream<Arguments> provideEncodings() {
+    Stream.Builder<Arguments> builder = Stream.builder();
+    for (Format format : Format.values()) {
+      builder.add(Arguments.of(format, StandardCharsets.UTF_8, NO_BOM));
+      builder.add(Arguments.of(format, StandardCharsets.UTF_8, UTF_8_BOM));
+      builder.add(Arguments.of(format, StandardCharsets.UTF_16BE, UTF_16BE_BOM));
+      builder.add(Arguments.of(format, StandardCharsets.UTF_16LE, UTF_16LE_BOM));
+      builder.add(Arguments.of(format, StandardCharsets.UTF_16BE, NO_BOM));
+      builder.add(Arguments.of(format, StandardCharsets.UTF_16LE, NO_BOM));
+    }
+    return builder.build();
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideEncodings")
+  void testByteBufferEncodingDetection(@NotNull Format format, @NotNull Charset charset, byte[] bom)
+      throws IOException {
+    IBindingContext bindingContext = IBindingContext.newInstance();
+    byte[] data = encode(bindingContext, format, charset, bom);
+
+    try (InputStream is = new ByteBufferInputStream(ByteBuffer.wrap(data))) {
+      ConstrainedRootAssembly result = newDeserializer(bindingContext, format)
+          .deserialize(is, URI.create("https://example.com/root"));
+      assertEquals(ID, result.getSections().get(0).getItems().get(0).getId());
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideEncodings")
+  void testMappedFileEncodingDetection(@NotNull Format format, @NotNull Charset charset, byte[] bom,
+      @TempDir Path tempDir) throws IOException {
+    IBindingContext bindingContext = IBindingContext.newInstance();
+    Path file = tempDir.resolve("root");
+    Files.write(file, encode(bindingContext, format, charset, bom));
+
+    // force the file to be memory-mapped regardless of its size
+    try (InputStream is = ByteBufferInputStream.newInputStream(file, 0)) {
+      ConstrainedRootAssembly result = newDeserializer(bindingContext, format)
+          .deserialize(is, file.toUri());
+      assertEquals(ID, result.getSections().get(0).getItems().get(0).getId());
+    }
+  }
+
+  @NotNull
+  private static IDeserializer<ConstrainedRootAssembly> newDeserializer(@NotNull IBindingContext bindingContext,
+      @NotNull Format format) {
+    IDeserializer<ConstrainedRootAssembly> retval
+        = bindingContext.newDeserializer(format, ConstrainedRootAssembly.class);
+    retval.enableFeature(Feature.DESERIALIZE_JSON_ROOT_PROPERTY);
+    return retval;
+  }
+
+  private static byte[] encode(@NotNull IBindingContext bindingContext, @NotNull Format format,
+      @NotNull Charset charset, byte[] bom) throws IOException {
+    ConstrainedRootAssembly root = new ConstrainedRootAssembly();
+    ConstrainedSectionAssembly section = new ConstrainedSectionAssembly();
+    section.getItems().add(new ConstrainedItemAssembly(ID, null, "a"));
+    root.getSections().add(section);
+
+    StringWriter writer = new StringWriter();
+    bindingContext.newSerializer(format, ConstrainedRootAssembly.class).serialize(root, writer);
+    String content = writer.toString();
+    if (Format.XML.equals(format)) {
+      // the XML declaration must agree with the actual encoding
+      content = content.replaceFirst("encoding=(['\"])[^'\"]*(['\"])", "encoding=$1" + charset.name() + "$2");
+    }
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    os.write(bom);
+    os.write(content.getBytes(charset));
+    return os.toByteArray();
+  }
+}
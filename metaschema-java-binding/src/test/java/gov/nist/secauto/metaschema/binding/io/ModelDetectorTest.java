@@ -0,0 +1,98 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.namespace.QName;
+
+class ModelDetectorTest {
+  private static final String NS = "http://example.com/ns/test";
+
+  @NotNull
+  private static ModelDetector.Result detect(@NotNull String content, @NotNull Charset charset,
+      @Nullable Format formatHint) {
+    byte[] bytes = content.getBytes(charset);
+    ModelDetector.Result retval = ModelDetector.detect(bytes, bytes.length, formatHint);
+    assertNotNull(retval);
+    return retval;
+  }
+
+  @Test
+  void testXml() {
+    ModelDetector.Result result = detect("<?xml version=\"1.0\"?>\n<!-- a comment -->\n"
+        + "<t:root xmlns=\"urn:other\" xmlns:t='" + NS + "' id=\"1\"><t:child/></t:root>",
+        StandardCharsets.UTF_16, null);
+    assertEquals(Format.XML, result.getFormat());
+    assertEquals(new QName(NS, "root"), result.getXmlRootName());
+  }
+
+  @Test
+  void testXmlDoctypeNotDetected() {
+    ModelDetector.Result result = detect("<!DOCTYPE root>\n<root xmlns=\"" + NS + "\"/>",
+        StandardCharsets.UTF_8, null);
+    assertEquals(Format.XML, result.getFormat());
+    assertNull(result.getXmlRootName());
+  }
+
+  @Test
+  void testJson() {
+    ModelDetector.Result result = detect("{\n  \"$schema\" : \"schema.json\",\n  \"root\": { } }",
+        StandardCharsets.UTF_8, null);
+    assertEquals(Format.JSON, result.getFormat());
+    assertEquals("root", result.getJsonRootName());
+  }
+
+  @Test
+  void testYaml() {
+    ModelDetector.Result result = detect("%YAML 1.2\n---\n# comment\n$schema: >\n  schema.json\nroot:\n  id: 1\n",
+        StandardCharsets.UTF_8, null);
+    assertEquals(Format.YAML, result.getFormat());
+    assertEquals("root", result.getJsonRootName());
+  }
+
+  @Test
+  void testFormatHint() {
+    ModelDetector.Result result = detect("{ \"root\": { } }\n", StandardCharsets.UTF_8, Format.YAML);
+    assertEquals(Format.YAML, result.getFormat());
+    assertNull(result.getJsonRootName());
+  }
+
+  @Test
+  void testEmpty() {
+    assertNull(ModelDetector.detect(new byte[0], 0, null));
+  }
+}
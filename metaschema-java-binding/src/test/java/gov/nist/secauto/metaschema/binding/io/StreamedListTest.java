@@ -0,0 +1,239 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.binding.IBindingContext;
+import gov.nist.secauto.metaschema.binding.model.test.StreamedRootAssembly;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IRootAssemblyNodeItem;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+class StreamedListTest {
+  @Test
+  void testProducesItemsOnDemand() {
+    AtomicInteger produced = new AtomicInteger();
+    StreamedList<Integer> list = newList(5, produced);
+    assertEquals(0, produced.get());
+
+    assertFalse(list.isEmpty());
+    assertTrue(list.hasMultipleItems());
+    // only the items needed to answer the checks have been produced
+    assertEquals(2, produced.get());
+    assertEquals(2, list.get(2));
+    assertEquals(3, produced.get());
+    assertThrows(IndexOutOfBoundsException.class, () -> list.get(5));
+
+    // the produced items are retained, so the list can be iterated repeatedly
+    for (int pass = 0; pass < 2; pass++) {
+      List<Integer> items = new LinkedList<>();
+      list.forEach(items::add);
+      assertEquals(List.of(0, 1, 2, 3, 4), items);
+    }
+    assertEquals(5, list.size());
+    assertTrue(list.contains(4));
+    assertEquals(List.of(1, 2), list.subList(1, 3));
+    assertEquals(5, produced.get());
+  }
+
+  @Test
+  void testStreamItemsOnce() {
+    AtomicInteger produced = new AtomicInteger();
+    StreamedList<Integer> list = newList(5, produced);
+    assertTrue(list.hasMultipleItems());
+
+    List<Integer> items = new LinkedList<>();
+    list.streamItems().forEach(items::add);
+    assertEquals(List.of(0, 1, 2, 3, 4), items);
+    assertEquals(5, produced.get());
+
+    assertThrows(IllegalStateException.class, () -> list.streamItems());
+    assertThrows(IllegalStateException.class, () -> list.iterator());
+    assertThrows(IllegalStateException.class, () -> list.size());
+    assertEquals("StreamedList[streamed]", list.toString());
+  }
+
+  @Test
+  void testEmpty() {
+    StreamedList<String> list = StreamedList.of(() -> List.<String>of().iterator());
+    assertTrue(list.isEmpty());
+    assertFalse(list.hasMultipleItems());
+    assertFalse(list.iterator().hasNext());
+    assertEquals(0, list.size());
+  }
+
+  @Test
+  void testObjectMethodsDoNotConsume() {
+    AtomicInteger produced = new AtomicInteger();
+    StreamedList<Integer> list = newList(3, produced);
+
+    // comparing the list produces its items, which are retained
+    assertEquals(List.of(0, 1, 2), list);
+    assertEquals(list, List.of(0, 1, 2));
+    assertEquals(list, newList(3, produced));
+    assertNotEquals(list, newList(2, produced));
+    assertEquals(List.of(0, 1, 2).hashCode(), list.hashCode());
+    assertEquals("[0, 1, 2]", list.toString());
+
+    List<Integer> items = new LinkedList<>();
+    list.streamItems().forEach(items::add);
+    assertEquals(List.of(0, 1, 2), items);
+  }
+
+  @Test
+  void testNodeItemsAndCopyDoNotConsume() throws IOException, BindingException {
+    AtomicInteger produced = new AtomicInteger();
+    StreamedRootAssembly root = new StreamedRootAssembly();
+    root.setValues(newStringList(3, produced));
+    root.setEntries(newStringList(1, produced));
+
+    IBindingContext bindingContext = IBindingContext.newInstance();
+    IDocumentNodeItem document = (IDocumentNodeItem) bindingContext.toNodeItem(root,
+        URI.create("https://example.com/streamed-root"), true);
+    IRootAssemblyNodeItem rootItem = document.getRootAssemblyNodeItem();
+    assertEquals(3, rootItem.getModelItemsByName("value").size());
+    assertEquals("/streamed-root/value[3]", rootItem.getModelItemsByName("value").get(2).getMetapath());
+    assertTrue(bindingContext.validate(document).isPassing());
+
+    StreamedRootAssembly copy = bindingContext.copyBoundObject(root, null);
+    assertEquals(List.of("item0", "item1", "item2"), copy.getValues());
+    assertEquals(List.of("item0"), copy.getEntries());
+
+    // the items were produced once, and are still written
+    StreamedRootAssembly result = deserialize(Format.XML, serialize(Format.XML, root));
+    assertEquals(List.of("item0", "item1", "item2"), result.getValues());
+    assertEquals(List.of("item0"), result.getEntries());
+    assertEquals(4, produced.get());
+  }
+
+  @Test
+  void testJsonSingletonOrListSerialization() throws IOException {
+    AtomicInteger produced = new AtomicInteger();
+    StreamedRootAssembly root = new StreamedRootAssembly();
+    root.setValues(newStringList(1, produced));
+
+    String json = serialize(Format.JSON, root);
+    // a single item is written as a value
+    assertTrue(compact(json).contains("\"values\":\"item0\""), json);
+    assertEquals(1, produced.get());
+    assertEquals(List.of("item0"), deserialize(Format.JSON, json).getValues());
+
+    produced.set(0);
+    root.setValues(newStringList(3, produced));
+
+    json = serialize(Format.JSON, root);
+    // multiple items are written as an array
+    assertTrue(compact(json).contains("\"values\":[\"item0\",\"item1\",\"item2\"]"), json);
+    assertEquals(3, produced.get());
+    assertEquals(List.of("item0", "item1", "item2"), deserialize(Format.JSON, json).getValues());
+  }
+
+  @Test
+  void testJsonListSerialization() throws IOException {
+    AtomicInteger produced = new AtomicInteger();
+    StreamedRootAssembly root = new StreamedRootAssembly();
+    root.setEntries(newStringList(1, produced));
+
+    String json = serialize(Format.JSON, root);
+    // a list is always written as an array
+    assertTrue(compact(json).contains("\"entries\":[\"item0\"]"), json);
+    assertEquals(1, produced.get());
+
+    produced.set(0);
+    root.setEntries(newStringList(3, produced));
+
+    json = serialize(Format.JSON, root);
+    assertTrue(compact(json).contains("\"entries\":[\"item0\",\"item1\",\"item2\"]"), json);
+    assertEquals(3, produced.get());
+    assertEquals(List.of("item0", "item1", "item2"), deserialize(Format.JSON, json).getEntries());
+  }
+
+  @Test
+  void testXmlSerialization() throws IOException {
+    AtomicInteger produced = new AtomicInteger();
+    StreamedRootAssembly root = new StreamedRootAssembly();
+    root.setValues(newStringList(3, produced));
+    root.setEntries(newStringList(1, produced));
+
+    String xml = serialize(Format.XML, root);
+    assertEquals(4, produced.get());
+
+    StreamedRootAssembly result = deserialize(Format.XML, xml);
+    assertEquals(List.of("item0", "item1", "item2"), result.getValues());
+    assertEquals(List.of("item0"), result.getEntries());
+  }
+
+  @NotNull
+  private static StreamedList<Integer> newList(int count, @NotNull AtomicInteger produced) {
+    return StreamedList.of(() -> IntStream.range(0, count).peek(i -> produced.incrementAndGet())
+        .boxed().iterator());
+  }
+
+  @NotNull
+  private static StreamedList<String> newStringList(int count, @NotNull AtomicInteger produced) {
+    return StreamedList.of(() -> IntStream.range(0, count).peek(i -> produced.incrementAndGet())
+        .mapToObj(i -> "item" + i).iterator());
+  }
+
+  @NotNull
+  private static String serialize(@NotNull Format format, @NotNull StreamedRootAssembly root) throws IOException {
+    StringWriter writer = new StringWriter();
+    IBindingContext.newInstance().newSerializer(format, StreamedRootAssembly.class).serialize(root, writer);
+    return writer.toString();
+  }
+
+  @NotNull
+  private static String compact(@NotNull String json) {
+    // remove formatting whitespace, which simplifies checking the structure of the output
+    return json.replaceAll("\\s+", "");
+  }
+
+  @NotNull
+  private static StreamedRootAssembly deserialize(@NotNull Format format, @NotNull String content)
+      throws IOException {
+    IDeserializer<StreamedRootAssembly> deserializer
+        = IBindingContext.newInstance().newDeserializer(format, StreamedRootAssembly.class);
+    deserializer.enableFeature(Feature.DESERIALIZE_JSON_ROOT_PROPERTY);
+    return deserializer.deserialize(new StringReader(content), URI.create("https://example.com/streamed-root"));
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.binding.model.IBoundNamedModelInstance;
+
+import org.jmock.Expectations;
+import org.jmock.junit5.JUnit5Mockery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+
+class SubscribingItemReadHandlerTest {
+  @RegisterExtension
+  JUnit5Mockery context = new JUnit5Mockery();
+
+  private final IBoundNamedModelInstance instance = context.mock(IBoundNamedModelInstance.class);
+
+  @Test
+  void testSubscriptions() throws IOException {
+    context.checking(new Expectations() {
+      { // NOPMD - intentional
+        allowing(instance).getEffectiveName();
+        will(returnValue("control"));
+        allowing(instance).getJsonName();
+        will(returnValue("controls"));
+      }
+    });
+
+    List<String> strings = new LinkedList<>();
+    List<Object> named = new LinkedList<>();
+    SubscribingItemReadHandler handler = new SubscribingItemReadHandler()
+        .subscribe(String.class, (inst, parent, item) -> strings.add(item), true)
+        .subscribe(SubscribingItemReadHandler.instanceNamed("controls"), (inst, parent, item) -> named.add(item),
+            false);
+
+    Object parent = new Object();
+    // delivered to both subscriptions and discarded by the first
+    assertFalse(handler.handleItem(instance, parent, "item"));
+    // delivered only to the instance subscription, which retains the item
+    assertTrue(handler.handleItem(instance, parent, 1));
+
+    assertEquals(List.of("item"), strings);
+    assertEquals(List.of("item", 1), named);
+  }
+}
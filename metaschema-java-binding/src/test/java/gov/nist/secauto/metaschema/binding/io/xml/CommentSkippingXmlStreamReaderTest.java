@@ -0,0 +1,73 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.ctc.wstx.stax.WstxInputFactory;
+
+import org.codehaus.stax2.XMLEventReader2;
+import org.codehaus.stax2.XMLInputFactory2;
+import org.codehaus.stax2.XMLStreamReader2;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.LinkedList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.XMLEvent;
+
+class CommentSkippingXmlStreamReaderTest {
+  private static final String XML = "<!-- leading --><root><!-- a --><child attr=\"1\"/>text<!-- b --></root>";
+
+  @Test
+  void testCommentsSkipped() throws XMLStreamException {
+    XMLInputFactory2 factory = (XMLInputFactory2) WstxInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory2.IS_COALESCING, false);
+
+    XMLEventReader2 filteredReader = (XMLEventReader2) factory.createFilteredReader(
+        factory.createXMLEventReader(new StringReader(XML)), new CommentFilter());
+
+    XMLStreamReader2 streamReader = (XMLStreamReader2) factory.createXMLStreamReader(new StringReader(XML));
+    XMLEventReader2 cursorReader
+        = (XMLEventReader2) factory.createXMLEventReader(new CommentSkippingXmlStreamReader(streamReader));
+
+    List<Integer> expected = eventTypes(filteredReader);
+    assertEquals(expected, eventTypes(cursorReader));
+    assertEquals(List.of(XMLEvent.START_DOCUMENT, XMLEvent.START_ELEMENT, XMLEvent.START_ELEMENT,
+        XMLEvent.END_ELEMENT, XMLEvent.CHARACTERS, XMLEvent.END_ELEMENT, XMLEvent.END_DOCUMENT), expected);
+  }
+
+  private static List<Integer> eventTypes(XMLEventReader2 reader) throws XMLStreamException {
+    List<Integer> retval = new LinkedList<>();
+    while (reader.hasNext()) {
+      retval.add(reader.nextEvent().getEventType());
+    }
+    return retval;
+  }
+}
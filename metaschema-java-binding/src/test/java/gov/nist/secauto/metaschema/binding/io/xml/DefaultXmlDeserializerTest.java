@@ -0,0 +1,86 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.io.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.binding.IBindingContext;
+import gov.nist.secauto.metaschema.binding.io.Feature;
+import gov.nist.secauto.metaschema.binding.io.Format;
+import gov.nist.secauto.metaschema.binding.io.IDeserializer;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedItemAssembly;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedRootAssembly;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedSectionAssembly;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+
+class DefaultXmlDeserializerTest {
+
+  @Test
+  void testStreamCommentSkippingRoundTrip() throws IOException {
+    IBindingContext bindingContext = IBindingContext.newInstance();
+
+    ConstrainedRootAssembly root = new ConstrainedRootAssembly();
+    ConstrainedSectionAssembly section = new ConstrainedSectionAssembly();
+    section.getItems().add(new ConstrainedItemAssembly("i1", null, "a"));
+    section.getItems().add(new ConstrainedItemAssembly("i2", "i1", "b"));
+    root.getSections().add(section);
+
+    StringWriter writer = new StringWriter();
+    bindingContext.newSerializer(Format.XML, ConstrainedRootAssembly.class).serialize(root, writer);
+    String xml = writer.toString();
+
+    // add comments between each element
+    String commented = xml.replaceAll(">(\\s*)<", ">$1<!-- comment --><");
+    assertTrue(commented.contains("<!-- comment -->"), xml);
+
+    IDeserializer<ConstrainedRootAssembly> deserializer
+        = bindingContext.newDeserializer(Format.XML, ConstrainedRootAssembly.class);
+    deserializer.enableFeature(Feature.DESERIALIZE_XML_STREAM_COMMENT_SKIPPING);
+    ConstrainedRootAssembly result
+        = deserializer.deserialize(new StringReader(commented), URI.create("https://example.com/root.xml"));
+
+    assertEquals(1, result.getSections().size());
+    ConstrainedSectionAssembly resultSection = result.getSections().get(0);
+    assertEquals(2, resultSection.getItems().size());
+    assertEquals("i1", resultSection.getItems().get(0).getId());
+    assertEquals("a", resultSection.getItems().get(0).getKind());
+    assertEquals("i2", resultSection.getItems().get(1).getId());
+    assertEquals("i1", resultSection.getItems().get(1).getRef());
+
+    // the result serializes to the same content
+    StringWriter roundTrip = new StringWriter();
+    bindingContext.newSerializer(Format.XML, ConstrainedRootAssembly.class).serialize(result, roundTrip);
+    assertEquals(xml, roundTrip.toString());
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.metapath.item;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.binding.IBindingContext;
+import gov.nist.secauto.metaschema.binding.model.IAssemblyClassBinding;
+import gov.nist.secauto.metaschema.binding.model.IBoundAssemblyInstance;
+import gov.nist.secauto.metaschema.binding.model.RootAssemblyDefinition;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedRootAssembly;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedSectionAssembly;
+import gov.nist.secauto.metaschema.model.common.metapath.MetapathExpression;
+import gov.nist.secauto.metaschema.model.common.metapath.item.DocumentNameIndex;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+class XdmDocumentNodeItemImplTest {
+  private static final MetapathExpression SECTIONS = MetapathExpression.compile("//section");
+
+  @NotNull
+  private static IDocumentNodeItem newDocument(@NotNull IAssemblyClassBinding classBinding) {
+    ConstrainedRootAssembly root = new ConstrainedRootAssembly();
+    root.getSections().add(new ConstrainedSectionAssembly());
+    root.getSections().add(new ConstrainedSectionAssembly());
+
+    return IXdmFactory.INSTANCE.newDocumentNodeItem(new RootAssemblyDefinition(classBinding), root,
+        ObjectUtils.notNull(URI.create("https://example.com/root")));
+  }
+
+  @NotNull
+  private static IAssemblyClassBinding getClassBinding() {
+    return (IAssemblyClassBinding) ObjectUtils.requireNonNull(
+        IBindingContext.newInstance().getClassBinding(ConstrainedRootAssembly.class));
+  }
+
+  @Test
+  void testInvalidateNameIndex() {
+    IDocumentNodeItem document = newDocument(getClassBinding());
+    assertFalse(document.isNameIndexBuilt());
+
+    DocumentNameIndex index = document.getNameIndex();
+    assertTrue(document.isNameIndexBuilt());
+    assertEquals(2, SECTIONS.evaluate(document).asList().size());
+
+    document.invalidateNameIndex();
+    assertFalse(document.isNameIndexBuilt());
+    assertNotSame(index, document.getNameIndex());
+  }
+
+  @Test
+  void testParsingModelItemsInvalidateNameIndex() {
+    IAssemblyClassBinding classBinding = getClassBinding();
+    IDocumentNodeItem document = newDocument(classBinding);
+    assertEquals(2, SECTIONS.evaluate(document).asList().size());
+    assertTrue(document.isNameIndexBuilt());
+
+    // replace the sections of the root with the single section being parsed
+    AbstractBoundXdmAssemblyNodeItem root = (AbstractBoundXdmAssemblyNodeItem) document.getRootAssemblyNodeItem();
+    IBoundAssemblyInstance instance
+        = (IBoundAssemblyInstance) ObjectUtils.requireNonNull(classBinding.getModelInstanceByName("section"));
+    root.initParsingModelItems(instance,
+        IXdmFactory.INSTANCE.newAssemblyNodeItem(instance, new ConstrainedSectionAssembly(), 1, root));
+
+    assertFalse(document.isNameIndexBuilt());
+    assertEquals(1, SECTIONS.evaluate(document).asList().size());
+  }
+}
@@ -32,6 +32,7 @@ import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 
 import gov.nist.secauto.metaschema.binding.IBindingContext;
+import gov.nist.secauto.metaschema.binding.io.IItemReadHandler;
 import gov.nist.secauto.metaschema.binding.io.json.IJsonParsingContext;
 import gov.nist.secauto.metaschema.binding.io.xml.IXmlParsingContext;
 import gov.nist.secauto.metaschema.binding.model.test.CollapsibleFlaggedBoundField;
@@ -47,9 +48,11 @@ import gov.nist.secauto.metaschema.model.common.datatype.adapter.MetaschemaDataT
 
 import org.codehaus.stax2.XMLEventReader2;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jmock.Expectations;
 import org.jmock.auto.Mock;
 import org.jmock.junit5.JUnit5Mockery;
+import org.jmock.lib.concurrent.Synchroniser;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import java.io.IOException;
@@ -60,7 +63,12 @@ import javax.xml.stream.XMLStreamException;
 
 public class AbstractBoundModelTestSupport {
   @RegisterExtension
-  private final JUnit5Mockery context = new JUnit5Mockery();
+  private final JUnit5Mockery context = new JUnit5Mockery() {
+    {
+      // the bound model may be traversed by several threads
+      setThreadingPolicy(new Synchroniser());
+    }
+  };
 
   @Mock
   private IBindingContext bindingContext;
@@ -79,8 +87,19 @@ public class AbstractBoundModelTestSupport {
     });
   }
 
+  protected <CLASS> void registerBindingCompanion(@NotNull Class<CLASS> clazz,
+      @Nullable IBindingCompanion<CLASS> companion) {
+    context.checking(new Expectations() {
+      { // NOPMD - intentional
+        allowing(bindingContext).getBindingCompanion(clazz);
+        will(returnValue(companion));
+      }
+    });
+  }
+
   @NotNull
   protected IFieldClassBinding registerFieldBinding(@NotNull Class<?> clazz) {
+    registerBindingCompanion(clazz, null);
     IFieldClassBinding retval = DefaultFieldClassBinding.createInstance(clazz, bindingContext);
     context.checking(new Expectations() {
       { // NOPMD - intentional
@@ -93,6 +112,7 @@ public class AbstractBoundModelTestSupport {
 
   @NotNull
   protected IAssemblyClassBinding registerAssemblyBinding(@NotNull Class<?> clazz) {
+    registerBindingCompanion(clazz, null);
     IAssemblyClassBinding retval = DefaultAssemblyClassBinding.createInstance(clazz, bindingContext);
     context.checking(new Expectations() {
       { // NOPMD - intentional
@@ -150,6 +170,8 @@ public class AbstractBoundModelTestSupport {
       { // NOPMD - intentional
         allowing(retval).getReader();
         will(returnValue(parser));
+        allowing(retval).getItemReadHandler();
+        will(returnValue(null));
       }
     });
     return retval;
@@ -157,6 +179,12 @@ public class AbstractBoundModelTestSupport {
 
   @NotNull
   protected IJsonParsingContext newJsonParsingContext(Reader reader) throws JsonParseException, IOException {
+    return newJsonParsingContext(reader, null);
+  }
+
+  @NotNull
+  protected IJsonParsingContext newJsonParsingContext(Reader reader, IItemReadHandler itemReadHandler)
+      throws JsonParseException, IOException {
     JsonFactory factory = new JsonFactory();
     JsonParser jsonParser = factory.createParser(reader); // NOPMD - reader not owned by this method
 
@@ -166,6 +194,8 @@ public class AbstractBoundModelTestSupport {
       { // NOPMD - intentional
         allowing(retval).getReader();
         will(returnValue(jsonParser));
+        allowing(retval).getItemReadHandler();
+        will(returnValue(itemReadHandler));
       }
     });
     return retval;
@@ -0,0 +1,84 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import gov.nist.secauto.metaschema.binding.IBindingContext;
+import gov.nist.secauto.metaschema.binding.io.BindingException;
+import gov.nist.secauto.metaschema.binding.model.test.CompanionBoundAssembly;
+import gov.nist.secauto.metaschema.binding.model.test.CompanionBoundAssembly_Binding;
+import gov.nist.secauto.metaschema.binding.model.test.CompanionBoundAssembly_Child;
+import gov.nist.secauto.metaschema.binding.model.test.FlaggedBoundAssembly;
+
+import org.junit.jupiter.api.Test;
+
+class BindingCompanionTest {
+
+  @Test
+  void testCompanionDiscovery() {
+    IBindingContext bindingContext = IBindingContext.newInstance();
+
+    assertNotNull(bindingContext.getBindingCompanion(CompanionBoundAssembly.class));
+    assertNull(bindingContext.getBindingCompanion(FlaggedBoundAssembly.class));
+  }
+
+  @Test
+  void testNestedCompanionNameDoesNotCollide() {
+    assertNotEquals(
+        IBindingCompanion.getCompanionClassName(CompanionBoundAssembly.Child.class),
+        IBindingCompanion.getCompanionClassName(CompanionBoundAssembly_Child.class));
+
+    IBindingContext bindingContext = IBindingContext.newInstance();
+
+    IBindingCompanion<CompanionBoundAssembly.Child> companion
+        = bindingContext.getBindingCompanion(CompanionBoundAssembly.Child.class);
+    assertNotNull(companion);
+    assertSame(CompanionBoundAssembly.Child.class, companion.getBoundClass());
+    assertNull(bindingContext.getBindingCompanion(CompanionBoundAssembly_Child.class));
+  }
+
+  @Test
+  void testCompanionPropertyAccess() throws BindingException {
+    IBindingContext bindingContext = IBindingContext.newInstance();
+    AbstractClassBinding classBinding
+        = (AbstractClassBinding) bindingContext.getClassBinding(CompanionBoundAssembly.class);
+    assertNotNull(classBinding.getBindingCompanion());
+
+    IBoundJavaField flag = (IBoundJavaField) classBinding.getFlagInstanceByName("id");
+    assertSame(CompanionBoundAssembly_Binding.ID, flag.getPropertyAccessor());
+
+    CompanionBoundAssembly item = classBinding.newInstance();
+    flag.setValue(item, "value");
+    assertEquals("value", item.getId());
+    assertEquals("value", flag.getValue(item));
+  }
+}
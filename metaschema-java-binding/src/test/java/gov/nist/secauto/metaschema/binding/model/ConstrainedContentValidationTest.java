@@ -0,0 +1,243 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.binding.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.binding.IBindingContext;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedItemAssembly;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedRootAssembly;
+import gov.nist.secauto.metaschema.binding.model.test.ConstrainedSectionAssembly;
+import gov.nist.secauto.metaschema.model.common.constraint.DefaultConstraintValidator;
+import gov.nist.secauto.metaschema.model.common.constraint.FindingCollectingConstraintValidationHandler;
+import gov.nist.secauto.metaschema.model.common.constraint.FindingCollectingConstraintValidationHandler.Finding;
+import gov.nist.secauto.metaschema.model.common.constraint.IncrementalConstraintValidator;
+import gov.nist.secauto.metaschema.model.common.constraint.ParallelConstraintValidator;
+import gov.nist.secauto.metaschema.model.common.metapath.StaticContext;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+class ConstrainedContentValidationTest {
+  private static final String FIRST_SECTION = "/constrained-root/section[1]";
+
+  private IBindingContext bindingContext;
+  private ConstrainedRootAssembly root;
+
+  @BeforeEach
+  void setup() {
+    bindingContext = IBindingContext.newInstance();
+
+    root = new ConstrainedRootAssembly();
+    ConstrainedSectionAssembly first = new ConstrainedSectionAssembly();
+    first.getItems().add(new ConstrainedItemAssembly("i1", null, "a"));
+    first.getItems().add(new ConstrainedItemAssembly("i2", "i1", "b"));
+    // has a kind that is not allowed and a reference to an unknown item
+    first.getItems().add(new ConstrainedItemAssembly("i3", "x", "c"));
+    root.getSections().add(first);
+
+    ConstrainedSectionAssembly second = new ConstrainedSectionAssembly();
+    second.getItems().add(new ConstrainedItemAssembly("j1", "i3", "a"));
+    root.getSections().add(second);
+  }
+
+  @NotNull
+  private IDocumentNodeItem newDocument() {
+    return (IDocumentNodeItem) bindingContext.toNodeItem(ObjectUtils.notNull(root),
+        ObjectUtils.notNull(URI.create("https://example.com/constrained")), true);
+  }
+
+  @NotNull
+  private static List<String> describe(@NotNull List<? extends Finding> findings) {
+    return findings.stream()
+        .map(finding -> finding.getNode().getMetapath() + ": " + finding.getMessage())
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  @NotNull
+  private static List<String> describeInOrder(@NotNull List<? extends Finding> findings) {
+    return findings.stream()
+        .map(finding -> finding.getNode().getMetapath() + ": " + finding.getMessage())
+        .collect(Collectors.toList());
+  }
+
+  @NotNull
+  private static List<String> validateFully(@NotNull IDocumentNodeItem document) {
+    DefaultConstraintValidator validator = new DefaultConstraintValidator(new StaticContext().newDynamicContext());
+    FindingCollectingConstraintValidationHandler handler = new FindingCollectingConstraintValidationHandler();
+    validator.setConstraintValidationHandler(handler);
+    document.validate(validator);
+    validator.finalizeValidation();
+    return describe(handler.getFindings());
+  }
+
+  @NotNull
+  private static IncrementalConstraintValidator newIncrementalValidator() {
+    return new IncrementalConstraintValidator(new StaticContext().newDynamicContext());
+  }
+
+  @Test
+  void testIncrementalValidation() {
+    IDocumentNodeItem document = newDocument();
+    IncrementalConstraintValidator validator = newIncrementalValidator();
+    FindingCollectingConstraintValidationHandler handler = new FindingCollectingConstraintValidationHandler();
+    validator.setConstraintValidationHandler(handler);
+    validator.validate(document);
+    validator.finalizeValidation();
+
+    List<String> expected = validateFully(document);
+    // the disallowed kind and the unknown reference
+    assertEquals(2, expected.size(), expected.toString());
+    assertEquals(expected, describe(validator.getFindings()));
+    assertEquals(expected, describe(handler.getFindings()));
+  }
+
+  @Test
+  void testIncrementalFindingsInDocumentOrder() {
+    // more than nine items, so that "item[10]" sorts before "item[2]" as a string
+    ConstrainedSectionAssembly section = new ConstrainedSectionAssembly();
+    for (int index = 1; index <= 12; index++) {
+      section.getItems().add(new ConstrainedItemAssembly("n" + index, "m" + index, index % 3 == 0 ? "a" : "d"));
+    }
+    root.getSections().add(0, section);
+    IDocumentNodeItem document = newDocument();
+
+    DefaultConstraintValidator full = new DefaultConstraintValidator(new StaticContext().newDynamicContext());
+    FindingCollectingConstraintValidationHandler expected = new FindingCollectingConstraintValidationHandler();
+    full.setConstraintValidationHandler(expected);
+    document.validate(full);
+    full.finalizeValidation();
+
+    IncrementalConstraintValidator validator = newIncrementalValidator();
+    FindingCollectingConstraintValidationHandler actual = new FindingCollectingConstraintValidationHandler();
+    validator.setConstraintValidationHandler(actual);
+    validator.validate(document);
+    validator.finalizeValidation();
+
+    List<String> expectedFindings = describeInOrder(expected.getFindings());
+    assertTrue(expectedFindings.stream().anyMatch(finding -> finding.contains("/item[10]")),
+        expectedFindings.toString());
+    assertEquals(expectedFindings, describeInOrder(validator.getFindings()));
+    assertEquals(expectedFindings, describeInOrder(actual.getFindings()));
+    assertSame(actual, validator.getConstraintValidationHandler());
+  }
+
+  @Test
+  void testIncrementalRevalidationAfterEdit() {
+    IncrementalConstraintValidator validator = newIncrementalValidator();
+    validator.validate(newDocument());
+
+    // the kind is now allowed, but duplicates the kind of the first item
+    root.getSections().get(0).getItems().get(2).setKind("a");
+    IDocumentNodeItem document = newDocument();
+    validator.revalidate(document, List.of(FIRST_SECTION + "/item[3]"));
+
+    List<String> expected = validateFully(document);
+    assertFalse(expected.isEmpty(), "expected findings");
+    assertEquals(expected, describe(validator.getFindings()));
+  }
+
+  @Test
+  void testIncrementalRevalidationAfterInsert() {
+    IncrementalConstraintValidator validator = newIncrementalValidator();
+    validator.validate(newDocument());
+
+    // provides the referenced key, exceeds the item cardinality, and shifts the following items
+    root.getSections().get(0).getItems().add(0, new ConstrainedItemAssembly("x", null, "b"));
+    IDocumentNodeItem document = newDocument();
+    validator.revalidate(document, List.of(FIRST_SECTION + "/item[1]"));
+
+    List<String> expected = validateFully(document);
+    assertFalse(expected.isEmpty(), "expected findings");
+    assertEquals(expected, describe(validator.getFindings()));
+  }
+
+  @Test
+  void testIncrementalRevalidationAfterDelete() {
+    IncrementalConstraintValidator validator = newIncrementalValidator();
+    validator.validate(newDocument());
+
+    // removes the key referenced by the following item, which shifts into its position
+    root.getSections().get(0).getItems().remove(0);
+    IDocumentNodeItem document = newDocument();
+    validator.revalidate(document, List.of(FIRST_SECTION + "/item[1]"));
+
+    List<String> expected = validateFully(document);
+    assertEquals(3, expected.size(), expected.toString());
+    assertEquals(expected, describe(validator.getFindings()));
+  }
+
+  @Test
+  void testParallelValidationMatchesSequential() {
+    // more sections, with duplicate keys and references to keys in other sections
+    for (int index = 0; index < 8; index++) {
+      ConstrainedSectionAssembly section = new ConstrainedSectionAssembly();
+      section.getItems().add(new ConstrainedItemAssembly("k" + index, "k" + (index + 1), "a"));
+      section.getItems().add(new ConstrainedItemAssembly("i" + index, "i3", index % 2 == 0 ? "a" : "d"));
+      root.getSections().add(section);
+    }
+    IDocumentNodeItem document = newDocument();
+
+    DefaultConstraintValidator sequential = new DefaultConstraintValidator(new StaticContext().newDynamicContext());
+    FindingCollectingConstraintValidationHandler expected = new FindingCollectingConstraintValidationHandler();
+    sequential.setConstraintValidationHandler(expected);
+    document.validate(sequential);
+    sequential.finalizeValidation();
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      // a threshold of 1 validates each section as a separate task
+      ParallelConstraintValidator parallel
+          = new ParallelConstraintValidator(new StaticContext().newDynamicContext(), pool, 1);
+      FindingCollectingConstraintValidationHandler actual = new FindingCollectingConstraintValidationHandler();
+      parallel.setConstraintValidationHandler(actual);
+      parallel.validateSubtree(document);
+      parallel.finalizeValidation();
+
+      List<String> expectedFindings = describeInOrder(expected.getFindings());
+      // duplicate index keys, unknown references, and disallowed kinds across sections
+      assertTrue(expectedFindings.stream().anyMatch(finding -> finding.contains("/section[10]")),
+          expectedFindings.toString());
+      assertTrue(expectedFindings.size() > 8, expectedFindings.toString());
+      assertEquals(expectedFindings, describeInOrder(actual.getFindings()));
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
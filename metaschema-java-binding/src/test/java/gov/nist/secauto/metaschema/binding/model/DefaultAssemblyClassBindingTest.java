@@ -26,19 +26,35 @@
 
 package gov.nist.secauto.metaschema.binding.model;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.core.JsonParseException;
 
 import gov.nist.secauto.metaschema.binding.io.json.IJsonParsingContext;
+import gov.nist.secauto.metaschema.binding.metapath.item.IXdmFactory;
+import gov.nist.secauto.metaschema.binding.metapath.item.ValidatingItemReadHandler;
 import gov.nist.secauto.metaschema.model.common.IMetaschema;
+import gov.nist.secauto.metaschema.model.common.constraint.StreamingConstraintValidator;
+import gov.nist.secauto.metaschema.model.common.metapath.StaticContext;
+import gov.nist.secauto.metaschema.model.common.metapath.format.IPathFormatter;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 class DefaultAssemblyClassBindingTest
     extends AbstractBoundModelTestSupport {
@@ -72,6 +88,140 @@ class DefaultAssemblyClassBindingTest
     }
   }
 
+  @Test
+  void testCachedNodePaths() throws JsonParseException, IOException {
+    File testContent
+        = new File(getClass().getClassLoader().getResource("content/minimal.json").getFile());
+    try (BufferedReader reader = Files.newBufferedReader(testContent.toPath())) {
+      IJsonParsingContext context = newJsonParsingContext(reader);
+      RootAssemblyDefinition root = new RootAssemblyDefinition(getRootAssemblyClassBinding());
+
+      Object value = root.readRoot(context);
+      assertNotNull(value, "root was null");
+
+      IDocumentNodeItem document
+          = IXdmFactory.INSTANCE.newDocumentNodeItem(root, value, ObjectUtils.notNull(testContent.toURI()));
+      List<INodeItem> nodes = new LinkedList<>();
+      collectNodes(document.getRootAssemblyNodeItem(), nodes);
+      assertTrue(nodes.size() > 1, "expected descendant nodes");
+
+      for (INodeItem node : nodes) {
+        // the cached path matches the path rendered from the full path stream
+        String expected = IPathFormatter.METAPATH_PATH_FORMATER.format(node);
+        assertEquals(expected, node.getMetapath());
+        assertEquals(expected, node.toPath(IPathFormatter.METAPATH_PATH_FORMATER));
+      }
+    }
+  }
+
+  @Test
+  void testConcurrentChildAccess() throws JsonParseException, IOException {
+    File testContent
+        = new File(getClass().getClassLoader().getResource("content/minimal.json").getFile());
+    try (BufferedReader reader = Files.newBufferedReader(testContent.toPath())) {
+      IJsonParsingContext context = newJsonParsingContext(reader);
+      RootAssemblyDefinition root = new RootAssemblyDefinition(getRootAssemblyClassBinding());
+
+      Object value = root.readRoot(context);
+      assertNotNull(value, "root was null");
+
+      IDocumentNodeItem document
+          = IXdmFactory.INSTANCE.newDocumentNodeItem(root, value, ObjectUtils.notNull(testContent.toURI()));
+      INodeItem rootItem = document.getRootAssemblyNodeItem();
+
+      // all threads must observe the same child node items
+      List<List<INodeItem>> results = IntStream.range(0, 8).parallel()
+          .mapToObj(index -> {
+            List<INodeItem> nodes = new LinkedList<>();
+            collectNodes(rootItem, nodes);
+            return nodes;
+          })
+          .collect(Collectors.toList());
+
+      List<INodeItem> expected = results.get(0);
+      for (List<INodeItem> nodes : results) {
+        assertEquals(expected.size(), nodes.size());
+        for (int index = 0; index < nodes.size(); index++) {
+          assertSame(expected.get(index), nodes.get(index));
+        }
+      }
+      assertSame(rootItem.getModelItemsByName("keyed-field").get(0),
+          rootItem.getModelItemsByName("keyed-field").get(0));
+      assertTrue(rootItem.getModelItemsByName("missing").isEmpty());
+    }
+  }
+
+  private static void collectNodes(@NotNull INodeItem node, @NotNull List<INodeItem> nodes) {
+    nodes.add(node);
+    node.flags().forEachOrdered(nodes::add);
+    node.modelItems().forEachOrdered(child -> collectNodes(child, nodes));
+  }
+
+  @Test
+  void testItemReadHandlerDiscardsItems() throws JsonParseException, IOException {
+    File testContent
+        = new File(getClass().getClassLoader().getResource("content/minimal.json").getFile());
+    try (BufferedReader reader = Files.newBufferedReader(testContent.toPath())) {
+      IAssemblyClassBinding classBinding = getRootAssemblyClassBinding();
+      IBoundNamedModelInstance assemblyInstance
+          = classBinding.getModelInstanceByName("singleton-or-array-assembly");
+
+      List<Object> handledItems = new LinkedList<>();
+      IJsonParsingContext context = newJsonParsingContext(reader, (instance, parentInstance, item) -> {
+        handledItems.add(item);
+        // discard the assembly items, retain everything else
+        return !assemblyInstance.equals(instance);
+      });
+
+      RootAssemblyDefinition root = new RootAssemblyDefinition(classBinding);
+
+      Object value = root.readRoot(context);
+      assertNotNull(value, "root was null");
+      // 1 keyed field, 1 assembly, and the 4 list items within the assembly
+      assertEquals(6, handledItems.size(), "unexpected number of handled items");
+      assertTrue(assemblyInstance.getItemValues(assemblyInstance.getValue(value)).isEmpty(),
+          "discarded items were retained");
+      assertNotNull(classBinding.getModelInstanceByName("keyed-field").getValue(value), "items were not retained");
+    }
+  }
+
+  @Test
+  void testValidatingItemReadHandlerUsesParentChain() throws JsonParseException, IOException {
+    File testContent
+        = new File(getClass().getClassLoader().getResource("content/minimal.json").getFile());
+    try (BufferedReader reader = Files.newBufferedReader(testContent.toPath())) {
+      IAssemblyClassBinding classBinding = getRootAssemblyClassBinding();
+      IBoundNamedModelInstance assemblyInstance
+          = classBinding.getModelInstanceByName("singleton-or-array-assembly");
+
+      List<String> paths = new LinkedList<>();
+      StreamingConstraintValidator validator
+          = new StreamingConstraintValidator(new StaticContext().newDynamicContext()) {
+            @Override
+            public void validateSubtree(INodeItem item) {
+              paths.add(item.getMetapath());
+
+              // the item is a child of its partially read parent
+              INodeItem parent = item.getParentNodeItem();
+              assertSame(item, parent.getModelItemsByName("singleton-or-array-assembly").get(0));
+              assertEquals(1, parent.getModelItemsByName("keyed-field").size(), "parsed content was not visible");
+              super.validateSubtree(item);
+            }
+          };
+      ValidatingItemReadHandler handler = new ValidatingItemReadHandler(validator,
+          instance -> assemblyInstance.equals(instance), ObjectUtils.notNull(testContent.toURI()));
+
+      IJsonParsingContext context = newJsonParsingContext(reader, handler);
+      Object value = new RootAssemblyDefinition(classBinding).readRoot(context);
+      assertNotNull(value, "root was null");
+
+      assertEquals(List.of("/root/singleton-or-array-assembly[1]"), paths);
+      assertEquals(1, handler.getStreamedItemCount());
+      assertTrue(assemblyInstance.getItemValues(assemblyInstance.getValue(value)).isEmpty(),
+          "streamed items were retained");
+    }
+  }
+
   @Test
   void testMetaschema() {
     IAssemblyClassBinding classBinding = getRootAssemblyClassBinding();
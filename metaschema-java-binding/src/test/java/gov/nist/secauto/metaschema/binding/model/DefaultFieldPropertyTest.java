@@ -96,9 +96,13 @@ class DefaultFieldPropertyTest {
         will(returnValue(theClass));
         allowing(classBinding).getBindingContext();
         will(returnValue(bindingContext));
+        allowing(classBinding).getBindingCompanion();
+        will(returnValue(null));
 
         allowing(jsonParsingContext).getReader();
         will(returnValue(jsonParser));
+        allowing(jsonParsingContext).getItemReadHandler();
+        will(returnValue(null));
       }
     });
 
@@ -146,11 +150,15 @@ class DefaultFieldPropertyTest {
         will(returnValue(theClass));
         allowing(classBinding).getBindingContext();
         will(returnValue(bindingContext));
+        allowing(classBinding).getBindingCompanion();
+        will(returnValue(null));
         allowing(classBinding).getContainingMetaschema();
         will(returnValue(metaschema));
 
         allowing(xmlParsingContext).getReader();
         will(returnValue(eventReader));
+        allowing(xmlParsingContext).getItemReadHandler();
+        will(returnValue(null));
       }
     });
 
@@ -196,11 +204,15 @@ class DefaultFieldPropertyTest {
         will(returnValue(theClass));
         allowing(classBinding).getBindingContext();
         will(returnValue(bindingContext));
+        allowing(classBinding).getBindingCompanion();
+        will(returnValue(null));
         allowing(classBinding).getContainingMetaschema();
         will(returnValue(metaschema));
 
         allowing(xmlParsingContext).getReader();
         will(returnValue(eventReader));
+        allowing(xmlParsingContext).getItemReadHandler();
+        will(returnValue(null));
       }
     });
 
@@ -243,9 +255,13 @@ class DefaultFieldPropertyTest {
         will(returnValue(theClass));
         allowing(classBinding).getBindingContext();
         will(returnValue(bindingContext));
+        allowing(classBinding).getBindingCompanion();
+        will(returnValue(null));
 
         allowing(jsonParsingContext).getReader();
         will(returnValue(jsonParser));
+        allowing(jsonParsingContext).getItemReadHandler();
+        will(returnValue(null));
       }
     });
 
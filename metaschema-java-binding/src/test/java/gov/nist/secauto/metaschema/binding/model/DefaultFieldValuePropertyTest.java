@@ -94,6 +94,8 @@ class DefaultFieldValuePropertyTest {
         will(returnValue(theClass));
         allowing(classBinding).getBindingContext();
         will(returnValue(bindingContext));
+        allowing(classBinding).getBindingCompanion();
+        will(returnValue(null));
         allowing(classBinding).getJsonValueKeyFlagInstance();
         will(returnValue(null));
 
@@ -137,6 +139,8 @@ class DefaultFieldValuePropertyTest {
         will(returnValue(theClass));
         allowing(classBinding).getBindingContext();
         will(returnValue(bindingContext));
+        allowing(classBinding).getBindingCompanion();
+        will(returnValue(null));
 
         allowing(xmlParsingContext).getReader();
         will(returnValue(eventReader));
@@ -241,6 +245,8 @@ class DefaultFieldValuePropertyTest {
         will(returnValue(null));
         allowing(classBinding).getBindingContext();
         will(returnValue(bindingContext));
+        allowing(classBinding).getBindingCompanion();
+        will(returnValue(null));
 
         allowing(jsonParsingContext).getReader();
         will(returnValue(jsonParser));
@@ -282,6 +288,8 @@ class DefaultFieldValuePropertyTest {
         will(returnValue(theClass));
         allowing(classBinding).getBindingContext();
         will(returnValue(bindingContext));
+        allowing(classBinding).getBindingCompanion();
+        will(returnValue(null));
 
         allowing(xmlParsingContext).getReader();
         will(returnValue(eventReader));
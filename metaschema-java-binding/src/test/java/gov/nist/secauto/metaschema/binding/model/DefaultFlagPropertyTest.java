@@ -93,6 +93,8 @@ class DefaultFlagPropertyTest {
         will(returnValue(SimpleAssembly.class));
         allowing(classBinding).getBindingContext();
         will(returnValue(bindingContext));
+        allowing(classBinding).getBindingCompanion();
+        will(returnValue(null));
 
         allowing(jsonParsingContext).getReader();
         will(returnValue(jsonParser));
@@ -132,6 +134,8 @@ class DefaultFlagPropertyTest {
         will(returnValue(SimpleAssembly.class));
         allowing(classBinding).getBindingContext();
         will(returnValue(bindingContext));
+        allowing(classBinding).getBindingCompanion();
+        will(returnValue(null));
 
         allowing(xmlParsingContext).getReader();
         will(returnValue(eventReader));
@@ -48,6 +48,8 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
@@ -63,6 +65,7 @@ class AbstractModelDefinitionTypeInfo<DEF extends INamedModelDefinition>
   @Nullable
   private final ClassName baseClassName;
   private Map<@NotNull String, IFlagInstanceTypeInfo> flagTypeInfos;
+  private Set<@NotNull INamedModelDefinition> childClassDefinitions;
 
   public AbstractModelDefinitionTypeInfo(@NotNull DEF definition,
       @NotNull ITypeResolver typeResolver) {
@@ -149,6 +152,28 @@ class AbstractModelDefinitionTypeInfo<DEF extends INamedModelDefinition>
     return new DefaultGeneratedDefinitionClass(classFile, className, getDefinition());
   }
 
+  @Override
+  public List<@NotNull IGeneratedClass> generateBindingCompanions(@NotNull Path outputDir) throws IOException {
+    Set<@NotNull INamedModelDefinition> childDefinitions;
+    synchronized (this) {
+      childDefinitions = childClassDefinitions;
+    }
+
+    if (childDefinitions == null) {
+      throw new IllegalStateException(
+          String.format("The class '%s' must be generated before its binding companion.", getClassName()));
+    }
+
+    List<@NotNull IGeneratedClass> retval = new LinkedList<>();
+    retval.add(new BindingCompanionGenerator(this).generateClass(outputDir));
+
+    ITypeResolver typeResolver = getTypeResolver();
+    for (INamedModelDefinition definition : childDefinitions) {
+      retval.addAll(typeResolver.getTypeInfo(definition).generateBindingCompanions(outputDir));
+    }
+    return CollectionUtil.unmodifiableList(retval);
+  }
+
   /**
    * Supports the building of Java classes.
    * 
@@ -174,6 +199,9 @@ class AbstractModelDefinitionTypeInfo<DEF extends INamedModelDefinition>
     }
 
     Set<@NotNull INamedModelDefinition> additionalChildClasses = buildClass(builder, className);
+    synchronized (this) {
+      this.childClassDefinitions = additionalChildClasses;
+    }
 
     ITypeResolver typeResolver = getTypeResolver();
 
@@ -0,0 +1,150 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.codegen;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import gov.nist.secauto.metaschema.binding.model.IBindingCompanion;
+import gov.nist.secauto.metaschema.binding.model.IPropertyAccessor;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javax.lang.model.element.Modifier;
+
+/**
+ * Generates an {@link IBindingCompanion} for a generated bound class, which allows the binding
+ * layer to construct instances of the class and access its properties without using reflection.
+ */
+class BindingCompanionGenerator {
+  @NotNull
+  private final INamedModelDefinitionTypeInfo typeInfo;
+
+  /**
+   * Get the name of the companion class for the provided bound class.
+   * 
+   * @param className
+   *          the name of the bound class
+   * @return the name of the companion class
+   * @see IBindingCompanion#getCompanionClassName(Class)
+   */
+  @SuppressWarnings("null")
+  @NotNull
+  public static ClassName getCompanionClassName(@NotNull ClassName className) {
+    return ClassName.get(className.packageName(),
+        String.join("$", className.simpleNames()) + IBindingCompanion.COMPANION_CLASS_SUFFIX);
+  }
+
+  public BindingCompanionGenerator(@NotNull INamedModelDefinitionTypeInfo typeInfo) {
+    this.typeInfo = ObjectUtils.requireNonNull(typeInfo, "typeInfo");
+  }
+
+  @NotNull
+  protected INamedModelDefinitionTypeInfo getTypeInfo() {
+    return typeInfo;
+  }
+
+  @NotNull
+  public IGeneratedClass generateClass(@NotNull Path outputDir) throws IOException {
+    ClassName className = getCompanionClassName(getTypeInfo().getClassName());
+
+    TypeSpec classSpec = generateClass(className);
+
+    JavaFile javaFile = JavaFile.builder(className.packageName(), classSpec).build();
+    Path classFile = ObjectUtils.notNull(javaFile.writeToPath(outputDir));
+
+    return new DefaultGeneratedClass(classFile, className);
+  }
+
+  @NotNull
+  protected TypeSpec generateClass(@NotNull ClassName className) {
+    ClassName boundClassName = getTypeInfo().getClassName();
+
+    TypeSpec.Builder builder = TypeSpec.classBuilder(className)
+        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+        .addSuperinterface(ParameterizedTypeName.get(ClassName.get(IBindingCompanion.class), boundClassName))
+        .addJavadoc("The binding companion for {@link $T}.\n", boundClassName);
+
+    MethodSpec.Builder getPropertyAccessor = MethodSpec.methodBuilder("getPropertyAccessor")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(IPropertyAccessor.class)
+        .addParameter(String.class, "javaPropertyName")
+        .addStatement("$T retval", IPropertyAccessor.class)
+        .beginControlFlow("switch ($N)", "javaPropertyName");
+
+    // create an accessor using the bound class's getter and setter for each property
+    for (ITypeInfo property : getTypeInfo().getPropertyTypeInfos()) {
+      String javaFieldName = property.getJavaFieldName();
+      builder.addField(
+          FieldSpec.builder(IPropertyAccessor.class, javaFieldName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+              .initializer("$T.of($T::$N, $T::$N)", IPropertyAccessor.class,
+                  boundClassName, "get" + property.getPropertyName(),
+                  boundClassName, "set" + property.getPropertyName())
+              .build());
+
+      getPropertyAccessor.addCode("case $S:\n$>", javaFieldName)
+          .addStatement("retval = $N", javaFieldName)
+          .addStatement("break")
+          .addCode("$<");
+    }
+
+    getPropertyAccessor.addCode("default:\n$>")
+        .addStatement("retval = null")
+        .addCode("$<")
+        .endControlFlow()
+        .addStatement("return retval");
+
+    builder.addMethod(
+        MethodSpec.methodBuilder("getBoundClass")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(ParameterizedTypeName.get(ClassName.get(Class.class), boundClassName))
+            .addStatement("return $T.class", boundClassName)
+            .build());
+
+    builder.addMethod(
+        MethodSpec.methodBuilder("newInstance")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(boundClassName)
+            .addStatement("return new $T()", boundClassName)
+            .build());
+
+    builder.addMethod(getPropertyAccessor.build());
+
+    return ObjectUtils.notNull(builder.build());
+  }
+}
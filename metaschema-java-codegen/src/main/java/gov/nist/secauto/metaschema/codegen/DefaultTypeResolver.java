@@ -65,6 +65,11 @@ class DefaultTypeResolver implements ITypeResolver {
     return bindingConfiguration;
   }
 
+  @Override
+  public boolean isGenerateBindingCompanions() {
+    return getBindingConfiguration().isGenerateBindingCompanions();
+  }
+
   @Override
   public IAssemblyDefinitionTypeInfo getTypeInfo(@NotNull IAssemblyDefinition definition) {
     synchronized (this) {
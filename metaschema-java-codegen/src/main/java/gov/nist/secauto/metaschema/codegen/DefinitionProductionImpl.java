@@ -30,17 +30,23 @@ import gov.nist.secauto.metaschema.model.common.INamedModelDefinition;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 class DefinitionProductionImpl implements IDefinitionProduction {
 
   @NotNull
   private final INamedModelDefinition definition;
   @NotNull
   private final DefaultGeneratedDefinitionClass generatedClass;
+  @NotNull
+  private final List<@NotNull IGeneratedClass> bindingCompanions;
 
   public DefinitionProductionImpl(@NotNull INamedModelDefinition definition,
-      @NotNull DefaultGeneratedDefinitionClass generatedClass) {
+      @NotNull DefaultGeneratedDefinitionClass generatedClass,
+      @NotNull List<@NotNull IGeneratedClass> bindingCompanions) {
     this.definition = definition;
     this.generatedClass = generatedClass;
+    this.bindingCompanions = bindingCompanions;
   }
 
   @Override
@@ -52,4 +58,9 @@ class DefinitionProductionImpl implements IDefinitionProduction {
   public DefaultGeneratedDefinitionClass getGeneratedClass() {
     return generatedClass;
   }
+
+  @Override
+  public List<@NotNull IGeneratedClass> getBindingCompanions() {
+    return bindingCompanions;
+  }
 }
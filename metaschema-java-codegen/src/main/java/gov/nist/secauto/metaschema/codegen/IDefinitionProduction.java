@@ -30,6 +30,8 @@ import gov.nist.secauto.metaschema.model.common.INamedModelDefinition;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 /**
  * Information about a Java class generated for a specific definition.
  */
@@ -51,4 +53,12 @@ public interface IDefinitionProduction {
   @NotNull
   IGeneratedDefinitionClass getGeneratedClass();
 
-}
\ No newline at end of file
+
+  /**
+   * Get information about the binding companions generated for the Java class and its child classes.
+   * 
+   * @return the companion class information, which will be empty if companions were not generated
+   */
+  @NotNull
+  List<@NotNull IGeneratedClass> getBindingCompanions();
+}
@@ -40,6 +40,7 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.List;
 
 public interface INamedModelDefinitionTypeInfo extends INamedDefinitionTypeInfo {
 
@@ -110,4 +111,19 @@ public interface INamedModelDefinitionTypeInfo extends INamedDefinitionTypeInfo
    */
   @NotNull
   TypeSpec generateChildClass() throws IOException;
+
+  /**
+   * Generates the binding companions for the associated Java class and any child classes generated
+   * within it, and saves them in the provided directory. The associated Java class must have already
+   * been generated.
+   * 
+   * @param dir
+   *          the directory to generate the companion classes in
+   * @return information about the generated companion classes
+   * @throws IOException
+   *           if a build error occurred while generating the companion classes
+   * @see BindingCompanionGenerator
+   */
+  @NotNull
+  List<@NotNull IGeneratedClass> generateBindingCompanions(@NotNull Path dir) throws IOException;
 }
@@ -85,4 +85,11 @@ public interface ITypeResolver {
    */
   @NotNull
   String getPackageName(@NotNull IMetaschema metaschema);
+
+  /**
+   * Determine if a binding companion is to be generated for each generated bound class.
+   * 
+   * @return {@code true} if companions are to be generated, or {@code false} otherwise
+   */
+  boolean isGenerateBindingCompanions();
 }
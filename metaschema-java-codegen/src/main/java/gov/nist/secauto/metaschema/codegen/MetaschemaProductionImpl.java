@@ -30,6 +30,7 @@ import gov.nist.secauto.metaschema.model.common.IAssemblyDefinition;
 import gov.nist.secauto.metaschema.model.common.IFieldDefinition;
 import gov.nist.secauto.metaschema.model.common.IMetaschema;
 import gov.nist.secauto.metaschema.model.common.INamedModelDefinition;
+import gov.nist.secauto.metaschema.model.common.util.CollectionUtil;
 import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.jetbrains.annotations.NotNull;
@@ -38,6 +39,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
@@ -84,8 +86,14 @@ class MetaschemaProductionImpl implements IMetaschemaProduction {
             .map(typeInfo -> {
               INamedModelDefinition definition = typeInfo.getDefinition();
               DefaultGeneratedDefinitionClass generatedClass;
+              List<@NotNull IGeneratedClass> bindingCompanions;
               try {
                 generatedClass = typeInfo.generateClass(targetDirectory);
+                if (typeResolver.isGenerateBindingCompanions()) {
+                  bindingCompanions = typeInfo.generateBindingCompanions(targetDirectory);
+                } else {
+                  bindingCompanions = CollectionUtil.emptyList();
+                }
               } catch (RuntimeException ex) {
                 throw new IllegalStateException(
                     String.format("Unable to generate class for definition '%s' in Metaschema '%s'",
@@ -103,7 +111,7 @@ class MetaschemaProductionImpl implements IMetaschemaProduction {
                     className, metaschema.getLocation()));
               }
               classNames.add(className);
-              return new DefinitionProductionImpl(definition, generatedClass);
+              return new DefinitionProductionImpl(definition, generatedClass, bindingCompanions);
             });
 
     @NotNull
@@ -148,6 +156,8 @@ class MetaschemaProductionImpl implements IMetaschemaProduction {
     return ObjectUtils.notNull(Stream.concat(
         Stream.of(getGeneratedMetaschema()),
         getDefinitionProductions().stream()
-            .map(definition -> definition.getGeneratedClass())));
+            .flatMap(definition -> Stream.<IGeneratedClass>concat(
+                Stream.of(definition.getGeneratedClass()),
+                definition.getBindingCompanions().stream()))));
   }
 }
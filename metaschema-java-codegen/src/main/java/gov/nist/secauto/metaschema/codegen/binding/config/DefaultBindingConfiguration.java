@@ -60,6 +60,7 @@ public class DefaultBindingConfiguration implements IBindingConfiguration {
   // metaschema location -> ModelType -> Definition Name -> IBindingConfiguration
   private final Map<String, MetaschemaBindingConfiguration> metaschemaUrlToMetaschemaBindingConfigurationMap
       = new HashMap<>();
+  private boolean generateBindingCompanions;
 
   @Override
   public String getPackageNameForMetaschema(IMetaschema metaschema) {
@@ -131,6 +132,21 @@ public class DefaultBindingConfiguration implements IBindingConfiguration {
     return ClassUtils.toClassName(metaschema.getShortName() + "Metaschema");
   }
 
+  @Override
+  public boolean isGenerateBindingCompanions() {
+    return generateBindingCompanions;
+  }
+
+  /**
+   * Set if a binding companion is to be generated for each generated bound class.
+   * 
+   * @param value
+   *          {@code true} if companions are to be generated, or {@code false} otherwise
+   */
+  public void setGenerateBindingCompanions(boolean value) {
+    this.generateBindingCompanions = value;
+  }
+
   /**
    * Binds an XML namespace, which is normally associated with one or more Metaschema, with a provided
    * Java package name.
@@ -74,4 +74,13 @@ public interface IBindingConfiguration {
    */
   @Nullable
   String getQualifiedBaseClassName(@NotNull INamedModelDefinition definition);
+
+  /**
+   * Determine if a binding companion is to be generated for each generated bound class. A companion
+   * allows the binding layer to construct instances of the class and access its properties without
+   * using reflection.
+   * 
+   * @return {@code true} if companions are to be generated, or {@code false} otherwise
+   */
+  boolean isGenerateBindingCompanions();
 }
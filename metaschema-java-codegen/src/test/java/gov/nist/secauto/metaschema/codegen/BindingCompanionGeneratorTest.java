@@ -0,0 +1,102 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.codegen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.squareup.javapoet.ClassName;
+
+import gov.nist.secauto.metaschema.binding.IBindingContext;
+import gov.nist.secauto.metaschema.binding.model.IBindingCompanion;
+import gov.nist.secauto.metaschema.codegen.binding.config.DefaultBindingConfiguration;
+import gov.nist.secauto.metaschema.model.MetaschemaLoader;
+import gov.nist.secauto.metaschema.model.common.IMetaschema;
+import gov.nist.secauto.metaschema.model.common.MetaschemaException;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedList;
+import java.util.List;
+
+class BindingCompanionGeneratorTest {
+  @TempDir
+  Path classDir;
+
+  @Test
+  void testNestedCompanionNameDoesNotCollide() {
+    ClassName nested = ClassName.get("org.example", "Outer", "Inner");
+    ClassName topLevel = ClassName.get("org.example", "Outer_Inner");
+
+    assertEquals("org.example.Outer$Inner_Binding",
+        BindingCompanionGenerator.getCompanionClassName(nested).canonicalName());
+    assertNotEquals(
+        BindingCompanionGenerator.getCompanionClassName(nested),
+        BindingCompanionGenerator.getCompanionClassName(topLevel));
+  }
+
+  @Test
+  void testGeneratedCompanionsCompileAndAreDiscovered()
+      throws IOException, MetaschemaException, ClassNotFoundException {
+    IMetaschema metaschema = new MetaschemaLoader()
+        .loadXmlMetaschema(Paths.get("src/test/resources/metaschema/local-definitions/metaschema.xml"));
+
+    DefaultBindingConfiguration bindingConfiguration = new DefaultBindingConfiguration();
+    bindingConfiguration.setGenerateBindingCompanions(true);
+    MetaschemaCompilerHelper.compileMetaschema(metaschema, classDir, bindingConfiguration);
+
+    ClassLoader classLoader = MetaschemaCompilerHelper.getClassLoader(
+        classDir,
+        Thread.currentThread().getContextClassLoader());
+    Class<?> rootClass = classLoader.loadClass("gov.nist.csrc.ns.metaschema.testing.local.definitions.TopLevel");
+
+    List<Class<?>> boundClasses = new LinkedList<>();
+    boundClasses.add(rootClass);
+    boundClasses.addAll(List.of(rootClass.getDeclaredClasses()));
+    assertTrue(boundClasses.size() >= 2, "expected the local 'child' assembly to be a nested class");
+
+    IBindingContext bindingContext = IBindingContext.newInstance();
+    for (Class<?> clazz : boundClasses) {
+      assertCompanion(bindingContext, clazz);
+    }
+  }
+
+  private static <CLASS> void assertCompanion(@NotNull IBindingContext bindingContext, @NotNull Class<CLASS> clazz) {
+    IBindingCompanion<CLASS> companion = bindingContext.getBindingCompanion(clazz);
+    assertNotNull(companion, () -> String.format("no companion found for '%s'", clazz.getName()));
+    assertSame(clazz, companion.getBoundClass());
+    assertTrue(clazz.isInstance(companion.newInstance()));
+  }
+}
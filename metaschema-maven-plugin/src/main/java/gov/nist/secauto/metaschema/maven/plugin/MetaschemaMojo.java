@@ -161,6 +161,13 @@ public class MetaschemaMojo
   @Parameter
   protected File[] configs;
 
+  /**
+   * Indicate if a binding companion is to be generated for each generated bound class, which allows
+   * the bound classes to be read and written without using reflection.
+   */
+  @Parameter(property = "metaschema.generateBindingCompanions", defaultValue = "false")
+  private boolean generateBindingCompanions;
+
   /**
    * The BuildContext is used to identify which files or directories were modified since last build.
    * This is used to determine if java code generation must be performed again.
@@ -390,6 +397,7 @@ public class MetaschemaMojo
 
       // TODO: load this from the requested file
       DefaultBindingConfiguration bindingConfiguration = new DefaultBindingConfiguration();
+      bindingConfiguration.setGenerateBindingCompanions(generateBindingCompanions);
       for (File config : getConfigs()) {
         try {
           getLog().info("Loading binding configuration: " + config.getPath());
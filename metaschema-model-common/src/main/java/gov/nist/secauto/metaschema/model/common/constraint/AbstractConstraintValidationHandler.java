@@ -30,10 +30,21 @@ import gov.nist.secauto.metaschema.model.common.datatype.IJavaTypeAdapter;
 import gov.nist.secauto.metaschema.model.common.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
 import gov.nist.secauto.metaschema.model.common.metapath.format.IPathFormatter;
+import gov.nist.secauto.metaschema.model.common.metapath.function.library.FnData;
 import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+import gov.nist.secauto.metaschema.model.common.util.LazyCharSequence;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
+/**
+ * Provides messages for constraint violations.
+ * <p>
+ * Messages are rendered when they are first used, since rendering a message, including the paths of
+ * the nodes involved, can be more expensive than detecting the violation.
+ */
 public abstract class AbstractConstraintValidationHandler implements IConstraintValidationHandler {
   @NotNull
   public abstract IPathFormatter getPathFormatter();
@@ -42,80 +53,92 @@ public abstract class AbstractConstraintValidationHandler implements IConstraint
     return nodeItem.toPath(getPathFormatter());
   }
 
-  @SuppressWarnings("null")
   @NotNull
-  protected String newCardinalityMinimumViolationMessage(
+  protected CharSequence newCardinalityMinimumViolationMessage(
       @NotNull ICardinalityConstraint constraint,
       @SuppressWarnings("unused") @NotNull INodeItem node,
       @NotNull ISequence<? extends INodeItem> targets) {
     // TODO: render the item paths instead of the expression
-    return String.format(
+    int size = targets.size();
+    return LazyCharSequence.of(() -> String.format(
         "The cardinality '%d' is below the required minimum '%d' for items matching the expression '%s'.",
-        targets.size(), constraint.getMinOccurs(), constraint.getTarget().getPath());
+        size, constraint.getMinOccurs(), constraint.getTarget().getPath()));
   }
 
-  @SuppressWarnings("null")
   @NotNull
-  protected String newCardinalityMaximumViolationMessage(
+  protected CharSequence newCardinalityMaximumViolationMessage(
       @NotNull ICardinalityConstraint constraint,
       @SuppressWarnings("unused") @NotNull INodeItem node,
       @NotNull ISequence<? extends INodeItem> targets) {
     // TODO: render the item paths instead of the expression
-    return String.format(
+    int size = targets.size();
+    return LazyCharSequence.of(() -> String.format(
         "The cardinality '%d' is greater than the required maximum '%d' for items matching the expression '%s'.",
-        targets.size(), constraint.getMinOccurs(), constraint.getTarget().getPath());
+        size, constraint.getMinOccurs(), constraint.getTarget().getPath()));
   }
 
-  @SuppressWarnings("null")
   @NotNull
-  protected String newIndexDuplicateKeyViolationMessage(
+  protected CharSequence newIndexDuplicateKeyViolationMessage(
       @NotNull IIndexConstraint constraint,
       @SuppressWarnings("unused") @NotNull INodeItem node,
       @NotNull INodeItem oldItem,
       @NotNull INodeItem target) {
     // TODO: render the key paths
-    return String.format("Index '%s' has duplicate key for items at paths '%s' and '%s'", constraint.getName(),
-        toPath(oldItem), toPath(target));
+    return LazyCharSequence.of(() -> String.format("Index '%s' has duplicate key for items at paths '%s' and '%s'",
+        constraint.getName(), toPath(oldItem), toPath(target)));
   }
 
-  @SuppressWarnings("null")
   @NotNull
-  protected String newUniqueKeyViolationMessage(
+  protected CharSequence newUniqueKeyViolationMessage(
       @SuppressWarnings("unused") @NotNull IUniqueConstraint constraint,
       @SuppressWarnings("unused") @NotNull INodeItem node,
       @NotNull INodeItem oldItem,
       @NotNull INodeItem target) {
     // TODO: render the key paths
-    return String.format("Unique constraint violation at paths '%s' and '%s'",
-        toPath(oldItem), toPath(target));
+    return LazyCharSequence.of(() -> String.format("Unique constraint violation at paths '%s' and '%s'",
+        toPath(oldItem), toPath(target)));
   }
 
-  @SuppressWarnings("null")
   @NotNull
-  protected String newMatchPatternViolationMessage(
+  protected CharSequence newMatchPatternViolationMessage(
       @NotNull IMatchesConstraint constraint,
       @SuppressWarnings("unused") @NotNull INodeItem node,
       @NotNull INodeItem target,
       @NotNull String value) {
-    return String.format("Value '%s' did not match the pattern '%s' at path '%s'",
+    return LazyCharSequence.of(() -> String.format("Value '%s' did not match the pattern '%s' at path '%s'",
         value,
         constraint.getPattern().pattern(),
-        toPath(target));
+        toPath(target)));
   }
 
-  @SuppressWarnings("null")
   @NotNull
-  protected String newMatchDatatypeViolationMessage(
+  protected CharSequence newMatchDatatypeViolationMessage(
       @NotNull IMatchesConstraint constraint,
       @SuppressWarnings("unused") @NotNull INodeItem node,
       @NotNull INodeItem target,
       @NotNull String value) {
     IJavaTypeAdapter<?> adapter = constraint.getDataType();
-    return String.format("Value '%s' did not conform to the data type '%s' at path '%s'", value,
-        adapter.getName(), toPath(target));
+    return LazyCharSequence.of(() -> String.format("Value '%s' did not conform to the data type '%s' at path '%s'",
+        value, adapter.getName(), toPath(target)));
+  }
+
+  @NotNull
+  protected CharSequence newIndexMissingKeyViolationMessage(
+      @NotNull IIndexHasKeyConstraint constraint,
+      @NotNull INodeItem target) {
+    return LazyCharSequence.of(() -> String.format("Key reference not found in index '%s' for item at path '%s'",
+        constraint.getIndexName(), toPath(target)));
+  }
+
+  @NotNull
+  protected CharSequence newAllowedValuesViolationMessage(
+      @SuppressWarnings("unused") @NotNull List<@NotNull IAllowedValuesConstraint> failedConstraints,
+      @NotNull INodeItem target) {
+    return LazyCharSequence.of(() -> String.format(
+        "Value '%s' did not match one of the required allowed values at path '%s'",
+        FnData.fnDataItem(target).asString(), toPath(target)));
   }
 
-  @SuppressWarnings("null")
   @NotNull
   protected CharSequence newExpectViolationMessage(
       @NotNull IExpectConstraint constraint,
@@ -124,11 +147,13 @@ public abstract class AbstractConstraintValidationHandler implements IConstraint
       @NotNull DynamicContext dynamicContext) {
     CharSequence message;
     if (constraint.getMessage() != null) {
-      message = constraint.generateMessage(target, dynamicContext);
+      // the message is generated using the dynamic context, which may not be usable later
+      message = ObjectUtils.notNull(constraint.generateMessage(target, dynamicContext));
     } else {
-      message = String.format("Expect constraint '%s' did not match the data at path '%s'",
+      message = LazyCharSequence.of(() -> String.format(
+          "Expect constraint '%s' did not match the data at path '%s'",
           constraint.getTest().getPath(),
-          toPath(target));
+          toPath(target)));
     }
     return message;
   }
@@ -32,6 +32,7 @@ import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
 import gov.nist.secauto.metaschema.model.common.metapath.format.IPathFormatter;
 import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
 import gov.nist.secauto.metaschema.model.common.util.CollectionUtil;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -141,4 +142,21 @@ public abstract class AbstractFindingCollectingConstraintValidationHandler
         newExpectViolationMessage(constraint, node, target, dynamicContext), null);
   }
 
+  @Override
+  public void handleIndexMissingKeyViolation(
+      @NotNull IIndexHasKeyConstraint constraint,
+      @NotNull INodeItem target) {
+    newFinding(constraint, target, CollectionUtil.singletonList(target),
+        newIndexMissingKeyViolationMessage(constraint, target), null);
+  }
+
+  @Override
+  public void handleAllowedValuesViolation(
+      @NotNull List<@NotNull IAllowedValuesConstraint> failedConstraints,
+      @NotNull INodeItem target) {
+    // the value is only invalid if no constraint allowed it, so the finding is reported once
+    newFinding(ObjectUtils.notNull(failedConstraints.get(0)), target, CollectionUtil.singletonList(target),
+        newAllowedValuesViolationMessage(failedConstraints, target), null);
+  }
+
 }
@@ -0,0 +1,105 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.constraint;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A key built from the values of the key fields of an {@link IKeyConstraint}.
+ * <p>
+ * Each key field contributes one component, which is {@code null} if the key field did not match a
+ * value. The hash code is computed once, when the key is constructed.
+ */
+public final class CompositeKey {
+  @NotNull
+  private final String[] components;
+  private final int hash;
+
+  /**
+   * Construct a new key.
+   * 
+   * @param components
+   *          the value of each key field, in key field order, with {@code null} representing an
+   *          empty key field
+   */
+  public CompositeKey(@NotNull String... components) {
+    this.components = components;
+    this.hash = Arrays.hashCode(components);
+  }
+
+  /**
+   * Get the number of key field components in this key.
+   * 
+   * @return the number of components
+   */
+  public int size() {
+    return components.length;
+  }
+
+  /**
+   * Get the value of the key field component at the provided index.
+   * 
+   * @param index
+   *          the component index
+   * @return the value, or {@code null} if the key field was empty
+   */
+  public String getComponent(int index) {
+    return components[index];
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof CompositeKey)) {
+      return false;
+    }
+    CompositeKey other = (CompositeKey) obj;
+    return hash == other.hash && Arrays.equals(components, other.components);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder().append('[');
+    for (int i = 0; i < components.length; i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(Objects.toString(components[i], ""));
+    }
+    return builder.append(']').toString();
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.constraint;
+
+import gov.nist.secauto.metaschema.model.common.IDefinition;
+import gov.nist.secauto.metaschema.model.common.metapath.MetapathExpression;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.ContextItem;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Flag;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.IExpression;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Metapath;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.ModelInstance;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.ParenthesizedExpression;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.RelativeDoubleSlashPath;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.RelativeSlashPath;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Step;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Union;
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.instance.IInstanceSet;
+import gov.nist.secauto.metaschema.model.common.util.CollectionUtil;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The constraints of a definition that need to be evaluated at runtime.
+ * <p>
+ * A plan is built by statically evaluating the target of each constraint against the definition's
+ * model using {@link IDefinition#evaluateMetapathInstances(MetapathExpression)}. A constraint whose
+ * target cannot match any instance in the model can never produce targets, and is left out of the
+ * plan. Cardinality and index constraints are always kept, since a cardinality constraint can be
+ * violated by an empty target and an index must exist for any {@code index-has-key} constraints
+ * that reference it.
+ * <p>
+ * Static evaluation is only trusted for target expressions consisting of path steps, unions, and the
+ * context item. Predicates are not evaluated, so a target is only excluded if no instance matches
+ * its steps. Other targets are always kept.
+ * <p>
+ * Plans are cached per definition. Since constraints can be added to a definition after a plan is
+ * built, a cached plan is only used while the definition has the same constraints that the plan was
+ * built from, and is rebuilt otherwise.
+ */
+public final class ConstraintPlan {
+  private static final Logger LOGGER = LogManager.getLogger(ConstraintPlan.class);
+
+  @NotNull
+  private static final Map<@NotNull IDefinition, ConstraintPlan> PLANS
+      = Collections.synchronizedMap(new WeakHashMap<>());
+
+  /**
+   * The constraints of the definition that the plan was built from.
+   */
+  @NotNull
+  private final IConstraint[] declaredConstraints;
+  @NotNull
+  private final List<@NotNull IConstraint> constraints;
+  @NotNull
+  private final List<@NotNull IAllowedValuesConstraint> allowedValuesConstraints = new ArrayList<>(0);
+  @NotNull
+  private final List<@NotNull IMatchesConstraint> matchesConstraints = new ArrayList<>(0);
+  @NotNull
+  private final List<@NotNull IIndexHasKeyConstraint> indexHasKeyConstraints = new ArrayList<>(0);
+  @NotNull
+  private final List<@NotNull IExpectConstraint> expectConstraints = new ArrayList<>(0);
+  @NotNull
+  private final List<@NotNull ICardinalityConstraint> hasCardinalityConstraints = new ArrayList<>(0);
+  @NotNull
+  private final List<@NotNull IIndexConstraint> indexConstraints = new ArrayList<>(0);
+  @NotNull
+  private final List<@NotNull IUniqueConstraint> uniqueConstraints = new ArrayList<>(0);
+
+  /**
+   * Get the plan for the provided definition, building it if needed or if the definition's
+   * constraints have changed since the cached plan was built.
+   * 
+   * @param definition
+   *          the definition to get the plan for
+   * @return the plan
+   */
+  @NotNull
+  public static ConstraintPlan forDefinition(@NotNull IDefinition definition) {
+    List<@NotNull ? extends IConstraint> declared = definition.getConstraints();
+    ConstraintPlan retval = PLANS.get(definition);
+    if (retval == null || !retval.isBuiltFrom(declared)) {
+      // building a plan twice is harmless, so this is not done under the lock
+      retval = new ConstraintPlan(definition, declared);
+      PLANS.put(definition, retval);
+    }
+    return retval;
+  }
+
+  private ConstraintPlan(@NotNull IDefinition definition, @NotNull List<@NotNull ? extends IConstraint> declared) {
+    this.declaredConstraints = declared.toArray(new IConstraint[0]);
+
+    List<@NotNull IConstraint> constraints = new ArrayList<>();
+    for (IConstraint constraint : declaredConstraints) {
+      if (constraint instanceof ICardinalityConstraint) {
+        hasCardinalityConstraints.add((ICardinalityConstraint) constraint);
+      } else if (constraint instanceof IIndexConstraint) {
+        indexConstraints.add((IIndexConstraint) constraint);
+      } else if (!canMatch(definition, constraint.getTarget())) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.atDebug().log(String.format("Skipping constraint with target '%s' that cannot match in '%s'",
+              constraint.getTarget().getPath(), definition.toCoordinates()));
+        }
+        continue;
+      } else if (constraint instanceof IAllowedValuesConstraint) {
+        allowedValuesConstraints.add((IAllowedValuesConstraint) constraint);
+      } else if (constraint instanceof IMatchesConstraint) {
+        matchesConstraints.add((IMatchesConstraint) constraint);
+      } else if (constraint instanceof IIndexHasKeyConstraint) {
+        indexHasKeyConstraints.add((IIndexHasKeyConstraint) constraint);
+      } else if (constraint instanceof IExpectConstraint) {
+        expectConstraints.add((IExpectConstraint) constraint);
+      } else if (constraint instanceof IUniqueConstraint) {
+        uniqueConstraints.add((IUniqueConstraint) constraint);
+      }
+      constraints.add(constraint);
+    }
+    this.constraints = CollectionUtil.unmodifiableList(constraints);
+  }
+
+  /**
+   * Determine if this plan was built from the provided constraints.
+   */
+  private boolean isBuiltFrom(@NotNull List<@NotNull ? extends IConstraint> declared) {
+    boolean retval = declared.size() == declaredConstraints.length;
+    if (retval) {
+      int index = 0;
+      for (IConstraint constraint : declared) {
+        if (constraint != declaredConstraints[index++]) { // NOPMD - the same constraint instances are expected
+          retval = false;
+          break;
+        }
+      }
+    }
+    return retval;
+  }
+
+  private static boolean canMatch(@NotNull IDefinition definition, @NotNull MetapathExpression target) {
+    boolean retval = true;
+    if (isStaticallyEvaluable(target.getASTNode())) {
+      try {
+        IInstanceSet result = definition.evaluateMetapathInstances(target);
+        retval = result == null || !result.getInstances().isEmpty();
+      } catch (RuntimeException ex) { // NOPMD - the target will be evaluated at runtime instead
+        retval = true;
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Determine if the static evaluation of the provided expression is known to produce every
+   * instance that the expression can match at runtime.
+   */
+  private static boolean isStaticallyEvaluable(@NotNull IExpression expr) {
+    boolean retval;
+    if (expr instanceof Step) {
+      // predicates only filter the step's results
+      retval = isStaticallyEvaluable(((Step) expr).getStep());
+    } else if (expr instanceof Flag || expr instanceof ModelInstance || expr instanceof ContextItem) {
+      retval = true;
+    } else if (expr instanceof Metapath || expr instanceof Union || expr instanceof ParenthesizedExpression
+        || expr instanceof RelativeSlashPath || expr instanceof RelativeDoubleSlashPath) {
+      retval = true;
+      for (IExpression child : expr.getChildren()) {
+        if (!isStaticallyEvaluable(child)) {
+          retval = false;
+          break;
+        }
+      }
+    } else {
+      retval = false;
+    }
+    return retval;
+  }
+
+  /**
+   * Get the constraints in the plan, in the order they were declared.
+   * 
+   * @return the constraints
+   */
+  @NotNull
+  public List<@NotNull IConstraint> getConstraints() {
+    return constraints;
+  }
+
+  @NotNull
+  public List<@NotNull IAllowedValuesConstraint> getAllowedValuesConstraints() {
+    return allowedValuesConstraints;
+  }
+
+  @NotNull
+  public List<@NotNull IMatchesConstraint> getMatchesConstraints() {
+    return matchesConstraints;
+  }
+
+  @NotNull
+  public List<@NotNull IIndexHasKeyConstraint> getIndexHasKeyConstraints() {
+    return indexHasKeyConstraints;
+  }
+
+  @NotNull
+  public List<@NotNull IExpectConstraint> getExpectConstraints() {
+    return expectConstraints;
+  }
+
+  @NotNull
+  public List<@NotNull ICardinalityConstraint> getHasCardinalityConstraints() {
+    return hasCardinalityConstraints;
+  }
+
+  @NotNull
+  public List<@NotNull IIndexConstraint> getIndexConstraints() {
+    return indexConstraints;
+  }
+
+  @NotNull
+  public List<@NotNull IUniqueConstraint> getUniqueConstraints() {
+    return uniqueConstraints;
+  }
+}
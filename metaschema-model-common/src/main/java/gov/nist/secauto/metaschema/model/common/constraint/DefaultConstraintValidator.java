@@ -26,9 +26,6 @@
 
 package gov.nist.secauto.metaschema.model.common.constraint;
 
-import gov.nist.secauto.metaschema.model.common.IAssemblyDefinition;
-import gov.nist.secauto.metaschema.model.common.IFieldDefinition;
-import gov.nist.secauto.metaschema.model.common.IFlagDefinition;
 import gov.nist.secauto.metaschema.model.common.datatype.IJavaTypeAdapter;
 import gov.nist.secauto.metaschema.model.common.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.model.common.metapath.MetapathException;
@@ -49,7 +46,6 @@ import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -65,9 +61,9 @@ public class DefaultConstraintValidator implements IConstraintValidator {
   @NotNull
   private final Map<@NotNull INodeItem, ValueStatus> valueMap = new LinkedHashMap<>();
   @NotNull
-  private final Map<@NotNull String, Map<@NotNull String, INodeItem>> indexToKeyToItemMap = new LinkedHashMap<>();
+  private final Map<@NotNull String, KeyIndexTable<INodeItem>> indexToKeyToItemMap = new LinkedHashMap<>();
   @NotNull
-  private final Map<@NotNull String, Map<@NotNull String, List<@NotNull INodeItem>>> indexToKeyRefToItemMap
+  private final Map<@NotNull IIndexHasKeyConstraint, KeyReferenceTable> constraintToKeyRefToItemMap
       = new LinkedHashMap<>();
   @NotNull
   private final DynamicContext metapathContext;
@@ -89,6 +85,17 @@ public class DefaultConstraintValidator implements IConstraintValidator {
     this.handler = Objects.requireNonNull(handler, "handler");
   }
 
+  /**
+   * Get the handler to report the findings of a constraint to as it is evaluated. By default, this is
+   * the handler returned by {@link #getConstraintValidationHandler()}.
+   *
+   * @return the handler
+   */
+  @NotNull
+  protected IConstraintValidationHandler getEvaluationHandler() {
+    return getConstraintValidationHandler();
+  }
+
   @NotNull
   protected DynamicContext getMetapathContext() {
     return metapathContext;
@@ -96,35 +103,35 @@ public class DefaultConstraintValidator implements IConstraintValidator {
 
   @Override
   public void validate(@NotNull IFlagNodeItem item) throws MetapathException {
-    IFlagDefinition definition = item.getDefinition();
+    ConstraintPlan plan = ConstraintPlan.forDefinition(item.getDefinition());
 
-    validateExpect(definition.getExpectConstraints(), item);
-    validateAllowedValues(definition.getAllowedValuesContraints(), item);
-    validateIndexHasKey(definition.getIndexHasKeyConstraints(), item);
-    validateMatches(definition.getMatchesConstraints(), item);
+    validateExpect(plan.getExpectConstraints(), item);
+    validateAllowedValues(plan.getAllowedValuesConstraints(), item);
+    validateIndexHasKey(plan.getIndexHasKeyConstraints(), item);
+    validateMatches(plan.getMatchesConstraints(), item);
   }
 
   @Override
   public void validate(@NotNull IFieldNodeItem item) throws MetapathException {
-    IFieldDefinition definition = item.getDefinition();
+    ConstraintPlan plan = ConstraintPlan.forDefinition(item.getDefinition());
 
-    validateExpect(definition.getExpectConstraints(), item);
-    validateAllowedValues(definition.getAllowedValuesContraints(), item);
-    validateIndexHasKey(definition.getIndexHasKeyConstraints(), item);
-    validateMatches(definition.getMatchesConstraints(), item);
+    validateExpect(plan.getExpectConstraints(), item);
+    validateAllowedValues(plan.getAllowedValuesConstraints(), item);
+    validateIndexHasKey(plan.getIndexHasKeyConstraints(), item);
+    validateMatches(plan.getMatchesConstraints(), item);
   }
 
   @Override
   public void validate(@NotNull IAssemblyNodeItem item) throws MetapathException {
-    IAssemblyDefinition definition = item.getDefinition();
-
-    validateExpect(definition.getExpectConstraints(), item);
-    validateAllowedValues(definition.getAllowedValuesContraints(), item);
-    validateIndexHasKey(definition.getIndexHasKeyConstraints(), item);
-    validateMatches(definition.getMatchesConstraints(), item);
-    validateHasCardinality(definition.getHasCardinalityConstraints(), item);
-    validateIndex(definition.getIndexConstraints(), item);
-    validateUnique(definition.getUniqueConstraints(), item);
+    ConstraintPlan plan = ConstraintPlan.forDefinition(item.getDefinition());
+
+    validateExpect(plan.getExpectConstraints(), item);
+    validateAllowedValues(plan.getAllowedValuesConstraints(), item);
+    validateIndexHasKey(plan.getIndexHasKeyConstraints(), item);
+    validateMatches(plan.getMatchesConstraints(), item);
+    validateHasCardinality(plan.getHasCardinalityConstraints(), item);
+    validateIndex(plan.getIndexConstraints(), item);
+    validateUnique(plan.getUniqueConstraints(), item);
   }
 
   protected void validateHasCardinality(@NotNull List<@NotNull ? extends ICardinalityConstraint> constraints,
@@ -152,12 +159,12 @@ public class DefaultConstraintValidator implements IConstraintValidator {
 
     Integer minOccurs = constraint.getMinOccurs();
     if (minOccurs != null && itemCount < minOccurs) {
-      getConstraintValidationHandler().handleCardinalityMinimumViolation(constraint, node, targets);
+      getEvaluationHandler().handleCardinalityMinimumViolation(constraint, node, targets);
     }
 
     Integer maxOccurs = constraint.getMaxOccurs();
     if (maxOccurs != null && itemCount > maxOccurs) {
-      getConstraintValidationHandler().handleCardinalityMaximumViolation(constraint, node, targets);
+      getEvaluationHandler().handleCardinalityMaximumViolation(constraint, node, targets);
     }
   }
 
@@ -191,22 +198,22 @@ public class DefaultConstraintValidator implements IConstraintValidator {
       throw new MetapathException(msg);
     }
 
-    Map<@NotNull String, INodeItem> indexItems = new HashMap<>();
+    KeyIndexTable<INodeItem> indexItems = new KeyIndexTable<>();
     targets.asStream()
         .forEachOrdered(item -> {
           @NotNull
-          String key;
+          CompositeKey key;
           try {
             key = buildKey(constraint.getKeyFields(), item);
           } catch (MetapathException ex) {
-            getConstraintValidationHandler().handleKeyMatchError(constraint, node, item, ex);
+            getEvaluationHandler().handleKeyMatchError(constraint, node, item, ex);
             throw ex;
           }
 
           // LOGGER.info("key: {} {}", key, item);
           INodeItem oldItem = indexItems.put(key, item);
           if (oldItem != null) {
-            getConstraintValidationHandler().handleIndexDuplicateKeyViolation(constraint, node, oldItem, item);
+            getEvaluationHandler().handleIndexDuplicateKeyViolation(constraint, node, oldItem, item);
           }
         });
     indexToKeyToItemMap.put(indexName, indexItems);
@@ -235,22 +242,22 @@ public class DefaultConstraintValidator implements IConstraintValidator {
 
   protected void validateUnique(@NotNull IUniqueConstraint constraint,
       @NotNull IAssemblyNodeItem node, @NotNull ISequence<? extends INodeItem> targets) throws MetapathException {
-    Map<@NotNull String, INodeItem> keyToItemMap = new HashMap<>();
+    KeyIndexTable<INodeItem> keyToItemMap = new KeyIndexTable<>();
 
     targets.asStream()
         .forEachOrdered(item -> {
           @NotNull
-          String key;
+          CompositeKey key;
           try {
             key = buildKey(constraint.getKeyFields(), item);
           } catch (MetapathException ex) {
-            getConstraintValidationHandler().handleKeyMatchError(constraint, node, item, ex);
+            getEvaluationHandler().handleKeyMatchError(constraint, node, item, ex);
             throw ex;
           }
 
           if (keyToItemMap.containsKey(key)) {
             INodeItem oldItem = ObjectUtils.notNull(keyToItemMap.get(key));
-            getConstraintValidationHandler().handleUniqueKeyViolation(constraint, node, oldItem, item);
+            getEvaluationHandler().handleUniqueKeyViolation(constraint, node, oldItem, item);
           } else {
             keyToItemMap.put(key, item);
           }
@@ -281,7 +288,7 @@ public class DefaultConstraintValidator implements IConstraintValidator {
             // validate pattern
             Predicate<String> predicate = pattern.asMatchPredicate();
             if (!predicate.test(value)) {
-              getConstraintValidationHandler().handleMatchPatternViolation(constraint, node, item, value);
+              getEvaluationHandler().handleMatchPatternViolation(constraint, node, item, value);
             }
           }
 
@@ -289,7 +296,7 @@ public class DefaultConstraintValidator implements IConstraintValidator {
           try {
             adapter.parse(value);
           } catch (IllegalArgumentException ex) {
-            getConstraintValidationHandler().handleMatchDatatypeViolation(constraint, node, item, value, ex);
+            getEvaluationHandler().handleMatchDatatypeViolation(constraint, node, item, value, ex);
           }
         });
   }
@@ -309,26 +316,18 @@ public class DefaultConstraintValidator implements IConstraintValidator {
 
   protected void validateIndexHasKey(@NotNull IIndexHasKeyConstraint constraint, @NotNull ISequence<?> targets)
       throws MetapathException {
-    String indexName = constraint.getIndexName();
-
-    Map<@NotNull String, List<@NotNull INodeItem>> keyRefItems = indexToKeyRefToItemMap.get(indexName);
+    KeyReferenceTable keyRefItems = constraintToKeyRefToItemMap.get(constraint);
     if (keyRefItems == null) {
-      keyRefItems = new LinkedHashMap<>();
-      indexToKeyRefToItemMap.put(indexName, keyRefItems);
+      keyRefItems = new KeyReferenceTable();
+      constraintToKeyRefToItemMap.put(constraint, keyRefItems);
     }
 
     for (IItem target : targets.asList()) {
       INodeItem item = (INodeItem) target;
-      String key = buildKey(constraint.getKeyFields(), item);
+      CompositeKey key = buildKey(constraint.getKeyFields(), item);
 
       // LOGGER.info("key-ref: {} {}", key, item);
-      //
-      List<@NotNull INodeItem> items = keyRefItems.get(key);
-      if (items == null) {
-        items = new LinkedList<>();
-        keyRefItems.put(key, items);
-      }
-      items.add(item);
+      keyRefItems.add(key, item);
     }
   }
 
@@ -352,7 +351,7 @@ public class DefaultConstraintValidator implements IConstraintValidator {
       try {
         ISequence<?> result = item.evaluateMetapath(metapath, getMetapathContext());
         if (!FnBoolean.fnBoolean(result).toBoolean()) {
-          getConstraintValidationHandler().handleExpectViolation(constraint, node, item, getMetapathContext());
+          getEvaluationHandler().handleExpectViolation(constraint, node, item, getMetapathContext());
         }
       } catch (Exception ex) {
         String msg = String.format("Unable to evaluate expect constraint '%s' at path '%s'", metapath.getPath(),
@@ -380,28 +379,50 @@ public class DefaultConstraintValidator implements IConstraintValidator {
     targets.asStream().forEachOrdered(item -> {
       String value = FnData.fnDataItem(item).asString();
 
-      updateValueStatus((IAtomicValuedNodeItem) item, constraint.getAllowedValues().containsKey(value));
+      updateValueStatus(constraint, (IAtomicValuedNodeItem) item, constraint.getAllowedValues().containsKey(value));
     });
   }
 
-  protected void updateValueStatus(@NotNull IAtomicValuedNodeItem item, boolean newStatus) {
+  /**
+   * Record the result of evaluating an allowed values constraint against a node. The node's value is
+   * valid if any allowed values constraint that targets it allows the value.
+   * 
+   * @param constraint
+   *          the allowed values constraint that was evaluated
+   * @param item
+   *          the node whose value was evaluated
+   * @param newStatus
+   *          {@code true} if the constraint allows the value, or {@code false} otherwise
+   */
+  protected void updateValueStatus(@NotNull IAllowedValuesConstraint constraint, @NotNull IAtomicValuedNodeItem item,
+      boolean newStatus) {
     @Nullable
     ValueStatus valueStatus = valueMap.get(item);
 
     if (valueStatus == null) {
-      valueStatus = new ValueStatus(item, newStatus);
+      valueStatus = new ValueStatus(item);
       valueMap.put(item, valueStatus);
-    } else {
-      if (!valueStatus.isValid() && newStatus) {
-        valueStatus.updateStatus(newStatus);
-      }
     }
+    valueStatus.updateStatus(constraint, newStatus);
   }
 
+  /**
+   * Build a key for the provided item by evaluating each key field against the item.
+   * 
+   * @param keyFields
+   *          the key fields to evaluate
+   * @param item
+   *          the item to build the key for
+   * @return the key, with one component for each key field
+   * @throws MetapathException
+   *           if a key field matched multiple nodes, or if the value did not match the key field's
+   *           pattern
+   */
   @NotNull
-  protected String buildKey(@NotNull List<@NotNull ? extends IKeyField> keyFields, @NotNull INodeItem item)
+  protected CompositeKey buildKey(@NotNull List<@NotNull ? extends IKeyField> keyFields, @NotNull INodeItem item)
       throws MetapathException {
-    StringBuilder key = new StringBuilder();
+    String[] components = new String[keyFields.size()];
+    int index = 0;
     for (IKeyField keyField : keyFields) {
       MetapathExpression keyPath = keyField.getTarget();
 
@@ -439,15 +460,53 @@ public class DefaultConstraintValidator implements IConstraintValidator {
         keyValue = null;
       }
 
-      if (keyValue != null) {
-        key.append(keyValue);
+      components[index++] = keyValue;
+    }
+    return new CompositeKey(components);
+  }
+
+  /**
+   * Merge the allowed value, index, and key reference state collected by another validator into
+   * this validator. The result is the same as if the nodes validated by the other validator had been
+   * validated by this validator, after the nodes this validator has already validated.
+   *
+   * @param other
+   *          the validator to merge state from
+   * @throws MetapathException
+   *           if an index in the other validator has the same name as an index already collected by
+   *           this validator
+   */
+  protected void merge(@NotNull DefaultConstraintValidator other) throws MetapathException {
+    for (ValueStatus status : other.valueMap.values()) {
+      if (status.isValid()) {
+        // a single allowing constraint is enough to make the value valid
+        updateValueStatus(status.getAllowingConstraint(), status.getItem(), true);
+      } else {
+        for (IAllowedValuesConstraint constraint : status.getFailedConstraints()) {
+          updateValueStatus(constraint, status.getItem(), false);
+        }
+      }
+    }
+
+    for (Map.Entry<@NotNull String, KeyIndexTable<INodeItem>> entry : other.indexToKeyToItemMap.entrySet()) {
+      String indexName = entry.getKey();
+      if (indexToKeyToItemMap.containsKey(indexName)) {
+        String msg = String.format("Duplicate index named '%s' found", indexName);
+        LOGGER.atError().log(msg);
+        throw new MetapathException(msg);
       }
-      key.append("|||");
+      indexToKeyToItemMap.put(indexName, entry.getValue());
+    }
+
+    for (Map.Entry<@NotNull IIndexHasKeyConstraint, KeyReferenceTable> entry
+        : other.constraintToKeyRefToItemMap.entrySet()) {
+      KeyReferenceTable keyRefItems = constraintToKeyRefToItemMap.get(entry.getKey());
+      if (keyRefItems == null) {
+        keyRefItems = new KeyReferenceTable();
+        constraintToKeyRefToItemMap.put(entry.getKey(), keyRefItems);
+      }
+      keyRefItems.addAll(ObjectUtils.notNull(entry.getValue()));
     }
-    @SuppressWarnings("null")
-    @NotNull
-    String retval = key.toString();
-    return retval;
   }
 
   @Override
@@ -455,30 +514,26 @@ public class DefaultConstraintValidator implements IConstraintValidator {
     for (Map.Entry<@NotNull INodeItem, ValueStatus> entry : valueMap.entrySet()) {
       ValueStatus status = entry.getValue();
       if (status != null && !status.isValid()) {
-        LOGGER.atWarn().log(String.format("Value '%s' did not match one of the required allowed values at path '%s'",
-            status.getValue(), status.getItem().getMetapath()));
+        getConstraintValidationHandler().handleAllowedValuesViolation(status.getFailedConstraints(),
+            status.getItem());
       }
     }
 
-    for (Map.Entry<@NotNull String, Map<@NotNull String, List<@NotNull INodeItem>>> entry : indexToKeyRefToItemMap
-        .entrySet()) {
-      @SuppressWarnings("null")
-      String indexName = entry.getKey();
-      Map<@NotNull String, List<@NotNull INodeItem>> keyRefToItemMap = entry.getValue();
+    for (Map.Entry<@NotNull IIndexHasKeyConstraint, KeyReferenceTable> entry
+        : constraintToKeyRefToItemMap.entrySet()) {
+      IIndexHasKeyConstraint constraint = ObjectUtils.notNull(entry.getKey());
+      String indexName = constraint.getIndexName();
+      KeyReferenceTable keyRefItems = entry.getValue();
 
-      Map<@NotNull String, INodeItem> indexItems = indexToKeyToItemMap.get(indexName);
+      KeyIndexTable<INodeItem> indexItems = indexToKeyToItemMap.get(indexName);
 
-      for (Map.Entry<@NotNull String, List<@NotNull INodeItem>> keyRefEntry : keyRefToItemMap
-          .entrySet()) {
-        @SuppressWarnings("null")
-        String key = keyRefEntry.getKey();
-        @SuppressWarnings("null")
-        List<INodeItem> items = keyRefEntry.getValue();
+      for (int keyOrdinal = 0; keyOrdinal < keyRefItems.getKeyCount(); keyOrdinal++) {
+        CompositeKey key = keyRefItems.getKey(keyOrdinal);
 
-        if (!indexItems.containsKey(key)) {
-          for (INodeItem item : items) {
-            LOGGER.atError().log(String.format("Key reference not found in index '%s' for item at path '%s'", indexName,
-                item.getMetapath()));
+        if (indexItems == null || !indexItems.containsKey(key)) {
+          // only materialize the referencing nodes when reporting
+          for (INodeItem item : keyRefItems.getReferences(keyOrdinal)) {
+            getConstraintValidationHandler().handleIndexMissingKeyViolation(constraint, ObjectUtils.notNull(item));
           }
         }
       }
@@ -486,31 +541,44 @@ public class DefaultConstraintValidator implements IConstraintValidator {
   }
 
   private static class ValueStatus {
+    @NotNull
     private final IAtomicValuedNodeItem item;
-    private boolean valid;
+    @Nullable
+    private IAllowedValuesConstraint allowingConstraint;
+    @NotNull
+    private final List<@NotNull IAllowedValuesConstraint> failedConstraints = new LinkedList<>();
 
-    public ValueStatus(IAtomicValuedNodeItem item, boolean initialStatus) {
+    public ValueStatus(@NotNull IAtomicValuedNodeItem item) {
       this.item = item;
-      this.valid = initialStatus;
     }
 
     public boolean isValid() {
-      return valid;
+      return allowingConstraint != null;
     }
 
-    public Object getValue() {
-      return item.getValue();
+    @NotNull
+    public IAtomicValuedNodeItem getItem() {
+      return item;
     }
 
-    public INodeItem getItem() {
-      return item;
+    @NotNull
+    public IAllowedValuesConstraint getAllowingConstraint() {
+      return ObjectUtils.requireNonNull(allowingConstraint, "allowingConstraint");
     }
 
-    private void updateStatus(boolean newStatus) {
-      if (!valid && newStatus) {
-        valid = newStatus;
-      }
+    @NotNull
+    public List<@NotNull IAllowedValuesConstraint> getFailedConstraints() {
+      return failedConstraints;
     }
 
+    private void updateStatus(@NotNull IAllowedValuesConstraint constraint, boolean newStatus) {
+      if (newStatus) {
+        if (allowingConstraint == null) {
+          allowingConstraint = constraint;
+        }
+      } else {
+        failedConstraints.add(constraint);
+      }
+    }
   }
 }
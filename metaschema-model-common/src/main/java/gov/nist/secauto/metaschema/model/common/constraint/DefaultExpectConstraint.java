@@ -31,12 +31,16 @@ import gov.nist.secauto.metaschema.model.common.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.model.common.metapath.MetapathExpression;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IBooleanItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
-import gov.nist.secauto.metaschema.model.common.util.ReplacementScanner;
+import gov.nist.secauto.metaschema.model.common.util.CollectionUtil;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class DefaultExpectConstraint
@@ -49,6 +53,7 @@ public class DefaultExpectConstraint
   @NotNull
   private final MetapathExpression test;
   private final String message;
+  private List<@NotNull Object> messageTemplate;
 
   /**
    * Construct a new expect constraint which requires that the associated test evaluates to
@@ -93,18 +98,48 @@ public class DefaultExpectConstraint
 
   @Override
   public CharSequence generateMessage(@NotNull INodeItem item, @NotNull DynamicContext context) {
-    String message = getMessage();
-    if (message == null) {
+    List<@NotNull Object> template = getMessageTemplate();
+    if (template == null) {
       return null;
     }
 
-    return ReplacementScanner.replaceTokens(message, METAPATH_VALUE_TEMPLATE_PATTERN, match -> {
-      @SuppressWarnings("null")
-      @NotNull
-      String metapath = match.group(2);
-      MetapathExpression expr = MetapathExpression.compile(metapath);
-      return expr.evaluateAs(item, context, MetapathExpression.ResultType.STRING);
-    });
+    StringBuilder builder = new StringBuilder();
+    for (Object part : template) {
+      if (part instanceof MetapathExpression) {
+        String value = ((MetapathExpression) part).evaluateAs(item, context, MetapathExpression.ResultType.STRING);
+        builder.append(value);
+      } else {
+        builder.append((String) part);
+      }
+    }
+    return builder;
+  }
+
+  /**
+   * Get the message split into literal text and the compiled Metapath expressions that are
+   * evaluated to produce the remaining text. The message is split and compiled on first use.
+   * 
+   * @return the message template parts, or {@code null} if this constraint has no message
+   */
+  private synchronized List<@NotNull Object> getMessageTemplate() {
+    String message = getMessage();
+    if (messageTemplate == null && message != null) {
+      List<@NotNull Object> template = new ArrayList<>();
+      int lastIndex = 0;
+      Matcher matcher = METAPATH_VALUE_TEMPLATE_PATTERN.matcher(message);
+      while (matcher.find()) {
+        if (matcher.start() > lastIndex) {
+          template.add(message.substring(lastIndex, matcher.start()));
+        }
+        template.add(MetapathExpression.compile(ObjectUtils.notNull(matcher.group(2))));
+        lastIndex = matcher.end();
+      }
+      if (lastIndex < message.length()) {
+        template.add(message.substring(lastIndex));
+      }
+      messageTemplate = CollectionUtil.unmodifiableList(template);
+    }
+    return messageTemplate;
   }
 
 }
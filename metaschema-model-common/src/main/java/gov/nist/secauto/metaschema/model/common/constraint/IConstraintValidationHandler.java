@@ -29,10 +29,14 @@ package gov.nist.secauto.metaschema.model.common.constraint;
 import gov.nist.secauto.metaschema.model.common.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.model.common.metapath.MetapathException;
 import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
+import gov.nist.secauto.metaschema.model.common.metapath.function.library.FnData;
 import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
 
+import org.apache.logging.log4j.LogManager;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 public interface IConstraintValidationHandler {
 
   void handleCardinalityMinimumViolation(
@@ -81,4 +85,42 @@ public interface IConstraintValidationHandler {
       @NotNull INodeItem node,
       @NotNull INodeItem target,
       @NotNull MetapathException ex);
+
+  /**
+   * Handle a key reference that was not found in the index named by the constraint.
+   * <p>
+   * By default, the violation is logged as an error, as the validator did before this callback
+   * existed.
+   * 
+   * @param constraint
+   *          the index-has-key constraint whose key reference was not found
+   * @param target
+   *          the node containing the key reference
+   */
+  default void handleIndexMissingKeyViolation(
+      @NotNull IIndexHasKeyConstraint constraint,
+      @NotNull INodeItem target) {
+    LogManager.getLogger(DefaultConstraintValidator.class).atError().log(
+        String.format("Key reference not found in index '%s' for item at path '%s'", constraint.getIndexName(),
+            target.getMetapath()));
+  }
+
+  /**
+   * Handle a value that is not allowed by any of the allowed values constraints targeting it.
+   * <p>
+   * By default, the violation is logged as a warning, as the validator did before this callback
+   * existed.
+   * 
+   * @param failedConstraints
+   *          the allowed values constraints that did not allow the value
+   * @param target
+   *          the node with the value
+   */
+  default void handleAllowedValuesViolation(
+      @NotNull List<@NotNull IAllowedValuesConstraint> failedConstraints,
+      @NotNull INodeItem target) {
+    LogManager.getLogger(DefaultConstraintValidator.class).atWarn().log(
+        String.format("Value '%s' did not match one of the required allowed values at path '%s'",
+            FnData.fnDataItem(target).asString(), target.getMetapath()));
+  }
 }
@@ -0,0 +1,870 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.constraint;
+
+import gov.nist.secauto.metaschema.model.common.INamedInstance;
+import gov.nist.secauto.metaschema.model.common.constraint.FindingCollectingConstraintValidationHandler.Finding;
+import gov.nist.secauto.metaschema.model.common.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.model.common.metapath.MetapathDependencies;
+import gov.nist.secauto.metaschema.model.common.metapath.MetapathException;
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IAssemblyNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IAtomicValuedNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IFieldNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IFlagNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IModelNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+import gov.nist.secauto.metaschema.model.common.util.CollectionUtil;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * A constraint validator that can re-validate a document after it has been modified, re-evaluating
+ * only the constraints that can observe the modified nodes.
+ * <p>
+ * The document is first validated using {@link #validate(IDocumentNodeItem)}. After the document is
+ * modified, {@link #revalidate(IDocumentNodeItem, Collection)} is called with the Metapath of each
+ * modified node, as produced by {@link INodeItem#getMetapath()}. A modified path indicates that the
+ * node and its descendants may have changed, that the node was inserted, or that the node was
+ * removed. Since inserting or removing a model item changes the position, and thus the path, of its
+ * following siblings of the same name, the following siblings of a modified model item are treated
+ * as modified as well.
+ * <p>
+ * Each evaluation of a constraint against a node is tracked as a site, which is keyed by the node's
+ * path. On re-validation, the sites in each modified subtree are discarded and the subtree is
+ * validated again. Sites on ancestor nodes, and sites whose constraints navigate from the document
+ * root, are re-evaluated only if their target, key field, or {@code expect} test expressions can
+ * observe a modified node, based on the {@link MetapathDependencies} of the expressions. Keys
+ * computed for {@code index}, {@code unique}, and {@code index-has-key} targets are reused for
+ * targets outside of the modified subtrees, and the index, key reference, and allowed value state
+ * is updated by removing the previous contributions of a re-evaluated site before adding the new
+ * ones.
+ * <p>
+ * Findings are collected by this validator and are available using {@link #getFindings()}, ordered
+ * by the document position of the node they were found at, as with {@link DefaultConstraintValidator}.
+ * All current findings are reported to the handler provided by
+ * {@link #setConstraintValidationHandler(IConstraintValidationHandler)} when
+ * {@link #finalizeValidation()} is called.
+ * <p>
+ * Only the allowed values, matches, expect, index-has-key, cardinality, index, and unique constraint
+ * types are evaluated, as with {@link DefaultConstraintValidator}.
+ */
+public class IncrementalConstraintValidator
+    extends DefaultConstraintValidator {
+  private static final Logger LOGGER = LogManager.getLogger(IncrementalConstraintValidator.class);
+
+  /**
+   * The sites of each node, by node path. The map is sorted so that the sites of a subtree occupy a
+   * contiguous range of paths. Since positions sort as strings, this is not the document order.
+   */
+  @NotNull
+  private final NavigableMap<@NotNull String, NodeSites> pathToSitesMap = new TreeMap<>();
+  /**
+   * Sites whose constraints navigate from the document root.
+   */
+  @NotNull
+  private final Set<@NotNull Site> absoluteSites = new LinkedHashSet<>();
+  @NotNull
+  private final Map<@NotNull IConstraint, MetapathDependencies> constraintDependencies = new IdentityHashMap<>();
+  @NotNull
+  private final Map<@NotNull String, IndexEntry> indexNameToIndexMap = new HashMap<>();
+  @NotNull
+  private final Map<@NotNull String, Map<@NotNull CompositeKey, List<@NotNull KeyReference>>> indexToKeyRefMap
+      = new LinkedHashMap<>();
+  @NotNull
+  private final Map<@NotNull String, AllowedValueStatus> pathToValueStatusMap = new HashMap<>();
+  @NotNull
+  private final SiteRecordingHandler recordingHandler = new SiteRecordingHandler();
+  @NotNull
+  private Collection<@NotNull String> changedPaths = CollectionUtil.emptyList();
+  private Site currentSite;
+
+  /**
+   * Construct a new validator.
+   * 
+   * @param metapathContext
+   *          the Metapath dynamic context to use for evaluating constraints
+   */
+  public IncrementalConstraintValidator(@NotNull DynamicContext metapathContext) {
+    super(metapathContext);
+  }
+
+  /**
+   * Get the handler used to record the findings of each evaluated constraint with the site being
+   * evaluated. The handler provided to
+   * {@link #setConstraintValidationHandler(IConstraintValidationHandler)} only receives findings when
+   * {@link #finalizeValidation()} is called.
+   * 
+   * @return the recording handler
+   */
+  @NotNull
+  protected RecordingConstraintValidationHandler getRecordingHandler() {
+    return recordingHandler;
+  }
+
+  @Override
+  protected IConstraintValidationHandler getEvaluationHandler() {
+    return getRecordingHandler();
+  }
+
+  /**
+   * Get the current findings. The findings of each evaluated constraint are ordered by the document
+   * position of the node the constraint was evaluated against, followed by the allowed value findings
+   * ordered by the document position of their node, and the key reference findings.
+   * 
+   * @return the findings
+   */
+  @NotNull
+  public List<@NotNull Finding> getFindings() {
+    FindingCollectingConstraintValidationHandler collector = new FindingCollectingConstraintValidationHandler();
+    report(collector);
+    return new LinkedList<>(collector.getFindings());
+  }
+
+  /**
+   * Report all current findings to the provided handler.
+   */
+  private void report(@NotNull IConstraintValidationHandler handler) {
+    List<@NotNull NodeSites> nodes = new ArrayList<>(pathToSitesMap.values());
+    nodes.sort(Comparator.comparing(node -> node.position));
+    for (NodeSites node : nodes) {
+      for (Site site : node.sites) {
+        site.events.forEach(event -> event.accept(handler));
+      }
+    }
+
+    List<@NotNull AllowedValueStatus> statuses = new ArrayList<>(pathToValueStatusMap.values());
+    statuses.sort(Comparator.comparing(status -> status.position));
+    for (AllowedValueStatus status : statuses) {
+      if (!status.isValid()) {
+        handler.handleAllowedValuesViolation(new ArrayList<>(status.failedConstraints), status.item);
+      }
+    }
+
+    for (Map.Entry<@NotNull String, Map<@NotNull CompositeKey, List<@NotNull KeyReference>>> entry
+        : indexToKeyRefMap.entrySet()) {
+      IndexEntry index = indexNameToIndexMap.get(entry.getKey());
+
+      for (Map.Entry<@NotNull CompositeKey, List<@NotNull KeyReference>> keyRef : entry.getValue().entrySet()) {
+        if (index == null || !index.keys.containsKey(ObjectUtils.notNull(keyRef.getKey()))) {
+          for (KeyReference reference : keyRef.getValue()) {
+            handler.handleIndexMissingKeyViolation(reference.constraint, reference.item);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Validate the provided document, discarding the results of any previous validation.
+   * 
+   * @param document
+   *          the document to validate
+   * @throws MetapathException
+   *           if an error occurred while evaluating a constraint
+   */
+  public void validate(@NotNull IDocumentNodeItem document) throws MetapathException {
+    pathToSitesMap.clear();
+    absoluteSites.clear();
+    indexNameToIndexMap.clear();
+    indexToKeyRefMap.clear();
+    pathToValueStatusMap.clear();
+
+    document.validate(this);
+  }
+
+  /**
+   * Re-validate the provided document after the nodes with the provided paths were modified.
+   * 
+   * @param document
+   *          the modified document
+   * @param paths
+   *          the Metapath of each modified node
+   * @throws MetapathException
+   *           if an error occurred while evaluating a constraint
+   */
+  public void revalidate(@NotNull IDocumentNodeItem document, @NotNull Collection<@NotNull String> paths)
+      throws MetapathException {
+    Set<@NotNull String> expanded = new LinkedHashSet<>(paths);
+    for (String path : paths) {
+      addFollowingSiblings(document, path, expanded);
+    }
+
+    List<@NotNull String> changed = new ArrayList<>(expanded.size());
+    for (String path : expanded) {
+      // a path within another modified subtree is handled with that subtree
+      boolean covered = false;
+      for (String other : expanded) {
+        if (!path.equals(other) && isSelfOrDescendant(path, other)) {
+          covered = true;
+          break;
+        }
+      }
+      if (!covered && !changed.contains(path)) {
+        changed.add(path);
+      }
+    }
+
+    changedPaths = changed;
+    try {
+      for (String path : changed) {
+        removeSites(path);
+      }
+
+      Set<@NotNull Site> affected = new LinkedHashSet<>();
+      for (String path : changed) {
+        INodeItem node = resolve(document, path);
+        if (node != null) {
+          node.validate(this);
+        }
+        collectAffectedSites(path, affected);
+      }
+
+      for (Site site : affected) {
+        INodeItem node = resolve(document, site.path);
+        if (node == null) {
+          throw new MetapathException(String.format("Unable to find node at path '%s'", site.path));
+        }
+        evaluate(site, node);
+      }
+    } finally {
+      changedPaths = CollectionUtil.emptyList();
+    }
+  }
+
+  /**
+   * Add the paths of the following siblings of the provided model item path, in both the previously
+   * validated and the modified document, to the provided paths.
+   */
+  private void addFollowingSiblings(@NotNull IDocumentNodeItem document, @NotNull String path,
+      @NotNull Set<@NotNull String> paths) {
+    int slash = path.lastIndexOf('/');
+    int bracket = path.lastIndexOf('[');
+    if (slash <= 0 || bracket < slash) {
+      // the root assembly and flags have no positional siblings
+      return; // NOPMD - readability
+    }
+
+    // the sibling paths sort between "parent/name[" and "parent/name\", since '\' follows '['
+    String prefix = path.substring(0, bracket + 1);
+    String name = path.substring(slash + 1, bracket);
+    int position = Integer.parseInt(path.substring(bracket + 1, path.length() - 1));
+
+    int last = position;
+    for (String sitePath : pathToSitesMap.subMap(prefix, true, path.substring(0, bracket) + '\\', false).keySet()) {
+      int end = sitePath.indexOf(']', bracket);
+      last = Math.max(last, Integer.parseInt(sitePath.substring(bracket + 1, end)));
+    }
+
+    INodeItem parent = resolve(document, ObjectUtils.notNull(path.substring(0, slash)));
+    if (parent != null) {
+      last = Math.max(last, parent.getModelItemsByName(ObjectUtils.notNull(name)).size());
+    }
+
+    for (int sibling = position + 1; sibling <= last; sibling++) {
+      paths.add(prefix + sibling + "]");
+    }
+  }
+
+  /**
+   * Find the sites, outside of the modified subtree, whose constraints can observe a node in the
+   * modified subtree.
+   */
+  private void collectAffectedSites(@NotNull String path, @NotNull Set<@NotNull Site> affected) {
+    List<@NotNull String> segmentNames = new ArrayList<>();
+    String ancestorPath = path;
+    while (!ancestorPath.isEmpty()) {
+      int index = ancestorPath.lastIndexOf('/');
+      segmentNames.add(segmentName(ancestorPath.substring(index + 1)));
+      ancestorPath = ancestorPath.substring(0, index);
+
+      // a relative expression can observe the nodes between its context node and the modified node
+      NodeSites node = pathToSitesMap.get(ancestorPath);
+      if (node != null) {
+        for (Site site : node.sites) {
+          if (site.dependencies.observesAny(segmentNames)) {
+            affected.add(site);
+          }
+        }
+      }
+    }
+
+    // an absolute expression can observe any node on the path from the root
+    for (Site site : absoluteSites) {
+      if (!isSelfOrDescendant(site.path, path) && site.dependencies.observesAny(segmentNames)) {
+        affected.add(site);
+      }
+    }
+  }
+
+  @Override
+  public void validate(@NotNull IFlagNodeItem item) throws MetapathException {
+    newSites(item);
+  }
+
+  @Override
+  public void validate(@NotNull IFieldNodeItem item) throws MetapathException {
+    newSites(item);
+  }
+
+  @Override
+  public void validate(@NotNull IAssemblyNodeItem item) throws MetapathException {
+    newSites(item);
+  }
+
+  private void newSites(@NotNull INodeItem item) throws MetapathException {
+    List<@NotNull IConstraint> constraints = getConstraints(item);
+    if (!constraints.isEmpty()) {
+      String path = item.getMetapath();
+      List<@NotNull Site> sites = new ArrayList<>(constraints.size());
+      pathToSitesMap.put(path, new NodeSites(DocumentPosition.of(item), sites));
+
+      for (IConstraint constraint : constraints) {
+        Site site = new Site(path, constraint, getDependencies(constraint));
+        sites.add(site);
+        if (site.dependencies.isAbsolute()) {
+          absoluteSites.add(site);
+        }
+        evaluate(site, item);
+      }
+    }
+  }
+
+  /**
+   * Get the constraints to evaluate against the provided node, in the order that
+   * {@link DefaultConstraintValidator} evaluates them. The default validator ignores other constraint
+   * types, and only evaluates the cardinality, index, and unique constraints of an assembly.
+   */
+  @NotNull
+  private static List<@NotNull IConstraint> getConstraints(@NotNull INodeItem item) {
+    ConstraintPlan plan = ConstraintPlan.forDefinition(item.getDefinition());
+
+    List<@NotNull IConstraint> retval = new ArrayList<>(plan.getConstraints().size());
+    retval.addAll(plan.getExpectConstraints());
+    retval.addAll(plan.getAllowedValuesConstraints());
+    retval.addAll(plan.getIndexHasKeyConstraints());
+    retval.addAll(plan.getMatchesConstraints());
+    if (item instanceof IAssemblyNodeItem) {
+      retval.addAll(plan.getHasCardinalityConstraints());
+      retval.addAll(plan.getIndexConstraints());
+      retval.addAll(plan.getUniqueConstraints());
+    }
+    return retval;
+  }
+
+  @NotNull
+  private MetapathDependencies getDependencies(@NotNull IConstraint constraint) {
+    MetapathDependencies retval = constraintDependencies.get(constraint);
+    if (retval == null) {
+      retval = constraint.getTarget().getDependencies();
+      if (constraint instanceof IKeyConstraint) {
+        for (IKeyField keyField : ((IKeyConstraint) constraint).getKeyFields()) {
+          retval = retval.union(keyField.getTarget().getDependencies());
+        }
+      }
+      if (constraint instanceof IExpectConstraint) {
+        retval = retval.union(((IExpectConstraint) constraint).getTest().getDependencies());
+      }
+      constraintDependencies.put(constraint, retval);
+    }
+    return retval;
+  }
+
+  private void removeSites(@NotNull String path) {
+    NodeSites node = pathToSitesMap.remove(path);
+    if (node != null) {
+      node.sites.forEach(this::discard);
+    }
+
+    // all descendant paths fall between "path/" and "path0", since '0' follows '/'
+    NavigableMap<@NotNull String, NodeSites> descendants = pathToSitesMap.subMap(path + "/", true,
+        path + "0", false);
+    for (NodeSites descendant : descendants.values()) {
+      descendant.sites.forEach(this::discard);
+    }
+    descendants.clear();
+  }
+
+  private void discard(@NotNull Site site) {
+    retract(site);
+    absoluteSites.remove(site);
+  }
+
+  /**
+   * Evaluate the constraint of the provided site against the provided node, replacing the results of
+   * any previous evaluation.
+   */
+  private void evaluate(@NotNull Site site, @NotNull INodeItem node) throws MetapathException {
+    retract(site);
+
+    Site previous = currentSite;
+    currentSite = site;
+    try {
+      IConstraint constraint = site.constraint;
+      if (constraint instanceof IAllowedValuesConstraint) {
+        validateAllowedValues(CollectionUtil.singletonList((IAllowedValuesConstraint) constraint), node);
+      } else if (constraint instanceof IMatchesConstraint) {
+        validateMatches(CollectionUtil.singletonList((IMatchesConstraint) constraint), node);
+      } else if (constraint instanceof IExpectConstraint) {
+        validateExpect(CollectionUtil.singletonList((IExpectConstraint) constraint), node);
+      } else if (constraint instanceof IIndexHasKeyConstraint) {
+        validateIndexHasKey(CollectionUtil.singletonList((IIndexHasKeyConstraint) constraint), node);
+      } else if (constraint instanceof ICardinalityConstraint) {
+        validateHasCardinality(CollectionUtil.singletonList((ICardinalityConstraint) constraint),
+            (IAssemblyNodeItem) node);
+      } else if (constraint instanceof IIndexConstraint) {
+        validateIndex(CollectionUtil.singletonList((IIndexConstraint) constraint), (IAssemblyNodeItem) node);
+      } else if (constraint instanceof IUniqueConstraint) {
+        validateUnique(CollectionUtil.singletonList((IUniqueConstraint) constraint), (IAssemblyNodeItem) node);
+      }
+    } finally {
+      currentSite = previous;
+      // keys that were not rebuilt belong to targets that no longer exist
+      site.previousKeys = CollectionUtil.emptyMap();
+    }
+  }
+
+  /**
+   * Remove the results of evaluating the provided site from the validation state.
+   */
+  private void retract(@NotNull Site site) {
+    site.events.clear();
+
+    for (Map.Entry<@NotNull String, Boolean> entry : site.valueStatus.entrySet()) {
+      AllowedValueStatus status = pathToValueStatusMap.get(entry.getKey());
+      if (status != null
+          && status.remove((IAllowedValuesConstraint) site.constraint, ObjectUtils.notNull(entry.getValue()))) {
+        pathToValueStatusMap.remove(entry.getKey());
+      }
+    }
+    site.valueStatus.clear();
+
+    for (KeyReference reference : site.references) {
+      Map<@NotNull CompositeKey, List<@NotNull KeyReference>> keyRefs
+          = indexToKeyRefMap.get(reference.constraint.getIndexName());
+      if (keyRefs != null) {
+        List<@NotNull KeyReference> references = keyRefs.get(reference.key);
+        if (references != null) {
+          references.remove(reference);
+          if (references.isEmpty()) {
+            keyRefs.remove(reference.key);
+          }
+        }
+      }
+    }
+    site.references.clear();
+
+    if (site.indexName != null) {
+      IndexEntry index = indexNameToIndexMap.get(site.indexName);
+      if (index != null && index.site == site) {
+        indexNameToIndexMap.remove(site.indexName);
+      }
+      site.indexName = null;
+    }
+
+    if (!site.keys.isEmpty()) {
+      site.previousKeys = site.keys;
+      site.keys = new HashMap<>();
+    }
+  }
+
+  @Override
+  protected CompositeKey buildKey(@NotNull List<@NotNull ? extends IKeyField> keyFields, @NotNull INodeItem item)
+      throws MetapathException {
+    Site site = currentSite;
+    CompositeKey retval;
+    if (site == null) {
+      retval = super.buildKey(keyFields, item);
+    } else {
+      String path = item.getMetapath();
+      retval = site.previousKeys.get(path);
+      // only reuse the key of a target whose subtree is unmodified
+      if (retval == null || site.dependencies.isAbsolute() || isModified(path)) {
+        retval = super.buildKey(keyFields, item);
+      }
+      site.keys.put(path, retval);
+    }
+    return retval;
+  }
+
+  private boolean isModified(@NotNull String path) {
+    boolean retval = false;
+    for (String changedPath : changedPaths) {
+      if (isSelfOrDescendant(path, changedPath) || isSelfOrDescendant(changedPath, path)) {
+        retval = true;
+        break;
+      }
+    }
+    return retval;
+  }
+
+  @Override
+  protected void validateIndex(@NotNull IIndexConstraint constraint, @NotNull IAssemblyNodeItem node,
+      @NotNull ISequence<? extends INodeItem> targets) throws MetapathException {
+    Site site = ObjectUtils.requireNonNull(currentSite, "site");
+
+    String indexName = constraint.getName();
+    if (indexNameToIndexMap.containsKey(indexName)) {
+      String msg = String.format("Duplicate index named '%s' found at path '%s'", indexName,
+          node.getMetapath());
+      LOGGER.atError().log(msg);
+      throw new MetapathException(msg);
+    }
+
+    KeyIndexTable<INodeItem> indexItems = new KeyIndexTable<>();
+    targets.asStream()
+        .forEachOrdered(item -> {
+          @NotNull
+          CompositeKey key;
+          try {
+            key = buildKey(constraint.getKeyFields(), item);
+          } catch (MetapathException ex) {
+            getConstraintValidationHandler().handleKeyMatchError(constraint, node, item, ex);
+            throw ex;
+          }
+
+          INodeItem oldItem = indexItems.put(key, item);
+          if (oldItem != null) {
+            getConstraintValidationHandler().handleIndexDuplicateKeyViolation(constraint, node, oldItem, item);
+          }
+        });
+    indexNameToIndexMap.put(indexName, new IndexEntry(site, indexItems));
+    site.indexName = indexName;
+  }
+
+  @Override
+  protected void validateIndexHasKey(@NotNull IIndexHasKeyConstraint constraint, @NotNull ISequence<?> targets)
+      throws MetapathException {
+    Site site = ObjectUtils.requireNonNull(currentSite, "site");
+
+    String indexName = constraint.getIndexName();
+    Map<@NotNull CompositeKey, List<@NotNull KeyReference>> keyRefs = indexToKeyRefMap.get(indexName);
+    if (keyRefs == null) {
+      keyRefs = new LinkedHashMap<>();
+      indexToKeyRefMap.put(indexName, keyRefs);
+    }
+
+    for (IItem target : targets.asList()) {
+      INodeItem item = (INodeItem) target;
+      CompositeKey key = buildKey(constraint.getKeyFields(), item);
+
+      List<@NotNull KeyReference> references = keyRefs.get(key);
+      if (references == null) {
+        references = new LinkedList<>();
+        keyRefs.put(key, references);
+      }
+      KeyReference reference = new KeyReference(constraint, key, item);
+      references.add(reference);
+      site.references.add(reference);
+    }
+  }
+
+  @Override
+  protected void updateValueStatus(@NotNull IAllowedValuesConstraint constraint, @NotNull IAtomicValuedNodeItem item,
+      boolean newStatus) {
+    Site site = ObjectUtils.requireNonNull(currentSite, "site");
+
+    String path = item.getMetapath();
+    AllowedValueStatus status = pathToValueStatusMap.get(path);
+    if (status == null) {
+      status = new AllowedValueStatus(item, DocumentPosition.of(item));
+      pathToValueStatusMap.put(path, status);
+    }
+    status.add(constraint, item, newStatus);
+    site.valueStatus.put(path, newStatus);
+  }
+
+  /**
+   * Report all current findings to the handler set using
+   * {@link #setConstraintValidationHandler(IConstraintValidationHandler)}. This is intended to be
+   * called after each validation and re-validation.
+   */
+  @Override
+  public void finalizeValidation() throws MetapathException {
+    report(getConstraintValidationHandler());
+  }
+
+  /**
+   * Find the node with the provided path in the provided document.
+   * 
+   * @param document
+   *          the document to search
+   * @param path
+   *          the node path, as produced by {@link INodeItem#getMetapath()}
+   * @return the node, or {@code null} if no node exists with the path
+   */
+  @Nullable
+  protected static INodeItem resolve(@NotNull IDocumentNodeItem document, @NotNull String path) {
+    INodeItem retval = document;
+    String[] segments = path.split("/");
+    // the first segment is empty, since the path starts with a slash
+    for (int index = 1; retval != null && index < segments.length; index++) {
+      String segment = segments[index];
+      if (index == 1) {
+        retval = document.getRootAssemblyNodeItem();
+      } else if (segment.startsWith("@")) {
+        retval = retval.getFlagByName(ObjectUtils.notNull(segment.substring(1)));
+      } else {
+        int bracket = segment.indexOf('[');
+        int position = Integer.parseInt(segment.substring(bracket + 1, segment.length() - 1));
+        List<@NotNull ? extends IModelNodeItem> items = retval.getModelItemsByName(segment.substring(0, bracket));
+        retval = position <= items.size() ? items.get(position - 1) : null;
+      }
+    }
+    return retval;
+  }
+
+  @NotNull
+  private static String segmentName(@NotNull String segment) {
+    String retval;
+    if (segment.startsWith("@")) {
+      retval = segment.substring(1);
+    } else {
+      int bracket = segment.indexOf('[');
+      retval = bracket < 0 ? segment : segment.substring(0, bracket);
+    }
+    return ObjectUtils.notNull(retval);
+  }
+
+  private static boolean isSelfOrDescendant(@NotNull String path, @NotNull String ancestorPath) {
+    return path.startsWith(ancestorPath)
+        && (path.length() == ancestorPath.length() || path.charAt(ancestorPath.length()) == '/');
+  }
+
+  /**
+   * The sites of a node and the position of the node in the document.
+   */
+  private static final class NodeSites {
+    @NotNull
+    private final DocumentPosition position;
+    @NotNull
+    private final List<@NotNull Site> sites;
+
+    private NodeSites(@NotNull DocumentPosition position, @NotNull List<@NotNull Site> sites) {
+      this.position = position;
+      this.sites = sites;
+    }
+  }
+
+  /**
+   * The position of a node in the order the document is validated in, which is a node, followed by
+   * its flags, followed by its model items. Each step from the root assembly is represented by the
+   * index of the flag or the index of the group of model items of the same instance, followed by the
+   * position of the model item within its group.
+   */
+  private static final class DocumentPosition
+      implements Comparable<DocumentPosition> {
+    @NotNull
+    private final int[] steps;
+
+    private DocumentPosition(@NotNull int[] steps) {
+      this.steps = steps;
+    }
+
+    @NotNull
+    private static DocumentPosition of(@NotNull INodeItem item) {
+      LinkedList<int[]> steps = new LinkedList<>();
+      INodeItem current = item;
+      INodeItem parent;
+      while ((parent = current.getParentNodeItem()) != null && !(parent instanceof IDocumentNodeItem)) {
+        int index = 0;
+        if (current instanceof IFlagNodeItem) {
+          for (IFlagNodeItem flag : parent.getFlags()) {
+            if (flag.equals(current)) {
+              break;
+            }
+            index++;
+          }
+          steps.addFirst(new int[] { index, 0 });
+        } else {
+          // model items follow all flags
+          index = parent.getFlags().size();
+          INamedInstance instance = current.getInstance();
+          for (List<@NotNull ? extends IModelNodeItem> items : parent.getModelItems()) {
+            if (!items.isEmpty() && items.get(0).getInstance().equals(instance)) {
+              break;
+            }
+            index++;
+          }
+          steps.addFirst(new int[] { index, ((IModelNodeItem) current).getPosition() });
+        }
+        current = parent;
+      }
+
+      int[] retval = new int[steps.size() * 2];
+      int offset = 0;
+      for (int[] step : steps) {
+        retval[offset++] = step[0];
+        retval[offset++] = step[1];
+      }
+      return new DocumentPosition(retval);
+    }
+
+    @Override
+    public int compareTo(DocumentPosition other) {
+      // an ancestor precedes its descendants
+      return Arrays.compare(steps, other.steps);
+    }
+  }
+
+  private static final class Site {
+    @NotNull
+    private final String path;
+    @NotNull
+    private final IConstraint constraint;
+    @NotNull
+    private final MetapathDependencies dependencies;
+    @NotNull
+    private final List<@NotNull Consumer<@NotNull IConstraintValidationHandler>> events = new ArrayList<>(0);
+    @NotNull
+    private final Map<@NotNull String, Boolean> valueStatus = new HashMap<>();
+    @NotNull
+    private final List<@NotNull KeyReference> references = new ArrayList<>(0);
+    @NotNull
+    private Map<@NotNull String, CompositeKey> keys = new HashMap<>();
+    @NotNull
+    private Map<@NotNull String, CompositeKey> previousKeys = CollectionUtil.emptyMap();
+    @Nullable
+    private String indexName;
+
+    private Site(@NotNull String path, @NotNull IConstraint constraint, @NotNull MetapathDependencies dependencies) {
+      this.path = path;
+      this.constraint = constraint;
+      this.dependencies = dependencies;
+    }
+  }
+
+  private static final class IndexEntry {
+    @NotNull
+    private final Site site;
+    @NotNull
+    private final KeyIndexTable<INodeItem> keys;
+
+    private IndexEntry(@NotNull Site site, @NotNull KeyIndexTable<INodeItem> keys) {
+      this.site = site;
+      this.keys = keys;
+    }
+  }
+
+  private static final class KeyReference {
+    @NotNull
+    private final IIndexHasKeyConstraint constraint;
+    @NotNull
+    private final CompositeKey key;
+    @NotNull
+    private final INodeItem item;
+
+    private KeyReference(@NotNull IIndexHasKeyConstraint constraint, @NotNull CompositeKey key,
+        @NotNull INodeItem item) {
+      this.constraint = constraint;
+      this.key = key;
+      this.item = item;
+    }
+  }
+
+  /**
+   * Tracks the allowed value results for a node across all of the sites that target it. The value is
+   * valid if any site allows it.
+   */
+  private static final class AllowedValueStatus {
+    @NotNull
+    private IAtomicValuedNodeItem item;
+    @NotNull
+    private final DocumentPosition position;
+    @NotNull
+    private final List<@NotNull IAllowedValuesConstraint> failedConstraints = new LinkedList<>();
+    private int allowedCount;
+
+    private AllowedValueStatus(@NotNull IAtomicValuedNodeItem item, @NotNull DocumentPosition position) {
+      this.item = item;
+      this.position = position;
+    }
+
+    private void add(@NotNull IAllowedValuesConstraint constraint, @NotNull IAtomicValuedNodeItem item,
+        boolean allowed) {
+      this.item = item;
+      if (allowed) {
+        allowedCount++;
+      } else {
+        failedConstraints.add(constraint);
+      }
+    }
+
+    /**
+     * Remove a result.
+     * 
+     * @return {@code true} if no results remain
+     */
+    private boolean remove(@NotNull IAllowedValuesConstraint constraint, boolean allowed) {
+      if (allowed) {
+        allowedCount--;
+      } else {
+        failedConstraints.remove(constraint);
+      }
+      return allowedCount == 0 && failedConstraints.isEmpty();
+    }
+
+    private boolean isValid() {
+      return allowedCount > 0;
+    }
+  }
+
+  /**
+   * Records the findings of the site being evaluated.
+   */
+  private class SiteRecordingHandler
+      extends RecordingConstraintValidationHandler {
+
+    @Override
+    protected void record(@NotNull Consumer<@NotNull IConstraintValidationHandler> event) {
+      Site site = ObjectUtils.requireNonNull(currentSite, "site");
+      site.events.add(event);
+    }
+  }
+}
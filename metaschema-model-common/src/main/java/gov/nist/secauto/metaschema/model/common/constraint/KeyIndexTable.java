@@ -0,0 +1,145 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.constraint;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A hash table mapping {@link CompositeKey} instances to values, used to hold the keys of an index
+ * or a uniqueness check.
+ * <p>
+ * The table uses open addressing with linear probing over parallel key and value arrays, avoiding
+ * the per-entry node allocated by a {@link java.util.HashMap}. Entries cannot be removed.
+ * 
+ * @param <VALUE>
+ *          the type of the mapped values
+ */
+class KeyIndexTable<VALUE> {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private CompositeKey[] keys;
+  private Object[] values;
+  private int size;
+
+  /**
+   * Construct a new, empty table.
+   */
+  public KeyIndexTable() {
+    this.keys = new CompositeKey[INITIAL_CAPACITY];
+    this.values = new Object[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Get the number of keys in this table.
+   * 
+   * @return the number of keys
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Determine if the provided key is in this table.
+   * 
+   * @param key
+   *          the key to look for
+   * @return {@code true} if the key is in this table, or {@code false} otherwise
+   */
+  public boolean containsKey(@NotNull CompositeKey key) {
+    return keys[indexOf(keys, key)] != null;
+  }
+
+  /**
+   * Get the value mapped to the provided key.
+   * 
+   * @param key
+   *          the key to look for
+   * @return the mapped value, or {@code null} if the key is not in this table
+   */
+  @SuppressWarnings("unchecked")
+  public VALUE get(@NotNull CompositeKey key) {
+    return (VALUE) values[indexOf(keys, key)];
+  }
+
+  /**
+   * Map the provided key to the provided value, replacing any existing mapping for the key.
+   * 
+   * @param key
+   *          the key to map
+   * @param value
+   *          the value to map the key to
+   * @return the previously mapped value, or {@code null} if the key was not in this table
+   */
+  @SuppressWarnings("unchecked")
+  public VALUE put(@NotNull CompositeKey key, @NotNull VALUE value) {
+    int index = indexOf(keys, key);
+    VALUE retval = (VALUE) values[index];
+    if (keys[index] == null) {
+      keys[index] = key;
+      if (++size > keys.length * 3 / 4) {
+        resize();
+      }
+      // the table may have been resized, so find the key again
+      index = indexOf(keys, key);
+    }
+    values[index] = value;
+    return retval;
+  }
+
+  /**
+   * Find the slot holding the provided key, or the empty slot the key would be placed in.
+   */
+  private static int indexOf(@NotNull CompositeKey[] keys, @NotNull CompositeKey key) {
+    int mask = keys.length - 1;
+    int index = spread(key.hashCode()) & mask;
+    CompositeKey current;
+    while ((current = keys[index]) != null && !current.equals(key)) {
+      index = (index + 1) & mask;
+    }
+    return index;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private void resize() {
+    CompositeKey[] oldKeys = keys;
+    Object[] oldValues = values;
+
+    keys = new CompositeKey[oldKeys.length * 2];
+    values = new Object[oldKeys.length * 2];
+    for (int i = 0; i < oldKeys.length; i++) {
+      CompositeKey key = oldKeys[i];
+      if (key != null) {
+        int index = indexOf(keys, key);
+        keys[index] = key;
+        values[index] = oldValues[i];
+      }
+    }
+  }
+}
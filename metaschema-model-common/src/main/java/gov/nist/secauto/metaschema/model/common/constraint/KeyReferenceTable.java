@@ -0,0 +1,224 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.constraint;
+
+import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records the nodes that reference keys in an index, as collected for {@code index-has-key}
+ * constraints.
+ * <p>
+ * Each distinct key is stored once and assigned an ordinal in the order it was first referenced.
+ * Each reference is assigned an ordinal into an array-backed node table, and the references to a
+ * key are chained together using primitive ordinals. This avoids allocating a list and list nodes
+ * for every key and reference. Lists of referencing nodes are only created when requested, which is
+ * typically only when a violation needs to be reported.
+ */
+class KeyReferenceTable {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int NO_REFERENCE = -1;
+
+  /**
+   * Open addressing hash slots, holding the key ordinal plus one, or zero if the slot is empty.
+   */
+  private int[] slots;
+  /**
+   * The distinct keys, by key ordinal.
+   */
+  private CompositeKey[] keys;
+  /**
+   * The ordinal of the first reference to each key, by key ordinal.
+   */
+  private int[] firstReferences;
+  /**
+   * The ordinal of the last reference to each key, by key ordinal.
+   */
+  private int[] lastReferences;
+  private int keyCount;
+
+  /**
+   * The referencing nodes, by reference ordinal.
+   */
+  private INodeItem[] nodes;
+  /**
+   * The ordinal of the next reference to the same key, by reference ordinal.
+   */
+  private int[] nextReferences;
+  private int referenceCount;
+
+  /**
+   * Construct a new, empty table.
+   */
+  public KeyReferenceTable() {
+    this.slots = new int[INITIAL_CAPACITY * 2];
+    this.keys = new CompositeKey[INITIAL_CAPACITY];
+    this.firstReferences = new int[INITIAL_CAPACITY];
+    this.lastReferences = new int[INITIAL_CAPACITY];
+    this.nodes = new INodeItem[INITIAL_CAPACITY];
+    this.nextReferences = new int[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Get the number of distinct keys referenced.
+   * 
+   * @return the number of keys
+   */
+  public int getKeyCount() {
+    return keyCount;
+  }
+
+  /**
+   * Get the number of references recorded.
+   * 
+   * @return the number of references
+   */
+  public int getReferenceCount() {
+    return referenceCount;
+  }
+
+  /**
+   * Get the key with the provided ordinal. Keys are numbered in the order they were first referenced.
+   * 
+   * @param keyOrdinal
+   *          the key ordinal
+   * @return the key
+   */
+  @NotNull
+  public CompositeKey getKey(int keyOrdinal) {
+    return keys[keyOrdinal];
+  }
+
+  /**
+   * Get the nodes referencing the key with the provided ordinal, in the order they were recorded.
+   * 
+   * @param keyOrdinal
+   *          the key ordinal
+   * @return a new list of the referencing nodes
+   */
+  @NotNull
+  public List<@NotNull INodeItem> getReferences(int keyOrdinal) {
+    List<@NotNull INodeItem> retval = new ArrayList<>();
+    for (int reference = firstReferences[keyOrdinal]; reference != NO_REFERENCE;
+        reference = nextReferences[reference]) {
+      retval.add(nodes[reference]);
+    }
+    return retval;
+  }
+
+  /**
+   * Record a reference to a key.
+   * 
+   * @param key
+   *          the referenced key
+   * @param node
+   *          the referencing node
+   */
+  public void add(@NotNull CompositeKey key, @NotNull INodeItem node) {
+    int reference = newReference(node);
+
+    int slot = slotOf(key);
+    int keyOrdinal = slots[slot] - 1;
+    if (keyOrdinal < 0) {
+      keyOrdinal = newKey(key, slot);
+      firstReferences[keyOrdinal] = reference;
+    } else {
+      nextReferences[lastReferences[keyOrdinal]] = reference;
+    }
+    lastReferences[keyOrdinal] = reference;
+  }
+
+  /**
+   * Record all references from another table, after the references in this table.
+   * 
+   * @param other
+   *          the table to copy references from
+   */
+  public void addAll(@NotNull KeyReferenceTable other) {
+    for (int keyOrdinal = 0; keyOrdinal < other.keyCount; keyOrdinal++) {
+      CompositeKey key = other.keys[keyOrdinal];
+      for (int reference = other.firstReferences[keyOrdinal]; reference != NO_REFERENCE;
+          reference = other.nextReferences[reference]) {
+        add(key, other.nodes[reference]);
+      }
+    }
+  }
+
+  private int newReference(@NotNull INodeItem node) {
+    if (referenceCount == nodes.length) {
+      nodes = Arrays.copyOf(nodes, referenceCount * 2);
+      nextReferences = Arrays.copyOf(nextReferences, referenceCount * 2);
+    }
+    int reference = referenceCount++;
+    nodes[reference] = node;
+    nextReferences[reference] = NO_REFERENCE;
+    return reference;
+  }
+
+  private int newKey(@NotNull CompositeKey key, int slot) {
+    if (keyCount == keys.length) {
+      keys = Arrays.copyOf(keys, keyCount * 2);
+      firstReferences = Arrays.copyOf(firstReferences, keyCount * 2);
+      lastReferences = Arrays.copyOf(lastReferences, keyCount * 2);
+    }
+    int keyOrdinal = keyCount++;
+    keys[keyOrdinal] = key;
+    slots[slot] = keyOrdinal + 1;
+
+    // keep the slots at most half full
+    if (keyCount * 2 > slots.length) {
+      rehash();
+    }
+    return keyOrdinal;
+  }
+
+  /**
+   * Find the slot holding the provided key, or the empty slot the key would be placed in.
+   */
+  private int slotOf(@NotNull CompositeKey key) {
+    int mask = slots.length - 1;
+    int hash = key.hashCode();
+    int slot = (hash ^ (hash >>> 16)) & mask;
+    int keyOrdinal;
+    while ((keyOrdinal = slots[slot] - 1) >= 0 && !keys[keyOrdinal].equals(key)) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void rehash() {
+    slots = new int[slots.length * 2];
+    for (int keyOrdinal = 0; keyOrdinal < keyCount; keyOrdinal++) {
+      slots[slotOf(keys[keyOrdinal])] = keyOrdinal + 1;
+    }
+  }
+}
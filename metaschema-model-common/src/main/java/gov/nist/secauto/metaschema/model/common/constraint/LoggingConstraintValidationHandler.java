@@ -32,12 +32,14 @@ import gov.nist.secauto.metaschema.model.common.metapath.MetapathException;
 import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
 import gov.nist.secauto.metaschema.model.common.metapath.format.IPathFormatter;
 import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.apache.logging.log4j.LogBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.Objects;
 
 public class LoggingConstraintValidationHandler
@@ -211,4 +213,23 @@ public class LoggingConstraintValidationHandler
       logConstraint(constraint, target, newExpectViolationMessage(constraint, node, target, dynamicContext));
     }
   }
+
+  @Override
+  public void handleIndexMissingKeyViolation(
+      @NotNull IIndexHasKeyConstraint constraint,
+      @NotNull INodeItem target) {
+    if (isLogged(constraint)) {
+      logConstraint(constraint, target, newIndexMissingKeyViolationMessage(constraint, target));
+    }
+  }
+
+  @Override
+  public void handleAllowedValuesViolation(
+      @NotNull List<@NotNull IAllowedValuesConstraint> failedConstraints,
+      @NotNull INodeItem target) {
+    IAllowedValuesConstraint constraint = ObjectUtils.notNull(failedConstraints.get(0));
+    if (isLogged(constraint)) {
+      logConstraint(constraint, target, newAllowedValuesViolationMessage(failedConstraints, target));
+    }
+  }
 }
@@ -0,0 +1,333 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.constraint;
+
+import gov.nist.secauto.metaschema.model.common.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.model.common.metapath.MetapathException;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IAssemblyNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IFieldNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IFlagNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IModelNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A constraint validator that validates the subtrees of a node item concurrently using a
+ * {@link ForkJoinPool}.
+ * <p>
+ * Each assembly subtree that has at least a threshold number of descendant model items is validated
+ * by a separate validator with its own Metapath dynamic context, while smaller subtrees are validated
+ * along with their parent. Once all subtrees are validated, the handler callbacks recorded for each subtree are replayed on
+ * the calling thread and the index, key reference, and allowed value state is merged in document
+ * order. This produces the same findings, in the same order, as validating the node item
+ * sequentially using {@link INodeItem#validate(IConstraintValidator)}.
+ */
+public class ParallelConstraintValidator
+    extends DefaultConstraintValidator {
+  /**
+   * The default minimum number of descendant model items an assembly must have for the assembly to
+   * be validated as a separate task.
+   */
+  public static final int DEFAULT_FORK_THRESHOLD = 64;
+
+  @NotNull
+  private final ForkJoinPool pool;
+  private final int forkThreshold;
+
+  /**
+   * Construct a new validator that uses the {@link ForkJoinPool#commonPool()}.
+   * 
+   * @param metapathContext
+   *          the Metapath dynamic context to use for evaluating constraints
+   */
+  @SuppressWarnings("null")
+  public ParallelConstraintValidator(@NotNull DynamicContext metapathContext) {
+    this(metapathContext, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Construct a new validator that uses the provided pool.
+   * 
+   * @param metapathContext
+   *          the Metapath dynamic context to use for evaluating constraints
+   * @param pool
+   *          the pool used to validate subtrees
+   */
+  public ParallelConstraintValidator(@NotNull DynamicContext metapathContext, @NotNull ForkJoinPool pool) {
+    this(metapathContext, pool, DEFAULT_FORK_THRESHOLD);
+  }
+
+  /**
+   * Construct a new validator that uses the provided pool and fork threshold.
+   * 
+   * @param metapathContext
+   *          the Metapath dynamic context to use for evaluating constraints
+   * @param pool
+   *          the pool used to validate subtrees
+   * @param forkThreshold
+   *          the minimum number of descendant model items an assembly must have for the assembly to be
+   *          validated as a separate task
+   */
+  public ParallelConstraintValidator(@NotNull DynamicContext metapathContext, @NotNull ForkJoinPool pool,
+      int forkThreshold) {
+    super(metapathContext);
+    if (forkThreshold < 1) {
+      throw new IllegalArgumentException(String.format("invalid fork threshold '%d'", forkThreshold));
+    }
+    this.pool = ObjectUtils.requireNonNull(pool, "pool");
+    this.forkThreshold = forkThreshold;
+  }
+
+  /**
+   * Get the pool used to validate subtrees.
+   * 
+   * @return the pool
+   */
+  @NotNull
+  protected ForkJoinPool getPool() {
+    return pool;
+  }
+
+  /**
+   * Get the minimum number of descendant model items an assembly must have for the assembly to be
+   * validated as a separate task.
+   * 
+   * @return the fork threshold
+   */
+  public int getForkThreshold() {
+    return forkThreshold;
+  }
+
+  /**
+   * Count the descendant model items of the provided node, stopping once the provided limit is
+   * reached.
+   */
+  private static int countModelItems(@NotNull INodeItem item, int limit) {
+    int retval = 0;
+    for (List<@NotNull ? extends IModelNodeItem> childItems : item.getModelItems()) {
+      for (IModelNodeItem child : ObjectUtils.notNull(childItems)) {
+        if (retval >= limit) {
+          return retval; // NOPMD - readability
+        }
+        retval += 1 + countModelItems(ObjectUtils.notNull(child), limit - retval - 1);
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Create a new validator used to validate a portion of the document on a worker thread.
+   * 
+   * @param metapathContext
+   *          the Metapath dynamic context the new validator is to use
+   * @return the new validator
+   */
+  @NotNull
+  protected DefaultConstraintValidator newSegmentValidator(@NotNull DynamicContext metapathContext) {
+    return new DefaultConstraintValidator(metapathContext);
+  }
+
+  /**
+   * Validate the provided node item and all of its descendants concurrently.
+   * <p>
+   * Findings are reported to the configured {@link IConstraintValidationHandler} on the calling
+   * thread in document order. {@link #finalizeValidation()} must still be called once all content
+   * has been validated.
+   * 
+   * @param item
+   *          the node item to validate
+   * @throws MetapathException
+   *           if an error occurred while evaluating a constraint
+   */
+  public void validateSubtree(@NotNull INodeItem item) throws MetapathException {
+    INodeItem subtreeRoot = item;
+    if (subtreeRoot instanceof IDocumentNodeItem) {
+      subtreeRoot = ((IDocumentNodeItem) subtreeRoot).getRootAssemblyNodeItem();
+    }
+
+    List<@NotNull Segment> segments = getPool().invoke(new SubtreeValidationTask(subtreeRoot));
+    for (Segment segment : segments) {
+      segment.getHandler().replay(getConstraintValidationHandler());
+      merge(segment.getValidator());
+
+      RuntimeException failure = segment.getFailure();
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  /**
+   * The validation results for a contiguous run of nodes, in document order.
+   */
+  private static final class Segment {
+    @NotNull
+    private final DefaultConstraintValidator validator;
+    @NotNull
+    private final RecordingConstraintValidationHandler handler;
+    private RuntimeException failure;
+
+    private Segment(@NotNull DefaultConstraintValidator validator) {
+      this.validator = validator;
+      this.handler = new RecordingConstraintValidationHandler();
+      validator.setConstraintValidationHandler(handler);
+    }
+
+    @NotNull
+    public DefaultConstraintValidator getValidator() {
+      return validator;
+    }
+
+    @NotNull
+    public RecordingConstraintValidationHandler getHandler() {
+      return handler;
+    }
+
+    public RuntimeException getFailure() {
+      return failure;
+    }
+  }
+
+  /**
+   * Validates a node and its descendants, forking a new task for each child assembly that reaches the
+   * fork threshold.
+   */
+  private final class SubtreeValidationTask
+      extends RecursiveTask<List<@NotNull Segment>> {
+    /**
+     * the serial version UID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    private final transient INodeItem item;
+
+    private SubtreeValidationTask(@NotNull INodeItem item) {
+      this.item = item;
+    }
+
+    @Override
+    protected List<@NotNull Segment> compute() {
+      // the parts of this subtree in document order, either a completed segment or a forked task
+      List<Object> parts = new ArrayList<>();
+      Segment current = newSegment();
+      parts.add(current);
+
+      try {
+        if (item instanceof IAssemblyNodeItem) {
+          IAssemblyNodeItem assembly = (IAssemblyNodeItem) item;
+          DefaultConstraintValidator validator = current.getValidator();
+          validator.validate(assembly);
+          validateFlags(assembly, validator);
+
+          for (List<@NotNull ? extends IModelNodeItem> childItems : assembly.getModelItems()) {
+            for (IModelNodeItem child : ObjectUtils.notNull(childItems)) {
+              if (child instanceof IAssemblyNodeItem
+                  && countModelItems(child, getForkThreshold()) >= getForkThreshold()) {
+                parts.add(new SubtreeValidationTask(child).fork());
+                current = null;
+              } else {
+                if (current == null) {
+                  current = newSegment();
+                  parts.add(current);
+                }
+                validateModelItem(child, current.getValidator());
+              }
+            }
+          }
+        } else if (item instanceof IFieldNodeItem) {
+          validateField((IFieldNodeItem) item, current.getValidator());
+        } else if (item instanceof IFlagNodeItem) {
+          current.getValidator().validate((IFlagNodeItem) item);
+        }
+      } catch (RuntimeException ex) { // NOPMD - the failure is rethrown in document order
+        if (current == null) {
+          current = newSegment();
+          parts.add(current);
+        }
+        current.failure = ex;
+      }
+
+      List<@NotNull Segment> retval = new LinkedList<>();
+      for (Object part : parts) {
+        if (part instanceof Segment) {
+          retval.add((Segment) part);
+        } else {
+          @SuppressWarnings("unchecked")
+          ForkJoinTask<List<@NotNull Segment>> task = (ForkJoinTask<List<@NotNull Segment>>) part;
+          retval.addAll(task.join());
+        }
+      }
+      return retval;
+    }
+
+    @NotNull
+    private Segment newSegment() {
+      return new Segment(newSegmentValidator(getMetapathContext().subContext()));
+    }
+
+    private void validateFlags(@NotNull INodeItem item, @NotNull DefaultConstraintValidator validator) {
+      for (IFlagNodeItem flag : item.getFlags()) {
+        validator.validate(ObjectUtils.notNull(flag));
+      }
+    }
+
+    private void validateField(@NotNull IFieldNodeItem item, @NotNull DefaultConstraintValidator validator) {
+      validator.validate(item);
+      validateFlags(item, validator);
+    }
+
+    /**
+     * Validate the provided model item and its descendants using the provided validator.
+     */
+    private void validateModelItem(@NotNull IModelNodeItem item, @NotNull DefaultConstraintValidator validator) {
+      if (item instanceof IAssemblyNodeItem) {
+        IAssemblyNodeItem assembly = (IAssemblyNodeItem) item;
+        validator.validate(assembly);
+        validateFlags(assembly, validator);
+
+        for (List<@NotNull ? extends IModelNodeItem> childItems : assembly.getModelItems()) {
+          for (IModelNodeItem child : ObjectUtils.notNull(childItems)) {
+            validateModelItem(ObjectUtils.notNull(child), validator);
+          }
+        }
+      } else {
+        validateField((IFieldNodeItem) item, validator);
+      }
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.constraint;
+
+import gov.nist.secauto.metaschema.model.common.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.model.common.metapath.MetapathException;
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
+import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Records handler callbacks so they can be replayed later, in order, against another handler.
+ */
+class RecordingConstraintValidationHandler implements IConstraintValidationHandler {
+  @NotNull
+  private final List<@NotNull Consumer<@NotNull IConstraintValidationHandler>> events = new LinkedList<>();
+
+  /**
+   * Record a handler callback.
+   * 
+   * @param event
+   *          the callback to record
+   */
+  protected void record(@NotNull Consumer<@NotNull IConstraintValidationHandler> event) {
+    events.add(event);
+  }
+
+  /**
+   * Replay the recorded callbacks, in the order they were recorded, on the provided handler.
+   * 
+   * @param handler
+   *          the handler to replay the callbacks on
+   */
+  public void replay(@NotNull IConstraintValidationHandler handler) {
+    for (Consumer<@NotNull IConstraintValidationHandler> event : events) {
+      event.accept(handler);
+    }
+  }
+
+  @Override
+  public void handleCardinalityMinimumViolation(@NotNull ICardinalityConstraint constraint,
+      @NotNull INodeItem node, @NotNull ISequence<? extends INodeItem> targets) {
+    record(handler -> handler.handleCardinalityMinimumViolation(constraint, node, targets));
+  }
+
+  @Override
+  public void handleCardinalityMaximumViolation(@NotNull ICardinalityConstraint constraint,
+      @NotNull INodeItem node, @NotNull ISequence<? extends INodeItem> targets) {
+    record(handler -> handler.handleCardinalityMaximumViolation(constraint, node, targets));
+  }
+
+  @Override
+  public void handleIndexDuplicateKeyViolation(@NotNull IIndexConstraint constraint, @NotNull INodeItem node,
+      @NotNull INodeItem oldItem, @NotNull INodeItem target) {
+    record(handler -> handler.handleIndexDuplicateKeyViolation(constraint, node, oldItem, target));
+  }
+
+  @Override
+  public void handleUniqueKeyViolation(@NotNull IUniqueConstraint constraint, @NotNull INodeItem node,
+      @NotNull INodeItem oldItem, @NotNull INodeItem target) {
+    record(handler -> handler.handleUniqueKeyViolation(constraint, node, oldItem, target));
+  }
+
+  @Override
+  public void handleMatchPatternViolation(@NotNull IMatchesConstraint constraint, @NotNull INodeItem node,
+      @NotNull INodeItem target, @NotNull String value) {
+    record(handler -> handler.handleMatchPatternViolation(constraint, node, target, value));
+  }
+
+  @Override
+  public void handleMatchDatatypeViolation(@NotNull IMatchesConstraint constraint, @NotNull INodeItem node,
+      @NotNull INodeItem target, @NotNull String value, @NotNull IllegalArgumentException cause) {
+    record(handler -> handler.handleMatchDatatypeViolation(constraint, node, target, value, cause));
+  }
+
+  @Override
+  public void handleExpectViolation(@NotNull IExpectConstraint constraint, @NotNull INodeItem node,
+      @NotNull INodeItem target, @NotNull DynamicContext metapathContext) {
+    record(handler -> handler.handleExpectViolation(constraint, node, target, metapathContext));
+  }
+
+  @Override
+  public void handleKeyMatchError(@NotNull IKeyConstraint constraint, @NotNull INodeItem node,
+      @NotNull INodeItem target, @NotNull MetapathException ex) {
+    record(handler -> handler.handleKeyMatchError(constraint, node, target, ex));
+  }
+
+  @Override
+  public void handleIndexMissingKeyViolation(@NotNull IIndexHasKeyConstraint constraint,
+      @NotNull INodeItem target) {
+    record(handler -> handler.handleIndexMissingKeyViolation(constraint, target));
+  }
+
+  @Override
+  public void handleAllowedValuesViolation(@NotNull List<@NotNull IAllowedValuesConstraint> failedConstraints,
+      @NotNull INodeItem target) {
+    record(handler -> handler.handleAllowedValuesViolation(failedConstraints, target));
+  }
+}
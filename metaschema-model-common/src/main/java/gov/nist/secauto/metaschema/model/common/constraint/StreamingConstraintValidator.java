@@ -0,0 +1,341 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.constraint;
+
+import gov.nist.secauto.metaschema.model.common.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.model.common.metapath.MetapathException;
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IAssemblyNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IAtomicValuedNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IModelNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A constraint validator that supports validating a document one subtree at a time, without
+ * retaining the nodes of subtrees that have already been validated.
+ * <p>
+ * Each subtree is validated using {@link #validateSubtree(INodeItem)}. The root of a subtree is
+ * expected to be attached to its real ancestors, which may be only partially populated. Along with
+ * the constraints of the subtree's own nodes, the allowed values, matches, expect, and
+ * {@code index-has-key} constraints of the ancestors are applied to the targets that fall within the
+ * subtree, since these constraints are evaluated one target at a time.
+ * <p>
+ * Cardinality, {@code index}, and {@code unique} constraints need all of their targets at once. A
+ * subtree that contains a target of one of these constraints on an ancestor must not be validated
+ * separately, which can be determined using {@link #isStreamable(INodeItem)}. Such a subtree is to be
+ * retained, and validated along with its ancestor.
+ * <p>
+ * Allowed value results are reported once the subtree has been validated. For {@code index}
+ * constraints, only the keys are retained across subtrees. Key references are checked against an
+ * index as soon as the index is available. A key reference made before its index is available
+ * retains its target node until the index is available, or until {@link #finalizeValidation()} is
+ * called.
+ */
+public class StreamingConstraintValidator
+    extends DefaultConstraintValidator {
+  private static final Logger LOGGER = LogManager.getLogger(StreamingConstraintValidator.class);
+
+  @NotNull
+  private final Map<@NotNull String, KeyIndexTable<Boolean>> indexToKeysMap = new HashMap<>();
+  @NotNull
+  private final Map<@NotNull String, Map<@NotNull CompositeKey, List<@NotNull KeyReference>>> indexToKeyRefMap
+      = new LinkedHashMap<>();
+  @NotNull
+  private final Map<@NotNull IAtomicValuedNodeItem, List<@NotNull IAllowedValuesConstraint>> subtreeFailedValues
+      = new IdentityHashMap<>();
+  @NotNull
+  private final Set<@NotNull IAtomicValuedNodeItem> subtreeAllowedValues
+      = Collections.newSetFromMap(new IdentityHashMap<>());
+  private DynamicContext subtreeContext;
+
+  /**
+   * Construct a new validator.
+   * 
+   * @param metapathContext
+   *          the Metapath dynamic context to use for evaluating constraints
+   */
+  public StreamingConstraintValidator(@NotNull DynamicContext metapathContext) {
+    super(metapathContext);
+  }
+
+  /**
+   * Determine if the provided node can be validated separately from its ancestors using
+   * {@link #validateSubtree(INodeItem)}.
+   * <p>
+   * A node cannot be validated separately if it, or one of its descendants, is a target of a
+   * cardinality, {@code index}, or {@code unique} constraint declared on one of its ancestors.
+   * 
+   * @param item
+   *          the root of the subtree
+   * @return {@code true} if the subtree can be validated separately, or {@code false} otherwise
+   * @throws MetapathException
+   *           if an error occurred while evaluating a constraint target
+   */
+  public boolean isStreamable(@NotNull INodeItem item) throws MetapathException {
+    for (IModelNodeItem ancestor = item.getParentContentNodeItem(); ancestor != null;
+        ancestor = ancestor.getParentContentNodeItem()) {
+      if (ancestor instanceof IAssemblyNodeItem) {
+        ConstraintPlan plan = ConstraintPlan.forDefinition(ancestor.getDefinition());
+        if (hasTargetWithin(plan.getHasCardinalityConstraints(), ancestor, item)
+            || hasTargetWithin(plan.getIndexConstraints(), ancestor, item)
+            || hasTargetWithin(plan.getUniqueConstraints(), ancestor, item)) {
+          return false; // NOPMD - readability
+        }
+      }
+    }
+    return true;
+  }
+
+  private boolean hasTargetWithin(@NotNull List<@NotNull ? extends IConstraint> constraints,
+      @NotNull INodeItem ancestor, @NotNull INodeItem subtree) {
+    for (IConstraint constraint : constraints) {
+      if (!getTargetsWithin(constraint, ancestor, subtree).isEmpty()) {
+        return true; // NOPMD - readability
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Evaluate the target of a constraint declared on an ancestor, and get the targets that fall
+   * within the provided subtree.
+   */
+  @NotNull
+  private ISequence<? extends INodeItem> getTargetsWithin(@NotNull IConstraint constraint,
+      @NotNull INodeItem ancestor, @NotNull INodeItem subtree) {
+    @SuppressWarnings("unchecked")
+    ISequence<? extends INodeItem> targets
+        = (ISequence<? extends INodeItem>) ancestor.evaluateMetapath(constraint.getTarget(), getMetapathContext());
+    List<@NotNull INodeItem> retval = targets.asStream()
+        .filter(target -> isWithin(ObjectUtils.notNull(target), subtree))
+        .collect(Collectors.toList());
+    return ISequence.of(ObjectUtils.notNull(retval));
+  }
+
+  private static boolean isWithin(@NotNull INodeItem item, @NotNull INodeItem subtree) {
+    for (INodeItem current = item; current != null; current = current.getParentNodeItem()) {
+      if (current == subtree) { // NOPMD - identity is intended
+        return true; // NOPMD - readability
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Validate the provided node and its descendants. Once this method returns, no references to the
+   * validated nodes are retained by this validator, other than the targets of key references made
+   * before their index is available.
+   * <p>
+   * Each subtree is evaluated using a new {@link DynamicContext#subContext()}, so that function
+   * results cached while evaluating one subtree are released with that subtree.
+   * 
+   * @param item
+   *          the root of the subtree to validate
+   * @throws MetapathException
+   *           if an error occurred while evaluating a constraint
+   */
+  public void validateSubtree(@NotNull INodeItem item) throws MetapathException {
+    subtreeContext = super.getMetapathContext().subContext();
+    try {
+      item.validate(this);
+      validateAncestorConstraints(item);
+      reportValueStatus();
+    } finally {
+      subtreeFailedValues.clear();
+      subtreeAllowedValues.clear();
+      subtreeContext = null;
+    }
+  }
+
+  /**
+   * Apply the constraints of the subtree's ancestors that are evaluated one target at a time to the
+   * targets within the subtree.
+   */
+  private void validateAncestorConstraints(@NotNull INodeItem subtree) {
+    for (IModelNodeItem ancestor = subtree.getParentContentNodeItem(); ancestor != null;
+        ancestor = ancestor.getParentContentNodeItem()) {
+      if (ancestor instanceof IAssemblyNodeItem) {
+        ConstraintPlan plan = ConstraintPlan.forDefinition(ancestor.getDefinition());
+        for (IAllowedValuesConstraint constraint : plan.getAllowedValuesConstraints()) {
+          validateAllowedValues(constraint, getTargetsWithin(constraint, ancestor, subtree));
+        }
+        for (IMatchesConstraint constraint : plan.getMatchesConstraints()) {
+          validateMatches(constraint, ancestor, getTargetsWithin(constraint, ancestor, subtree));
+        }
+        for (IExpectConstraint constraint : plan.getExpectConstraints()) {
+          validateExpect(constraint, ancestor, getTargetsWithin(constraint, ancestor, subtree));
+        }
+        for (IIndexHasKeyConstraint constraint : plan.getIndexHasKeyConstraints()) {
+          validateIndexHasKey(constraint, getTargetsWithin(constraint, ancestor, subtree));
+        }
+      }
+    }
+  }
+
+  @Override
+  protected DynamicContext getMetapathContext() {
+    DynamicContext retval = subtreeContext;
+    return retval == null ? super.getMetapathContext() : retval;
+  }
+
+  @Override
+  protected void validateIndex(@NotNull IIndexConstraint constraint, @NotNull IAssemblyNodeItem node,
+      @NotNull ISequence<? extends INodeItem> targets) throws MetapathException {
+    String indexName = constraint.getName();
+    if (indexToKeysMap.containsKey(indexName)) {
+      String msg = String.format("Duplicate index named '%s' found at path '%s'", indexName,
+          node.getMetapath());
+      LOGGER.atError().log(msg);
+      throw new MetapathException(msg);
+    }
+
+    // the items are only needed to report duplicates within this index
+    KeyIndexTable<INodeItem> indexItems = new KeyIndexTable<>();
+    KeyIndexTable<Boolean> keys = new KeyIndexTable<>();
+    for (INodeItem item : targets.asList()) {
+      CompositeKey key = buildKey(constraint, node, item);
+      INodeItem oldItem = indexItems.put(key, item);
+      if (oldItem != null) {
+        getConstraintValidationHandler().handleIndexDuplicateKeyViolation(constraint, node, oldItem, item);
+      }
+      keys.put(key, Boolean.TRUE);
+    }
+    indexToKeysMap.put(indexName, keys);
+
+    // resolve any key references that were collected before this index was available
+    Map<@NotNull CompositeKey, List<@NotNull KeyReference>> keyRefMap = indexToKeyRefMap.remove(indexName);
+    if (keyRefMap != null) {
+      for (Map.Entry<@NotNull CompositeKey, List<@NotNull KeyReference>> entry : keyRefMap.entrySet()) {
+        if (!keys.containsKey(entry.getKey())) {
+          reportKeyRefNotFound(ObjectUtils.notNull(entry.getValue()));
+        }
+      }
+    }
+  }
+
+  @NotNull
+  private CompositeKey buildKey(@NotNull IKeyConstraint constraint, @NotNull IAssemblyNodeItem node,
+      @NotNull INodeItem item) throws MetapathException {
+    try {
+      return buildKey(constraint.getKeyFields(), item);
+    } catch (MetapathException ex) {
+      getConstraintValidationHandler().handleKeyMatchError(constraint, node, item, ex);
+      throw ex;
+    }
+  }
+
+  @Override
+  protected void validateIndexHasKey(@NotNull IIndexHasKeyConstraint constraint, @NotNull ISequence<?> targets)
+      throws MetapathException {
+    String indexName = constraint.getIndexName();
+
+    KeyIndexTable<Boolean> keys = indexToKeysMap.get(indexName);
+    for (IItem target : targets.asList()) {
+      INodeItem item = (INodeItem) target;
+      CompositeKey key = buildKey(constraint.getKeyFields(), item);
+
+      if (keys == null) {
+        // the index is not yet available, retain the reference until it is
+        indexToKeyRefMap
+            .computeIfAbsent(indexName, name -> new LinkedHashMap<>())
+            .computeIfAbsent(key, k -> new LinkedList<>())
+            .add(new KeyReference(constraint, item));
+      } else if (!keys.containsKey(key)) {
+        getConstraintValidationHandler().handleIndexMissingKeyViolation(constraint, item);
+      }
+    }
+  }
+
+  @Override
+  protected void updateValueStatus(@NotNull IAllowedValuesConstraint constraint, @NotNull IAtomicValuedNodeItem item,
+      boolean newStatus) {
+    // the item is valid if any allowed values constraint allows the value
+    if (newStatus) {
+      subtreeAllowedValues.add(item);
+    } else {
+      subtreeFailedValues.computeIfAbsent(item, key -> new LinkedList<>()).add(constraint);
+    }
+  }
+
+  private void reportValueStatus() {
+    for (Map.Entry<@NotNull IAtomicValuedNodeItem, List<@NotNull IAllowedValuesConstraint>> entry
+        : subtreeFailedValues.entrySet()) {
+      IAtomicValuedNodeItem item = ObjectUtils.notNull(entry.getKey());
+      if (!subtreeAllowedValues.contains(item)) {
+        getConstraintValidationHandler().handleAllowedValuesViolation(ObjectUtils.notNull(entry.getValue()), item);
+      }
+    }
+  }
+
+  private void reportKeyRefNotFound(@NotNull List<@NotNull KeyReference> references) {
+    for (KeyReference reference : references) {
+      getConstraintValidationHandler().handleIndexMissingKeyViolation(reference.constraint, reference.target);
+    }
+  }
+
+  @Override
+  public void finalizeValidation() throws MetapathException {
+    for (Map<@NotNull CompositeKey, List<@NotNull KeyReference>> keyRefMap : indexToKeyRefMap.values()) {
+      // the index was never defined, so none of the references can be resolved
+      for (List<@NotNull KeyReference> references : keyRefMap.values()) {
+        reportKeyRefNotFound(ObjectUtils.notNull(references));
+      }
+    }
+    indexToKeyRefMap.clear();
+  }
+
+  /**
+   * A key reference that was made before its index was available.
+   */
+  private static final class KeyReference {
+    @NotNull
+    private final IIndexHasKeyConstraint constraint;
+    @NotNull
+    private final INodeItem target;
+
+    private KeyReference(@NotNull IIndexHasKeyConstraint constraint, @NotNull INodeItem target) {
+      this.constraint = constraint;
+      this.target = target;
+    }
+  }
+}
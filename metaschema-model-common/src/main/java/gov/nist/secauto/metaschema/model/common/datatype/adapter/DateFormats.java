@@ -26,6 +26,10 @@
 
 package gov.nist.secauto.metaschema.model.common.datatype.adapter;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.temporal.ChronoField;
@@ -64,4 +68,107 @@ public final class DateFormats {
         .optionalEnd()
         .toFormatter();
   }
+
+  /**
+   * Format the provided value as a date-time, producing the same result as
+   * {@link #DATE_TIME_WITH_TZ} or {@link #DATE_TIME_WITHOUT_TZ} without the overhead of a
+   * {@link DateTimeFormatter}.
+   * 
+   * @param value
+   *          the value to format
+   * @param includeTimeZone
+   *          {@code true} if the time zone offset is to be included
+   * @return the formatted value
+   */
+  @SuppressWarnings("null")
+  @NotNull
+  public static String formatDateTime(@NotNull ZonedDateTime value, boolean includeTimeZone) {
+    int year = value.getYear();
+    if (year < 0 || year > 9999) {
+      return (includeTimeZone ? DATE_TIME_WITH_TZ : DATE_TIME_WITHOUT_TZ).format(value); // NOPMD - readability
+    }
+
+    StringBuilder builder = new StringBuilder(35);
+    appendDate(builder, value);
+    builder.append('T');
+    appendDigits(builder, value.getHour(), 2);
+    builder.append(':');
+    appendDigits(builder, value.getMinute(), 2);
+    builder.append(':');
+    appendDigits(builder, value.getSecond(), 2);
+
+    int nano = value.getNano();
+    if (nano > 0) {
+      // remove trailing zeros
+      int digits = 9;
+      while (nano % 10 == 0) {
+        nano /= 10;
+        digits--;
+      }
+      builder.append('.');
+      appendDigits(builder, nano, digits);
+    }
+
+    if (includeTimeZone) {
+      appendOffset(builder, value.getOffset());
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Format the provided value as a date, producing the same result as {@link #DATE_WITH_TZ} or
+   * {@link #DATE_WITHOUT_TZ} without the overhead of a {@link DateTimeFormatter}.
+   * 
+   * @param value
+   *          the value to format
+   * @param includeTimeZone
+   *          {@code true} if the time zone offset is to be included
+   * @return the formatted value
+   */
+  @SuppressWarnings("null")
+  @NotNull
+  public static String formatDate(@NotNull ZonedDateTime value, boolean includeTimeZone) {
+    int year = value.getYear();
+    if (year < 0 || year > 9999) {
+      return (includeTimeZone ? DATE_WITH_TZ : DATE_WITHOUT_TZ).format(value); // NOPMD - readability
+    }
+
+    StringBuilder builder = new StringBuilder(16);
+    appendDate(builder, value);
+    if (includeTimeZone) {
+      appendOffset(builder, value.getOffset());
+    }
+    return builder.toString();
+  }
+
+  private static void appendDate(@NotNull StringBuilder builder, @NotNull ZonedDateTime value) {
+    appendDigits(builder, value.getYear(), 4);
+    builder.append('-');
+    appendDigits(builder, value.getMonthValue(), 2);
+    builder.append('-');
+    appendDigits(builder, value.getDayOfMonth(), 2);
+  }
+
+  private static void appendOffset(@NotNull StringBuilder builder, @NotNull ZoneOffset offset) {
+    int totalSeconds = offset.getTotalSeconds();
+    if (totalSeconds == 0) {
+      builder.append('Z');
+    } else {
+      int absSeconds = Math.abs(totalSeconds);
+      builder.append(totalSeconds < 0 ? '-' : '+');
+      appendDigits(builder, absSeconds / 3600, 2);
+      builder.append(':');
+      appendDigits(builder, absSeconds / 60 % 60, 2);
+    }
+  }
+
+  private static void appendDigits(@NotNull StringBuilder builder, int value, int width) {
+    int divisor = 1;
+    for (int i = 1; i < width; i++) {
+      divisor *= 10;
+    }
+    for (; divisor > 0; divisor /= 10) {
+      builder.append((char) ('0' + value / divisor % 10));
+    }
+  }
 }
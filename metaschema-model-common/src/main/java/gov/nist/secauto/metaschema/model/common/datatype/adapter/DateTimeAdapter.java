@@ -37,10 +37,7 @@ import gov.nist.secauto.metaschema.model.common.metapath.item.IUntypedAtomicItem
 
 import org.jetbrains.annotations.NotNull;
 
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeParseException;
 
 public class DateTimeAdapter
     extends AbstractDatatypeJavaTypeAdapter<DateTime, IDateTimeItem> {
@@ -55,37 +52,19 @@ public class DateTimeAdapter
     return "date-time";
   }
 
-  @SuppressWarnings("null")
   @Override
   public DateTime parse(String value) throws IllegalArgumentException {
-    try {
-      return new DateTime(ZonedDateTime.from(DateFormats.DATE_TIME_WITH_TZ.parse(value)), true);
-    } catch (DateTimeParseException ex) {
-      try {
-        LocalDateTime dateTime = LocalDateTime.from(DateFormats.DATE_TIME_WITHOUT_TZ.parse(value));
-        return new DateTime(ZonedDateTime.of(dateTime, ZoneOffset.UTC), false);
-      } catch (DateTimeParseException ex2) {
-        throw new IllegalArgumentException(ex2.getLocalizedMessage(), ex2);
-      }
+    ZonedDateTime dateTime = DateTimeScanner.parseDateTime(value, false);
+    if (dateTime == null) {
+      throw new IllegalArgumentException("Invalid date-time: " + value);
     }
+    return new DateTime(dateTime, DateTimeScanner.hasTimeZone(value));
   }
 
   @Override
   public String asString(Object obj) {
     DateTime value = (DateTime) obj;
-    String retval;
-    if (value.hasTimeZone()) {
-      @SuppressWarnings("null")
-      @NotNull
-      String formatted = DateFormats.DATE_TIME_WITH_TZ.format(value.getValue());
-      retval = formatted;
-    } else {
-      @SuppressWarnings("null")
-      @NotNull
-      String formatted = DateFormats.DATE_TIME_WITHOUT_TZ.format(value.getValue());
-      retval = formatted;
-    }
-    return retval;
+    return DateFormats.formatDateTime(value.getValue(), value.hasTimeZone());
   }
 
   @SuppressWarnings("null")
@@ -0,0 +1,253 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.datatype.adapter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.DateTimeException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Parses RFC 3339 / XML Schema date and date-time values by scanning the characters of the value
+ * directly.
+ * <p>
+ * Unlike parsing with a {@link java.time.format.DateTimeFormatter}, values with and without a time
+ * zone are recognized in a single pass, and an invalid value is reported by a {@code null} result
+ * instead of an exception.
+ * <p>
+ * The supported forms are {@code yyyy-MM-dd} for dates and {@code yyyy-MM-dd'T'HH:mm:ss} followed by
+ * an optional fraction of 1 to 9 digits for date-times. Either form may be followed by a time zone,
+ * which is {@code Z} or an offset in the form {@code +HH:mm} or {@code -HH:mm}. Values without a
+ * time zone are interpreted as UTC.
+ * <p>
+ * As in XML Schema, the year has 4 or more digits, and a year with more than 4 digits has no leading
+ * zeros. Such a year may also be preceded by a {@code +}, as produced by
+ * {@link java.time.format.DateTimeFormatter}. Years of up to 9 digits are supported.
+ */
+public final class DateTimeScanner {
+  private static final int DATE_LENGTH = 10;
+  private static final int DATE_TIME_LENGTH = 19;
+  private static final int OFFSET_LENGTH = 6;
+  private static final int YEAR_LENGTH = 4;
+  private static final int MAX_YEAR_LENGTH = 9;
+
+  private DateTimeScanner() {
+    // disable construction
+  }
+
+  /**
+   * Parse a date-time value.
+   * 
+   * @param value
+   *          the value to parse
+   * @param timeZoneRequired
+   *          {@code true} if a value without a time zone is invalid
+   * @return the parsed value, or {@code null} if the value is not a valid date-time
+   */
+  @Nullable
+  public static ZonedDateTime parseDateTime(@NotNull String value, boolean timeZoneRequired) {
+    // the number of characters the year adds to the 4 digit form
+    int shift = yearEnd(value) - YEAR_LENGTH;
+    int length = value.length();
+    if (shift < 0 || length < DATE_TIME_LENGTH + shift || value.charAt(DATE_LENGTH + shift) != 'T'
+        || value.charAt(13 + shift) != ':' || value.charAt(16 + shift) != ':') {
+      return null; // NOPMD - readability
+    }
+
+    int hour = digits(value, 11 + shift, 2);
+    int minute = digits(value, 14 + shift, 2);
+    int second = digits(value, 17 + shift, 2);
+    if (hour < 0 || minute < 0 || second < 0) {
+      return null; // NOPMD - readability
+    }
+
+    int pos = DATE_TIME_LENGTH + shift;
+    int nano = 0;
+    if (pos < length && value.charAt(pos) == '.') {
+      pos++;
+      int start = pos;
+      while (pos < length && isDigit(value.charAt(pos))) {
+        if (pos - start == 9) {
+          return null; // NOPMD - readability
+        }
+        nano = nano * 10 + value.charAt(pos) - '0';
+        pos++;
+      }
+      int count = pos - start;
+      if (count == 0) {
+        return null; // NOPMD - readability
+      }
+      for (int i = count; i < 9; i++) {
+        nano *= 10;
+      }
+    }
+    return toDateTime(value, shift, pos, hour, minute, second, nano, timeZoneRequired);
+  }
+
+  /**
+   * Parse a date value, providing the start of the day.
+   * 
+   * @param value
+   *          the value to parse
+   * @param timeZoneRequired
+   *          {@code true} if a value without a time zone is invalid
+   * @return the parsed value, or {@code null} if the value is not a valid date
+   */
+  @Nullable
+  public static ZonedDateTime parseDate(@NotNull String value, boolean timeZoneRequired) {
+    int shift = yearEnd(value) - YEAR_LENGTH;
+    if (shift < 0 || value.length() < DATE_LENGTH + shift) {
+      return null; // NOPMD - readability
+    }
+    return toDateTime(value, shift, DATE_LENGTH + shift, 0, 0, 0, 0, timeZoneRequired);
+  }
+
+  /**
+   * Determine if the year of a parsed date is within the range of years, 1900 to 2999, supported by
+   * the date data types.
+   * 
+   * @param date
+   *          the parsed date
+   * @return {@code true} if the year is supported, or {@code false} otherwise
+   */
+  public static boolean isSupportedDateYear(@NotNull ZonedDateTime date) {
+    int year = date.getYear();
+    return year >= 1900 && year <= 2999;
+  }
+
+  /**
+   * Determine if a successfully parsed date or date-time value has a time zone.
+   * 
+   * @param value
+   *          the value that was parsed
+   * @return {@code true} if the value has a time zone, or {@code false} otherwise
+   */
+  public static boolean hasTimeZone(@NotNull String value) {
+    int length = value.length();
+    boolean retval = false;
+    if (length > 0 && value.charAt(length - 1) == 'Z') {
+      retval = true;
+    } else if (length >= yearEnd(value) - YEAR_LENGTH + DATE_LENGTH + OFFSET_LENGTH) {
+      // the offset sign cannot appear at this position in the date or time part
+      char sign = value.charAt(length - OFFSET_LENGTH);
+      retval = sign == '+' || sign == '-';
+    }
+    return retval;
+  }
+
+  /**
+   * Get the position following the year at the start of the provided value.
+   * 
+   * @return the position, or {@code -1} if the value does not start with a valid year
+   */
+  private static int yearEnd(@NotNull String value) {
+    int length = value.length();
+    int start = length > 0 && value.charAt(0) == '+' ? 1 : 0;
+    int pos = start;
+    while (pos < length && isDigit(value.charAt(pos))) {
+      pos++;
+    }
+
+    int count = pos - start;
+    boolean valid;
+    if (count == YEAR_LENGTH) {
+      valid = start == 0;
+    } else {
+      valid = count > YEAR_LENGTH && count <= MAX_YEAR_LENGTH && value.charAt(start) != '0';
+    }
+    return valid ? pos : -1;
+  }
+
+  @Nullable
+  private static ZonedDateTime toDateTime(@NotNull String value, int shift, int offsetStart, int hour, int minute,
+      int second, int nano, boolean timeZoneRequired) {
+    if (value.charAt(4 + shift) != '-' || value.charAt(7 + shift) != '-') {
+      return null; // NOPMD - readability
+    }
+    int yearStart = value.charAt(0) == '+' ? 1 : 0;
+    int year = digits(value, yearStart, YEAR_LENGTH + shift - yearStart);
+    int month = digits(value, 5 + shift, 2);
+    int day = digits(value, 8 + shift, 2);
+    if (year < 0 || month < 0 || day < 0) {
+      return null; // NOPMD - readability
+    }
+
+    ZoneOffset offset = parseOffset(value, offsetStart, timeZoneRequired);
+    if (offset == null) {
+      return null; // NOPMD - readability
+    }
+
+    try {
+      return ZonedDateTime.of(year, month, day, hour, minute, second, nano, offset);
+    } catch (DateTimeException ex) {
+      // a field is out of range
+      return null;
+    }
+  }
+
+  @Nullable
+  private static ZoneOffset parseOffset(@NotNull String value, int pos, boolean timeZoneRequired) {
+    int length = value.length();
+    ZoneOffset retval = null;
+    if (pos == length) {
+      if (!timeZoneRequired) {
+        retval = ZoneOffset.UTC;
+      }
+    } else if (pos + 1 == length && value.charAt(pos) == 'Z') {
+      retval = ZoneOffset.UTC;
+    } else if (pos + OFFSET_LENGTH == length && value.charAt(pos + 3) == ':') {
+      char sign = value.charAt(pos);
+      int hours = digits(value, pos + 1, 2);
+      int minutes = digits(value, pos + 4, 2);
+      if ((sign == '+' || sign == '-') && hours >= 0 && hours <= 18 && minutes >= 0 && minutes <= 59) {
+        int totalSeconds = (hours * 3600 + minutes * 60) * (sign == '-' ? -1 : 1);
+        if (Math.abs(totalSeconds) <= 18 * 3600) {
+          retval = ZoneOffset.ofTotalSeconds(totalSeconds);
+        }
+      }
+    }
+    return retval;
+  }
+
+  private static int digits(@NotNull String value, int pos, int count) {
+    int retval = 0;
+    for (int i = pos; i < pos + count; i++) {
+      char ch = value.charAt(i);
+      if (!isDigit(ch)) {
+        return -1; // NOPMD - readability
+      }
+      retval = retval * 10 + ch - '0';
+    }
+    return retval;
+  }
+
+  private static boolean isDigit(char ch) {
+    return ch >= '0' && ch <= '9';
+  }
+}
@@ -32,7 +32,6 @@ import gov.nist.secauto.metaschema.model.common.metapath.item.IDateTimeItem;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeParseException;
 
 public class DateTimeWithTZAdapter
     extends AbstractJavaTypeAdapter<ZonedDateTime, IDateTimeItem> {
@@ -47,20 +46,18 @@ public class DateTimeWithTZAdapter
     return "date-time-with-timezone";
   }
 
-  @SuppressWarnings("null")
   @Override
   public ZonedDateTime parse(String value) throws IllegalArgumentException {
-    try {
-      return ZonedDateTime.from(DateFormats.DATE_TIME_WITH_TZ.parse(value));
-    } catch (DateTimeParseException ex) {
-      throw new IllegalArgumentException(ex.getLocalizedMessage(), ex);
+    ZonedDateTime retval = DateTimeScanner.parseDateTime(value, true);
+    if (retval == null) {
+      throw new IllegalArgumentException("Invalid date-time: " + value);
     }
+    return retval;
   }
 
-  @SuppressWarnings("null")
   @Override
   public String asString(Object value) {
-    return DateFormats.DATE_TIME_WITH_TZ.format((ZonedDateTime) value);
+    return DateFormats.formatDateTime((ZonedDateTime) value, true);
   }
 
   @SuppressWarnings("null")
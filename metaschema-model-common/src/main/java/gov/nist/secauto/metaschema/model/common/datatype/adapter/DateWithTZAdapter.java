@@ -32,20 +32,9 @@ import gov.nist.secauto.metaschema.model.common.metapath.item.IDateItem;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeParseException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class DateWithTZAdapter
     extends AbstractJavaTypeAdapter<ZonedDateTime, IDateItem> {
-  private static final Pattern DATE_TIMEZONE = Pattern.compile("^("
-      + "^(?:(?:2000|2400|2800|(?:19|2[0-9](?:0[48]|[2468][048]|[13579][26])))-02-29)"
-      + "|(?:(?:(?:19|2[0-9])[0-9]{2})-02-(?:0[1-9]|1[0-9]|2[0-8]))"
-      + "|(?:(?:(?:19|2[0-9])[0-9]{2})-(?:0[13578]|10|12)-(?:0[1-9]|[12][0-9]|3[01]))"
-      + "|(?:(?:(?:19|2[0-9])[0-9]{2})-(?:0[469]|11)-(?:0[1-9]|[12][0-9]|30))"
-      + ")"
-      + "(Z|[+-][0-9]{2}:[0-9]{2})$");
-
   @SuppressWarnings("null")
   public DateWithTZAdapter() {
     super(ZonedDateTime.class);
@@ -56,26 +45,18 @@ public class DateWithTZAdapter
     return "date-with-timezone";
   }
 
-  @SuppressWarnings("null")
   @Override
   public ZonedDateTime parse(String value) throws IllegalArgumentException {
-    String parseValue = value;
-    Matcher matcher = DATE_TIMEZONE.matcher(value);
-    if (!matcher.matches()) {
+    ZonedDateTime retval = DateTimeScanner.parseDate(value, true);
+    if (retval == null || !DateTimeScanner.isSupportedDateYear(retval)) {
       throw new IllegalArgumentException("Invalid date: " + value);
     }
-    parseValue = String.format("%sT00:00:00%s", matcher.group(1), matcher.group(2));
-    try {
-      return ZonedDateTime.from(DateFormats.DATE_TIME_WITH_TZ.parse(parseValue));
-    } catch (DateTimeParseException ex) {
-      throw new IllegalArgumentException(ex.getLocalizedMessage(), ex);
-    }
+    return retval;
   }
 
-  @SuppressWarnings("null")
   @Override
   public String asString(Object value) {
-    return DateFormats.DATE_WITH_TZ.format((ZonedDateTime) value);
+    return DateFormats.formatDate((ZonedDateTime) value, true);
   }
 
   @SuppressWarnings("null")
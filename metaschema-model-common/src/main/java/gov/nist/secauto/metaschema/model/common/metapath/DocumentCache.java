@@ -0,0 +1,312 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath;
+
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe, size-bounded cache of loaded documents, keyed by the normalized document URI.
+ * <p>
+ * When the cache is full, the least recently used document is evicted. A document is loaded at
+ * most once at a time; concurrent requests for a document that is being loaded wait for that load
+ * to complete. Documents identified by a {@code file} URI are reloaded when the last modified time
+ * of the file changes. Documents identified by any other URI are assumed not to change while they
+ * are cached.
+ * <p>
+ * By default, each {@link DynamicContext} uses its own cache, which is shared only with its
+ * sub-contexts and is replaced when the context's document loader is changed. The process-wide cache
+ * returned by {@link #getInstance()} can be used instead, by calling
+ * {@link DynamicContext#setDocumentCache(DocumentCache)}. Documents in the process-wide cache are
+ * shared by all dynamic contexts that use it, so they must be loaded using equivalent loaders. The
+ * maximum size of the process-wide cache can be configured using the {@value #MAXIMUM_SIZE_PROPERTY}
+ * system property. A size of {@code 0} disables caching.
+ */
+public final class DocumentCache {
+  /**
+   * The system property used to configure the maximum size of the process-wide cache.
+   */
+  @NotNull
+  public static final String MAXIMUM_SIZE_PROPERTY = "metaschema.metapath.document-cache.size";
+  /**
+   * The default maximum size of a cache.
+   */
+  public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+  private static DocumentCache instance;
+
+  /**
+   * Get the process-wide document cache. This cache is only used by the dynamic contexts it is
+   * explicitly provided to.
+   * 
+   * @return the cache instance
+   */
+  @NotNull
+  public static synchronized DocumentCache getInstance() {
+    if (instance == null) {
+      instance = new DocumentCache(Integer.getInteger(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE));
+    }
+    return instance;
+  }
+
+  /**
+   * Loads a document that is not available from the cache.
+   */
+  @FunctionalInterface
+  public interface IDocumentSupplier {
+    /**
+     * Load the document.
+     * 
+     * @return the loaded document
+     * @throws IOException
+     *           if an error occurred while loading the document
+     */
+    @NotNull
+    IDocumentNodeItem load() throws IOException;
+  }
+
+  private final int maximumSize;
+  @NotNull
+  private final Map<@NotNull URI, @NotNull CacheEntry> cache;
+  @NotNull
+  private final LongAdder hitCount = new LongAdder();
+  @NotNull
+  private final LongAdder missCount = new LongAdder();
+  @NotNull
+  private final LongAdder evictionCount = new LongAdder();
+
+  /**
+   * Construct a new cache.
+   * 
+   * @param maximumSize
+   *          the maximum number of documents to retain
+   */
+  public DocumentCache(int maximumSize) {
+    if (maximumSize < 0) {
+      throw new IllegalArgumentException(String.format("invalid maximum size '%d'", maximumSize));
+    }
+    this.maximumSize = maximumSize;
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      /**
+       * the serial version UID.
+       */
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<@NotNull URI, @NotNull CacheEntry> eldest) {
+        boolean retval = size() > getMaximumSize();
+        if (retval) {
+          evictionCount.increment();
+        }
+        return retval;
+      }
+    };
+  }
+
+  /**
+   * Get the maximum number of documents retained by this cache.
+   * 
+   * @return the maximum size
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Get the cached document for the provided URI, loading and caching the document if it is not
+   * already cached or if the cached document is out of date.
+   * <p>
+   * A failed load, including one that failed with an {@link Error}, is not cached. Requests that were
+   * waiting on the failed load receive the same error.
+   * 
+   * @param documentUri
+   *          the URI of the document
+   * @param supplier
+   *          used to load the document if needed
+   * @return the document
+   * @throws IOException
+   *           if an error occurred while loading the document
+   */
+  @NotNull
+  public IDocumentNodeItem get(@NotNull URI documentUri, @NotNull IDocumentSupplier supplier) throws IOException {
+    if (maximumSize == 0) {
+      missCount.increment();
+      return supplier.load(); // NOPMD - readability
+    }
+
+    URI key = documentUri.normalize();
+    FileTime lastModified = getLastModified(key);
+
+    CacheEntry entry;
+    boolean load = false;
+    synchronized (cache) {
+      entry = cache.get(key);
+      if (entry == null || entry.isStale(lastModified)) {
+        entry = new CacheEntry(lastModified);
+        cache.put(key, entry);
+        load = true;
+      }
+    }
+
+    if (load) {
+      missCount.increment();
+      try {
+        entry.getDocument().complete(supplier.load());
+      } catch (IOException | RuntimeException | Error ex) {
+        synchronized (cache) {
+          cache.remove(key, entry);
+        }
+        entry.getDocument().completeExceptionally(ex);
+        throw ex;
+      }
+    } else {
+      hitCount.increment();
+    }
+    return entry.await();
+  }
+
+  @Nullable
+  private static FileTime getLastModified(@NotNull URI uri) {
+    FileTime retval = null;
+    if ("file".equals(uri.getScheme())) {
+      try {
+        retval = Files.getLastModifiedTime(Path.of(uri));
+      } catch (IOException | IllegalArgumentException ex) {
+        // the document will be reported as missing by the loader
+        retval = null;
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Get the number of documents currently cached.
+   * 
+   * @return the number of cached documents
+   */
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Remove all cached documents. The cache statistics are not reset.
+   */
+  public void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Get the number of requests that were answered from the cache.
+   * 
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Get the number of requests that required the document to be loaded.
+   * 
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * Get the number of documents that have been evicted to keep the cache within its maximum size.
+   * 
+   * @return the eviction count
+   */
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s[size=%d, maximumSize=%d, hits=%d, misses=%d, evictions=%d]",
+        getClass().getSimpleName(), size(), getMaximumSize(), getHitCount(), getMissCount(), getEvictionCount());
+  }
+
+  private static final class CacheEntry {
+    @Nullable
+    private final FileTime lastModified;
+    @NotNull
+    private final CompletableFuture<@NotNull IDocumentNodeItem> document = new CompletableFuture<>();
+
+    private CacheEntry(@Nullable FileTime lastModified) {
+      this.lastModified = lastModified;
+    }
+
+    @NotNull
+    private CompletableFuture<@NotNull IDocumentNodeItem> getDocument() {
+      return document;
+    }
+
+    private boolean isStale(@Nullable FileTime currentLastModified) {
+      return currentLastModified != null && !currentLastModified.equals(lastModified);
+    }
+
+    @NotNull
+    private IDocumentNodeItem await() throws IOException {
+      try {
+        return document.get();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        InterruptedIOException newEx = new InterruptedIOException("interrupted while waiting for a document to load");
+        newEx.initCause(ex);
+        throw newEx;
+      } catch (ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof IOException) {
+          throw new IOException(cause.getLocalizedMessage(), cause);
+        } else if (cause instanceof RuntimeException || cause instanceof Error) {
+          throw new IllegalStateException(cause.getLocalizedMessage(), cause);
+        }
+        throw new IOException(cause);
+      }
+    }
+  }
+}
@@ -28,24 +28,27 @@ package gov.nist.secauto.metaschema.model.common.metapath;
 
 import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
 import gov.nist.secauto.metaschema.model.common.metapath.function.DefaultFunction.CallingContext;
+import gov.nist.secauto.metaschema.model.common.metapath.function.IFunction;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 public class DynamicContext {
   @NotNull
@@ -56,8 +59,18 @@ public class DynamicContext {
   private final ZonedDateTime currentDateTime;
   @NotNull
   private final Map<@NotNull URI, IDocumentNodeItem> availableDocuments;
-  private final Map<@NotNull CallingContext, ISequence<?>> functionResultCache;
+  @NotNull
+  private Supplier<@NotNull IFunctionResultCache> functionResultCacheFactory;
+  @NotNull
+  private IFunctionResultCache functionResultCache;
   private CachingLoader documentLoader;
+  @NotNull
+  private DocumentCache documentCache;
+  /**
+   * Indicates if the document cache was provided using {@link #setDocumentCache(DocumentCache)},
+   * instead of being owned by this context.
+   */
+  private boolean documentCacheProvided;
 
   @SuppressWarnings("null")
   public DynamicContext(@NotNull StaticContext staticContext) {
@@ -67,8 +80,42 @@ public class DynamicContext {
 
     this.implicitTimeZone = clock.getZone();
     this.currentDateTime = ZonedDateTime.now(clock);
-    this.availableDocuments = new HashMap<>();
-    this.functionResultCache = new HashMap<>();
+    this.availableDocuments = new ConcurrentHashMap<>();
+    this.documentCache = new DocumentCache(DocumentCache.DEFAULT_MAXIMUM_SIZE);
+    this.functionResultCacheFactory = FunctionResultCache::newDefaultInstance;
+    this.functionResultCache = FunctionResultCache.newDefaultInstance();
+  }
+
+  /**
+   * Construct a new dynamic context that shares the static context, evaluation time, and
+   * document state of the provided context.
+   * 
+   * @param context
+   *          the context to share state with
+   */
+  private DynamicContext(@NotNull DynamicContext context) {
+    this.staticContext = context.staticContext;
+    this.implicitTimeZone = context.implicitTimeZone;
+    this.currentDateTime = context.currentDateTime;
+    this.availableDocuments = context.availableDocuments;
+    this.functionResultCacheFactory = context.functionResultCacheFactory;
+    this.functionResultCache = ObjectUtils.notNull(functionResultCacheFactory.get());
+    this.documentLoader = context.documentLoader;
+    this.documentCache = context.documentCache;
+    this.documentCacheProvided = context.documentCacheProvided;
+  }
+
+  /**
+   * Generate a new dynamic context that can be used to evaluate Metapath expressions on another
+   * thread. The new context shares the static context, the current date/time, and the document
+   * loader with this context, but uses a function result cache obtained from this context's
+   * function result cache factory.
+   * 
+   * @return the new dynamic context
+   */
+  @NotNull
+  public DynamicContext subContext() {
+    return new DynamicContext(this);
   }
 
   @NotNull
@@ -96,8 +143,72 @@ public class DynamicContext {
     return documentLoader;
   }
 
+  /**
+   * Set the loader used to load documents. Unless a document cache was provided using
+   * {@link #setDocumentCache(DocumentCache)}, the documents cached using the previous loader are
+   * discarded.
+   * 
+   * @param documentLoader
+   *          the document loader
+   */
   public void setDocumentLoader(@NotNull IDocumentLoader documentLoader) {
     this.documentLoader = new CachingLoader(documentLoader);
+    if (!documentCacheProvided) {
+      // sub-contexts using the previous loader keep the previous cache
+      this.documentCache = new DocumentCache(documentCache.getMaximumSize());
+    }
+  }
+
+  /**
+   * Get the cache used to retain documents loaded using this context's document loader. By default,
+   * a cache owned by this context and shared with its sub-contexts is used.
+   * 
+   * @return the document cache
+   */
+  @NotNull
+  public DocumentCache getDocumentCache() {
+    return documentCache;
+  }
+
+  /**
+   * Set the cache used to retain documents loaded using this context's document loader, such as the
+   * process-wide {@link DocumentCache#getInstance()}. The cache is keyed only by document URI, so
+   * all contexts that use the cache must load documents using equivalent loaders.
+   * 
+   * @param documentCache
+   *          the document cache
+   */
+  public void setDocumentCache(@NotNull DocumentCache documentCache) {
+    this.documentCache = ObjectUtils.requireNonNull(documentCache, "documentCache");
+    this.documentCacheProvided = true;
+  }
+
+  /**
+   * Get the cache used to retain the results of deterministic function calls.
+   * 
+   * @return the cache
+   */
+  @NotNull
+  public IFunctionResultCache getFunctionResultCache() {
+    return functionResultCache;
+  }
+
+  /**
+   * Set the factory used to create function result caches. The factory is used immediately to
+   * replace this context's cache, and later to create the cache of each {@link #subContext()}. A
+   * factory that returns the same thread-safe instance each time can be used to share one cache
+   * across sub-contexts.
+   * 
+   * @param factory
+   *          the function result cache factory
+   */
+  public void setFunctionResultCacheFactory(@NotNull Supplier<@NotNull IFunctionResultCache> factory) {
+    this.functionResultCacheFactory = ObjectUtils.requireNonNull(factory, "factory");
+    this.functionResultCache = ObjectUtils.notNull(factory.get());
+  }
+
+  public boolean isCacheable(@NotNull IFunction function) {
+    return functionResultCache.isCacheable(function);
   }
 
   public ISequence<?> getCachedResult(@NotNull CallingContext callingContext) {
@@ -105,8 +216,7 @@ public class DynamicContext {
   }
 
   public void cacheResult(@NotNull CallingContext callingContext, @NotNull ISequence<?> result) {
-    ISequence<?> old = functionResultCache.put(callingContext, result);
-    assert old == null;
+    functionResultCache.put(callingContext, result);
   }
 
   private class CachingLoader implements IDocumentLoader {
@@ -121,36 +231,42 @@ public class DynamicContext {
       return proxy;
     }
 
+    @NotNull
+    private IDocumentNodeItem load(@NotNull URI documentUri, @NotNull DocumentCache.IDocumentSupplier supplier)
+        throws IOException {
+      IDocumentNodeItem retval = getDocumentCache().get(documentUri, supplier);
+      availableDocuments.put(ObjectUtils.notNull(documentUri.normalize()), retval);
+      return retval;
+    }
+
     @Override
-    public synchronized IDocumentNodeItem loadAsNodeItem(@NotNull URL url) throws IOException {
-      IDocumentNodeItem retval;
+    public IDocumentNodeItem loadAsNodeItem(@NotNull URL url) throws IOException {
+      URI documentUri;
       try {
-        retval = availableDocuments.get(url.toURI());
+        documentUri = url.toURI();
       } catch (URISyntaxException ex) {
         throw new IOException(ex);
       }
-      if (retval == null) {
-        retval = getProxiedDocumentLoader().loadAsNodeItem(url);
-      }
-      return retval;
+      return load(ObjectUtils.notNull(documentUri), () -> getProxiedDocumentLoader().loadAsNodeItem(url));
     }
 
     @Override
-    public synchronized IDocumentNodeItem loadAsNodeItem(File file) throws FileNotFoundException, IOException {
-      IDocumentNodeItem retval = availableDocuments.get(file.getCanonicalFile().toURI());
-      if (retval == null) {
-        retval = getProxiedDocumentLoader().loadAsNodeItem(file);
-      }
-      return retval;
+    public IDocumentNodeItem loadAsNodeItem(@NotNull Path path) throws IOException {
+      return load(ObjectUtils.notNull(path.toAbsolutePath().toUri()),
+          () -> getProxiedDocumentLoader().loadAsNodeItem(path));
     }
 
     @Override
-    public synchronized IDocumentNodeItem loadAsNodeItem(InputStream is, URI documentUri) throws IOException {
-      IDocumentNodeItem retval = availableDocuments.get(documentUri);
-      if (retval == null) {
-        retval = getProxiedDocumentLoader().loadAsNodeItem(is, documentUri);
-        availableDocuments.put(documentUri, retval);
-      }
+    public IDocumentNodeItem loadAsNodeItem(@NotNull File file) throws IOException {
+      return load(ObjectUtils.notNull(file.getCanonicalFile().toURI()),
+          () -> getProxiedDocumentLoader().loadAsNodeItem(file));
+    }
+
+    @Override
+    public IDocumentNodeItem loadAsNodeItem(@NotNull InputStream is, @NotNull URI documentUri) throws IOException {
+      // the stream's content may differ from the content cached for the URI, so it is always loaded
+      IDocumentNodeItem retval = getProxiedDocumentLoader().loadAsNodeItem(is, documentUri);
+      availableDocuments.put(ObjectUtils.notNull(documentUri.normalize()), retval);
       return retval;
     }
   }
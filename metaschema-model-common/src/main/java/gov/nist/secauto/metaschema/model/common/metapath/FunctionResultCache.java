@@ -0,0 +1,216 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath;
+
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
+import gov.nist.secauto.metaschema.model.common.metapath.function.DefaultFunction.CallingContext;
+import gov.nist.secauto.metaschema.model.common.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A thread-safe, size-bounded cache of function results.
+ * <p>
+ * When the cache is full, the least recently used result is evicted. The functions whose results
+ * are cached can be restricted using a filter.
+ * <p>
+ * The maximum size of the caches created by {@link #newDefaultInstance()} can be configured using
+ * the {@value #MAXIMUM_SIZE_PROPERTY} system property. A size of {@code 0} disables caching.
+ */
+public class FunctionResultCache implements IFunctionResultCache {
+  /**
+   * The system property used to configure the maximum size of default caches.
+   */
+  @NotNull
+  public static final String MAXIMUM_SIZE_PROPERTY = "metaschema.metapath.function-cache.size";
+  /**
+   * The default maximum size of default caches.
+   */
+  public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+  /**
+   * Create a new cache using the configured default maximum size, which caches the results of all
+   * deterministic functions.
+   * 
+   * @return the new cache
+   */
+  @NotNull
+  public static FunctionResultCache newDefaultInstance() {
+    return new FunctionResultCache(Integer.getInteger(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE));
+  }
+
+  private final int maximumSize;
+  @NotNull
+  private final Predicate<@NotNull IFunction> filter;
+  @NotNull
+  private final Map<@NotNull CallingContext, @NotNull ISequence<?>> cache;
+  @NotNull
+  private final LongAdder hitCount = new LongAdder();
+  @NotNull
+  private final LongAdder missCount = new LongAdder();
+  @NotNull
+  private final LongAdder evictionCount = new LongAdder();
+
+  /**
+   * Construct a new cache that caches the results of all deterministic functions.
+   * 
+   * @param maximumSize
+   *          the maximum number of results to retain
+   */
+  public FunctionResultCache(int maximumSize) {
+    this(maximumSize, function -> true);
+  }
+
+  /**
+   * Construct a new cache.
+   * 
+   * @param maximumSize
+   *          the maximum number of results to retain
+   * @param filter
+   *          identifies the functions whose results are to be cached
+   */
+  public FunctionResultCache(int maximumSize, @NotNull Predicate<@NotNull IFunction> filter) {
+    if (maximumSize < 0) {
+      throw new IllegalArgumentException(String.format("invalid maximum size '%d'", maximumSize));
+    }
+    this.maximumSize = maximumSize;
+    this.filter = ObjectUtils.requireNonNull(filter, "filter");
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      /**
+       * the serial version UID.
+       */
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<@NotNull CallingContext, @NotNull ISequence<?>> eldest) {
+        boolean retval = size() > getMaximumSize();
+        if (retval) {
+          evictionCount.increment();
+        }
+        return retval;
+      }
+    };
+  }
+
+  /**
+   * Get the maximum number of results retained by this cache.
+   * 
+   * @return the maximum size
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  @Override
+  public boolean isCacheable(@NotNull IFunction function) {
+    return maximumSize > 0 && filter.test(function);
+  }
+
+  @Override
+  public ISequence<?> get(@NotNull CallingContext callingContext) {
+    ISequence<?> retval;
+    synchronized (cache) {
+      retval = cache.get(callingContext);
+    }
+
+    if (retval == null) {
+      missCount.increment();
+    } else {
+      hitCount.increment();
+    }
+    return retval;
+  }
+
+  @Override
+  public void put(@NotNull CallingContext callingContext, @NotNull ISequence<?> result) {
+    if (maximumSize > 0) {
+      synchronized (cache) {
+        cache.putIfAbsent(callingContext, result);
+      }
+    }
+  }
+
+  /**
+   * Get the number of results currently cached.
+   * 
+   * @return the number of cached results
+   */
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Remove all cached results. The cache statistics are not reset.
+   */
+  @Override
+  public void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Get the number of lookups that were answered from the cache.
+   * 
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Get the number of lookups that found no cached result.
+   * 
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * Get the number of results that have been evicted to keep the cache within its maximum size.
+   * 
+   * @return the eviction count
+   */
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s[size=%d, maximumSize=%d, hits=%d, misses=%d, evictions=%d]",
+        getClass().getSimpleName(), size(), getMaximumSize(), getHitCount(), getMissCount(), getEvictionCount());
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath;
+
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
+import gov.nist.secauto.metaschema.model.common.metapath.function.DefaultFunction.CallingContext;
+import gov.nist.secauto.metaschema.model.common.metapath.function.IFunction;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A cache of the results of deterministic function calls, used by a {@link DynamicContext}.
+ * <p>
+ * Implementations must be safe for use by multiple threads.
+ */
+public interface IFunctionResultCache {
+  /**
+   * Determine if the results of calls to the provided function are to be cached.
+   * 
+   * @param function
+   *          the deterministic function being called
+   * @return {@code true} if the results are to be cached, or {@code false} otherwise
+   */
+  default boolean isCacheable(@NotNull IFunction function) {
+    return true;
+  }
+
+  /**
+   * Get the cached result of a function call.
+   * 
+   * @param callingContext
+   *          the function and arguments of the call
+   * @return the cached result, or {@code null} if no result is cached
+   */
+  @Nullable
+  ISequence<?> get(@NotNull CallingContext callingContext);
+
+  /**
+   * Cache the result of a function call. If a result is already cached for the call, the existing
+   * result is retained.
+   * 
+   * @param callingContext
+   *          the function and arguments of the call
+   * @param result
+   *          the result of the call
+   */
+  void put(@NotNull CallingContext callingContext, @NotNull ISequence<?> result);
+
+  /**
+   * Remove all cached results.
+   */
+  void clear();
+}
@@ -0,0 +1,233 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath;
+
+import gov.nist.secauto.metaschema.model.common.metapath.ast.AbstractNamedInstanceExpression;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Flag;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.IExpression;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.ModelInstance;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Name;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.RootDoubleSlashPath;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.RootSlashOnlyPath;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.RootSlashPath;
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.instance.AbstractExpressionVisitor;
+import gov.nist.secauto.metaschema.model.common.util.CollectionUtil;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Describes which nodes a Metapath expression can observe, as derived from the expression's AST.
+ * <p>
+ * Metapath expressions can only navigate downward from the context node, or downward from the
+ * document root when the expression contains a root path. An expression can therefore observe a
+ * node only if that node is the context node, or a descendant of the context node or document
+ * whose name is used in a flag or model instance step of the expression. Expressions that use a
+ * wildcard step can observe any descendant.
+ */
+public final class MetapathDependencies {
+  /**
+   * Dependencies that observe no descendant nodes.
+   */
+  @NotNull
+  public static final MetapathDependencies NONE = new MetapathDependencies(CollectionUtil.emptySet(), false, false);
+
+  @NotNull
+  private final Set<@NotNull String> names;
+  private final boolean wildcard;
+  private final boolean absolute;
+
+  /**
+   * Determine the dependencies of the provided expression.
+   * 
+   * @param expression
+   *          the expression to analyze
+   * @return the dependencies
+   */
+  @NotNull
+  public static MetapathDependencies analyze(@NotNull IExpression expression) {
+    DependencyVisitor visitor = new DependencyVisitor();
+    expression.accept(visitor, null);
+    return new MetapathDependencies(CollectionUtil.unmodifiableSet(visitor.names), visitor.wildcard,
+        visitor.absolute);
+  }
+
+  private MetapathDependencies(@NotNull Set<@NotNull String> names, boolean wildcard, boolean absolute) {
+    this.names = names;
+    this.wildcard = wildcard;
+    this.absolute = absolute;
+  }
+
+  /**
+   * Get the flag and model instance names used in steps of the expression.
+   * 
+   * @return the names
+   */
+  @NotNull
+  public Set<@NotNull String> getNames() {
+    return names;
+  }
+
+  /**
+   * Determine if the expression contains a wildcard step, which can match a node of any name.
+   * 
+   * @return {@code true} if a wildcard step is used, or {@code false} otherwise
+   */
+  public boolean isWildcard() {
+    return wildcard;
+  }
+
+  /**
+   * Determine if the expression navigates from the document root, instead of only from the context
+   * node.
+   * 
+   * @return {@code true} if the expression contains a root path, or {@code false} otherwise
+   */
+  public boolean isAbsolute() {
+    return absolute;
+  }
+
+  /**
+   * Determine if the expression can observe a node with the provided name that is reached through
+   * a step of the expression.
+   * 
+   * @param name
+   *          the node name
+   * @return {@code true} if a node with the name can be observed, or {@code false} otherwise
+   */
+  public boolean observes(@NotNull String name) {
+    return wildcard || names.contains(name);
+  }
+
+  /**
+   * Determine if the expression can observe any node with one of the provided names.
+   * 
+   * @param names
+   *          the node names
+   * @return {@code true} if a node with one of the names can be observed, or {@code false} otherwise
+   */
+  public boolean observesAny(@NotNull Collection<@NotNull String> names) {
+    boolean retval = wildcard;
+    if (!retval) {
+      for (String name : names) {
+        if (this.names.contains(name)) {
+          retval = true;
+          break;
+        }
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Combine these dependencies with another set of dependencies.
+   * 
+   * @param other
+   *          the other dependencies
+   * @return the combined dependencies
+   */
+  @NotNull
+  public MetapathDependencies union(@NotNull MetapathDependencies other) {
+    MetapathDependencies retval;
+    if (other == NONE) {
+      retval = this;
+    } else if (this == NONE) {
+      retval = other;
+    } else {
+      Set<@NotNull String> combined = new HashSet<>(names);
+      combined.addAll(other.names);
+      retval = new MetapathDependencies(CollectionUtil.unmodifiableSet(combined), wildcard || other.wildcard,
+          absolute || other.absolute);
+    }
+    return retval;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("names=%s, wildcard=%s, absolute=%s", names, wildcard, absolute);
+  }
+
+  private static class DependencyVisitor
+      extends AbstractExpressionVisitor<Void, Void> {
+    @NotNull
+    private final Set<@NotNull String> names = new HashSet<>();
+    private boolean wildcard;
+    private boolean absolute;
+
+    @Override
+    protected Void aggregateResult(Void result, Void nextResult) {
+      return null;
+    }
+
+    @Override
+    protected Void defaultResult() {
+      return null;
+    }
+
+    private void addName(@NotNull AbstractNamedInstanceExpression<?> expr) {
+      IExpression node = expr.getNode();
+      if (node instanceof Name) {
+        names.add(((Name) node).getValue());
+      } else {
+        wildcard = true;
+      }
+    }
+
+    @Override
+    public Void visitFlag(Flag expr, Void context) {
+      addName(expr);
+      return null;
+    }
+
+    @Override
+    public Void visitModelInstance(ModelInstance expr, Void context) {
+      addName(expr);
+      return null;
+    }
+
+    @Override
+    public Void visitRootSlashOnlyPath(RootSlashOnlyPath expr, Void context) {
+      absolute = true;
+      return null;
+    }
+
+    @Override
+    public Void visitRootSlashPath(RootSlashPath expr, Void context) {
+      absolute = true;
+      return visitChildren(expr, context);
+    }
+
+    @Override
+    public Void visitRootDoubleSlashPath(RootDoubleSlashPath expr, Void context) {
+      absolute = true;
+      return visitChildren(expr, context);
+    }
+  }
+}
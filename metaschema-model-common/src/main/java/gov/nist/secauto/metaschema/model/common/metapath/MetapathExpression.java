@@ -32,7 +32,10 @@ import gov.nist.secauto.metaschema.model.common.metapath.ast.ASTPrinter;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.BuildAstVisitor;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.ContextItem;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.IExpression;
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ExpressionCompiler;
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ICompiledExpression;
 import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.MetaschemaPathEvaluationVisitor;
 import gov.nist.secauto.metaschema.model.common.metapath.evaluate.instance.IInstanceSet;
 import gov.nist.secauto.metaschema.model.common.metapath.evaluate.instance.IMetaschemaContext;
 import gov.nist.secauto.metaschema.model.common.metapath.evaluate.instance.MetaschemaInstanceEvaluationVisitor;
@@ -42,6 +45,7 @@ import gov.nist.secauto.metaschema.model.common.metapath.function.library.FnData
 import gov.nist.secauto.metaschema.model.common.metapath.item.IItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.INumericItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
@@ -52,6 +56,18 @@ public class MetapathExpression {
   @NotNull
   public static final MetapathExpression CONTEXT_NODE = new MetapathExpression(".", new ContextItem());
 
+  /**
+   * Compile the provided Metapath expression.
+   * <p>
+   * Compiled expressions are retained in the process-wide {@link MetapathExpressionCache}, so
+   * compiling the same expression text again will return the same instance.
+   * 
+   * @param path
+   *          the Metapath expression text
+   * @return the compiled expression
+   * @throws MetapathException
+   *           if an error occurred while compiling the expression
+   */
   @NotNull
   public static MetapathExpression compile(@NotNull String path) throws MetapathException {
     @NotNull
@@ -59,25 +75,30 @@ public class MetapathExpression {
     if (".".equals(path)) {
       retval = MetapathExpression.CONTEXT_NODE;
     } else {
-      try {
-        metapath10Lexer lexer = new metapath10Lexer(CharStreams.fromString(path));
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        metapath10Parser parser = new metapath10Parser(tokens);
-        parser.addErrorListener(new FailingErrorListener());
-
-        @SuppressWarnings("null")
-        @NotNull
-        ParseTree tree = parser.expr();
-        // CSTPrinter printer = new CSTPrinter();
-        // printer.print(tree, Arrays.asList(parser.getRuleNames()));
-        retval = new MetapathExpression(path, tree);
-      } catch (Exception ex) {
-        throw new MetapathException(String.format("unable to compile path '%s'", path), ex);
-      }
+      retval = MetapathExpressionCache.getInstance().get(path, MetapathExpression::parse);
     }
     return retval;
   }
 
+  @NotNull
+  private static MetapathExpression parse(@NotNull String path) throws MetapathException {
+    try {
+      metapath10Lexer lexer = new metapath10Lexer(CharStreams.fromString(path));
+      CommonTokenStream tokens = new CommonTokenStream(lexer);
+      metapath10Parser parser = new metapath10Parser(tokens);
+      parser.addErrorListener(new FailingErrorListener());
+
+      @SuppressWarnings("null")
+      @NotNull
+      ParseTree tree = parser.expr();
+      // CSTPrinter printer = new CSTPrinter();
+      // printer.print(tree, Arrays.asList(parser.getRuleNames()));
+      return new MetapathExpression(path, tree);
+    } catch (Exception ex) {
+      throw new MetapathException(String.format("unable to compile path '%s'", path), ex);
+    }
+  }
+
   public enum ResultType {
     NUMBER,
     STRING,
@@ -89,6 +110,9 @@ public class MetapathExpression {
   private final String path;
   @NotNull
   private final IExpression node;
+  @NotNull
+  private final ICompiledExpression compiledExpression;
+  private MetapathDependencies dependencies;
 
   @SuppressWarnings("null")
   public MetapathExpression(@NotNull String path, @NotNull ParseTree tree) {
@@ -98,6 +122,7 @@ public class MetapathExpression {
   public MetapathExpression(@NotNull String path, @NotNull IExpression expr) {
     this.path = path;
     this.node = expr;
+    this.compiledExpression = ExpressionCompiler.compile(expr);
   }
 
   public String getPath() {
@@ -109,6 +134,29 @@ public class MetapathExpression {
     return node;
   }
 
+  /**
+   * Get the compiled form of this expression, which is used to evaluate the expression.
+   * 
+   * @return the compiled expression
+   */
+  @NotNull
+  public ICompiledExpression getCompiledExpression() {
+    return compiledExpression;
+  }
+
+  /**
+   * Get the dependencies of this expression, which describe the nodes the expression can observe.
+   * 
+   * @return the dependencies
+   */
+  @NotNull
+  public synchronized MetapathDependencies getDependencies() {
+    if (dependencies == null) {
+      dependencies = MetapathDependencies.analyze(getASTNode());
+    }
+    return ObjectUtils.notNull(dependencies);
+  }
+
   @Override
   public String toString() {
     return new ASTPrinter().visit(getASTNode());
@@ -152,14 +200,42 @@ public class MetapathExpression {
     return retval;
   }
 
+  /**
+   * Evaluate this expression using the provided node as the focus.
+   * <p>
+   * The resulting sequence is computed lazily, as it is consumed. As a result, an error that occurs
+   * while computing an item is not raised by this method, but by the call that consumes the item.
+   * 
+   * @param item
+   *          the focus of the evaluation
+   * @return the resulting sequence
+   * @throws MetapathException
+   *           if an error occurred while evaluating the expression, other than while computing the
+   *           items of the resulting sequence
+   */
   @NotNull
   public ISequence<?> evaluate(@NotNull INodeItem item) {
     return item.evaluateMetapath(this);
   }
 
+  /**
+   * Evaluate this expression using the provided node as the focus.
+   * <p>
+   * The resulting sequence is computed lazily, as it is consumed. As a result, an error that occurs
+   * while computing an item is not raised by this method, but by the call that consumes the item.
+   * 
+   * @param item
+   *          the focus of the evaluation
+   * @param context
+   *          the dynamic context to use for evaluation
+   * @return the resulting sequence
+   * @throws MetapathException
+   *           if an error occurred while evaluating the expression, other than while computing the
+   *           items of the resulting sequence
+   */
   @NotNull
   public ISequence<?> evaluate(@NotNull INodeItem item, @NotNull DynamicContext context) {
-    return item.evaluateMetapath(this, context);
+    return getCompiledExpression().evaluate(item, new MetaschemaPathEvaluationVisitor(context));
   }
 
   @NotNull
@@ -0,0 +1,211 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A thread-safe, size-bounded cache of compiled Metapath expressions, keyed by the expression text.
+ * <p>
+ * When the cache is full, the least recently used expression is evicted. Compilation of a Metapath
+ * expression does not depend on the static context, so the expression text is sufficient as a key.
+ * <p>
+ * The maximum size of the process-wide cache used by {@link MetapathExpression#compile(String)} can
+ * be configured using the {@value #MAXIMUM_SIZE_PROPERTY} system property. A size of {@code 0}
+ * disables caching.
+ */
+public final class MetapathExpressionCache {
+  /**
+   * The system property used to configure the maximum size of the process-wide cache.
+   */
+  @NotNull
+  public static final String MAXIMUM_SIZE_PROPERTY = "metaschema.metapath.cache.size";
+  /**
+   * The default maximum size of the process-wide cache.
+   */
+  public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+  private static MetapathExpressionCache instance;
+
+  /**
+   * Get the process-wide expression cache.
+   * 
+   * @return the cache instance
+   */
+  @NotNull
+  public static synchronized MetapathExpressionCache getInstance() {
+    if (instance == null) {
+      instance = new MetapathExpressionCache(Integer.getInteger(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE));
+    }
+    return instance;
+  }
+
+  private final int maximumSize;
+  @NotNull
+  private final Map<@NotNull String, @NotNull MetapathExpression> cache;
+  @NotNull
+  private final LongAdder hitCount = new LongAdder();
+  @NotNull
+  private final LongAdder missCount = new LongAdder();
+  @NotNull
+  private final LongAdder evictionCount = new LongAdder();
+
+  /**
+   * Construct a new cache.
+   * 
+   * @param maximumSize
+   *          the maximum number of expressions to retain
+   */
+  public MetapathExpressionCache(int maximumSize) {
+    if (maximumSize < 0) {
+      throw new IllegalArgumentException(String.format("invalid maximum size '%d'", maximumSize));
+    }
+    this.maximumSize = maximumSize;
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      /**
+       * the serial version UID.
+       */
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<@NotNull String, @NotNull MetapathExpression> eldest) {
+        boolean retval = size() > getMaximumSize();
+        if (retval) {
+          evictionCount.increment();
+        }
+        return retval;
+      }
+    };
+  }
+
+  /**
+   * Get the maximum number of expressions retained by this cache.
+   * 
+   * @return the maximum size
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Get the cached expression for the provided path, compiling and caching the expression if it is
+   * not already cached.
+   * <p>
+   * Compilation happens outside of the cache's lock, so concurrent requests for the same uncached
+   * path may each compile the path. Only one of the results is retained.
+   * 
+   * @param path
+   *          the Metapath expression text
+   * @param compiler
+   *          the function used to compile an uncached path
+   * @return the compiled expression
+   * @throws MetapathException
+   *           if an error occurred while compiling the path
+   */
+  @NotNull
+  public MetapathExpression get(@NotNull String path,
+      @NotNull Function<@NotNull String, @NotNull MetapathExpression> compiler) throws MetapathException {
+    MetapathExpression retval;
+    synchronized (cache) {
+      retval = cache.get(path);
+    }
+
+    if (retval == null) {
+      missCount.increment();
+      retval = compiler.apply(path);
+      if (maximumSize > 0) {
+        synchronized (cache) {
+          MetapathExpression existing = cache.putIfAbsent(path, retval);
+          if (existing != null) {
+            retval = existing;
+          }
+        }
+      }
+    } else {
+      hitCount.increment();
+    }
+    return retval;
+  }
+
+  /**
+   * Get the number of expressions currently cached.
+   * 
+   * @return the number of cached expressions
+   */
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Remove all cached expressions. The cache statistics are not reset.
+   */
+  public void clear() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Get the number of requests that were answered from the cache.
+   * 
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Get the number of requests that required the expression to be compiled.
+   * 
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * Get the number of expressions that have been evicted to keep the cache within its maximum size.
+   * 
+   * @return the eviction count
+   */
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s[size=%d, maximumSize=%d, hits=%d, misses=%d, evictions=%d]",
+        getClass().getSimpleName(), size(), getMaximumSize(), getHitCount(), getMissCount(), getEvictionCount());
+  }
+}
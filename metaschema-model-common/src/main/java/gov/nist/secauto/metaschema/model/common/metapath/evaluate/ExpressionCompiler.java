@@ -0,0 +1,582 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath.evaluate;
+
+import gov.nist.secauto.metaschema.model.common.metapath.INodeContext;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Addition;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.And;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.ContextItem;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.DecimalLiteral;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Division;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Flag;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.FunctionCall;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.GeneralComparison;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.IComparison;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.IExpression;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.IntegerDivision;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.IntegerLiteral;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Metapath;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Mod;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.ModelInstance;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Multiplication;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Name;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Negate;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Or;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.ParenthesizedExpression;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.RelativeDoubleSlashPath;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.RelativeSlashPath;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.RootDoubleSlashPath;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.RootSlashOnlyPath;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.RootSlashPath;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Step;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.StringConcat;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.StringLiteral;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Subtraction;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Union;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.ValueComparison;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.Wildcard;
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.instance.IExpressionVisitor;
+import gov.nist.secauto.metaschema.model.common.metapath.function.FunctionUtils;
+import gov.nist.secauto.metaschema.model.common.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.model.common.metapath.function.library.FnBoolean;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IBooleanItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDecimalItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IFlagNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IIntegerItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IModelNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IStringItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compiles a Metapath abstract syntax tree into a tree of {@link ICompiledExpression} closures.
+ * <p>
+ * Path expressions, steps, predicates, comparisons, boolean logic, literals, and function calls
+ * are compiled into closures that operate directly on item lists, without dispatching through the
+ * visitor or building intermediate streams. Any other expression is compiled into a closure that
+ * evaluates the expression using the {@link MetaschemaPathEvaluationVisitor}, so results are the
+ * same as interpreting the expression.
+ */
+public final class ExpressionCompiler
+    implements IExpressionVisitor<ICompiledExpression, Void> {
+  @NotNull
+  private static final ExpressionCompiler INSTANCE = new ExpressionCompiler();
+
+  private ExpressionCompiler() {
+    // disable construction
+  }
+
+  /**
+   * Compile the provided expression.
+   * 
+   * @param expr
+   *          the expression to compile
+   * @return the compiled expression
+   */
+  @NotNull
+  public static ICompiledExpression compile(@NotNull IExpression expr) {
+    return ObjectUtils.notNull(expr.accept(INSTANCE, null));
+  }
+
+  @NotNull
+  private static ICompiledExpression interpret(@NotNull IExpression expr) {
+    return (context, visitor) -> expr.accept(visitor, context);
+  }
+
+  @NotNull
+  private static List<@NotNull ICompiledExpression> compileAll(@NotNull List<@NotNull ? extends IExpression> exprs) {
+    List<@NotNull ICompiledExpression> retval = new ArrayList<>(exprs.size());
+    for (IExpression expr : exprs) {
+      retval.add(compile(ObjectUtils.notNull(expr)));
+    }
+    return retval;
+  }
+
+  @NotNull
+  private static <ITEM_TYPE extends IItem> ISequence<ITEM_TYPE> toSequence(@NotNull List<ITEM_TYPE> items) {
+    ISequence<ITEM_TYPE> retval;
+    if (items.isEmpty()) {
+      retval = ISequence.empty();
+    } else if (items.size() == 1) {
+      retval = new SingletonSequenceImpl<>(ObjectUtils.notNull(items.get(0)));
+    } else {
+      retval = new ListSequenceImpl<>(items, false);
+    }
+    return retval;
+  }
+
+  /**
+   * Replace each item of the provided stream with the items of the stream produced by the mapper.
+   * <p>
+   * This differs from {@link Stream#flatMap(Function)} in that each mapped stream is only traversed as
+   * far as needed. A stream produced by {@link Stream#flatMap(Function)} traverses each mapped stream
+   * completely when it is consumed using an iterator, which is how a lazy {@link ISequence} consumes
+   * its stream. This would compute items that are never used.
+   * 
+   * @param <T>
+   *          the type of the items in the provided stream
+   * @param <R>
+   *          the type of the items in the resulting stream
+   * @param stream
+   *          the stream to map
+   * @param mapper
+   *          the function producing the stream of items that replaces each item
+   * @return the resulting stream
+   */
+  @SuppressWarnings("null")
+  @NotNull
+  private static <T, R> Stream<R> flatMap(@NotNull Stream<T> stream,
+      @NotNull Function<? super T, ? extends Stream<? extends R>> mapper) {
+    Spliterator<T> outer = stream.spliterator();
+    Spliterator<R> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+      private Spliterator<? extends R> inner;
+
+      @Override
+      public boolean tryAdvance(Consumer<? super R> action) {
+        boolean retval = false;
+        boolean hasNext = true;
+        while (!retval && hasNext) {
+          if (inner != null && inner.tryAdvance(action)) {
+            retval = true;
+          } else {
+            inner = null;
+            hasNext = outer.tryAdvance(item -> inner = mapper.apply(item).spliterator());
+          }
+        }
+        return retval;
+      }
+    };
+    return StreamSupport.stream(spliterator, false).onClose(stream::close);
+  }
+
+  @SuppressWarnings("unchecked")
+  @NotNull
+  private static Stream<@NotNull ? extends INodeItem> toNodeItems(@NotNull ISequence<?> sequence) {
+    return (Stream<@NotNull ? extends INodeItem>) sequence.asStream();
+  }
+
+  /**
+   * Searches the context node and all descendant nodes for matches of the provided expression, adding
+   * the matches in document order. The document's name index is used if possible.
+   * 
+   * @param expr
+   *          the expression to search with
+   * @param compiled
+   *          the compiled form of {@code expr}
+   * @param context
+   *          the node to search
+   * @param visitor
+   *          the visitor used for evaluation
+   * @param result
+   *          the list to add matching nodes to
+   */
+  private static void search(@NotNull IExpression expr, @NotNull ICompiledExpression compiled,
+      @NotNull INodeContext context, @NotNull MetaschemaPathEvaluationVisitor visitor,
+      @NotNull List<INodeItem> result) {
+    List<@NotNull ? extends INodeItem> indexed = MetaschemaPathEvaluationVisitor.searchIndex(expr, context);
+    if (indexed == null) {
+      search(compiled, context, visitor, result);
+    } else {
+      result.addAll(indexed);
+    }
+  }
+
+  /**
+   * Recursively evaluates the provided expression against the context node and all descendant
+   * nodes, adding the matches in document order.
+   * 
+   * @param expr
+   *          the expression to search with
+   * @param context
+   *          the node to search
+   * @param visitor
+   *          the visitor used for evaluation
+   * @param result
+   *          the list to add matching nodes to
+   */
+  private static void search(@NotNull ICompiledExpression expr, @NotNull INodeContext context,
+      @NotNull MetaschemaPathEvaluationVisitor visitor, @NotNull List<INodeItem> result) {
+    // check the current node
+    toNodeItems(expr.evaluate(context, visitor)).forEachOrdered(result::add);
+
+    // then check the flags and model children
+    for (IFlagNodeItem flag : context.getFlags()) {
+      search(expr, ObjectUtils.notNull(flag), visitor, result);
+    }
+
+    for (List<@NotNull ? extends IModelNodeItem> modelItems : context.getModelItems()) {
+      for (IModelNodeItem modelItem : modelItems) {
+        search(expr, ObjectUtils.notNull(modelItem), visitor, result);
+      }
+    }
+  }
+
+  @Override
+  public ICompiledExpression visitAnd(And expr, Void context) {
+    List<@NotNull ICompiledExpression> children = compileAll(expr.getChildren());
+    return (focus, visitor) -> {
+      boolean retval = true;
+      for (ICompiledExpression child : children) {
+        if (!FnBoolean.fnBooleanAsPrimitive(child.evaluate(focus, visitor))) {
+          retval = false;
+          break;
+        }
+      }
+      return ISequence.of(IBooleanItem.valueOf(retval));
+    };
+  }
+
+  @Override
+  public ICompiledExpression visitOr(Or expr, Void context) {
+    List<@NotNull ICompiledExpression> children = compileAll(expr.getChildren());
+    return (focus, visitor) -> {
+      boolean retval = false;
+      for (ICompiledExpression child : children) {
+        if (FnBoolean.fnBooleanAsPrimitive(child.evaluate(focus, visitor))) {
+          retval = true;
+          break;
+        }
+      }
+      return ISequence.of(IBooleanItem.valueOf(retval));
+    };
+  }
+
+  @Override
+  public ICompiledExpression visitValueComparison(ValueComparison expr, Void context) {
+    ICompiledExpression left = compile(expr.getLeft());
+    ICompiledExpression right = compile(expr.getRight());
+    IComparison.Operator operator = ObjectUtils.notNull(expr.getOperator());
+    return (focus, visitor) -> {
+      IItem leftItem = FunctionUtils.getFirstItem(left.evaluate(focus, visitor), false);
+      if (leftItem == null) {
+        return ISequence.empty();
+      }
+      IItem rightItem = FunctionUtils.getFirstItem(right.evaluate(focus, visitor), false);
+      if (rightItem == null) {
+        return ISequence.empty();
+      }
+      return visitor.valueCompare(leftItem, operator, rightItem);
+    };
+  }
+
+  @Override
+  public ICompiledExpression visitGeneralComparison(GeneralComparison expr, Void context) {
+    ICompiledExpression left = compile(expr.getLeft());
+    ICompiledExpression right = compile(expr.getRight());
+    IComparison.Operator operator = ObjectUtils.notNull(expr.getOperator());
+    return (focus, visitor) -> visitor.generalCompare(
+        left.evaluate(focus, visitor),
+        operator,
+        right.evaluate(focus, visitor));
+  }
+
+  @Override
+  public ICompiledExpression visitContextItem(ContextItem expr, Void context) {
+    return (focus, visitor) -> ISequence.of(focus.getContextNodeItem());
+  }
+
+  @Override
+  public ICompiledExpression visitStringLiteral(StringLiteral expr, Void context) {
+    ISequence<IStringItem> value = ISequence.of(IStringItem.valueOf(expr.getValue()));
+    return (focus, visitor) -> value;
+  }
+
+  @Override
+  public ICompiledExpression visitIntegerLiteral(IntegerLiteral expr, Void context) {
+    ISequence<IIntegerItem> value = ISequence.of(IIntegerItem.valueOf(expr.getValue()));
+    return (focus, visitor) -> value;
+  }
+
+  @Override
+  public ICompiledExpression visitDecimalLiteral(DecimalLiteral expr, Void context) {
+    ISequence<IDecimalItem> value = ISequence.of(IDecimalItem.valueOf(expr.getValue()));
+    return (focus, visitor) -> value;
+  }
+
+  @Override
+  public ICompiledExpression visitFlag(Flag expr, Void context) {
+    ICompiledExpression retval;
+    if (expr.isName()) {
+      String name = ((Name) expr.getNode()).getValue();
+      retval = (focus, visitor) -> ISequence.of(focus.getFlagByName(name));
+    } else {
+      // wildcard
+      retval = (focus, visitor) -> {
+        Collection<@NotNull ? extends IFlagNodeItem> flags = focus.getFlags();
+        return toSequence(new ArrayList<>(flags));
+      };
+    }
+    return retval;
+  }
+
+  @Override
+  public ICompiledExpression visitModelInstance(ModelInstance expr, Void context) {
+    ICompiledExpression retval;
+    if (expr.isName()) {
+      String name = ((Name) expr.getNode()).getValue();
+      retval = (focus, visitor) -> {
+        @SuppressWarnings("unchecked")
+        List<@NotNull IModelNodeItem> items = (List<@NotNull IModelNodeItem>) focus.getModelItemsByName(name);
+        return toSequence(items);
+      };
+    } else {
+      // wildcard
+      retval = (focus, visitor) -> {
+        List<@NotNull IModelNodeItem> items = new ArrayList<>();
+        for (List<@NotNull ? extends IModelNodeItem> modelItems : focus.getModelItems()) {
+          items.addAll(modelItems);
+        }
+        return toSequence(items);
+      };
+    }
+    return retval;
+  }
+
+  @Override
+  public ICompiledExpression visitStep(Step expr, Void context) {
+    ICompiledExpression step = compile(expr.getStep());
+
+    List<@NotNull IExpression> predicateExprs = expr.getPredicates();
+    if (predicateExprs.isEmpty()) {
+      return step;
+    }
+
+    int size = predicateExprs.size();
+    // positional predicates are represented by a non-null position
+    BigInteger[] positions = new BigInteger[size];
+    ICompiledExpression[] predicates = new ICompiledExpression[size];
+    for (int i = 0; i < size; i++) {
+      IExpression predicateExpr = predicateExprs.get(i);
+      if (predicateExpr instanceof IntegerLiteral) {
+        positions[i] = ((IntegerLiteral) predicateExpr).getValue();
+      } else {
+        predicates[i] = compile(ObjectUtils.notNull(predicateExpr));
+      }
+    }
+
+    // an item can only match if its position matches every positional predicate, so items after the
+    // lowest position never need to be computed
+    long limit = Long.MAX_VALUE;
+    for (BigInteger position : positions) {
+      if (position != null && position.bitLength() < Long.SIZE) {
+        limit = Math.min(limit, Math.max(0, position.longValue()));
+      }
+    }
+    long maxSize = limit;
+
+    return (focus, visitor) -> {
+      int[] position = { 0 };
+      Stream<? extends IItem> items = step.evaluate(focus, visitor).asStream();
+      if (maxSize < Long.MAX_VALUE) {
+        items = items.limit(maxSize);
+      }
+      return ISequence.of(items.filter(item -> matchesPredicates(ObjectUtils.notNull(item), ++position[0], positions,
+          predicates, visitor)));
+    };
+  }
+
+  private static boolean matchesPredicates(@NotNull IItem item, int position, @NotNull BigInteger[] positions,
+      @NotNull ICompiledExpression[] predicates, @NotNull MetaschemaPathEvaluationVisitor visitor) {
+    boolean retval = true;
+    for (int i = 0; i < predicates.length; i++) {
+      BigInteger predicatePosition = positions[i];
+      if (predicatePosition != null) {
+        // it is a match if the position matches
+        retval = predicatePosition.equals(BigInteger.valueOf(position));
+      } else {
+        INodeContext childContext = (INodeContext) item;
+        retval = FnBoolean.fnBooleanAsPrimitive(predicates[i].evaluate(childContext, visitor));
+      }
+
+      if (!retval) {
+        break;
+      }
+    }
+    return retval;
+  }
+
+  @Override
+  public ICompiledExpression visitRelativeSlashPath(RelativeSlashPath expr, Void context) {
+    ICompiledExpression left = compile(expr.getLeft());
+    ICompiledExpression right = compile(expr.getRight());
+    // evaluate the right path in the context of each left node, as the results are consumed
+    return (focus, visitor) -> ISequence.of(flatMap(toNodeItems(left.evaluate(focus, visitor)),
+        node -> right.evaluate(ObjectUtils.notNull(node), visitor).asStream()));
+  }
+
+  @Override
+  public ICompiledExpression visitRelativeDoubleSlashPath(RelativeDoubleSlashPath expr, Void context) {
+    ICompiledExpression left = compile(expr.getLeft());
+    IExpression rightExpr = ObjectUtils.notNull(expr.getRight());
+    ICompiledExpression right = compile(rightExpr);
+    // search the right path in the context of each left node, as the results are consumed
+    return (focus, visitor) -> ISequence.of(flatMap(toNodeItems(left.evaluate(focus, visitor)),
+        node -> {
+          List<INodeItem> result = new ArrayList<>();
+          search(rightExpr, right, ObjectUtils.notNull(node), visitor, result);
+          return result.stream();
+        }));
+  }
+
+  @Override
+  public ICompiledExpression visitRootSlashOnlyPath(RootSlashOnlyPath expr, Void context) {
+    return (focus, visitor) -> focus instanceof IDocumentNodeItem
+        ? ISequence.of((IDocumentNodeItem) focus)
+        : ISequence.empty();
+  }
+
+  @Override
+  public ICompiledExpression visitRootSlashPath(RootSlashPath expr, Void context) {
+    ICompiledExpression node = compile(expr.getNode());
+    return (focus, visitor) -> {
+      if (!(focus.getContextNodeItem() instanceof IDocumentNodeItem)) {
+        throw new UnsupportedOperationException("root searching is not supported on non-document nodes");
+      }
+      return node.evaluate(focus, visitor);
+    };
+  }
+
+  @Override
+  public ICompiledExpression visitRootDoubleSlashPath(RootDoubleSlashPath expr, Void context) {
+    IExpression nodeExpr = ObjectUtils.notNull(expr.getNode());
+    ICompiledExpression node = compile(nodeExpr);
+    return (focus, visitor) -> {
+      List<INodeItem> result = new ArrayList<>();
+      search(nodeExpr, node, focus, visitor, result);
+      return toSequence(result);
+    };
+  }
+
+  @Override
+  public ICompiledExpression visitFunctionCall(FunctionCall expr, Void context) {
+    IFunction function;
+    try {
+      function = expr.getFunction();
+    } catch (UnsupportedOperationException ex) {
+      // defer the error until the function is called
+      return interpret(expr);
+    }
+
+    List<@NotNull ICompiledExpression> arguments = compileAll(expr.getChildren());
+    return (focus, visitor) -> {
+      List<@NotNull ISequence<?>> argumentResults = new ArrayList<>(arguments.size());
+      for (ICompiledExpression argument : arguments) {
+        argumentResults.add(argument.evaluate(focus, visitor));
+      }
+      return function.execute(argumentResults, visitor.getDynamicContext(), focus);
+    };
+  }
+
+  @Override
+  public ICompiledExpression visitMetapath(Metapath expr, Void context) {
+    List<@NotNull ICompiledExpression> children = compileAll(expr.getChildren());
+    if (children.size() == 1) {
+      return children.get(0);
+    }
+
+    return (focus, visitor) -> ISequence.of(flatMap(children.stream(),
+        child -> child.evaluate(focus, visitor).asStream()));
+  }
+
+  @Override
+  public ICompiledExpression visitUnion(Union expr, Void context) {
+    List<@NotNull ICompiledExpression> children = compileAll(expr.getChildren());
+    return (focus, visitor) -> ISequence.of(flatMap(children.stream(),
+        child -> child.evaluate(focus, visitor).asStream())
+            .distinct());
+  }
+
+  @Override
+  public ICompiledExpression visitParenthesizedExpression(ParenthesizedExpression expr, Void context) {
+    return compile(expr.getChild());
+  }
+
+  @Override
+  public ICompiledExpression visitAddition(Addition expr, Void context) {
+    return interpret(expr);
+  }
+
+  @Override
+  public ICompiledExpression visitSubtraction(Subtraction expr, Void context) {
+    return interpret(expr);
+  }
+
+  @Override
+  public ICompiledExpression visitMultiplication(Multiplication expr, Void context) {
+    return interpret(expr);
+  }
+
+  @Override
+  public ICompiledExpression visitDivision(Division expr, Void context) {
+    return interpret(expr);
+  }
+
+  @Override
+  public ICompiledExpression visitIntegerDivision(IntegerDivision expr, Void context) {
+    return interpret(expr);
+  }
+
+  @Override
+  public ICompiledExpression visitMod(Mod expr, Void context) {
+    return interpret(expr);
+  }
+
+  @Override
+  public ICompiledExpression visitNegate(Negate expr, Void context) {
+    return interpret(expr);
+  }
+
+  @Override
+  public ICompiledExpression visitStringConcat(StringConcat expr, Void context) {
+    return interpret(expr);
+  }
+
+  @Override
+  public ICompiledExpression visitName(Name expr, Void context) {
+    return interpret(expr);
+  }
+
+  @Override
+  public ICompiledExpression visitWildcard(Wildcard expr, Void context) {
+    return interpret(expr);
+  }
+}
@@ -89,6 +89,20 @@ public interface ISequence<ITEM_TYPE extends IItem> {
 
   int size();
 
+  /**
+   * Get the item at the provided position in the sequence. Lazily evaluated sequences only compute
+   * the items up to the requested position.
+   * 
+   * @param index
+   *          the zero-based position of the item
+   * @return the item, or {@code null} if the sequence has no item at the position
+   */
+  @Nullable
+  default ITEM_TYPE getItem(int index) {
+    List<@NotNull ITEM_TYPE> items = asList();
+    return index < items.size() ? items.get(index) : null;
+  }
+
   @NotNull
   public static <ITEM_TYPE extends IItem> Collector<ITEM_TYPE, ?, ISequence<ITEM_TYPE>> toSequence() {
 
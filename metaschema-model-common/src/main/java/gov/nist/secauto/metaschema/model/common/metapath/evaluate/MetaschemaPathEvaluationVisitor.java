@@ -28,6 +28,7 @@ package gov.nist.secauto.metaschema.model.common.metapath.evaluate;
 
 import gov.nist.secauto.metaschema.model.common.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.model.common.metapath.INodeContext;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.AbstractNamedInstanceExpression;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.Addition;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.And;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.ContextItem;
@@ -66,6 +67,7 @@ import gov.nist.secauto.metaschema.model.common.metapath.function.OperationFunct
 import gov.nist.secauto.metaschema.model.common.metapath.function.library.FnBoolean;
 import gov.nist.secauto.metaschema.model.common.metapath.function.library.FnData;
 import gov.nist.secauto.metaschema.model.common.metapath.function.library.FnNot;
+import gov.nist.secauto.metaschema.model.common.metapath.item.DocumentNameIndex;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IAnyAtomicItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IBase64BinaryItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IBooleanItem;
@@ -84,8 +86,10 @@ import gov.nist.secauto.metaschema.model.common.metapath.item.INumericItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IStringItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IUntypedAtomicItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IYearMonthDurationItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.math.BigInteger;
 import java.util.List;
@@ -151,9 +155,25 @@ public class MetaschemaPathEvaluationVisitor
       return ISequence.empty();
     }
 
+    return valueCompare(leftItem, expr.getOperator(), rightItem);
+  }
+
+  /**
+   * Perform a value comparison on the provided items.
+   * 
+   * @param leftItem
+   *          the left operand
+   * @param operator
+   *          the comparison operator
+   * @param rightItem
+   *          the right operand
+   * @return a sequence containing the boolean result of the comparison, or an empty sequence
+   */
+  @NotNull
+  protected ISequence<? extends IBooleanItem> valueCompare(@NotNull IItem leftItem,
+      @NotNull IComparison.Operator operator, @NotNull IItem rightItem) {
     IAnyAtomicItem left = FnData.fnDataItem(leftItem);
     IAnyAtomicItem right = FnData.fnDataItem(rightItem);
-    IComparison.Operator operator = expr.getOperator();
 
     try {
       return resultOrEmptySequence(compare(left, operator, right));
@@ -430,9 +450,26 @@ public class MetaschemaPathEvaluationVisitor
   @Override
   public @NotNull ISequence<? extends IBooleanItem> visitGeneralComparison(@NotNull GeneralComparison expr,
       @NotNull INodeContext context) {
-    ISequence<? extends IAnyAtomicItem> leftItems = FnData.fnData(expr.getLeft().accept(this, context));
-    ISequence<? extends IAnyAtomicItem> rightItems = FnData.fnData(expr.getRight().accept(this, context));
-    IComparison.Operator operator = expr.getOperator();
+    return generalCompare(expr.getLeft().accept(this, context), expr.getOperator(),
+        expr.getRight().accept(this, context));
+  }
+
+  /**
+   * Perform a general comparison on the provided sequences.
+   * 
+   * @param leftSequence
+   *          the left operand
+   * @param operator
+   *          the comparison operator
+   * @param rightSequence
+   *          the right operand
+   * @return a sequence containing the boolean result of the comparison
+   */
+  @NotNull
+  protected ISequence<? extends IBooleanItem> generalCompare(@NotNull ISequence<?> leftSequence,
+      @NotNull IComparison.Operator operator, @NotNull ISequence<?> rightSequence) {
+    ISequence<? extends IAnyAtomicItem> leftItems = FnData.fnData(leftSequence);
+    ISequence<? extends IAnyAtomicItem> rightItems = FnData.fnData(rightSequence);
 
     IBooleanItem retval = IBooleanItem.FALSE;
     // TODO: apply data on each iteration
@@ -643,18 +680,45 @@ public class MetaschemaPathEvaluationVisitor
   @NotNull
   protected Stream<? extends INodeItem> search(@NotNull IExpression expr, @NotNull INodeContext context) {
     Stream<? extends INodeItem> retval;
-    // if (expr instanceof Flag) {
-    // // check instances as a flag
-    // retval = searchFlags((Flag) expr, context);
-    // } else if (expr instanceof ModelInstance) {
-    // // check instances as a ModelInstance
-    // retval = searchModelInstances((ModelInstance) expr, context);
-    // } else {
-    // recurse tree
-    // searchExpression(expr, context);
-    retval = searchExpression(expr, context);
-    ;
-    // }
+    List<@NotNull ? extends INodeItem> indexed = searchIndex(expr, context);
+    if (indexed == null) {
+      // recurse tree
+      retval = searchExpression(expr, context);
+    } else {
+      retval = indexed.stream();
+    }
+    return retval;
+  }
+
+  /**
+   * Attempt to answer a descendant search using the name index of the document containing the
+   * context node. Only searches for a named {@link ModelInstance} or {@link Flag} can be answered
+   * using the index.
+   * 
+   * @param expr
+   *          the search expression
+   * @param context
+   *          the node to search
+   * @return the matching nodes, in the same order as {@link #searchExpression(IExpression, INodeContext)}
+   *         would produce them, or {@code null} if the search could not be answered using an index
+   * @see DocumentNameIndex
+   */
+  @Nullable
+  static List<@NotNull ? extends INodeItem> searchIndex(@NotNull IExpression expr, @NotNull INodeContext context) {
+    List<@NotNull ? extends INodeItem> retval = null;
+    if (expr instanceof ModelInstance || expr instanceof Flag) {
+      AbstractNamedInstanceExpression<?> namedExpr = (AbstractNamedInstanceExpression<?>) expr;
+      if (namedExpr.isName()) {
+        INodeItem contextItem = context.getContextNodeItem();
+        DocumentNameIndex index = DocumentNameIndex.forNodeItem(contextItem);
+        if (index != null) {
+          String name = ObjectUtils.notNull(((Name) namedExpr.getNode()).getValue());
+          retval = expr instanceof Flag
+              ? index.getDescendantOrSelfFlags(contextItem, name)
+              : index.getDescendantModelItems(contextItem, name);
+        }
+      }
+    }
     return retval;
   }
 
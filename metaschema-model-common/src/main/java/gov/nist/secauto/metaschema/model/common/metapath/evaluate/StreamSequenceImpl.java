@@ -30,30 +30,81 @@ import gov.nist.secauto.metaschema.model.common.metapath.item.IItem;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/**
+ * A sequence backed by a lazily evaluated stream.
+ * <p>
+ * Items are pulled from the stream only as they are needed, and are retained as they are pulled so
+ * that the sequence can be consumed more than once. Operations that only need a prefix of the
+ * sequence, such as {@link #isEmpty()} or {@link #getItem(int)}, stop pulling once the prefix is
+ * available. This allows the remaining items to never be computed.
+ * <p>
+ * An error that occurs while computing an item is raised by the operation that pulls the item from
+ * the stream, not when the sequence is created. The items pulled before the error remain available.
+ *
+ * @param <ITEM_TYPE>
+ *          the type of the items in the sequence
+ */
 class StreamSequenceImpl<ITEM_TYPE extends IItem> implements ISequence<ITEM_TYPE> {
-  private Stream<ITEM_TYPE> stream;
-  private List<ITEM_TYPE> list;
+  private Iterator<ITEM_TYPE> source;
+  @NotNull
+  private final List<@NotNull ITEM_TYPE> buffer = new ArrayList<>();
+  private List<@NotNull ITEM_TYPE> list;
 
   public StreamSequenceImpl(@NotNull Stream<ITEM_TYPE> stream) {
     Objects.requireNonNull(stream, "stream");
-    this.stream = stream;
+    this.source = stream.iterator();
+  }
+
+  /**
+   * Pull items from the stream until the requested number of items are available or the stream is
+   * exhausted.
+   * 
+   * @param count
+   *          the number of items needed
+   * @return {@code true} if the requested number of items are available, or {@code false} otherwise
+   */
+  private synchronized boolean fill(int count) {
+    while (buffer.size() < count && source != null) {
+      if (source.hasNext()) {
+        buffer.add(Objects.requireNonNull(source.next(), "item"));
+      } else {
+        source = null;
+      }
+    }
+    return buffer.size() >= count;
+  }
+
+  private synchronized ITEM_TYPE getBuffered(int index) {
+    return buffer.get(index);
   }
 
   @Override
   public boolean isEmpty() {
-    return asList().isEmpty();
+    return !fill(1);
+  }
+
+  @Override
+  public ITEM_TYPE getItem(int index) {
+    return fill(index + 1) ? getBuffered(index) : null;
   }
 
   @SuppressWarnings("null")
   @Override
   public synchronized List<@NotNull ITEM_TYPE> asList() {
     if (list == null) {
-      list = asStream().collect(Collectors.toUnmodifiableList());
+      fill(Integer.MAX_VALUE);
+      list = Collections.unmodifiableList(buffer);
     }
     return list;
   }
@@ -61,16 +112,13 @@ class StreamSequenceImpl<ITEM_TYPE extends IItem> implements ISequence<ITEM_TYPE
   @SuppressWarnings("null")
   @Override
   public synchronized Stream<@NotNull ITEM_TYPE> asStream() {
-    @NotNull
     Stream<@NotNull ITEM_TYPE> retval;
-    if (list == null) {
-      if (stream == null) {
-        throw new UnsupportedOperationException("stream is already consumed");
-      }
-      retval = stream;
-      stream = null;
+    if (list == null && source != null) {
+      retval = StreamSupport.stream(
+          Spliterators.spliteratorUnknownSize(new BufferingIterator(), Spliterator.ORDERED | Spliterator.NONNULL),
+          false);
     } else {
-      retval = list.stream();
+      retval = buffer.stream();
     }
     return retval;
   }
@@ -102,4 +150,24 @@ class StreamSequenceImpl<ITEM_TYPE extends IItem> implements ISequence<ITEM_TYPE
   public int hashCode() {
     return asList().hashCode();
   }
+
+  /**
+   * Iterates over the sequence, pulling items from the stream as needed.
+   */
+  private class BufferingIterator implements Iterator<@NotNull ITEM_TYPE> {
+    private int index;
+
+    @Override
+    public boolean hasNext() {
+      return fill(index + 1);
+    }
+
+    @Override
+    public ITEM_TYPE next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return getBuffered(index++);
+    }
+  }
 }
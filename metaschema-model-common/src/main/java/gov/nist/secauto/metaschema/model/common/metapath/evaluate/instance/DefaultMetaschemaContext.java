@@ -37,6 +37,7 @@ import gov.nist.secauto.metaschema.model.common.metapath.ast.IExpression;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.ModelInstance;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -103,12 +104,21 @@ public class DefaultMetaschemaContext implements IMetaschemaContext {
 
   protected Collection<? extends IInstance> searchModelInstances(Collection<? extends IInstance> instances,
       Predicate<IInstance> searchFilter, boolean recurse) {
+    return searchModelInstances(instances, searchFilter, recurse, new HashSet<>());
+  }
+
+  private Collection<? extends IInstance> searchModelInstances(Collection<? extends IInstance> instances,
+      Predicate<IInstance> searchFilter, boolean recurse, Set<IAssemblyDefinition> visited) {
     Set<IInstance> retval = new LinkedHashSet<>();
     for (IInstance instance : instances) {
       // get all instances
       Collection<? extends IInstance> modelInstances = null;
       if (instance instanceof IAssemblyInstance) {
-        modelInstances = ((IAssemblyInstance) instance).getDefinition().getModelInstances();
+        IAssemblyDefinition definition = ((IAssemblyInstance) instance).getDefinition();
+        // a recursive model would otherwise be searched forever
+        if (!recurse || visited.add(definition)) {
+          modelInstances = definition.getNamedModelInstances();
+        }
       }
 
       if (modelInstances != null && !modelInstances.isEmpty()) {
@@ -117,7 +127,7 @@ public class DefaultMetaschemaContext implements IMetaschemaContext {
 
         if (recurse) {
           // recurse
-          retval.addAll(searchModelInstances(modelInstances, searchFilter, recurse));
+          retval.addAll(searchModelInstances(modelInstances, searchFilter, recurse, visited));
         }
       }
     }
@@ -127,14 +137,23 @@ public class DefaultMetaschemaContext implements IMetaschemaContext {
   protected Collection<? extends IInstance> searchExpression(MetaschemaInstanceEvaluationVisitor visitor,
       IExpression expr,
       Collection<? extends IInstance> instances) {
+    return searchExpression(visitor, expr, instances, new HashSet<>());
+  }
+
+  private Collection<? extends IInstance> searchExpression(MetaschemaInstanceEvaluationVisitor visitor,
+      IExpression expr,
+      Collection<? extends IInstance> instances,
+      Set<IAssemblyDefinition> visited) {
     Set<IInstance> retval = new LinkedHashSet<>();
     for (IInstance instance : instances) {
       // get all instances
       Collection<IInstance> modelInstances = new LinkedList<>();
       if (instance instanceof IAssemblyInstance) {
-        Collection<? extends IInstance> resultingInstances
-            = ((IAssemblyInstance) instance).getDefinition().getModelInstances();
-        modelInstances.addAll(resultingInstances);
+        IAssemblyDefinition definition = ((IAssemblyInstance) instance).getDefinition();
+        // a recursive model would otherwise be searched forever
+        if (visited.add(definition)) {
+          modelInstances.addAll(definition.getNamedModelInstances());
+        }
       }
 
       if (!modelInstances.isEmpty()) {
@@ -144,7 +163,7 @@ public class DefaultMetaschemaContext implements IMetaschemaContext {
                 .getInstances());
 
         // recurse
-        retval.addAll(searchExpression(visitor, expr, modelInstances));
+        retval.addAll(searchExpression(visitor, expr, modelInstances, visited));
       }
     }
     return retval;
@@ -37,6 +37,7 @@ import gov.nist.secauto.metaschema.model.common.metapath.item.IItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IStringItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IUntypedAtomicItem;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -188,13 +189,14 @@ public class DefaultFunction
       @SuppressWarnings("null")
       ISequence<?> parameter = parametersIterator.next();
 
-      int size = parameter.size();
+      // only compute as many items as are needed to check the occurrence, and the size when reporting
+      // an error
       Occurrence occurrence = argument.getSequenceType().getOccurrence();
       switch (occurrence) {
       case ONE: {
-        if (size != 1) {
+        if (parameter.isEmpty() || parameter.getItem(1) != null) {
           throw new InvalidTypeMetapathException(
-              String.format("a sequence of one expected, but found '%d'", size));
+              String.format("a sequence of one expected, but found '%d'", parameter.size()));
         }
 
         IItem item = FunctionUtils.getFirstItem(parameter, true);
@@ -202,9 +204,9 @@ public class DefaultFunction
         break;
       }
       case ZERO_OR_ONE: {
-        if (size > 1) {
+        if (parameter.getItem(1) != null) {
           throw new InvalidTypeMetapathException(
-              String.format("a sequence of zero or one expected, but found '%d'", size));
+              String.format("a sequence of zero or one expected, but found '%d'", parameter.size()));
         }
 
         IItem item = FunctionUtils.getFirstItem(parameter, false);
@@ -212,15 +214,15 @@ public class DefaultFunction
         break;
       }
       case ONE_OR_MORE:
-        if (size < 1) {
+        if (parameter.isEmpty()) {
           throw new InvalidTypeMetapathException(
-              String.format("a sequence of zero or more expected, but found '%d'", size));
+              String.format("a sequence of zero or more expected, but found '%d'", parameter.size()));
         }
         break;
       case ZERO:
-        if (size != 0) {
+        if (!parameter.isEmpty()) {
           throw new InvalidTypeMetapathException(
-              String.format("an empty sequence expected, but found '%d'", size));
+              String.format("an empty sequence expected, but found '%d'", parameter.size()));
         }
         break;
       case ZERO_OR_MORE:
@@ -228,17 +230,24 @@ public class DefaultFunction
         // do nothing
       }
 
-      Class<? extends IItem> argumentClass = argument.getSequenceType().getType();
-
-      // apply function conversion and type promotion to the parameter
-      parameter = convertSequence(argument, parameter);
-
-      // check resulting values
-      for (IItem item : parameter.asList()) {
-        Class<? extends IItem> itemClass = item.getClass();
-        if (!argumentClass.isAssignableFrom(itemClass)) {
-          throw new InvalidTypeMetapathException(
-              String.format("The type '%s' is not a subtype of '%s'", itemClass.getName(), argumentClass.getName()));
+      if (function.isFirstItemOnly()) {
+        // convert the items as they are consumed
+        IArgument itemArgument = argument;
+        parameter = ISequence.of(parameter.asStream().map(item -> convertItem(itemArgument, item)));
+      } else {
+        Class<? extends IItem> argumentClass = argument.getSequenceType().getType();
+
+        // apply function conversion and type promotion to the parameter
+        parameter = convertSequence(argument, parameter);
+
+        // check resulting values
+        for (IItem item : parameter.asList()) {
+          Class<? extends IItem> itemClass = item.getClass();
+          if (!argumentClass.isAssignableFrom(itemClass)) {
+            throw new InvalidTypeMetapathException(
+                String.format("The type '%s' is not a subtype of '%s'", itemClass.getName(),
+                    argumentClass.getName()));
+          }
         }
       }
 
@@ -264,36 +273,50 @@ public class DefaultFunction
     if (sequence.isEmpty()) {
       retval = ISequence.empty();
     } else {
-      ISequenceType requiredSequenceType = argument.getSequenceType();
-      Class<? extends IItem> requiredSequenceTypeClass = requiredSequenceType.getType();
-
       List<@NotNull IItem> result = new ArrayList<>(sequence.size());
-
-      boolean atomize = IAnyAtomicItem.class.isAssignableFrom(requiredSequenceTypeClass);
-
       for (IItem item : sequence.asList()) {
-        if (atomize) {
-          item = FnData.fnDataItem(item);
+        result.add(convertItem(argument, ObjectUtils.notNull(item)));
+      }
+      retval = ISequence.of(result);
+    }
+    return retval;
+  }
 
-          if (IUntypedAtomicItem.class.isInstance(item)) { // NOPMD
-            // TODO: apply cast to atomic type
-          }
+  /**
+   * Based on XPath 3.1 <a href="https://www.w3.org/TR/xpath-31/#dt-function-conversion">function
+   * conversion</a> rules.
+   * 
+   * @param argument
+   *          the function argument signature details
+   * @param item
+   *          the item to convert
+   * @return the converted item
+   */
+  @NotNull
+  protected static IItem convertItem(@NotNull IArgument argument, @NotNull IItem item) {
+    ISequenceType requiredSequenceType = argument.getSequenceType();
+    Class<? extends IItem> requiredSequenceTypeClass = requiredSequenceType.getType();
 
-          // promote URIs to strings if a string is required
-          if (IStringItem.class.equals(requiredSequenceTypeClass) && IAnyUriItem.class.isInstance(item)) {
-            item = IStringItem.cast((IAnyUriItem) item);
-          }
-        }
+    IItem retval = item;
+    if (IAnyAtomicItem.class.isAssignableFrom(requiredSequenceTypeClass)) {
+      // atomize
+      retval = FnData.fnDataItem(retval);
 
-        // item = requiredSequenceType.
-        if (!requiredSequenceTypeClass.isInstance(item)) {
-          throw new InvalidTypeMetapathException(
-              String.format("The type '%s' is not a subtype of '%s'", item.getClass().getName(),
-                  requiredSequenceTypeClass.getName()));
-        }
-        result.add(item);
+      if (IUntypedAtomicItem.class.isInstance(retval)) { // NOPMD
+        // TODO: apply cast to atomic type
       }
-      retval = ISequence.of(result);
+
+      // promote URIs to strings if a string is required
+      if (IStringItem.class.equals(requiredSequenceTypeClass) && IAnyUriItem.class.isInstance(retval)) {
+        retval = IStringItem.cast((IAnyUriItem) retval);
+      }
+    }
+
+    // item = requiredSequenceType.
+    if (!requiredSequenceTypeClass.isInstance(retval)) {
+      throw new InvalidTypeMetapathException(
+          String.format("The type '%s' is not a subtype of '%s'", retval.getClass().getName(),
+              requiredSequenceTypeClass.getName()));
     }
     return retval;
   }
@@ -306,7 +329,9 @@ public class DefaultFunction
 
       CallingContext callingContext;
       ISequence<?> result;
-      if (isDeterministic()) {
+      // the arguments of a function that only needs their first item are not fully computed, so such
+      // calls are not cached, since the arguments would need to be computed to form the cache key
+      if (isDeterministic() && !isFirstItemOnly() && dynamicContext.isCacheable(this)) {
         // check cache
         callingContext = newCallingContext(arguments, focus);
         // attempt to get the result from the cache
@@ -38,7 +38,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.math.BigInteger;
 import java.math.MathContext;
-import java.util.List;
 
 public final class FunctionUtils {
   private FunctionUtils() {
@@ -119,14 +118,11 @@ public final class FunctionUtils {
   public static <ITEM extends IItem> ITEM getFirstItem(@NotNull ISequence<ITEM> sequence, boolean requireSingleton)
       throws TypeMetapathException {
     @Nullable
-    ITEM retval = null;
-    if (!sequence.isEmpty()) {
-      List<ITEM> items = sequence.asList();
-      if (requireSingleton && items.size() != 1) {
-        throw new InvalidTypeMetapathException(
-            String.format("sequence expected to contain one item, but found '%d'", items.size()));
-      }
-      retval = items.iterator().next();
+    ITEM retval = sequence.getItem(0);
+    // only compute the second item, and the size when reporting an error
+    if (retval != null && requireSingleton && sequence.getItem(1) != null) {
+      throw new InvalidTypeMetapathException(
+          String.format("sequence expected to contain one item, but found '%d'", sequence.size()));
     }
     return retval;
   }
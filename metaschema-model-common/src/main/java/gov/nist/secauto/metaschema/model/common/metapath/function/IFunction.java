@@ -68,7 +68,13 @@ public interface IFunction {
     /**
      * The function allows the last argument to be repeated any number of times.
      */
-    UNBOUNDED_ARITY;
+    UNBOUNDED_ARITY,
+    /**
+     * The function only needs the first item of each argument, and at most one more item to detect an
+     * argument with more than one item. The arguments of such a function are converted lazily, allowing
+     * the remaining items of an argument to never be computed.
+     */
+    FIRST_ITEM_ONLY;
   }
 
   /**
@@ -144,6 +150,17 @@ public interface IFunction {
     return getProperties().contains(FunctionProperty.UNBOUNDED_ARITY);
   }
 
+  /**
+   * Determines if the function only needs the first item of each argument.
+   * 
+   * @return {@code true} if the function only needs the first item of each argument or {@code false}
+   *         otherwise
+   * @see FunctionProperty#FIRST_ITEM_ONLY
+   */
+  default boolean isFirstItemOnly() {
+    return getProperties().contains(FunctionProperty.FIRST_ITEM_ONLY);
+  }
+
   /**
    * Retrieve the function result sequence type.
    * 
@@ -234,6 +251,12 @@ public interface IFunction {
       return this;
     }
 
+    @NotNull
+    public Builder firstItemOnly() {
+      properties.add(FunctionProperty.FIRST_ITEM_ONLY);
+      return this;
+    }
+
     @NotNull
     public Builder allowUnboundedArity(boolean allow) {
       if (allow) {
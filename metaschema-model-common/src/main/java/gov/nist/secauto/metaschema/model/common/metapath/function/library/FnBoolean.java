@@ -52,6 +52,7 @@ public final class FnBoolean {
       .deterministic()
       .contextIndependent()
       .focusIndependent()
+      .firstItemOnly()
       .argument(IArgument.newBuilder()
           .name("arg")
           .type(IItem.class)
@@ -112,12 +113,11 @@ public final class FnBoolean {
   // TODO: fix misspelled Primative
   public static boolean fnBooleanAsPrimitive(@NotNull ISequence<?> sequence) {
     boolean retval = false;
-    if (!sequence.isEmpty()) {
-      List<? extends IItem> items = sequence.asList();
-      IItem first = ObjectUtils.notNull(items.iterator().next());
+    IItem first = sequence.getItem(0);
+    if (first != null) {
       if (first instanceof INodeItem) {
         retval = true;
-      } else if (items.size() == 1) {
+      } else if (sequence.getItem(1) == null) {
         retval = fnBooleanAsPrimitive(first);
       }
     }
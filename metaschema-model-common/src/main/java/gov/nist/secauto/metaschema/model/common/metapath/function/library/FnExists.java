@@ -46,6 +46,7 @@ public final class FnExists {
       .deterministic()
       .contextIndependent()
       .focusIndependent()
+      .firstItemOnly()
       .argument(IArgument.newBuilder()
           .name("arg")
           .type(IItem.class)
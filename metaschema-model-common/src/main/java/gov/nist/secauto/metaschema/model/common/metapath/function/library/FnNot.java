@@ -45,6 +45,7 @@ public final class FnNot {
       .deterministic()
       .contextIndependent()
       .focusIndependent()
+      .firstItemOnly()
       .argument(IArgument.newBuilder()
           .name("arg")
           .type(IItem.class)
@@ -0,0 +1,238 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath.item;
+
+import gov.nist.secauto.metaschema.model.common.util.CollectionUtil;
+import gov.nist.secauto.metaschema.model.common.util.ObjectUtils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index over the nodes of a document that supports answering descendant searches by name without
+ * walking the document's node tree.
+ * <p>
+ * Each model node in the document is assigned a position in document order, along with the position
+ * of its last descendant. This allows the descendants of a node to be identified as a contiguous
+ * range of positions. The nodes having a given name are indexed lazily the first time that name is
+ * searched for.
+ * <p>
+ * Matching nodes are returned in the same order as a search that walks the node tree: the matching
+ * children of each node, with the nodes visited in document order.
+ * <p>
+ * The index reflects the node tree at the time the index was built. A document that changes its node
+ * tree discards its index using {@link IDocumentNodeItem#invalidateNameIndex()}.
+ */
+public final class DocumentNameIndex {
+  @NotNull
+  private final List<@NotNull INodeItem> nodes;
+  /**
+   * Maps each indexed node to its first and last descendant-or-self positions.
+   */
+  @NotNull
+  private final Map<@NotNull INodeItem, int[]> ranges;
+  @NotNull
+  private final Map<@NotNull String, NamedNodes<IModelNodeItem>> modelItemsByName = new ConcurrentHashMap<>();
+  @NotNull
+  private final Map<@NotNull String, NamedNodes<IFlagNodeItem>> flagsByName = new ConcurrentHashMap<>();
+
+  /**
+   * Find the index to use for a search of the provided node, in the document containing the node.
+   * <p>
+   * Building the index visits the whole document. To avoid doing this for a search of a small subtree,
+   * the index is only built when the provided node is the document node. Otherwise, the index is only
+   * used if it has already been built.
+   * 
+   * @param item
+   *          a node in the document
+   * @return the index, or {@code null} if the node is not contained in a document, the document does
+   *         not provide an index, or the index should not be built for a search of this node
+   */
+  @Nullable
+  public static DocumentNameIndex forNodeItem(@NotNull INodeItem item) {
+    INodeItem current = item;
+    INodeItem parent;
+    while ((parent = current.getParentNodeItem()) != null) {
+      current = parent;
+    }
+
+    DocumentNameIndex retval = null;
+    if (current instanceof IDocumentNodeItem) {
+      IDocumentNodeItem document = (IDocumentNodeItem) current;
+      if (document.equals(item) || document.isNameIndexBuilt()) {
+        retval = document.getNameIndex();
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Build a new index over the provided document.
+   * 
+   * @param document
+   *          the document to index
+   */
+  public DocumentNameIndex(@NotNull IDocumentNodeItem document) {
+    this.nodes = new ArrayList<>();
+    this.ranges = new IdentityHashMap<>();
+    indexNode(document);
+  }
+
+  private void indexNode(@NotNull INodeItem node) {
+    int[] range = new int[2];
+    range[0] = nodes.size();
+    nodes.add(node);
+    ranges.put(node, range);
+
+    for (List<@NotNull ? extends IModelNodeItem> modelItems : node.getModelItems()) {
+      for (IModelNodeItem modelItem : modelItems) {
+        indexNode(modelItem);
+      }
+    }
+    range[1] = nodes.size() - 1;
+  }
+
+  /**
+   * Get the model nodes with the provided name that are descendants of the provided node, in the order
+   * they are found by walking the node tree.
+   * 
+   * @param context
+   *          the node whose descendants are to be searched
+   * @param name
+   *          the name of the model nodes to find
+   * @return the matching nodes, or {@code null} if the context node is not indexed
+   */
+  @Nullable
+  public List<@NotNull IModelNodeItem> getDescendantModelItems(@NotNull INodeItem context, @NotNull String name) {
+    int[] range = ranges.get(context);
+    List<@NotNull IModelNodeItem> retval = null;
+    if (range != null) {
+      retval = modelItemsByName.computeIfAbsent(name, this::indexModelItems).getRange(range[0], range[1]);
+    }
+    return retval;
+  }
+
+  /**
+   * Get the flags with the provided name that are on the provided node or its descendants, in the
+   * order they are found by walking the node tree.
+   * 
+   * @param context
+   *          the node whose descendants are to be searched
+   * @param name
+   *          the name of the flags to find
+   * @return the matching flags, or {@code null} if the context node is not indexed
+   */
+  @Nullable
+  public List<@NotNull IFlagNodeItem> getDescendantOrSelfFlags(@NotNull INodeItem context, @NotNull String name) {
+    int[] range = ranges.get(context);
+    List<@NotNull IFlagNodeItem> retval = null;
+    if (range != null) {
+      retval = flagsByName.computeIfAbsent(name, this::indexFlags).getRange(range[0], range[1]);
+    }
+    return retval;
+  }
+
+  @NotNull
+  private NamedNodes<IModelNodeItem> indexModelItems(@NotNull String name) {
+    List<@NotNull IModelNodeItem> items = new ArrayList<>();
+    List<@NotNull Integer> positions = new ArrayList<>();
+    for (int position = 0; position < nodes.size(); position++) {
+      for (IModelNodeItem item : nodes.get(position).getModelItemsByName(name)) {
+        positions.add(position);
+        items.add(item);
+      }
+    }
+    return new NamedNodes<>(items, positions.stream().mapToInt(Integer::intValue).toArray());
+  }
+
+  @NotNull
+  private NamedNodes<IFlagNodeItem> indexFlags(@NotNull String name) {
+    List<@NotNull IFlagNodeItem> items = new ArrayList<>();
+    int[] positions = new int[nodes.size()];
+    for (int position = 0; position < nodes.size(); position++) {
+      IFlagNodeItem flag = nodes.get(position).getFlagByName(name);
+      if (flag != null) {
+        positions[items.size()] = position;
+        items.add(flag);
+      }
+    }
+    return new NamedNodes<>(items, positions);
+  }
+
+  /**
+   * The nodes having a given name, along with the position in document order used to locate each
+   * node. This is the position of the node's parent.
+   * 
+   * @param <ITEM>
+   *          the type of the indexed nodes
+   */
+  private static final class NamedNodes<ITEM extends INodeItem> {
+    @NotNull
+    private final List<@NotNull ITEM> items;
+    @NotNull
+    private final int[] positions;
+
+    private NamedNodes(@NotNull List<@NotNull ITEM> items, @NotNull int[] positions) {
+      this.items = CollectionUtil.unmodifiableList(items);
+      this.positions = positions;
+    }
+
+    @NotNull
+    public List<@NotNull ITEM> getRange(int first, int last) {
+      int fromIndex = lowerBound(first);
+      int toIndex = lowerBound(last + 1);
+      return ObjectUtils.notNull(items.subList(fromIndex, toIndex));
+    }
+
+    /**
+     * Find the index of the first item whose position is at least the provided position.
+     * 
+     * @param position
+     *          the position to search for
+     * @return the index
+     */
+    private int lowerBound(int position) {
+      int low = 0;
+      int high = items.size();
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (positions[mid] < position) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
+}
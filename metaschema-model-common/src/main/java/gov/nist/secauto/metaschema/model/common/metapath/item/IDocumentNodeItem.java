@@ -51,6 +51,40 @@ public interface IDocumentNodeItem extends INodeItem {
   @NotNull
   IRootAssemblyNodeItem getRootAssemblyNodeItem();
 
+  /**
+   * Get the index used to answer descendant searches by name within this document.
+   * <p>
+   * Implementations that support indexing are expected to build the index lazily, on first use, and
+   * to retain it until {@link #invalidateNameIndex()} is called.
+   * 
+   * @return the index, or {@code null} if this document does not provide an index
+   */
+  default DocumentNameIndex getNameIndex() {
+    // indexing is optional
+    return null;
+  }
+
+  /**
+   * Determine if the index used to answer descendant searches by name within this document has been
+   * built, without building it.
+   * 
+   * @return {@code true} if the index is built and has not been invalidated, or {@code false}
+   *         otherwise
+   */
+  default boolean isNameIndexBuilt() {
+    // indexing is optional
+    return false;
+  }
+
+  /**
+   * Discard the index used to answer descendant searches by name within this document, if it has been
+   * built. This must be called when the node tree of this document changes, since the index reflects
+   * the node tree at the time it was built. The index is rebuilt on its next use.
+   */
+  default void invalidateNameIndex() {
+    // indexing is optional, so there is nothing to invalidate
+  }
+
   @Override
   default IModelNodeItem getParentContentNodeItem() {
     // there is no parent
@@ -33,7 +33,6 @@ import gov.nist.secauto.metaschema.model.common.metapath.MetapathException;
 import gov.nist.secauto.metaschema.model.common.metapath.MetapathExpression;
 import gov.nist.secauto.metaschema.model.common.metapath.StaticContext;
 import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
-import gov.nist.secauto.metaschema.model.common.metapath.evaluate.MetaschemaPathEvaluationVisitor;
 import gov.nist.secauto.metaschema.model.common.metapath.format.IPathFormatter;
 import gov.nist.secauto.metaschema.model.common.metapath.format.IPathSegment;
 import gov.nist.secauto.metaschema.model.common.validation.ValidatingNodeItemVisitor;
@@ -108,7 +107,7 @@ public interface INodeItem extends IPathItem, INodeContext, IPathSegment {
   @NotNull
   default ISequence<?> evaluateMetapath(@NotNull MetapathExpression metapath, @NotNull DynamicContext context)
       throws MetapathException {
-    return new MetaschemaPathEvaluationVisitor(context).visit(metapath.getASTNode(), this);
+    return metapath.evaluate(this, context);
   }
 
   /**
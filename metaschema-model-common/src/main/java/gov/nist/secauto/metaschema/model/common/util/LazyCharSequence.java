@@ -0,0 +1,96 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Supplier;
+
+/**
+ * A character sequence whose text is produced on first use.
+ * <p>
+ * This allows text that is expensive to produce, such as a validation message, to be created when
+ * the text may never be used. The text is produced at most once, and is retained after it is
+ * produced.
+ */
+public final class LazyCharSequence implements CharSequence {
+  private Supplier<@NotNull String> supplier;
+  private volatile String value;
+
+  /**
+   * Create a new character sequence whose text is produced by the provided supplier.
+   * 
+   * @param supplier
+   *          the supplier of the text
+   * @return the new character sequence
+   */
+  @NotNull
+  public static LazyCharSequence of(@NotNull Supplier<@NotNull String> supplier) {
+    return new LazyCharSequence(supplier);
+  }
+
+  private LazyCharSequence(@NotNull Supplier<@NotNull String> supplier) {
+    this.supplier = ObjectUtils.requireNonNull(supplier, "supplier");
+  }
+
+  @NotNull
+  private String getValue() {
+    String retval = value;
+    if (retval == null) {
+      synchronized (this) {
+        retval = value;
+        if (retval == null) {
+          retval = ObjectUtils.requireNonNull(supplier.get());
+          value = retval;
+          // release anything referenced by the supplier
+          supplier = null;
+        }
+      }
+    }
+    return retval;
+  }
+
+  @Override
+  public int length() {
+    return getValue().length();
+  }
+
+  @Override
+  public char charAt(int index) {
+    return getValue().charAt(index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return getValue().subSequence(start, end);
+  }
+
+  @Override
+  public String toString() {
+    return getValue();
+  }
+}
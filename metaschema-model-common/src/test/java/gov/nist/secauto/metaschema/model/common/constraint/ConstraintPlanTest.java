@@ -0,0 +1,123 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.constraint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import gov.nist.secauto.metaschema.model.common.IDefinition;
+import gov.nist.secauto.metaschema.model.common.IInstance;
+import gov.nist.secauto.metaschema.model.common.metapath.MetapathExpression;
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.instance.DefaultInstanceSet;
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.instance.IInstanceSet;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.States;
+import org.jmock.junit5.JUnit5Mockery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.List;
+
+class ConstraintPlanTest {
+  @RegisterExtension
+  Mockery context = new JUnit5Mockery();
+
+  @Test
+  void testUnmatchedTargetsAreSkipped() {
+    IDefinition definition = context.mock(IDefinition.class);
+    IInstance instance = context.mock(IInstance.class);
+    IExpectConstraint matched = context.mock(IExpectConstraint.class, "matched");
+    IExpectConstraint unmatched = context.mock(IExpectConstraint.class, "unmatched");
+    IExpectConstraint dynamic = context.mock(IExpectConstraint.class, "dynamic");
+    ICardinalityConstraint cardinality = context.mock(ICardinalityConstraint.class);
+
+    MetapathExpression matchedTarget = MetapathExpression.compile("part");
+    MetapathExpression unmatchedTarget = MetapathExpression.compile("missing/@id");
+    // not statically evaluated, since it is not a path
+    MetapathExpression dynamicTarget = MetapathExpression.compile("doc('other.xml')");
+
+    context.checking(new Expectations() {
+      { // NOPMD - intentional
+        allowing(definition).getConstraints();
+        will(returnValue(List.of(matched, unmatched, dynamic, cardinality)));
+        allowing(definition).toCoordinates();
+        will(returnValue("test"));
+        allowing(matched).getTarget();
+        will(returnValue(matchedTarget));
+        allowing(unmatched).getTarget();
+        will(returnValue(unmatchedTarget));
+        allowing(dynamic).getTarget();
+        will(returnValue(dynamicTarget));
+        oneOf(definition).evaluateMetapathInstances(matchedTarget);
+        will(returnValue(new DefaultInstanceSet(List.of(instance))));
+        oneOf(definition).evaluateMetapathInstances(unmatchedTarget);
+        will(returnValue(IInstanceSet.EMPTY_INSTANCE_SET));
+      }
+    });
+
+    ConstraintPlan plan = ConstraintPlan.forDefinition(definition);
+    assertEquals(List.of(matched, dynamic), plan.getExpectConstraints());
+    assertEquals(List.of(matched, dynamic, cardinality), plan.getConstraints());
+    assertEquals(List.of(cardinality), plan.getHasCardinalityConstraints());
+
+    // the plan is cached, so the definition is not evaluated again
+    assertSame(plan, ConstraintPlan.forDefinition(definition));
+  }
+
+  @Test
+  void testPlanIsRebuiltWhenConstraintsChange() {
+    IDefinition definition = context.mock(IDefinition.class);
+    ICardinalityConstraint first = context.mock(ICardinalityConstraint.class, "first");
+    ICardinalityConstraint second = context.mock(ICardinalityConstraint.class, "second");
+    States constraints = context.states("constraints").startsAs("declared");
+
+    context.checking(new Expectations() {
+      { // NOPMD - intentional
+        allowing(definition).getConstraints();
+        will(returnValue(List.of(first)));
+        when(constraints.is("declared"));
+        allowing(definition).getConstraints();
+        will(returnValue(List.of(first, second)));
+        when(constraints.is("added"));
+      }
+    });
+
+    ConstraintPlan plan = ConstraintPlan.forDefinition(definition);
+    assertEquals(List.of(first), plan.getHasCardinalityConstraints());
+    assertSame(plan, ConstraintPlan.forDefinition(definition));
+
+    // a constraint added to the definition after the plan was built is not skipped
+    constraints.become("added");
+    ConstraintPlan rebuilt = ConstraintPlan.forDefinition(definition);
+    assertNotSame(plan, rebuilt);
+    assertEquals(List.of(first, second), rebuilt.getHasCardinalityConstraints());
+    assertSame(rebuilt, ConstraintPlan.forDefinition(definition));
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.constraint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class KeyIndexTableTest {
+
+  @Test
+  void testPutAndGet() {
+    KeyIndexTable<Integer> table = new KeyIndexTable<>();
+    int count = 10_000;
+    for (int i = 0; i < count; i++) {
+      assertNull(table.put(new CompositeKey("key", Integer.toString(i)), i));
+    }
+    assertEquals(count, table.size());
+
+    for (int i = 0; i < count; i++) {
+      assertEquals(i, table.get(new CompositeKey("key", Integer.toString(i))));
+    }
+    assertFalse(table.containsKey(new CompositeKey("key", Integer.toString(count))));
+
+    // replacing a value does not change the size
+    assertEquals(0, table.put(new CompositeKey("key", "0"), -1));
+    assertEquals(-1, table.get(new CompositeKey("key", "0")));
+    assertEquals(count, table.size());
+  }
+
+  @Test
+  void testComponentsAreDistinct() {
+    // these keys would be equal if the components were joined using a separator
+    assertNotEquals(new CompositeKey("a|||", null), new CompositeKey("a", "|||"));
+    assertNotEquals(new CompositeKey("a", null), new CompositeKey(null, "a"));
+    assertEquals(new CompositeKey("a", null), new CompositeKey("a", null));
+
+    KeyIndexTable<String> table = new KeyIndexTable<>();
+    table.put(new CompositeKey("a", null), "first");
+    assertTrue(table.containsKey(new CompositeKey("a", null)));
+    assertFalse(table.containsKey(new CompositeKey(null, "a")));
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.constraint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+
+import org.jmock.Mockery;
+import org.jmock.junit5.JUnit5Mockery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.List;
+
+class KeyReferenceTableTest {
+  @RegisterExtension
+  Mockery context = new JUnit5Mockery();
+
+  @Test
+  void testReferencesAreGroupedByKey() {
+    INodeItem node1 = context.mock(INodeItem.class, "node1");
+    INodeItem node2 = context.mock(INodeItem.class, "node2");
+    INodeItem node3 = context.mock(INodeItem.class, "node3");
+
+    KeyReferenceTable table = new KeyReferenceTable();
+    table.add(new CompositeKey("b"), node1);
+    table.add(new CompositeKey("a"), node2);
+    table.add(new CompositeKey("b"), node3);
+
+    assertEquals(2, table.getKeyCount());
+    assertEquals(3, table.getReferenceCount());
+    // keys are ordered by first reference
+    assertEquals(new CompositeKey("b"), table.getKey(0));
+    assertEquals(List.of(node1, node3), table.getReferences(0));
+    assertEquals(new CompositeKey("a"), table.getKey(1));
+    assertEquals(List.of(node2), table.getReferences(1));
+  }
+
+  @Test
+  void testGrowthAndMerge() {
+    INodeItem node = context.mock(INodeItem.class);
+
+    int count = 5_000;
+    KeyReferenceTable first = new KeyReferenceTable();
+    KeyReferenceTable second = new KeyReferenceTable();
+    for (int i = 0; i < count; i++) {
+      first.add(new CompositeKey(Integer.toString(i % 100)), node);
+      second.add(new CompositeKey(Integer.toString(i)), node);
+    }
+    assertEquals(100, first.getKeyCount());
+    assertEquals(count / 100, first.getReferences(99).size());
+
+    first.addAll(second);
+    assertEquals(count, first.getKeyCount());
+    assertEquals(count * 2, first.getReferenceCount());
+    assertEquals(count / 100 + 1, first.getReferences(0).size());
+    assertEquals(1, first.getReferences(count - 1).size());
+  }
+}
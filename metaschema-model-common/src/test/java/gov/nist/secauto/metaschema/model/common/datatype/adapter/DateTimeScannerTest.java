@@ -0,0 +1,111 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.datatype.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+class DateTimeScannerTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "2018-01-01T00:00:00Z",
+      "2020-06-23T13:45:12.5-04:00",
+      "2020-02-29T23:59:59.123456789+14:00",
+      "1999-12-31T01:02:03",
+      "+12345-06-23T13:45:12.5-04:00" })
+  void testDateTimeRoundTrip(String value) {
+    ZonedDateTime dateTime = DateTimeScanner.parseDateTime(value, false);
+    assertNotNull(dateTime);
+    assertEquals(value, DateFormats.formatDateTime(dateTime, DateTimeScanner.hasTimeZone(value)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "2018-01-01", "2020-06-23Z", "2020-06-23-04:00", "+12345-06-23Z" })
+  void testDateRoundTrip(String value) {
+    ZonedDateTime date = DateTimeScanner.parseDate(value, false);
+    assertNotNull(date);
+    assertEquals(value, DateFormats.formatDate(date, DateTimeScanner.hasTimeZone(value)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "",
+      "2018-1-01T00:00:00Z",
+      "2018-01-01 00:00:00Z",
+      "2018-02-30T00:00:00Z",
+      "2018-01-01T24:00:01Z",
+      "2018-01-01T00:00:00.Z",
+      "2018-01-01T00:00:00+1:00",
+      "2018-01-01T00:00:00Zjunk",
+      "218-01-01T00:00:00Z",
+      "+2018-01-01T00:00:00Z",
+      "02018-01-01T00:00:00Z",
+      "1234567890-01-01T00:00:00Z" })
+  void testInvalidDateTime(String value) {
+    assertNull(DateTimeScanner.parseDateTime(value, false));
+  }
+
+  @Test
+  void testLongYears() {
+    // XML Schema allows years with more than 4 digits
+    ZonedDateTime dateTime = DateTimeScanner.parseDateTime("12345-06-23T13:45:12-04:00", true);
+    assertNotNull(dateTime);
+    assertEquals(ZonedDateTime.of(12345, 6, 23, 13, 45, 12, 0, ZoneOffset.ofHours(-4)), dateTime);
+    assertEquals(dateTime, DateTimeScanner.parseDateTime("+12345-06-23T13:45:12-04:00", true));
+    assertTrue(DateTimeScanner.hasTimeZone("12345-06-23T13:45:12-04:00"));
+    assertFalse(DateTimeScanner.hasTimeZone("12345-06-23T13:45:12"));
+
+    ZonedDateTime date = DateTimeScanner.parseDate("+123456789-01-01", false);
+    assertNotNull(date);
+    assertEquals(123_456_789, date.getYear());
+    assertFalse(DateTimeScanner.hasTimeZone("+123456789-01-01"));
+    assertFalse(DateTimeScanner.isSupportedDateYear(date));
+  }
+
+  @Test
+  void testTimeZoneRequired() {
+    assertNull(DateTimeScanner.parseDateTime("2018-01-01T00:00:00", true));
+    assertNull(DateTimeScanner.parseDate("2018-01-01", true));
+    assertFalse(DateTimeScanner.hasTimeZone("2018-01-01"));
+    assertTrue(DateTimeScanner.hasTimeZone("2018-01-01+05:30"));
+
+    ZonedDateTime dateTime = DateTimeScanner.parseDateTime("2018-01-01T00:00:00+05:30", true);
+    assertNotNull(dateTime);
+    assertEquals(ZoneOffset.ofHoursMinutes(5, 30), dateTime.getOffset());
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+
+import org.jmock.Mockery;
+import org.jmock.junit5.JUnit5Mockery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class DocumentCacheTest {
+  @RegisterExtension
+  Mockery context = new JUnit5Mockery();
+
+  @Test
+  void testNormalizedUriHit() throws IOException {
+    IDocumentNodeItem document = context.mock(IDocumentNodeItem.class);
+    DocumentCache cache = new DocumentCache(10);
+
+    assertSame(document, cache.get(URI.create("http://example.com/a/../doc.xml"), () -> document));
+    assertSame(document, cache.get(URI.create("http://example.com/doc.xml"), () -> {
+      throw new IOException("not expected to load");
+    }));
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  void testFailureNotCached() throws IOException {
+    IDocumentNodeItem document = context.mock(IDocumentNodeItem.class);
+    DocumentCache cache = new DocumentCache(10);
+    URI uri = URI.create("http://example.com/doc.xml");
+
+    assertThrows(IOException.class, () -> cache.get(uri, () -> {
+      throw new IOException("failed");
+    }));
+    assertEquals(0, cache.size());
+    assertSame(document, cache.get(uri, () -> document));
+  }
+
+  @Test
+  void testErrorNotCached() throws IOException {
+    IDocumentNodeItem document = context.mock(IDocumentNodeItem.class);
+    DocumentCache cache = new DocumentCache(10);
+    URI uri = URI.create("http://example.com/doc.xml");
+
+    assertThrows(AssertionError.class, () -> cache.get(uri, () -> {
+      throw new AssertionError("failed");
+    }));
+    assertEquals(0, cache.size());
+    // the load is retried, instead of waiting on the failed load
+    assertSame(document, cache.get(uri, () -> document));
+  }
+
+  @Test
+  void testContextCacheScope(@TempDir Path dir) throws IOException {
+    Path file = Files.writeString(dir.resolve("doc.xml"), "<doc/>");
+    AtomicInteger loads = new AtomicInteger();
+    IDocumentLoader loader = (is, documentUri) -> {
+      loads.incrementAndGet();
+      return context.mock(IDocumentNodeItem.class, "document" + loads.get());
+    };
+
+    DynamicContext first = new StaticContext().newDynamicContext();
+    first.setDocumentLoader(loader);
+    IDocumentNodeItem document = first.getDocumentLoader().loadAsNodeItem(file);
+    assertSame(document, first.getDocumentLoader().loadAsNodeItem(file));
+    // sub-contexts share the cache of their parent
+    assertSame(document, first.subContext().getDocumentLoader().loadAsNodeItem(file));
+    assertEquals(1, loads.get());
+
+    // other contexts do not share the cache
+    DynamicContext second = new StaticContext().newDynamicContext();
+    second.setDocumentLoader(loader);
+    assertNotSame(document, second.getDocumentLoader().loadAsNodeItem(file));
+    assertEquals(2, loads.get());
+
+    // unless they are provided the same cache
+    DocumentCache cache = new DocumentCache(10);
+    first.setDocumentCache(cache);
+    second.setDocumentCache(cache);
+    document = first.getDocumentLoader().loadAsNodeItem(file);
+    assertSame(document, second.getDocumentLoader().loadAsNodeItem(file));
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  void testStreamNotCached() throws IOException {
+    AtomicInteger loads = new AtomicInteger();
+    IDocumentLoader loader = (is, documentUri) -> {
+      loads.incrementAndGet();
+      return context.mock(IDocumentNodeItem.class, "document" + loads.get());
+    };
+    DynamicContext dynamicContext = new StaticContext().newDynamicContext();
+    dynamicContext.setDocumentLoader(loader);
+    URI uri = URI.create("http://example.com/doc.xml");
+
+    IDocumentNodeItem first = dynamicContext.getDocumentLoader()
+        .loadAsNodeItem(new ByteArrayInputStream(new byte[0]), uri);
+    IDocumentNodeItem second = dynamicContext.getDocumentLoader()
+        .loadAsNodeItem(new ByteArrayInputStream(new byte[0]), uri);
+    assertNotSame(first, second);
+    assertEquals(2, loads.get());
+    assertEquals(0, dynamicContext.getDocumentCache().size());
+  }
+
+  @Test
+  void testModifiedFileReloaded(@TempDir Path dir) throws IOException {
+    IDocumentNodeItem first = context.mock(IDocumentNodeItem.class, "first");
+    IDocumentNodeItem second = context.mock(IDocumentNodeItem.class, "second");
+    DocumentCache cache = new DocumentCache(10);
+
+    Path file = Files.writeString(dir.resolve("doc.xml"), "<doc/>");
+    Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000L));
+    URI uri = file.toUri();
+
+    assertSame(first, cache.get(uri, () -> first));
+    assertSame(first, cache.get(uri, () -> second));
+
+    Files.setLastModifiedTime(file, FileTime.fromMillis(2_000_000L));
+    assertSame(second, cache.get(uri, () -> second));
+  }
+
+  @Test
+  void testConcurrentRequestsLoadOnce() throws Exception {
+    IDocumentNodeItem document = context.mock(IDocumentNodeItem.class);
+    DocumentCache cache = new DocumentCache(10);
+    URI uri = URI.create("http://example.com/doc.xml");
+
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    DocumentCache.IDocumentSupplier supplier = () -> {
+      loads.incrementAndGet();
+      loading.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      return document;
+    };
+
+    CompletableFuture<IDocumentNodeItem> first = CompletableFuture.supplyAsync(() -> get(cache, uri, supplier));
+    loading.await();
+    CompletableFuture<IDocumentNodeItem> second = CompletableFuture.supplyAsync(() -> get(cache, uri, supplier));
+    release.countDown();
+
+    assertSame(document, first.get());
+    assertSame(document, second.get());
+    assertEquals(1, loads.get());
+  }
+
+  private static IDocumentNodeItem get(DocumentCache cache, URI uri, DocumentCache.IDocumentSupplier supplier) {
+    try {
+      return cache.get(uri, supplier);
+    } catch (IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
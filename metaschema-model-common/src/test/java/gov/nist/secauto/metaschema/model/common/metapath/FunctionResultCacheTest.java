@@ -0,0 +1,129 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
+import gov.nist.secauto.metaschema.model.common.metapath.function.IArgument;
+import gov.nist.secauto.metaschema.model.common.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IStringItem;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.junit5.JUnit5Mockery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class FunctionResultCacheTest {
+  @RegisterExtension
+  Mockery context = new JUnit5Mockery();
+
+  private static IFunction newEchoFunction(AtomicInteger calls) {
+    return IFunction.builder()
+        .name("echo")
+        .deterministic()
+        .argument(IArgument.newBuilder()
+            .name("arg1")
+            .type(IStringItem.class)
+            .one()
+            .build())
+        .returnType(IStringItem.class)
+        .returnOne()
+        .functionHandler((function, arguments, dynamicContext, focus) -> {
+          calls.incrementAndGet();
+          return arguments.get(0);
+        })
+        .build();
+  }
+
+  private INodeContext newFocus() {
+    INodeContext focus = context.mock(INodeContext.class);
+    INodeItem item = context.mock(INodeItem.class);
+    context.checking(new Expectations() {
+      { // NOPMD - intentional
+        allowing(focus).getContextNodeItem();
+        will(returnValue(item));
+      }
+    });
+    return focus;
+  }
+
+  private static ISequence<?> call(IFunction function, String value, DynamicContext dynamicContext,
+      INodeContext focus) {
+    return function.execute(List.of(ISequence.of(IStringItem.valueOf(value))), dynamicContext, focus);
+  }
+
+  @Test
+  void testBoundedCaching() {
+    INodeContext focus = newFocus();
+    AtomicInteger calls = new AtomicInteger();
+    IFunction function = newEchoFunction(calls);
+
+    FunctionResultCache cache = new FunctionResultCache(2);
+    DynamicContext dynamicContext = new StaticContext().newDynamicContext();
+    dynamicContext.setFunctionResultCacheFactory(() -> cache);
+
+    call(function, "a", dynamicContext, focus);
+    call(function, "a", dynamicContext, focus);
+    assertEquals(1, calls.get());
+    assertEquals(1, cache.getHitCount());
+
+    call(function, "b", dynamicContext, focus);
+    call(function, "c", dynamicContext, focus);
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+
+    // the least recently used result was evicted
+    call(function, "a", dynamicContext, focus);
+    assertEquals(4, calls.get());
+
+    // a shared cache is used by sub-contexts
+    call(function, "a", dynamicContext.subContext(), focus);
+    assertEquals(4, calls.get());
+  }
+
+  @Test
+  void testFilteredFunctionNotCached() {
+    INodeContext focus = newFocus();
+    AtomicInteger calls = new AtomicInteger();
+    IFunction function = newEchoFunction(calls);
+
+    FunctionResultCache cache = new FunctionResultCache(10, fn -> !"echo".equals(fn.getName()));
+    DynamicContext dynamicContext = new StaticContext().newDynamicContext();
+    dynamicContext.setFunctionResultCacheFactory(() -> cache);
+
+    call(function, "a", dynamicContext, focus);
+    call(function, "a", dynamicContext, focus);
+    assertEquals(2, calls.get());
+    assertEquals(0, cache.size());
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+class MetapathDependenciesTest {
+
+  @Test
+  void testRelativePath() {
+    MetapathDependencies dependencies = MetapathExpression.compile("control/part[@name='statement']")
+        .getDependencies();
+    assertEquals(Set.of("control", "part", "name"), dependencies.getNames());
+    assertFalse(dependencies.isWildcard());
+    assertFalse(dependencies.isAbsolute());
+    assertTrue(dependencies.observes("part"));
+    assertFalse(dependencies.observes("prop"));
+  }
+
+  @Test
+  void testWildcardAndRoot() {
+    MetapathDependencies dependencies = MetapathExpression.compile("//prop/*").getDependencies();
+    assertTrue(dependencies.isWildcard());
+    assertTrue(dependencies.isAbsolute());
+    assertTrue(dependencies.observesAny(List.of("anything")));
+  }
+
+  @Test
+  void testUnion() {
+    MetapathDependencies dependencies = MetapathExpression.compile(".").getDependencies();
+    assertTrue(dependencies.getNames().isEmpty());
+
+    dependencies = dependencies.union(MetapathExpression.compile("/catalog/@id").getDependencies());
+    assertEquals(Set.of("catalog", "id"), dependencies.getNames());
+    assertTrue(dependencies.isAbsolute());
+    assertFalse(dependencies.observesAny(List.of("control", "part")));
+  }
+}
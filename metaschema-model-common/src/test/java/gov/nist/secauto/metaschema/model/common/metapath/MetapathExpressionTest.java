@@ -0,0 +1,184 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.model.common.metapath.evaluate.ISequence;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IAssemblyNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IBooleanItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IFlagNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IStringItem;
+
+import org.jetbrains.annotations.NotNull;
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.api.Invocation;
+import org.jmock.junit5.JUnit5Mockery;
+import org.jmock.lib.action.CustomAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MetapathExpressionTest {
+  private static final int ITEM_COUNT = 5;
+  /**
+   * The position of the item whose flag cannot be read.
+   */
+  private static final int FAILING_ITEM = 3;
+  private static final String FAILURE_MESSAGE = "unreadable flag";
+
+  @RegisterExtension
+  Mockery context = new JUnit5Mockery();
+
+  /**
+   * The number of flag values read during evaluation.
+   */
+  private final AtomicInteger pulled = new AtomicInteger();
+  private IDocumentNodeItem document;
+
+  /**
+   * Build a document with a root containing {@link #ITEM_COUNT} items, each with a flag {@code n}
+   * having the value {@code 1}. Reading the flag of the item at {@link #FAILING_ITEM} fails.
+   */
+  @BeforeEach
+  void setUp() {
+    document = context.mock(IDocumentNodeItem.class);
+    IAssemblyNodeItem root = context.mock(IAssemblyNodeItem.class, "root");
+
+    List<IAssemblyNodeItem> items = new ArrayList<>(ITEM_COUNT);
+    for (int position = 1; position <= ITEM_COUNT; position++) {
+      IAssemblyNodeItem item = context.mock(IAssemblyNodeItem.class, "item" + position);
+      IFlagNodeItem flag = context.mock(IFlagNodeItem.class, "item" + position + "@n");
+      boolean fail = position == FAILING_ITEM;
+      context.checking(new Expectations() {
+        {
+          allowing(flag).toAtomicItem();
+          will(new CustomAction("toAtomicItem") {
+            @Override
+            public Object invoke(Invocation invocation) {
+              pulled.incrementAndGet();
+              if (fail) {
+                throw new MetapathException(FAILURE_MESSAGE);
+              }
+              return IStringItem.valueOf("1");
+            }
+          });
+        }
+      });
+      expectNode(flag, null, List.of());
+      expectNode(item, flag, List.of());
+      items.add(item);
+    }
+    expectNode(root, null, items);
+    expectNode(document, null, List.of(root));
+  }
+
+  @NotNull
+  private ISequence<?> evaluate(@NotNull String path) {
+    return MetapathExpression.compile(path).evaluate(document, new StaticContext().newDynamicContext());
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "exists(/root/item[@n = '1']), true",
+      "boolean(/root/item[@n = '1']), true",
+      "not(/root/item[@n = '1']), false",
+  })
+  void testFirstItemFunctionsPullOneItem(String path, boolean expected) {
+    IBooleanItem result = (IBooleanItem) evaluate(path).getItem(0);
+    assertEquals(expected, result.toBoolean());
+    // the failing item is never reached
+    assertEquals(1, pulled.get());
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "/root/item[1][@n = '1']",
+      "/root/item[@n = '1'][1]",
+  })
+  void testPositionalPredicatePullsOneItem(String path) {
+    assertEquals(1, evaluate(path).size());
+    assertEquals(1, pulled.get());
+  }
+
+  @Test
+  void testErrorsDeferredUntilConsumed() {
+    ISequence<?> result = evaluate("/root/item[@n = '1']");
+    // nothing is computed until the result is consumed
+    assertEquals(0, pulled.get());
+
+    // the items before the failing item can be consumed
+    assertFalse(result.isEmpty());
+    assertTrue(result.getItem(FAILING_ITEM - 2) != null);
+    assertEquals(FAILING_ITEM - 1, pulled.get());
+
+    // the error is raised by the call that consumes the failing item
+    MetapathException ex = assertThrows(MetapathException.class, () -> result.asList());
+    assertEquals(FAILURE_MESSAGE, ex.getMessage());
+    assertEquals(FAILING_ITEM, pulled.get());
+  }
+
+  @Test
+  void testErrorsInFunctionResultsDeferredUntilConsumed() {
+    // the result of fn:data is computed as it is consumed, so the error is not raised by the evaluation
+    ISequence<?> result = evaluate("data(/root/item/@n)");
+    MetapathException ex = assertThrows(MetapathException.class, () -> result.asList());
+    assertEquals(FAILURE_MESSAGE, ex.getMessage());
+    assertEquals(FAILING_ITEM, pulled.get());
+  }
+
+  private void expectNode(@NotNull INodeItem item, IFlagNodeItem flag, @NotNull List<? extends INodeItem> children) {
+    List<IFlagNodeItem> flags = flag == null ? List.of() : List.of(flag);
+    context.checking(new Expectations() {
+      {
+        allowing(item).getContextNodeItem();
+        will(returnValue(item));
+        allowing(item).getFlags();
+        will(returnValue(flags));
+        allowing(item).getFlagByName("n");
+        will(returnValue(flag));
+        allowing(item).getModelItems();
+        will(returnValue(children.isEmpty() ? List.of() : List.of(children)));
+        allowing(item).getModelItemsByName(with(any(String.class)));
+        will(returnValue(children.isEmpty() ? Collections.emptyList() : children));
+      }
+    });
+  }
+}
@@ -0,0 +1,259 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath.evaluate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.model.common.metapath.INodeContext;
+import gov.nist.secauto.metaschema.model.common.metapath.MetapathExpression;
+import gov.nist.secauto.metaschema.model.common.metapath.StaticContext;
+import gov.nist.secauto.metaschema.model.common.metapath.item.DocumentNameIndex;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IAssemblyNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IFlagNodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.INodeItem;
+import gov.nist.secauto.metaschema.model.common.metapath.item.IStringItem;
+
+import org.jetbrains.annotations.NotNull;
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.api.Invocation;
+import org.jmock.junit5.JUnit5Mockery;
+import org.jmock.lib.action.CustomAction;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class ExpressionCompilerTest {
+  @RegisterExtension
+  Mockery context = new JUnit5Mockery();
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "1 + 1 = 2",
+      "2 eq 1",
+      "'a' = 'a' and 2 > 1",
+      "1 = 2 or 2 = 2",
+      "(1, 2, 3) = 2",
+      "(1, 2), 3",
+      "'abc' = ('a', 'abc')",
+  })
+  void testCompiledMatchesInterpreted(String path) {
+    MetapathExpression metapath = MetapathExpression.compile(path);
+    INodeContext nodeContext = context.mock(INodeContext.class);
+
+    MetaschemaPathEvaluationVisitor visitor
+        = new MetaschemaPathEvaluationVisitor(new StaticContext().newDynamicContext());
+
+    ISequence<?> expected = metapath.getASTNode().accept(visitor, nodeContext);
+    ISequence<?> actual = ExpressionCompiler.compile(metapath.getASTNode()).evaluate(nodeContext, visitor);
+    assertEquals(expected, actual);
+  }
+
+  private static Stream<Arguments> provideNodePaths() {
+    // each path, along with the expected number of result items
+    List<Arguments> paths = List.of(
+        // steps
+        Arguments.of("/root", 1),
+        Arguments.of("/root/section/item", 3),
+        Arguments.of("/root/section/item/@id", 3),
+        Arguments.of("/root/section/item/item", 1),
+        // predicates
+        Arguments.of("/root/section[2]/item", 1),
+        Arguments.of("/root/section/item[2]", 1),
+        Arguments.of("/root/section/item[@kind = 'a']", 2),
+        Arguments.of("/root/section[item/@kind = 'b']/item[1]", 1),
+        Arguments.of("/root/section/item[1][@kind = 'a']", 2),
+        // descendant searches
+        Arguments.of("//item", 4),
+        Arguments.of("//@kind", 4),
+        Arguments.of("//item[@kind = 'b']", 2),
+        Arguments.of("/root//item", 4),
+        Arguments.of("//section//item", 4),
+        Arguments.of("//section//@id", 4),
+        // unions
+        Arguments.of("//item[@kind = 'a'] | //section", 4),
+        Arguments.of("/root/section/item | //item", 4),
+        // function calls
+        Arguments.of("exists(//item[@kind = 'b'])", 1),
+        Arguments.of("not(//item[@kind = 'c'])", 1),
+        Arguments.of("boolean(/root/section[3])", 1),
+        Arguments.of("starts-with(/root/section[1]/item[1]/@id, 'i')", 1),
+        Arguments.of("data(/root/section[1]/item/@id)", 2));
+
+    Stream.Builder<Arguments> builder = Stream.builder();
+    for (Arguments path : paths) {
+      builder.add(Arguments.of(path.get()[0], path.get()[1], true));
+      builder.add(Arguments.of(path.get()[0], path.get()[1], false));
+    }
+    return builder.build();
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideNodePaths")
+  void testCompiledMatchesInterpretedOnNodes(String path, int size, boolean indexed) {
+    IDocumentNodeItem document = newDocument(indexed);
+    MetapathExpression metapath = MetapathExpression.compile(path);
+
+    MetaschemaPathEvaluationVisitor visitor
+        = new MetaschemaPathEvaluationVisitor(new StaticContext().newDynamicContext());
+
+    List<?> expected = metapath.getASTNode().accept(visitor, document).asList();
+    List<?> actual = ExpressionCompiler.compile(metapath.getASTNode()).evaluate(document, visitor).asList();
+    assertEquals(size, expected.size());
+    assertEquals(expected, actual);
+  }
+
+  /**
+   * Build a mock document with the following node tree, where item4 is nested in item3.
+   * 
+   * <pre>
+   * root
+   *   section1
+   *     item1 (id="i1", kind="a")
+   *     item2 (id="i2", kind="b")
+   *   section2
+   *     item3 (id="i3", kind="a")
+   *       item4 (id="i4", kind="b")
+   * </pre>
+   * 
+   * @param indexed
+   *          {@code true} if the document provides a name index, or {@code false} otherwise
+   * @return the document
+   */
+  @NotNull
+  private IDocumentNodeItem newDocument(boolean indexed) {
+    IDocumentNodeItem document = context.mock(IDocumentNodeItem.class);
+    IAssemblyNodeItem root = context.mock(IAssemblyNodeItem.class, "root");
+    IAssemblyNodeItem section1 = context.mock(IAssemblyNodeItem.class, "section1");
+    IAssemblyNodeItem section2 = context.mock(IAssemblyNodeItem.class, "section2");
+    IAssemblyNodeItem item1 = context.mock(IAssemblyNodeItem.class, "item1");
+    IAssemblyNodeItem item2 = context.mock(IAssemblyNodeItem.class, "item2");
+    IAssemblyNodeItem item3 = context.mock(IAssemblyNodeItem.class, "item3");
+    IAssemblyNodeItem item4 = context.mock(IAssemblyNodeItem.class, "item4");
+
+    expectNode(document, null, List.of(), "root", List.of(root));
+    expectNode(root, document, List.of(), "section", List.of(section1, section2));
+    expectNode(section1, root, List.of(), "item", List.of(item1, item2));
+    expectNode(section2, root, List.of(), "item", List.of(item3));
+    expectNode(item1, section1, newFlags(item1, "i1", "a"));
+    expectNode(item2, section1, newFlags(item2, "i2", "b"));
+    expectNode(item3, section2, newFlags(item3, "i3", "a"), "item", List.of(item4));
+    expectNode(item4, item3, newFlags(item4, "i4", "b"));
+
+    DocumentNameIndex index = indexed ? new DocumentNameIndex(document) : null;
+    context.checking(new Expectations() {
+      {
+        allowing(document).getNameIndex();
+        will(returnValue(index));
+        allowing(document).isNameIndexBuilt();
+        will(returnValue(indexed));
+      }
+    });
+    return document;
+  }
+
+  @NotNull
+  private List<IFlagNodeItem> newFlags(@NotNull INodeItem parent, @NotNull String id, @NotNull String kind) {
+    IFlagNodeItem idFlag = context.mock(IFlagNodeItem.class, parent + "@id");
+    IFlagNodeItem kindFlag = context.mock(IFlagNodeItem.class, parent + "@kind");
+    expectFlag(idFlag, parent, id);
+    expectFlag(kindFlag, parent, kind);
+    return List.of(idFlag, kindFlag);
+  }
+
+  private void expectFlag(@NotNull IFlagNodeItem flag, @NotNull INodeItem parent, @NotNull String value) {
+    expectNode(flag, parent, List.of());
+    context.checking(new Expectations() {
+      {
+        allowing(flag).toAtomicItem();
+        will(returnValue(IStringItem.valueOf(value)));
+      }
+    });
+  }
+
+  private void expectNode(@NotNull INodeItem item, INodeItem parent, @NotNull List<IFlagNodeItem> flags,
+      Object... namesAndChildren) {
+    Map<String, List<?>> children = new LinkedHashMap<>();
+    for (int i = 0; i < namesAndChildren.length; i += 2) {
+      children.put((String) namesAndChildren[i], (List<?>) namesAndChildren[i + 1]);
+    }
+
+    context.checking(new Expectations() {
+      {
+        allowing(item).getContextNodeItem();
+        will(returnValue(item));
+        allowing(item).getParentNodeItem();
+        will(returnValue(parent));
+        allowing(item).getFlags();
+        will(returnValue(flags));
+        // streams can only be consumed once, so a new stream is needed for each call
+        allowing(item).flags();
+        will(new CustomAction("flags") {
+          @Override
+          public Object invoke(Invocation invocation) {
+            return flags.stream();
+          }
+        });
+        allowing(item).getFlagByName(with(any(String.class)));
+        will(new CustomAction("getFlagByName") {
+          @Override
+          public Object invoke(Invocation invocation) {
+            String name = "@" + invocation.getParameter(0);
+            return flags.stream()
+                .filter(flag -> flag.toString().endsWith(name))
+                .findFirst()
+                .orElse(null);
+          }
+        });
+        allowing(item).getModelItems();
+        will(returnValue(children.values()));
+        allowing(item).modelItems();
+        will(new CustomAction("modelItems") {
+          @Override
+          public Object invoke(Invocation invocation) {
+            return children.values().stream().flatMap(List::stream);
+          }
+        });
+        for (Map.Entry<String, List<?>> entry : children.entrySet()) {
+          allowing(item).getModelItemsByName(entry.getKey());
+          will(returnValue(entry.getValue()));
+        }
+        allowing(item).getModelItemsByName(with(any(String.class)));
+        will(returnValue(Collections.emptyList()));
+      }
+    });
+  }
+}
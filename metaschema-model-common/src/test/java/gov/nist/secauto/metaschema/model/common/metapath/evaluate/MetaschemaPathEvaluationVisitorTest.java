@@ -37,11 +37,13 @@ import gov.nist.secauto.metaschema.model.common.metapath.ast.And;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.Flag;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.IComparison.Operator;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.IExpression;
+import gov.nist.secauto.metaschema.model.common.metapath.ast.ModelInstance;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.Name;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.Or;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.RootSlashOnlyPath;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.Step;
 import gov.nist.secauto.metaschema.model.common.metapath.ast.ValueComparison;
+import gov.nist.secauto.metaschema.model.common.metapath.item.DocumentNameIndex;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IAssemblyNodeItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IBooleanItem;
 import gov.nist.secauto.metaschema.model.common.metapath.item.IDocumentNodeItem;
@@ -53,9 +55,11 @@ import gov.nist.secauto.metaschema.model.common.metapath.item.NodeItemType;
 
 import org.jetbrains.annotations.NotNull;
 import org.jmock.Expectations;
+import org.jmock.api.Invocation;
 import org.jmock.Mockery;
 import org.jmock.auto.Mock;
 import org.jmock.junit5.JUnit5Mockery;
+import org.jmock.lib.action.CustomAction;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -64,7 +68,11 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.File;
 import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 class MetaschemaPathEvaluationVisitorTest {
@@ -285,4 +293,88 @@ class MetaschemaPathEvaluationVisitorTest {
     ISequence<?> result = visitor.visitFlag(expr, nodeContext);
     assertEquals(ISequence.of(flagNode), result);
   }
+
+  @Test
+  void testIndexedSearchMatchesTreeSearch() {
+    MetaschemaPathEvaluationVisitor visitor = newMetaschemaPathEvaluationVisitor();
+
+    IDocumentNodeItem document = context.mock(IDocumentNodeItem.class);
+    IAssemblyNodeItem root = context.mock(IAssemblyNodeItem.class, "root");
+    IAssemblyNodeItem item1 = context.mock(IAssemblyNodeItem.class, "item1");
+    IAssemblyNodeItem item2 = context.mock(IAssemblyNodeItem.class, "item2");
+    IAssemblyNodeItem item11 = context.mock(IAssemblyNodeItem.class, "item11");
+    IFlagNodeItem item1Id = context.mock(IFlagNodeItem.class, "item1Id");
+    IFlagNodeItem item11Id = context.mock(IFlagNodeItem.class, "item11Id");
+
+    // item11 is nested in item1, so the items named "item" are not all at the same level
+    expectNode(document, null, null, "root", List.of(root));
+    expectNode(root, document, null, "item", List.of(item1, item2));
+    expectNode(item1, root, item1Id, "item", List.of(item11));
+    expectNode(item2, root, null);
+    expectNode(item11, item1, item11Id);
+    expectNode(item1Id, item1, null);
+    expectNode(item11Id, item11, null);
+
+    DocumentNameIndex index = new DocumentNameIndex(document);
+    context.checking(new Expectations() {
+      {
+        allowing(document).getNameIndex();
+        will(returnValue(index));
+        allowing(document).isNameIndexBuilt();
+        will(returnValue(true));
+      }
+    });
+
+    for (IExpression expr : List.of(new ModelInstance(new Name("item")), new Flag(new Name("id")))) {
+      for (INodeItem contextItem : List.of(document, root, item1, item2)) {
+        List<? extends INodeItem> expected = visitor.searchExpression(expr, contextItem).collect(Collectors.toList());
+        assertEquals(expected, MetaschemaPathEvaluationVisitor.searchIndex(expr, contextItem),
+            expr.toASTString() + " from " + contextItem);
+      }
+    }
+    assertEquals(List.of(item1, item2, item11),
+        MetaschemaPathEvaluationVisitor.searchIndex(new ModelInstance(new Name("item")), document));
+  }
+
+  @SuppressWarnings("null")
+  private void expectNode(@NotNull INodeItem item, INodeItem parent, IFlagNodeItem idFlag, Object... namesAndChildren) {
+    Map<String, List<?>> children = new LinkedHashMap<>();
+    for (int i = 0; i < namesAndChildren.length; i += 2) {
+      children.put((String) namesAndChildren[i], (List<?>) namesAndChildren[i + 1]);
+    }
+
+    context.checking(new Expectations() {
+      {
+        allowing(item).getContextNodeItem();
+        will(returnValue(item));
+        allowing(item).getParentNodeItem();
+        will(returnValue(parent));
+        allowing(item).getFlagByName("id");
+        will(returnValue(idFlag));
+        // streams can only be consumed once, so a new stream is needed for each call
+        allowing(item).flags();
+        will(new CustomAction("flags") {
+          @Override
+          public Object invoke(Invocation invocation) {
+            return idFlag == null ? Stream.empty() : Stream.of(idFlag);
+          }
+        });
+        allowing(item).getModelItems();
+        will(returnValue(children.values()));
+        allowing(item).modelItems();
+        will(new CustomAction("modelItems") {
+          @Override
+          public Object invoke(Invocation invocation) {
+            return children.values().stream().flatMap(List::stream);
+          }
+        });
+        for (Map.Entry<String, List<?>> entry : children.entrySet()) {
+          allowing(item).getModelItemsByName(entry.getKey());
+          will(returnValue(entry.getValue()));
+        }
+        allowing(item).getModelItemsByName(with(any(String.class)));
+        will(returnValue(Collections.emptyList()));
+      }
+    });
+  }
 }
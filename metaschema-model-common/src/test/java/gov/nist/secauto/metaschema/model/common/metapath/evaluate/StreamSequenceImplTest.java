@@ -0,0 +1,73 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath.evaluate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import gov.nist.secauto.metaschema.model.common.metapath.item.IStringItem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class StreamSequenceImplTest {
+
+  @Test
+  void testShortCircuit() {
+    AtomicInteger computed = new AtomicInteger();
+    ISequence<IStringItem> sequence = ISequence.of(Stream.of("a", "b", "c", "d")
+        .map(value -> {
+          computed.incrementAndGet();
+          return IStringItem.valueOf(value);
+        }));
+
+    assertFalse(sequence.isEmpty());
+    assertEquals(1, computed.get());
+    assertEquals("b", sequence.getItem(1).asString());
+    assertEquals(2, computed.get());
+    assertEquals("a", sequence.getItem(0).asString());
+    assertEquals(2, computed.get());
+  }
+
+  @Test
+  void testReconsume() {
+    ISequence<IStringItem> sequence = ISequence.of(Stream.of("a", "b", "c").map(IStringItem::valueOf));
+
+    // partially consume the sequence, then consume it completely more than once
+    assertEquals("a", sequence.asStream().findFirst().get().asString());
+    List<String> expected = List.of("a", "b", "c");
+    assertEquals(expected, sequence.asStream().map(IStringItem::asString).collect(Collectors.toList()));
+    assertEquals(expected, sequence.asStream().map(IStringItem::asString).collect(Collectors.toList()));
+    assertEquals(3, sequence.size());
+    assertNull(sequence.getItem(3));
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.metaschema.model.common.metapath.item;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.States;
+import org.jmock.junit5.JUnit5Mockery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class DocumentNameIndexTest {
+  @RegisterExtension
+  Mockery context = new JUnit5Mockery();
+
+  @Test
+  void testDescendantSearch() {
+    IDocumentNodeItem document = context.mock(IDocumentNodeItem.class);
+    IAssemblyNodeItem root = context.mock(IAssemblyNodeItem.class, "root");
+    IAssemblyNodeItem child = context.mock(IAssemblyNodeItem.class, "child");
+    IFieldNodeItem rootField = context.mock(IFieldNodeItem.class, "rootField");
+    IFieldNodeItem childField = context.mock(IFieldNodeItem.class, "childField");
+    IFlagNodeItem childFlag = context.mock(IFlagNodeItem.class, "childFlag");
+
+    // document order: document, root, child, childField, rootField
+    // search order: the matching children of each node in document order, so rootField comes first
+    expectChildren(document, "root", List.of(root));
+    expectChildren(root, "child", List.of(child), "field", List.of(rootField));
+    expectChildren(child, "field", List.of(childField));
+    expectChildren(childField);
+    expectChildren(rootField);
+
+    context.checking(new Expectations() {
+      {
+        allowing(child).getFlagByName("id");
+        will(returnValue(childFlag));
+        allowing(any(INodeItem.class)).method("getFlagByName");
+        will(returnValue(null));
+      }
+    });
+
+    DocumentNameIndex index = new DocumentNameIndex(document);
+
+    assertEquals(List.of(rootField, childField), index.getDescendantModelItems(document, "field"));
+    assertEquals(List.of(rootField, childField), index.getDescendantModelItems(root, "field"));
+    assertEquals(List.of(childField), index.getDescendantModelItems(child, "field"));
+    assertEquals(List.of(), index.getDescendantModelItems(childField, "field"));
+    assertEquals(List.of(root), index.getDescendantModelItems(document, "root"));
+    assertEquals(List.of(), index.getDescendantModelItems(root, "root"));
+
+    assertEquals(List.of(childFlag), index.getDescendantOrSelfFlags(root, "id"));
+    assertEquals(List.of(childFlag), index.getDescendantOrSelfFlags(child, "id"));
+    assertEquals(List.of(), index.getDescendantOrSelfFlags(childField, "id"));
+
+    // flags are not indexed as context nodes
+    assertNull(index.getDescendantModelItems(childFlag, "field"));
+  }
+
+  @Test
+  void testIndexOnlyBuiltForDocumentSearch() {
+    IDocumentNodeItem document = context.mock(IDocumentNodeItem.class);
+    IAssemblyNodeItem root = context.mock(IAssemblyNodeItem.class, "root");
+    expectChildren(document, "root", List.of(root));
+    expectChildren(root);
+
+    States index = context.states("index").startsAs("absent");
+    context.checking(new Expectations() {
+      {
+        allowing(document).getParentNodeItem();
+        will(returnValue(null));
+        allowing(root).getParentNodeItem();
+        will(returnValue(document));
+        allowing(any(INodeItem.class)).method("getFlagByName");
+        will(returnValue(null));
+
+        allowing(document).isNameIndexBuilt();
+        when(index.is("absent"));
+        will(returnValue(false));
+        allowing(document).isNameIndexBuilt();
+        when(index.is("built"));
+        will(returnValue(true));
+      }
+    });
+
+    DocumentNameIndex built = new DocumentNameIndex(document);
+
+    // a search of a subtree does not build the index
+    assertNull(DocumentNameIndex.forNodeItem(root));
+
+    // a search of the document builds the index
+    context.checking(new Expectations() {
+      {
+        oneOf(document).getNameIndex();
+        will(returnValue(built));
+        then(index.is("built"));
+      }
+    });
+    assertSame(built, DocumentNameIndex.forNodeItem(document));
+
+    // once built, the index is also used for a search of a subtree
+    context.checking(new Expectations() {
+      {
+        oneOf(document).getNameIndex();
+        will(returnValue(built));
+      }
+    });
+    assertSame(built, DocumentNameIndex.forNodeItem(root));
+  }
+
+  private void expectChildren(INodeItem item, Object... namesAndChildren) {
+    Map<String, List<?>> children = new LinkedHashMap<>();
+    for (int i = 0; i < namesAndChildren.length; i += 2) {
+      children.put((String) namesAndChildren[i], (List<?>) namesAndChildren[i + 1]);
+    }
+
+    context.checking(new Expectations() {
+      {
+        allowing(item).getModelItems();
+        will(returnValue(children.values()));
+        for (Map.Entry<String, List<?>> entry : children.entrySet()) {
+          allowing(item).getModelItemsByName(entry.getKey());
+          will(returnValue(entry.getValue()));
+        }
+        allowing(item).getModelItemsByName(with(any(String.class)));
+        will(returnValue(Collections.emptyList()));
+      }
+    });
+  }
+}